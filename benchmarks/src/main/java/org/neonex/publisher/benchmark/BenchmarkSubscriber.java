@@ -0,0 +1,68 @@
+package org.neonex.publisher.benchmark;
+
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber which sinks every signal into a {@link Blackhole} and requests according to a {@link RequestPattern}.
+ * All the sources under benchmark are synchronous, so the subscriber is done once subscribe() returns.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BenchmarkSubscriber<T> implements Subscriber<T> {
+    private final Blackhole blackhole;
+    private final RequestPattern pattern;
+
+    private Subscription subscription;
+    private int remainingInBatch;
+    private boolean done;
+
+    BenchmarkSubscriber(Blackhole blackhole, RequestPattern pattern) {
+        this.blackhole = blackhole;
+        this.pattern = pattern;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        switch (pattern) {
+            case ONE_BY_ONE:
+                subscription.request(1);
+                break;
+            case BATCH:
+                remainingInBatch = RequestPattern.BATCH_SIZE;
+                subscription.request(RequestPattern.BATCH_SIZE);
+                break;
+            default:
+                subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(T element) {
+        blackhole.consume(element);
+        if (pattern == RequestPattern.ONE_BY_ONE) {
+            subscription.request(1);
+        } else if (pattern == RequestPattern.BATCH && --remainingInBatch == 0) {
+            remainingInBatch = RequestPattern.BATCH_SIZE;
+            subscription.request(RequestPattern.BATCH_SIZE);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        blackhole.consume(throwable);
+        done = true;
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+    }
+
+    boolean isDone() {
+        return done;
+    }
+}
@@ -0,0 +1,120 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Fountain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Several threads calling request() on the same subscription at once, this is where the work in progress
+ * loop of the subscription is contended. One benchmark operation drains all 'size' elements.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ConcurrentRequestBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    @Param({"2", "4"})
+    int threads;
+
+    @Param({"1", "64"})
+    int requestSize;
+
+    Fountain<Integer> fromArray;
+    Flux<Integer> fluxFromArray;
+    ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        Integer[] array = new Integer[size];
+        Arrays.setAll(array, i -> i);
+        fromArray = Fountain.fromArray(array);
+        fluxFromArray = Flux.fromArray(array);
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void fromArray(Blackhole blackhole) throws InterruptedException {
+        drainConcurrently(fromArray, blackhole);
+    }
+
+    /**
+     * Reactor baseline for {@link #fromArray(Blackhole)}
+     */
+    @Benchmark
+    public void fluxFromArray(Blackhole blackhole) throws InterruptedException {
+        drainConcurrently(fluxFromArray, blackhole);
+    }
+
+    private void drainConcurrently(Publisher<Integer> publisher, Blackhole blackhole) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Subscription[] subscription = new Subscription[1];
+        publisher.subscribe(new Subscriber<>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(Integer element) {
+                blackhole.consume(element);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+
+        int callsPerThread = (size / requestSize + threads - 1) / threads;
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                Subscription s = subscription[0];
+                for (int i = 0; i < callsPerThread; i++) {
+                    s.request(requestSize);
+                }
+            });
+        }
+        if (!done.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("subscription did not complete");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.FountainSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link FountainSink#next(Object)} called by 1 and 4 threads at once against an emitter which
+ * serializes the same calls with synchronized, the subscriber requests an unbounded amount and only counts the items.
+ * Run with '-t' to try other thread counts.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class CreateBenchmark {
+
+    FountainSink<Integer> sink;
+    CountingSubscriber sinkSubscriber;
+    SynchronizedEmitter emitter;
+
+    @Setup
+    public void setup() {
+        sinkSubscriber = new CountingSubscriber();
+        Fountain.<Integer>create(sink -> this.sink = sink).subscribe(sinkSubscriber);
+        emitter = new SynchronizedEmitter(new CountingSubscriber());
+    }
+
+    @TearDown
+    public void tearDown() {
+        sink.complete();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void sink1() {
+        sink.next(1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void sink4() {
+        sink.next(1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void synchronized1() {
+        emitter.next(1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void synchronized4() {
+        emitter.next(1);
+    }
+
+    /**
+     * What a hand written push source usually looks like
+     */
+    static final class SynchronizedEmitter {
+        private final Subscriber<Integer> subscriber;
+
+        SynchronizedEmitter(Subscriber<Integer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        synchronized void next(Integer value) {
+            subscriber.onNext(value);
+        }
+    }
+
+    /**
+     * onNext() calls are serialized, the count needs no synchronization
+     */
+    static final class CountingSubscriber implements Subscriber<Integer> {
+        long count;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            count++;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
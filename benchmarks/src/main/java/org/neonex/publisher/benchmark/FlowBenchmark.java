@@ -0,0 +1,101 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Fountain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link Flow} adapters against {@link SubmissionPublisher}, every benchmark delivers the integers
+ * [0, size) to a {@link Flow.Subscriber}. The SubmissionPublisher runs its consumer task on the submitting thread,
+ * so none of them pays for a thread hop.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class FlowBenchmark {
+
+    @Param({"1", "1000", "1000000"})
+    int size;
+
+    @Param({"BATCH", "UNBOUNDED"})
+    RequestPattern pattern;
+
+    Integer[] array;
+    Flow.Publisher<Integer> fromArray;
+    Flow.Publisher<Integer> range;
+    Flow.Publisher<Integer> fromIterable;
+
+    @Setup
+    public void setup() {
+        array = new Integer[size];
+        Arrays.setAll(array, i -> i);
+        fromArray = Fountain.fromArray(array).toFlowPublisher();
+        range = Fountain.range(0, size).toFlowPublisher();
+        fromIterable = Fountain.fromIterable(Arrays.asList(array)).toFlowPublisher();
+    }
+
+    /**
+     * the subscriber receives the ArraySubscription itself
+     */
+    @Benchmark
+    public Object fromArray(Blackhole blackhole) {
+        return drain(fromArray, blackhole);
+    }
+
+    @Benchmark
+    public Object range(Blackhole blackhole) {
+        return drain(range, blackhole);
+    }
+
+    /**
+     * the subscription is wrapped, request() goes through the adapter
+     */
+    @Benchmark
+    public Object fromIterable(Blackhole blackhole) {
+        return drain(fromIterable, blackhole);
+    }
+
+    @Benchmark
+    public Object submissionPublisher(Blackhole blackhole) {
+        FlowBenchmarkSubscriber<Integer> subscriber = new FlowBenchmarkSubscriber<>(blackhole, pattern);
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>(Runnable::run, Flow.defaultBufferSize())) {
+            publisher.subscribe(subscriber);
+            for (Integer element : array) {
+                publisher.submit(element);
+            }
+        }
+        if (!subscriber.isDone()) {
+            throw new IllegalStateException("synchronous source did not terminate");
+        }
+        return subscriber;
+    }
+
+    private <T> FlowBenchmarkSubscriber<T> drain(Flow.Publisher<T> publisher, Blackhole blackhole) {
+        FlowBenchmarkSubscriber<T> subscriber = new FlowBenchmarkSubscriber<>(blackhole, pattern);
+        publisher.subscribe(subscriber);
+        if (!subscriber.isDone()) {
+            throw new IllegalStateException("synchronous source did not terminate");
+        }
+        return subscriber;
+    }
+}
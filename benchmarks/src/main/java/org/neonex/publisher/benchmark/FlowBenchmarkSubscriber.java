@@ -0,0 +1,67 @@
+package org.neonex.publisher.benchmark;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Flow;
+
+/**
+ * {@link Flow.Subscriber} counterpart of {@link BenchmarkSubscriber}, with the same {@link RequestPattern}s.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class FlowBenchmarkSubscriber<T> implements Flow.Subscriber<T> {
+    private final Blackhole blackhole;
+    private final RequestPattern pattern;
+
+    private Flow.Subscription subscription;
+    private int remainingInBatch;
+    private boolean done;
+
+    FlowBenchmarkSubscriber(Blackhole blackhole, RequestPattern pattern) {
+        this.blackhole = blackhole;
+        this.pattern = pattern;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        switch (pattern) {
+            case ONE_BY_ONE:
+                subscription.request(1);
+                break;
+            case BATCH:
+                remainingInBatch = RequestPattern.BATCH_SIZE;
+                subscription.request(RequestPattern.BATCH_SIZE);
+                break;
+            default:
+                subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(T element) {
+        blackhole.consume(element);
+        if (pattern == RequestPattern.ONE_BY_ONE) {
+            subscription.request(1);
+        } else if (pattern == RequestPattern.BATCH && --remainingInBatch == 0) {
+            remainingInBatch = RequestPattern.BATCH_SIZE;
+            subscription.request(RequestPattern.BATCH_SIZE);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        blackhole.consume(throwable);
+        done = true;
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+    }
+
+    boolean isDone() {
+        return done;
+    }
+}
@@ -0,0 +1,104 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.FountainHook;
+import org.neonex.publisher.FountainHooks;
+import org.neonex.publisher.SubscriptionMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link FountainHooks}: NONE is the baseline and should match {@link SourceBenchmark},
+ * NOOP installs a hook which does not decorate the subscriber so it only measures the per-subscribe lookup,
+ * METRICS installs {@link SubscriptionMetrics}.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    public enum Hook {
+        NONE, NOOP, METRICS
+    }
+
+    @Param({"1", "1000", "1000000"})
+    int size;
+
+    @Param({"BATCH", "UNBOUNDED"})
+    RequestPattern pattern;
+
+    @Param({"NONE", "NOOP", "METRICS"})
+    Hook hook;
+
+    Fountain<Integer> fromArray;
+    Fountain<Integer> range;
+
+    @Setup
+    public void setup() {
+        Integer[] array = new Integer[size];
+        Arrays.setAll(array, i -> i);
+        fromArray = Fountain.fromArray(array);
+        range = Fountain.range(0, size);
+
+        switch (hook) {
+            case NOOP:
+                FountainHooks.install(new FountainHook() {
+                    @Override
+                    public <T> Subscriber<? super T> onSubscribe(Publisher<T> source, Subscriber<? super T> subscriber) {
+                        return subscriber;
+                    }
+                });
+                break;
+            case METRICS:
+                FountainHooks.install(new SubscriptionMetrics());
+                break;
+            default:
+                FountainHooks.reset();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        FountainHooks.reset();
+    }
+
+    @Benchmark
+    public Object fromArray(Blackhole blackhole) {
+        return drain(fromArray, blackhole);
+    }
+
+    @Benchmark
+    public Object range(Blackhole blackhole) {
+        return drain(range, blackhole);
+    }
+
+    private <T> BenchmarkSubscriber<T> drain(Publisher<T> publisher, Blackhole blackhole) {
+        BenchmarkSubscriber<T> subscriber = new BenchmarkSubscriber<>(blackhole, pattern);
+        publisher.subscribe(subscriber);
+        if (!subscriber.isDone()) {
+            throw new IllegalStateException("synchronous source did not terminate");
+        }
+        return subscriber;
+    }
+}
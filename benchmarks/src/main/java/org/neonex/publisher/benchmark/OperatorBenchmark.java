@@ -0,0 +1,109 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Fountain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 5 stage map/filter pipeline against a plain loop over the same array.
+ * The array pipeline is fused into the array drain loop, the iterable one goes through a single fused subscriber.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class OperatorBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    @Param({"BATCH", "UNBOUNDED"})
+    RequestPattern pattern;
+
+    Integer[] array;
+
+    Fountain<Integer> arrayPipeline;
+    Fountain<Integer> iterablePipeline;
+    Flux<Integer> fluxPipeline;
+
+    @Setup
+    public void setup() {
+        array = new Integer[size];
+        Arrays.setAll(array, i -> i);
+        List<Integer> list = Arrays.asList(array);
+
+        arrayPipeline = pipeline(Fountain.fromArray(array));
+        iterablePipeline = pipeline(Fountain.fromIterable(list));
+        fluxPipeline = Flux.fromArray(array)
+                           .map(i -> i + 1)
+                           .filter(i -> (i & 1) == 0)
+                           .map(i -> i * 3)
+                           .filter(i -> i % 5 != 0)
+                           .map(i -> i - 1);
+    }
+
+    private static Fountain<Integer> pipeline(Fountain<Integer> source) {
+        return source.map(i -> i + 1)
+                     .filter(i -> (i & 1) == 0)
+                     .map(i -> i * 3)
+                     .filter(i -> i % 5 != 0)
+                     .map(i -> i - 1);
+    }
+
+    @Benchmark
+    public void plainLoop(Blackhole blackhole) {
+        for (Integer element : array) {
+            int i = element + 1;
+            if ((i & 1) == 0) {
+                i = i * 3;
+                if (i % 5 != 0) {
+                    blackhole.consume(Integer.valueOf(i - 1));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Object arrayPipeline(Blackhole blackhole) {
+        return drain(arrayPipeline, blackhole);
+    }
+
+    @Benchmark
+    public Object iterablePipeline(Blackhole blackhole) {
+        return drain(iterablePipeline, blackhole);
+    }
+
+    /**
+     * Reactor baseline for {@link #arrayPipeline(Blackhole)}
+     */
+    @Benchmark
+    public Object fluxPipeline(Blackhole blackhole) {
+        return drain(fluxPipeline, blackhole);
+    }
+
+    private <T> BenchmarkSubscriber<T> drain(Publisher<T> publisher, Blackhole blackhole) {
+        BenchmarkSubscriber<T> subscriber = new BenchmarkSubscriber<>(blackhole, pattern);
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+}
@@ -0,0 +1,72 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Fountain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Terminal reductions of an array source, which run as a plain loop (split over the common fork-join pool from the
+ * parallel threshold on), against the same reductions behind a map(), which goes through the subscription protocol.
+ * Run with '-jvmArgs -Dorg.neonex.publisher.parallelThreshold=...' to move the threshold.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ReduceBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    Fountain<Integer> fromArray;
+    Fountain<Integer> mapped;
+    Fountain<Integer> fromInts;
+
+    @Setup
+    public void setup() {
+        Integer[] array = new Integer[size];
+        Arrays.setAll(array, i -> i);
+        int[] ints = new int[size];
+        Arrays.setAll(ints, i -> i);
+
+        fromArray = Fountain.fromArray(array);
+        mapped = fromArray.map(i -> i);
+        fromInts = Fountain.fromInts(ints);
+    }
+
+    @Benchmark
+    public Integer reduceArray() {
+        return fromArray.reduce(Integer::sum).blockLast();
+    }
+
+    @Benchmark
+    public Integer reduceSubscription() {
+        return mapped.reduce(Integer::sum).blockLast();
+    }
+
+    @Benchmark
+    public Long sumInts() {
+        return Fountain.sum(fromInts).blockLast();
+    }
+
+    @Benchmark
+    public Long sumSubscription() {
+        return Fountain.sum(mapped).blockLast();
+    }
+}
@@ -0,0 +1,23 @@
+package org.neonex.publisher.benchmark;
+
+/**
+ * How a {@link BenchmarkSubscriber} signals demand to its upstream.
+ *
+ * @author Mandeep Rajpal
+ */
+public enum RequestPattern {
+    /**
+     * request(1) in onSubscribe and again after every onNext
+     */
+    ONE_BY_ONE,
+    /**
+     * request(BATCH_SIZE) in onSubscribe and again after every BATCH_SIZE elements
+     */
+    BATCH,
+    /**
+     * a single request(Long.MAX_VALUE) in onSubscribe
+     */
+    UNBOUNDED;
+
+    static final int BATCH_SIZE = 128;
+}
@@ -0,0 +1,125 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Fountain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a complete subscription to each {@link Fountain} source, one benchmark operation is one subscribe() call
+ * which drains all 'size' elements. Divide the reported time by 'size' for the per-element cost,
+ * and run with '-prof gc' to get the allocation rate.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class SourceBenchmark {
+
+    @Param({"1", "1000", "1000000"})
+    int size;
+
+    @Param({"ONE_BY_ONE", "BATCH", "UNBOUNDED"})
+    RequestPattern pattern;
+
+    Integer[] array;
+    List<Integer> list;
+
+    Fountain<Integer> fromArray;
+    Fountain<Integer> just;
+    Fountain<Integer> fromIterable;
+    Fountain<Integer> empty;
+    Fountain<Integer> error;
+    Flux<Integer> fluxFromArray;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        array = new Integer[size];
+        Arrays.setAll(array, i -> i);
+        list = Arrays.asList(array);
+
+        fromArray = Fountain.fromArray(array);
+        just = Fountain.just(array);
+        fromIterable = Fountain.fromIterable(list);
+        empty = Fountain.empty();
+        error = Fountain.error(new RuntimeException("benchmark"));
+        fluxFromArray = Flux.fromArray(array);
+    }
+
+    @Benchmark
+    public Object fromArray(Blackhole blackhole) {
+        return drain(fromArray, blackhole);
+    }
+
+    @Benchmark
+    public Object just(Blackhole blackhole) {
+        return drain(just, blackhole);
+    }
+
+    /**
+     * assembly and subscription of a single value publisher, the pattern of one publisher per request
+     */
+    @Benchmark
+    public Object justOne(Blackhole blackhole) {
+        return drain(Fountain.just(size), blackhole);
+    }
+
+    @Benchmark
+    public Object fromIterable(Blackhole blackhole) {
+        return drain(fromIterable, blackhole);
+    }
+
+    /**
+     * includes the assembly cost, which for fromIterable only creates the IterablePublisher, nothing is copied
+     */
+    @Benchmark
+    public Object fromIterableAssembly(Blackhole blackhole) {
+        return drain(Fountain.fromIterable(list), blackhole);
+    }
+
+    @Benchmark
+    public Object empty(Blackhole blackhole) {
+        return drain(empty, blackhole);
+    }
+
+    @Benchmark
+    public Object error(Blackhole blackhole) {
+        return drain(error, blackhole);
+    }
+
+    /**
+     * Reactor baseline for {@link #fromArray(Blackhole)}
+     */
+    @Benchmark
+    public Object fluxFromArray(Blackhole blackhole) {
+        return drain(fluxFromArray, blackhole);
+    }
+
+    private <T> BenchmarkSubscriber<T> drain(org.reactivestreams.Publisher<T> publisher, Blackhole blackhole) {
+        BenchmarkSubscriber<T> subscriber = new BenchmarkSubscriber<>(blackhole, pattern);
+        publisher.subscribe(subscriber);
+        if (!subscriber.isDone()) {
+            throw new IllegalStateException("synchronous source did not terminate");
+        }
+        return subscriber;
+    }
+}
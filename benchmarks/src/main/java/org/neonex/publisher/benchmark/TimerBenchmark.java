@@ -0,0 +1,87 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Scheduler;
+import org.neonex.publisher.Schedulers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of arming and cancelling a timeout which never fires, the usual life of a heartbeat or a request timeout,
+ * on the timing wheel behind {@link Scheduler#schedule(Runnable, long, TimeUnit)} and on a
+ * {@link ScheduledThreadPoolExecutor} with the remove on cancel policy. 'pending' timeouts are armed upfront so the
+ * executor works on a heap of that size, run with '-t' to try other thread counts.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class TimerBenchmark {
+
+    private static final Runnable TASK = () -> {
+    };
+
+    @Param({"0", "100000"})
+    public int pending;
+
+    Scheduler scheduler;
+    ScheduledThreadPoolExecutor executor;
+
+    @Setup
+    public void setup() {
+        scheduler = Schedulers.newSingle("timer-benchmark");
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        for (int i = 0; i < pending; i++) {
+            scheduler.schedule(TASK, 1, TimeUnit.HOURS);
+            executor.schedule(TASK, 1, TimeUnit.HOURS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.dispose();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void wheel1() {
+        scheduler.schedule(TASK, 30, TimeUnit.SECONDS).dispose();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void wheel4() {
+        scheduler.schedule(TASK, 30, TimeUnit.SECONDS).dispose();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void executor1() {
+        executor.schedule(TASK, 30, TimeUnit.SECONDS).cancel(false);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void executor4() {
+        executor.schedule(TASK, 30, TimeUnit.SECONDS).cancel(false);
+    }
+}
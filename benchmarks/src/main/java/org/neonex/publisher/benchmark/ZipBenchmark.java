@@ -0,0 +1,58 @@
+package org.neonex.publisher.benchmark;
+
+import org.neonex.publisher.Fountain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zip of two array sources, which runs as a single indexed loop over the arrays, against the zip of the same arrays
+ * behind a map(), which goes through the prefetching queues of the general path.
+ *
+ * @author Mandeep Rajpal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ZipBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    Fountain<Integer> zipArrays;
+    Fountain<Integer> zipQueues;
+
+    @Setup
+    public void setup() {
+        Integer[] array = new Integer[size];
+        Arrays.setAll(array, i -> i);
+
+        Fountain<Integer> source = Fountain.fromArray(array);
+        zipArrays = Fountain.zip(source, source, Integer::sum);
+        zipQueues = Fountain.zip(source.map(i -> i), source.map(i -> i), Integer::sum);
+    }
+
+    @Benchmark
+    public Integer zipArrays() {
+        return zipArrays.blockLast();
+    }
+
+    @Benchmark
+    public Integer zipQueues() {
+        return zipQueues.blockLast();
+    }
+}
@@ -0,0 +1,31 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.List;
+
+/**
+ * {@link Fountain#buffer(int)} over an {@link ArrayPublisher}, every buffer is a read-only view of the array.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ArrayBufferPublisher<T> extends Fountain<List<T>> {
+    private final T[] array;
+    private final int from;
+    private final int to;
+    private final int maxSize;
+
+    ArrayBufferPublisher(T[] array, int from, int to, int maxSize) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super List<T>> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new ArrayBufferSubscription<>(array, from, to, maxSize, subscriber));
+    }
+}
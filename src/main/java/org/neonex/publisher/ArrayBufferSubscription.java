@@ -0,0 +1,150 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Emits array[from, to) as consecutive {@link ArraySlice} buffers of 'maxSize' elements, the last one may be shorter.
+ * It is {@link ArraySubscription} with a buffer as the unit of demand: same work in progress pattern, same fast path
+ * for unbounded demand, and a buffer containing null is reported through onError() instead of being emitted.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ArrayBufferSubscription<T> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ArrayBufferSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(ArrayBufferSubscription.class, "requested");
+
+    private final Subscriber<? super List<T>> subscriber;
+    private final T[] array;
+    private final int end;
+    private final int maxSize;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand in buffers, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    //plain field, only the thread which owns the drain loop reads or writes it
+    private int index;
+
+    ArrayBufferSubscription(T[] array, int from, int to, int maxSize, Subscriber<? super List<T>> subscriber) {
+        this.array = array;
+        this.index = from;
+        this.end = to;
+        this.maxSize = maxSize;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        final int length = end;
+
+        for (int i = index; i != length; ) {
+            if (isCancelled) {
+                return;
+            }
+            int next = next(i);
+            if (!emit(i, next)) {
+                return;
+            }
+            i = next;
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long demand) {
+        final int length = end;
+
+        int i = index;
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand && i != length) {
+                if (isCancelled) {
+                    return;
+                }
+                int next = next(i);
+                if (!emit(i, next)) {
+                    return;
+                }
+                i = next;
+                emitted++;
+            }
+            if (i == length) {
+                if (!isCancelled) {
+                    isCancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                index = i;
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                index = i;
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    /**
+     * @return exclusive end of the buffer starting at 'from', computed in long as from + maxSize can overflow
+     */
+    private int next(int from) {
+        return (int) Math.min((long) from + maxSize, end);
+    }
+
+    /**
+     * @return false if the buffer contains null, in which case onError() has been signaled instead
+     */
+    private boolean emit(int from, int to) {
+        if (ArraySubscription.firstNull(array, from, to) != to) {
+            isCancelled = true;
+            subscriber.onError(new NullPointerException());
+            return false;
+        }
+        subscriber.onNext(new ArraySlice<>(array, from, to));
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
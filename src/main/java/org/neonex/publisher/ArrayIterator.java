@@ -0,0 +1,43 @@
+package org.neonex.publisher;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of the slice of an {@link ArrayPublisher}, no subscription and no queue are needed as the array is
+ * never modified. Like {@link ArraySubscription}, a null element is an error which ends the iteration.
+ *
+ * @param <T> type of the elements
+ * @author Mandeep Rajpal
+ */
+final class ArrayIterator<T> implements Iterator<T> {
+    private final T[] array;
+    private final int to;
+    private int index;
+
+    ArrayIterator(T[] array, int from, int to) {
+        this.array = array;
+        this.index = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (index == to) {
+            return false;
+        }
+        if (array[index] == null) {
+            index = to;
+            throw new NullPointerException();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return array[index++];
+    }
+}
@@ -0,0 +1,167 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
+
+/**
+ * {@link ArraySubscription} with the transformer of a {@link MapFilterPublisher} applied inside the drain loop.
+ * An element dropped by the transformer is skipped in place, so it does not count towards the emitted elements
+ * and no demand has to be replenished for it.
+ *
+ * @param <T> type of the array elements
+ * @param <R> type of the emitted elements
+ * @author Mandeep Rajpal
+ */
+final class ArrayMapFilterSubscription<T, R> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ArrayMapFilterSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(ArrayMapFilterSubscription.class, "requested");
+
+    private final Subscriber<? super R> subscriber;
+    private final Function<? super T, ? extends R> transformer;
+    private final T[] array;
+    private final int end;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    //plain field, only the thread which owns the drain loop reads or writes it
+    private int index;
+
+    ArrayMapFilterSubscription(T[] array, int from, int to, Function<? super T, ? extends R> transformer,
+                               Subscriber<? super R> subscriber) {
+        this.array = array;
+        this.index = from;
+        this.end = to;
+        this.transformer = transformer;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        final Subscriber<? super R> subscriber = this.subscriber;
+        final Function<? super T, ? extends R> transformer = this.transformer;
+        final T[] array = this.array;
+        final int end = this.end;
+
+        for (int i = index; i < end; i++) {
+            if (isCancelled) {
+                return;
+            }
+            R value = transform(array[i], transformer);
+            if (value != null) {
+                subscriber.onNext(value);
+            } else if (isCancelled) {
+                //transform() failed
+                return;
+            }
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long demand) {
+        final Subscriber<? super R> subscriber = this.subscriber;
+        final Function<? super T, ? extends R> transformer = this.transformer;
+        final T[] array = this.array;
+        final int end = this.end;
+
+        int i = index;
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand && i != end) {
+                if (isCancelled) {
+                    return;
+                }
+                R value = transform(array[i], transformer);
+                i++;
+                if (value != null) {
+                    subscriber.onNext(value);
+                    emitted++;
+                } else if (isCancelled) {
+                    return;
+                }
+            }
+            if (i == end) {
+                if (!isCancelled) {
+                    isCancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                index = i;
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                index = i;
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    /**
+     * @return the transformed element, or null if it was dropped or the transformation failed
+     * in which case the subscription is already terminated with onError()
+     */
+    private R transform(T element, Function<? super T, ? extends R> transformer) {
+        //if element is null send it to onError() channel instead of throwing NullPointerException
+        if (element == null) {
+            fail(new NullPointerException());
+            return null;
+        }
+        try {
+            return transformer.apply(element);
+        } catch (Throwable e) {
+            fail(e);
+            return null;
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onError(error);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
@@ -3,20 +3,144 @@ package org.neonex.publisher;
 import org.reactivestreams.Subscriber;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.stream.Collector;
 
 /**
  * @param <T>
  * @author Mandeep Rajpal
  */
 final class ArrayPublisher<T> extends Fountain<T> {
-    private final T[] array;
+    final T[] array;
+    //slice of the array which is emitted, [from, to)
+    final int from;
+    final int to;
 
     ArrayPublisher(T[] array) {
-        this.array = Arrays.copyOf(array, array.length);
+        this(Arrays.copyOf(array, array.length), 0, array.length);
+    }
+
+    /**
+     * Shares the already copied array, so slicing never copies it again
+     */
+    private ArrayPublisher(T[] array, int from, int to) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
     }
 
     @Override
     public void subscribe(Subscriber<? super T> subscriber) {
-        subscriber.onSubscribe(new ArraySubscription<>(array, subscriber));
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new ArraySubscription<>(array, from, to, subscriber));
+    }
+
+    @Override
+    public Fountain<T> take(long n) {
+        checkCount(n);
+        if (n >= to - from) {
+            return this;
+        }
+        if (n == 0) {
+            return empty();
+        }
+        return new ArrayPublisher<>(array, from, from + (int) n);
+    }
+
+    @Override
+    public Fountain<T> skip(long n) {
+        checkCount(n);
+        if (n >= to - from) {
+            return empty();
+        }
+        if (n == 0) {
+            return this;
+        }
+        return new ArrayPublisher<>(array, from + (int) n, to);
+    }
+
+    @Override
+    public Fountain<List<T>> buffer(int maxSize) {
+        return new ArrayBufferPublisher<>(array, from, to, checkMaxSize(maxSize));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Fountain<T>[] split(int rails) {
+        Fountain<T>[] parts = new Fountain[rails];
+        for (int i = 0; i < rails; i++) {
+            int start = (int) ParallelFountain.splitPoint(from, to, rails, i);
+            int end = (int) ParallelFountain.splitPoint(from, to, rails, i + 1);
+            parts[i] = start == end ? empty() : new ArrayPublisher<>(array, start, end);
+        }
+        return parts;
+    }
+
+    /**
+     * The array is never modified, so it is iterated in place without a subscription.
+     */
+    @Override
+    public Iterable<T> toIterable(int prefetch) {
+        Demand.checkPrefetch(prefetch);
+        return () -> new ArrayIterator<>(array, from, to);
+    }
+
+    @Override
+    public T blockFirst() {
+        if (from == to) {
+            return null;
+        }
+        if (array[from] == null) {
+            throw new NullPointerException();
+        }
+        return array[from];
+    }
+
+    @Override
+    public T blockLast() {
+        if (from == to) {
+            return null;
+        }
+        if (ArraySubscription.firstNull(array, from, to) != to) {
+            throw new NullPointerException();
+        }
+        return array[to - 1];
+    }
+
+    /**
+     * The array is reduced in place, see {@link Reductions}.
+     */
+    @Override
+    public Fountain<T> reduce(BinaryOperator<T> reducer) {
+        Objects.requireNonNull(reducer, "reducer");
+        return new CallablePublisher<>(() -> Reductions.reduce(array, from, to, reducer));
+    }
+
+    @Override
+    public <A, R> Fountain<R> collect(Collector<? super T, A, R> collector) {
+        Objects.requireNonNull(collector, "collector");
+        return new CallablePublisher<>(() -> Reductions.collect(array, from, to, collector));
+    }
+
+    @Override
+    public Fountain<Long> count() {
+        return new CallablePublisher<>(() -> {
+            Reductions.checkElements(array, from, to);
+            return (long) (to - from);
+        });
+    }
+
+    @Override
+    public Fountain<T[]> toArray(IntFunction<T[]> generator) {
+        Objects.requireNonNull(generator, "generator");
+        return new CallablePublisher<>(() -> {
+            Reductions.checkElements(array, from, to);
+            T[] result = generator.apply(to - from);
+            System.arraycopy(array, from, result, 0, to - from);
+            return result;
+        });
     }
 }
@@ -0,0 +1,34 @@
+package org.neonex.publisher;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link java.util.List} view over array[from, to), the buffers emitted by {@link Fountain#buffer(int)}
+ * over an array source are views like this one, so no element is copied.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ArraySlice<T> extends AbstractList<T> implements RandomAccess {
+    private final T[] array;
+    private final int from;
+    private final int size;
+
+    ArraySlice(T[] array, int from, int to) {
+        this.array = array;
+        this.from = from;
+        this.size = to - from;
+    }
+
+    @Override
+    public T get(int index) {
+        return array[from + Objects.checkIndex(index, size)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
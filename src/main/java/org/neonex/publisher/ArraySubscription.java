@@ -3,7 +3,8 @@ package org.neonex.publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * This class satisfies the following reactive spec which eventually fulfils the complete spec -
@@ -21,20 +22,47 @@ import java.util.concurrent.atomic.AtomicInteger;
  * @param <T>
  * @author Mandeep Rajpal
  */
-final class ArraySubscription<T> implements Subscription {
+final class ArraySubscription<T> implements Subscription, Flow.Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ArraySubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(ArraySubscription.class, "requested");
 
     private final Subscriber<? super T> subscriber;
+    //same instance as 'subscriber' when it opted in to slices, null otherwise
+    private final BatchSubscriber<? super T> batchSubscriber;
     private final T[] array;
+    //exclusive upper bound of the emitted slice of the array
+    private final int end;
 
-    private volatile boolean isCompleted = false;
     private volatile boolean isCancelled = false;
 
-    private AtomicInteger requestedElements = new AtomicInteger(0);
-    private AtomicInteger startIndex = new AtomicInteger(0);
+    //outstanding demand, it also acts as the work in progress flag: the thread which moves it away from 0 owns the drain loop
+    private volatile long requested;
+
+    //plain field, only the thread which owns the drain loop reads or writes it
+    //it is published to the next owner by the write to 'requested' made at the end of every batch
+    private int index;
 
     ArraySubscription(T[] array, Subscriber<? super T> subscriber) {
+        this(array, 0, array.length, subscriber);
+    }
+
+    /**
+     * Emits only array[from, to), used by the slices created by take() and skip()
+     */
+    ArraySubscription(T[] array, int from, int to, Subscriber<? super T> subscriber) {
         this.array = array;
+        this.index = from;
+        this.end = to;
         this.subscriber = subscriber;
+        this.batchSubscriber = batchSubscriber(subscriber);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BatchSubscriber<? super T> batchSubscriber(Subscriber<? super T> subscriber) {
+        //the slices are passed as Object[] so the runtime type of the array, which may well be Object[], does not matter
+        return subscriber instanceof BatchSubscriber ? (BatchSubscriber<? super T>) subscriber : null;
     }
 
     @Override
@@ -46,69 +74,216 @@ final class ArraySubscription<T> implements Subscription {
             subscriber.onError(new IllegalArgumentException());
             return;
         }
-        if (!isCompleted && !isCancelled) {
-            //if 'numberOfElements' is greater than Long.Max_Value then cap it to array.length
-            //we need to perform this atomically as there can be a case when two threads request numberOfElements > Long.Max_Value
-            //and in case it sleeps right after its value has been capped, so, eventually it adds Long.Max_value * 2 which is < 0 to 'requestedElements'
-            //getAndUpdate() performs the implementation of apply() method of Functional Interface in an atomic way using CAS
-            //here 'requestedElements' act as a flag for work in progress as first time it will return 0
-            //and afterwards (when called by other threads of subscriber or from onNext() recursively) it will return value > 0
-            var numberOfElementsEmitted = requestedElements.getAndUpdate(n -> {
-                n = (int) numberOfElements + n;
-                //as Long.Max_Value + some value will result in some negative value
-                if (n <= 0) {
-                    return array.length;
+        if (isCancelled) {
+            return;
+        }
+        //add the demand atomically and cap it to Long.MAX_VALUE
+        //the value before the update is 0 only for the thread which has to emit the elements
+        //afterwards (when called by other threads of subscriber or from onNext() recursively) it will be > 0
+        long previous = Demand.add(REQUESTED, this, numberOfElements);
+        if (previous != 0) {
+            //work in progress pattern - if one thread is already emitting elements then
+            //subsequent threads will return from here after it updates 'requested'
+            //also, this prevents stack overflow in case request() is called recursively from onNext()
+            //as the first call in the stack will only emit the elements
+            return;
+        }
+        if (batchSubscriber != null) {
+            if (numberOfElements == Long.MAX_VALUE) {
+                batchFastPath();
+            } else {
+                batchSlowPath(numberOfElements);
+            }
+        } else if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    /**
+     * Emits everything left in the array without any demand accounting, used once the demand reached Long.MAX_VALUE.
+     * 'requested' is never decremented afterwards, so every later request() call returns right after the CAS loop.
+     */
+    private void fastPath() {
+        final Subscriber<? super T> subscriber = this.subscriber;
+        final T[] array = this.array;
+        final int length = end;
+
+        for (int i = index; i < length; i++) {
+            if (isCancelled) {
+                return;
+            }
+            T element = array[i];
+            //if element is null send it to onError() channel instead of throwing NullPointerException
+            if (element == null) {
+                isCancelled = true;
+                subscriber.onError(new NullPointerException());
+                return;
+            }
+            subscriber.onNext(element);
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onComplete();
+        }
+    }
+
+    /**
+     * Emits the elements while respecting the demand, this is how back pressure is supported.
+     *
+     * @param demand value of 'requested' observed by the thread which won the work in progress race
+     */
+    private void slowPath(long demand) {
+        final Subscriber<? super T> subscriber = this.subscriber;
+        final T[] array = this.array;
+        final int length = end;
+
+        int i = index;
+        long emitted = 0;
+
+        while (true) {
+            //'i' is a local copy of 'index', so the loop does not touch any shared state apart from the cancellation flag
+            while (emitted != demand && i != length) {
+                if (isCancelled) {
+                    return;
+                }
+                T element = array[i];
+                //if element is null send it to onError() channel instead of throwing NullPointerException
+                if (element == null) {
+                    isCancelled = true;
+                    subscriber.onError(new NullPointerException());
+                    return;
+                }
+                subscriber.onNext(element);
+                i++;
+                emitted++;
+            }
+            //this condition needs to be checked prior to giving back the emitted count
+            //as we have to maintain the order of signals emitted
+            if (i == length) {
+                if (!isCancelled) {
+                    isCancelled = true;
+                    subscriber.onComplete();
                 }
-                return n;
-            });
-
-            //'numberOfElements' is primitive local variable which belongs to a thread stack
-            //so, for first thread its value will be 0
-            if (numberOfElementsEmitted > 0) {
-                //work in progress pattern - if one thread is already emitting elements then
-                //subsequent threads will return from here after it updates 'requestedElements'
-                //also, this prevents stack overflow in case request() is called recursively from onNext()
-                //as the first call in the stack will only emit the elements
                 return;
             }
-            while (true) {
-                //either terminate the loop if 'numberOfElementsEmitted >= requestedElements' or if it is greater than array.length
-                //startIndex is used to maintain state of index of array
-                //till where the elements has been already emitted by publisher
-                //this is how back pressure is supported
-                for (; numberOfElementsEmitted < requestedElements.get() && startIndex.get() < array.length; startIndex.incrementAndGet()) {
-                    //if element is null send it to onError() channel instead of throwing NullPointerException
-                    if (array[startIndex.get()] == null) {
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                //subscriber switched to unbounded demand while we were emitting
+                index = i;
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                //publish the index before the compensating operation so the next owner of the loop sees it
+                index = i;
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+            //if the demand is not exhausted that means there are more elements requested by other threads
+            //so, go back to start of the loop and serve those elements, Work Stealing Algorithm
+        }
+    }
+
+    /**
+     * Counterpart of {@link #fastPath()} for a {@link BatchSubscriber}, everything left in the array goes out as a single slice.
+     */
+    private void batchFastPath() {
+        final BatchSubscriber<? super T> subscriber = this.batchSubscriber;
+        final T[] array = this.array;
+        final int length = end;
+        final int from = index;
+
+        if (isCancelled) {
+            return;
+        }
+        int valid = firstNull(array, from, length);
+        if (valid != from) {
+            subscriber.onNextBatch(array, from, valid - from);
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            if (valid != length) {
+                subscriber.onError(new NullPointerException());
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Counterpart of {@link #slowPath(long)} for a {@link BatchSubscriber}, every slice covers the whole demand observed
+     * by the drain loop, so a subscriber requesting n elements at a time receives them in a single call.
+     *
+     * @param demand value of 'requested' observed by the thread which won the work in progress race
+     */
+    private void batchSlowPath(long demand) {
+        final BatchSubscriber<? super T> subscriber = this.batchSubscriber;
+        final T[] array = this.array;
+        final int length = end;
+
+        int i = index;
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand && i != length) {
+                if (isCancelled) {
+                    return;
+                }
+                int count = (int) Math.min(demand - emitted, length - i);
+                int valid = firstNull(array, i, i + count);
+                if (valid != i) {
+                    subscriber.onNextBatch(array, i, valid - i);
+                }
+                if (valid != i + count) {
+                    //the elements before the null one were emitted, now terminate as the per element path does
+                    if (!isCancelled) {
+                        isCancelled = true;
                         subscriber.onError(new NullPointerException());
                     }
-                    //maintain count of elements which are already sent
-                    //this will also be used to perform compensating operation on 'requestedElements'
-                    numberOfElementsEmitted++;
-                    //send data to onNext() channel
-                    //reactive streams are push based unlike Java 8 Streams which are pull based
-                    subscriber.onNext(array[startIndex.get()]);
+                    return;
                 }
-                //this condition needs to be checked prior to 'requestedElements.addAndGet(-numberOfElementsEmitted) == 0'
-                //as we have to maintain the order of signals emitted
-                if (startIndex.get() == array.length) {
-                    //send onComplete() signal
+                i += count;
+                emitted += count;
+            }
+            if (i == length) {
+                if (!isCancelled) {
+                    isCancelled = true;
                     subscriber.onComplete();
-                    isCompleted = true;
-                    return;
                 }
-                //if first thread sleeps here and other threads add to 'requestedElements'
-                //so, we need to reset 'requestedElements=0' after this condition is false
-                //now we need a compensating operation,i.e. for 'getAndAdd()' we perform 'addAndGet()'
-                //to signal that work in progress is now false
-                //this 'requestedElements' should not be dependent on other instance variables so as to avoid race condition
-                if (requestedElements.addAndGet(-numberOfElementsEmitted) == 0) {
+                return;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                index = i;
+                batchFastPath();
+                return;
+            }
+            if (demand == emitted) {
+                index = i;
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
                     return;
                 }
-                numberOfElementsEmitted = 0;
-                //if above condition fails that means there are more elements requested by other threads
-                //so, go back to start of the for loop and serve those elements, Work Stealing Algorithm
+                emitted = 0;
+            }
+        }
+    }
+
+    /**
+     * @return index of the first null element of array[from, to), or 'to' if there is none
+     */
+    static int firstNull(Object[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (array[i] == null) {
+                return i;
             }
         }
+        return to;
     }
 
     @Override
@@ -0,0 +1,34 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BackpressureBufferPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final int capacity;
+    private final Consumer<? super T> onOverflow;
+    //both null unless the overflow is spilled to a file
+    private final Function<? super T, byte[]> encoder;
+    private final Function<byte[], ? extends T> decoder;
+
+    BackpressureBufferPublisher(Publisher<? extends T> source, int capacity, Consumer<? super T> onOverflow,
+                                Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder) {
+        this.source = source;
+        this.capacity = capacity;
+        this.onOverflow = onOverflow;
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new BackpressureBufferSubscriber<>(subscriber, capacity, onOverflow, encoder, decoder));
+    }
+}
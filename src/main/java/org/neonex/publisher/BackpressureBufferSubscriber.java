@@ -0,0 +1,261 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Requests an unbounded amount from the upstream and buffers what the subscriber did not request yet in a bounded
+ * lock-free {@link SpscArrayQueue}, the upstream is the producer and the drain loop is the consumer:
+ * <p>
+ * 1. The drain loop is serialized with 'wip', the same work in progress pattern as in {@link PublishOnSubscriber},
+ * and runs on whichever thread signals, there is no scheduler.
+ * 2. When the queue is full the item goes to the overflow callback, the upstream is cancelled and an
+ * {@link IllegalStateException} follows the buffered items.
+ * 3. In spill mode the overflow goes to a {@link SpillFile} instead, created on the first overflow. As long as the
+ * file has unread records the new items are appended to it as well, and the drain loop reads the file only once the
+ * queue is empty, so the items keep their order.
+ * 4. Terminal signals of the upstream wait for the buffered items.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BackpressureBufferSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<BackpressureBufferSubscriber> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(BackpressureBufferSubscriber.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<BackpressureBufferSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(BackpressureBufferSubscriber.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<BackpressureBufferSubscriber, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(BackpressureBufferSubscriber.class, Throwable.class, "error");
+
+    private final Subscriber<? super T> actual;
+    private final SpscArrayQueue<T> queue;
+    private final Consumer<? super T> onOverflow;
+    private final Function<? super T, byte[]> encoder;
+    private final Function<byte[], ? extends T> decoder;
+
+    private Subscription upstream;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+    //created by the producer on the first overflow in spill mode
+    private volatile SpillFile<T> spill;
+    //true if the error has to be delivered right away instead of after the buffered items
+    private volatile boolean isFailedFast;
+
+    //plain, only the drain loop reads or writes it
+    private long emitted;
+
+    BackpressureBufferSubscriber(Subscriber<? super T> actual, int capacity, Consumer<? super T> onOverflow,
+                                 Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder) {
+        this.actual = actual;
+        this.queue = new SpscArrayQueue<>(capacity);
+        this.onOverflow = onOverflow;
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        SpillFile<T> spill = this.spill;
+        //once records wait in the file, every item goes there until the file is read, so the order is kept
+        if (spill != null && spill.hasUnread() || !queue.offer(element)) {
+            overflow(element);
+        }
+        drain();
+    }
+
+    private void overflow(T element) {
+        if (encoder == null) {
+            upstream.cancel();
+            try {
+                onOverflow.accept(element);
+            } catch (Throwable e) {
+                fail(e, false);
+                return;
+            }
+            fail(new IllegalStateException("The buffer is full, the subscriber did not keep up with the upstream"), false);
+            return;
+        }
+        try {
+            SpillFile<T> spill = this.spill;
+            if (spill == null) {
+                spill = SpillFile.create(encoder, decoder);
+                this.spill = spill;
+                if (isCancelled) {
+                    //cancel() did not see the file
+                    spill.close();
+                    return;
+                }
+            }
+            spill.append(element);
+        } catch (Throwable e) {
+            upstream.cancel();
+            fail(e, true);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        fail(throwable, false);
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            upstream.cancel();
+            fail(new IllegalArgumentException(), true);
+            drain();
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        upstream.cancel();
+        //if the drain loop is not running release the buffers here, otherwise the loop releases them
+        if (WIP.getAndIncrement(this) == 0) {
+            release();
+        }
+    }
+
+    private void fail(Throwable throwable, boolean failFast) {
+        if (ERROR.compareAndSet(this, null, throwable)) {
+            isFailedFast = failFast;
+        }
+        isDone = true;
+    }
+
+    private void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final Subscriber<? super T> actual = this.actual;
+        long emitted = this.emitted;
+        int missed = 1;
+
+        while (true) {
+            long demand = requested;
+            while (emitted != demand) {
+                boolean done = isDone;
+                T element;
+                try {
+                    element = poll();
+                } catch (Throwable e) {
+                    upstream.cancel();
+                    fail(e, true);
+                    done = true;
+                    element = null;
+                }
+                boolean empty = element == null;
+                if (isTerminated(done, empty)) {
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                actual.onNext(element);
+                emitted++;
+            }
+            if (emitted == demand && isTerminated(isDone, isEmpty())) {
+                return;
+            }
+            this.emitted = emitted;
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The queue holds the items older than any record of the file.
+     */
+    private T poll() {
+        T element = queue.poll();
+        if (element == null) {
+            SpillFile<T> spill = this.spill;
+            if (spill != null) {
+                element = spill.poll();
+            }
+        }
+        return element;
+    }
+
+    private boolean isEmpty() {
+        SpillFile<T> spill = this.spill;
+        return queue.isEmpty() && (spill == null || !spill.hasUnread());
+    }
+
+    private boolean isTerminated(boolean done, boolean empty) {
+        if (isCancelled) {
+            release();
+            return true;
+        }
+        if (done) {
+            Throwable throwable = error;
+            if (throwable != null && (empty || isFailedFast)) {
+                isCancelled = true;
+                release();
+                actual.onError(throwable);
+                return true;
+            }
+            if (empty) {
+                isCancelled = true;
+                release();
+                actual.onComplete();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release() {
+        queue.clear();
+        SpillFile<T> spill = this.spill;
+        if (spill != null) {
+            spill.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.function.Consumer;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BackpressureDropPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final Consumer<? super T> onDrop;
+
+    BackpressureDropPublisher(Publisher<? extends T> source, Consumer<? super T> onDrop) {
+        this.source = source;
+        this.onDrop = onDrop;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new BackpressureDropSubscriber<>(subscriber, onDrop));
+    }
+}
@@ -0,0 +1,96 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * Requests an unbounded amount from the upstream and emits an item only if the subscriber requested it,
+ * any other item goes to the drop callback. There is no buffer, so the signals of the upstream are passed through
+ * on its thread and only the demand is shared with the subscriber.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BackpressureDropSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<BackpressureDropSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(BackpressureDropSubscriber.class, "requested");
+
+    private final Subscriber<? super T> actual;
+    private final Consumer<? super T> onDrop;
+
+    private Subscription upstream;
+    private boolean isDone;
+
+    private volatile long requested;
+
+    BackpressureDropSubscriber(Subscriber<? super T> actual, Consumer<? super T> onDrop) {
+        this.actual = actual;
+        this.onDrop = onDrop;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        long requested = this.requested;
+        if (requested != 0) {
+            actual.onNext(element);
+            if (requested != Long.MAX_VALUE) {
+                REQUESTED.decrementAndGet(this);
+            }
+            return;
+        }
+        try {
+            onDrop.accept(element);
+        } catch (Throwable e) {
+            upstream.cancel();
+            onError(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            //the error is delivered by the upstream, on the thread which signals the subscriber
+            upstream.request(numberOfElements);
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
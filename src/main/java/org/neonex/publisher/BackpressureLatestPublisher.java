@@ -0,0 +1,21 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BackpressureLatestPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+
+    BackpressureLatestPublisher(Publisher<? extends T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new BackpressureLatestSubscriber<>(subscriber));
+    }
+}
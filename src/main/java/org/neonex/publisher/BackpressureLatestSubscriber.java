@@ -0,0 +1,169 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Requests an unbounded amount from the upstream and keeps only its most recent item until the subscriber
+ * requests it, each item replaces the previous one in 'latest' with a single write. The drain loop takes the item
+ * out with getAndSet(), so an item is emitted at most once, and it is serialized with 'wip' like in
+ * {@link BackpressureBufferSubscriber}. Terminal signals wait for the kept item.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BackpressureLatestSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<BackpressureLatestSubscriber> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(BackpressureLatestSubscriber.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<BackpressureLatestSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(BackpressureLatestSubscriber.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<BackpressureLatestSubscriber, Object> LATEST =
+            AtomicReferenceFieldUpdater.newUpdater(BackpressureLatestSubscriber.class, Object.class, "latest");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<BackpressureLatestSubscriber, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(BackpressureLatestSubscriber.class, Throwable.class, "error");
+
+    private final Subscriber<? super T> actual;
+
+    private Subscription upstream;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile Object latest;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+    //true if the error has to be delivered right away instead of after the kept item
+    private volatile boolean isFailedFast;
+
+    //plain, only the drain loop reads or writes it
+    private long emitted;
+
+    BackpressureLatestSubscriber(Subscriber<? super T> actual) {
+        this.actual = actual;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        latest = element;
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        ERROR.compareAndSet(this, null, throwable);
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            upstream.cancel();
+            if (ERROR.compareAndSet(this, null, new IllegalArgumentException())) {
+                isFailedFast = true;
+            }
+            isDone = true;
+            drain();
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        upstream.cancel();
+        if (WIP.getAndIncrement(this) == 0) {
+            latest = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final Subscriber<? super T> actual = this.actual;
+        long emitted = this.emitted;
+        int missed = 1;
+
+        while (true) {
+            long demand = requested;
+            while (emitted != demand) {
+                boolean done = isDone;
+                T element = (T) LATEST.getAndSet(this, null);
+                boolean empty = element == null;
+                if (isTerminated(done, empty)) {
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                actual.onNext(element);
+                emitted++;
+            }
+            if (emitted == demand && isTerminated(isDone, latest == null)) {
+                return;
+            }
+            this.emitted = emitted;
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean isTerminated(boolean done, boolean empty) {
+        if (isCancelled) {
+            latest = null;
+            return true;
+        }
+        if (done && (empty || isFailedFast)) {
+            isCancelled = true;
+            latest = null;
+            Throwable throwable = error;
+            if (throwable != null) {
+                actual.onError(throwable);
+            } else {
+                actual.onComplete();
+            }
+            return true;
+        }
+        return false;
+    }
+}
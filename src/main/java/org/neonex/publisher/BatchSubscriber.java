@@ -0,0 +1,30 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * Opt-in {@link Subscriber} which receives the elements of an array backed source, such as {@link Fountain#fromArray(Object[])},
+ * as contiguous slices instead of one {@link #onNext(Object)} call per element.
+ * <p>
+ * 1. Every slice is sized to the demand outstanding when it is emitted, so the total of the slice lengths never exceeds the requested amount.
+ * 2. A slice never contains null, a null element is reported through {@link #onError(Throwable)} after the elements preceding it.
+ * 3. The array is the backing array of the source, shared with every other subscriber of it and not a copy: it MUST be treated as read-only,
+ * a write to it changes what every later subscriber receives, and it MUST NOT be retained after the call returns.
+ * 4. The runtime type of the array is not T[], an array created by generic varargs is an Object[] for instance,
+ * so the elements have to be read one by one and cast to T.
+ * 5. Sources which are not array backed keep calling {@link #onNext(Object)}, so implementations have to support both paths.
+ *
+ * @param <T> the type of element signaled
+ * @author Mandeep Rajpal
+ */
+public interface BatchSubscriber<T> extends Subscriber<T> {
+
+    /**
+     * Receives array[offset, offset + length), following the same rules of the specification as {@link #onNext(Object)}.
+     *
+     * @param array  the backing array of the source, read-only, its elements in the slice are instances of T
+     * @param offset index of the first element of the slice
+     * @param length number of elements in the slice, always greater than 0
+     */
+    void onNextBatch(Object[] array, int offset, int length);
+}
@@ -0,0 +1,42 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+
+import java.util.Iterator;
+
+/**
+ * {@link Iterable} view of a {@link Publisher}, every call to {@link #iterator()} subscribes to it again,
+ * see {@link BlockingIterator}.
+ *
+ * @param <T> type of the elements
+ * @author Mandeep Rajpal
+ */
+final class BlockingIterable<T> implements Iterable<T> {
+    private final Publisher<? extends T> source;
+    private final int prefetch;
+
+    BlockingIterable(Publisher<? extends T> source, int prefetch) {
+        this.source = source;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        BlockingIterator<T> iterator = new BlockingIterator<>(prefetch);
+        source.subscribe(iterator);
+        return iterator;
+    }
+
+    /**
+     * Rethrows the error received by a blocking consumer on its own thread, checked exceptions are wrapped.
+     */
+    static RuntimeException propagate(Throwable error) {
+        if (error instanceof RuntimeException) {
+            return (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return new IllegalStateException(error);
+    }
+}
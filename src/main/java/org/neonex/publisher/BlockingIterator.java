@@ -0,0 +1,155 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Subscriber which hands the elements over to a thread iterating them through a bounded {@link SpscArrayQueue}:
+ * <p>
+ * 1. 'prefetch' elements are requested upfront, and every time 'limit' (3/4 of the prefetch) of them have been
+ * consumed the same number is requested again, the same batching as {@link PublishOnSubscriber}.
+ * 2. The consuming thread parks only when the queue is empty. It publishes itself in 'waiter' and checks the queue
+ * again before parking, the producer swaps 'waiter' out after every offer(), the swap being a full barrier
+ * no wake-up can be lost between the two.
+ * 3. The error is thrown by hasNext() once the elements before it have been consumed,
+ * an interrupt while waiting cancels the subscription.
+ *
+ * @param <T> type of the elements
+ * @author Mandeep Rajpal
+ */
+final class BlockingIterator<T> implements Iterator<T>, Subscriber<T>, Disposable {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<BlockingIterator, Thread> WAITER =
+            AtomicReferenceFieldUpdater.newUpdater(BlockingIterator.class, Thread.class, "waiter");
+
+    private final int prefetch;
+    private final int limit;
+    private final SpscArrayQueue<T> queue;
+
+    private volatile Subscription upstream;
+    private volatile Thread waiter;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+
+    //plain, consumer thread only
+    private int consumed;
+
+    BlockingIterator(int prefetch) {
+        this.prefetch = prefetch;
+        this.limit = Demand.replenishLimit(prefetch);
+        this.queue = new SpscArrayQueue<>(prefetch);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (isCancelled) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (!queue.offer(element)) {
+            upstream.cancel();
+            onError(new IllegalStateException("Queue is full, the upstream did not respect the back pressure"));
+            return;
+        }
+        signal();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        isDone = true;
+        signal();
+    }
+
+    @Override
+    public void onComplete() {
+        isDone = true;
+        signal();
+    }
+
+    private void signal() {
+        Thread thread = WAITER.getAndSet(this, null);
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        for (; ; ) {
+            if (isCancelled) {
+                return false;
+            }
+            //read 'isDone' first, the elements offered before it was set are then visible
+            boolean done = isDone;
+            if (!queue.isEmpty()) {
+                return true;
+            }
+            if (done) {
+                Throwable throwable = error;
+                if (throwable != null) {
+                    throw BlockingIterable.propagate(throwable);
+                }
+                return false;
+            }
+            await();
+        }
+    }
+
+    private void await() {
+        waiter = Thread.currentThread();
+        if (isDone || !queue.isEmpty()) {
+            waiter = null;
+            return;
+        }
+        LockSupport.park(this);
+        waiter = null;
+        if (Thread.interrupted()) {
+            dispose();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an element", new InterruptedException());
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T element = queue.poll();
+        if (++consumed == limit) {
+            consumed = 0;
+            upstream.request(limit);
+        }
+        return element;
+    }
+
+    /**
+     * Cancels the subscription, the iterator then has no more elements. Consumer thread only.
+     */
+    @Override
+    public void dispose() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        queue.clear();
+    }
+}
@@ -0,0 +1,94 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Subscriber which blocks the calling thread until a single value is known, base of
+ * {@link Fountain#blockFirst()} and {@link Fountain#blockLast()}.
+ *
+ * @param <T> type of the elements
+ * @author Mandeep Rajpal
+ */
+abstract class BlockingSingleSubscriber<T> implements Subscriber<T> {
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    Subscription upstream;
+    //plain, published to the blocked thread by the latch
+    T value;
+    private Throwable error;
+
+    @Override
+    public final void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        subscription.request(demand());
+    }
+
+    @Override
+    public final void onError(Throwable throwable) {
+        error = throwable;
+        latch.countDown();
+    }
+
+    @Override
+    public final void onComplete() {
+        latch.countDown();
+    }
+
+    final void done() {
+        latch.countDown();
+    }
+
+    abstract long demand();
+
+    /**
+     * @return the value, null if the source completed empty
+     */
+    final T blockingGet() {
+        if (latch.getCount() != 0) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                upstream.cancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a value", e);
+            }
+        }
+        if (error != null) {
+            throw BlockingIterable.propagate(error);
+        }
+        return value;
+    }
+
+    static final class First<T> extends BlockingSingleSubscriber<T> {
+
+        @Override
+        long demand() {
+            return 1;
+        }
+
+        @Override
+        public void onNext(T element) {
+            if (value == null) {
+                value = element;
+                upstream.cancel();
+                done();
+            }
+        }
+    }
+
+    static final class Last<T> extends BlockingSingleSubscriber<T> {
+
+        @Override
+        long demand() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public void onNext(T element) {
+            value = element;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Adapts a plain {@link Subscriber} to {@link DoubleSubscriber} by boxing every element,
+ * so the primitive subscriptions have a single emission path.
+ *
+ * @author Mandeep Rajpal
+ */
+final class BoxedDoubleSubscriber implements DoubleSubscriber {
+    private final Subscriber<? super Double> actual;
+
+    BoxedDoubleSubscriber(Subscriber<? super Double> actual) {
+        this.actual = actual;
+    }
+
+    static DoubleSubscriber of(Subscriber<? super Double> subscriber) {
+        if (subscriber instanceof DoubleSubscriber) {
+            return (DoubleSubscriber) subscriber;
+        }
+        return new BoxedDoubleSubscriber(subscriber);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        actual.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNextDouble(double value) {
+        actual.onNext(value);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        actual.onComplete();
+    }
+}
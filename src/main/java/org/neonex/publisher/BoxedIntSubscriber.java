@@ -0,0 +1,45 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Adapts a plain {@link Subscriber} to {@link IntSubscriber} by boxing every element,
+ * so the primitive subscriptions have a single emission path.
+ *
+ * @author Mandeep Rajpal
+ */
+final class BoxedIntSubscriber implements IntSubscriber {
+    private final Subscriber<? super Integer> actual;
+
+    BoxedIntSubscriber(Subscriber<? super Integer> actual) {
+        this.actual = actual;
+    }
+
+    static IntSubscriber of(Subscriber<? super Integer> subscriber) {
+        if (subscriber instanceof IntSubscriber) {
+            return (IntSubscriber) subscriber;
+        }
+        return new BoxedIntSubscriber(subscriber);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        actual.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNextInt(int value) {
+        actual.onNext(value);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        actual.onComplete();
+    }
+}
@@ -0,0 +1,45 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Adapts a plain {@link Subscriber} to {@link LongSubscriber} by boxing every element,
+ * so the primitive subscriptions have a single emission path.
+ *
+ * @author Mandeep Rajpal
+ */
+final class BoxedLongSubscriber implements LongSubscriber {
+    private final Subscriber<? super Long> actual;
+
+    BoxedLongSubscriber(Subscriber<? super Long> actual) {
+        this.actual = actual;
+    }
+
+    static LongSubscriber of(Subscriber<? super Long> subscriber) {
+        if (subscriber instanceof LongSubscriber) {
+            return (LongSubscriber) subscriber;
+        }
+        return new BoxedLongSubscriber(subscriber);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        actual.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNextLong(long value) {
+        actual.onNext(value);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        actual.onComplete();
+    }
+}
@@ -0,0 +1,77 @@
+package org.neonex.publisher;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed set of reusable off-heap {@link ByteBuffer}s, used by {@link Fountain#fromChannel} and {@link ChannelSubscriber}
+ * so streaming through a socket does not allocate once the pool is warm.
+ * <p>
+ * The pool is a lock-free array of slots: acquire() takes the first occupied slot with a CAS to null, release() puts
+ * the buffer back into the first free slot. When every buffer is in use acquire() allocates a new one, and release()
+ * drops a buffer for which there is no free slot, so the pool never blocks and never holds more than 'maxPooled' buffers.
+ *
+ * @author Mandeep Rajpal
+ */
+public final class BufferPool {
+    private final AtomicReferenceArray<ByteBuffer> slots;
+    private final int bufferSize;
+
+    private BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.slots = new AtomicReferenceArray<>(maxPooled);
+    }
+
+    /**
+     * @param bufferSize capacity of every buffer, in bytes
+     * @param maxPooled  number of idle buffers kept for reuse
+     * @return a new pool of direct buffers
+     */
+    public static BufferPool direct(int bufferSize, int maxPooled) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        if (maxPooled < 1) {
+            throw new IllegalArgumentException("maxPooled > 0 required but it was " + maxPooled);
+        }
+        return new BufferPool(bufferSize, maxPooled);
+    }
+
+    /**
+     * @return a cleared buffer of {@link #bufferSize()} bytes, owned by the caller until it is released
+     */
+    public ByteBuffer acquire() {
+        final AtomicReferenceArray<ByteBuffer> slots = this.slots;
+        for (int i = 0; i < slots.length(); i++) {
+            ByteBuffer buffer = slots.get(i);
+            if (buffer != null && slots.compareAndSet(i, buffer, null)) {
+                return buffer;
+            }
+        }
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Gives a buffer obtained from {@link #acquire()} back to the pool, the caller must not use it afterwards.
+     * Buffers which cannot belong to this pool, heap, read-only or of another size, are ignored.
+     *
+     * @param buffer buffer to reuse
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize || buffer.isReadOnly()) {
+            return;
+        }
+        buffer.clear();
+        final AtomicReferenceArray<ByteBuffer> slots = this.slots;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, buffer)) {
+                return;
+            }
+        }
+        //the pool is full, the buffer is left to the garbage collector
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.List;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BufferPublisher<T> extends Fountain<List<T>> {
+    private final Publisher<? extends T> source;
+    private final int maxSize;
+
+    BufferPublisher(Publisher<? extends T> source, int maxSize) {
+        this.source = source;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super List<T>> subscriber) {
+        source.subscribe(new BufferSubscriber<>(subscriber, maxSize));
+    }
+}
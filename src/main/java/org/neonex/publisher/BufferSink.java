@@ -0,0 +1,231 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * {@link FountainSink} which serializes the signals of many producers without locking:
+ * <p>
+ * 1. Every item goes through a {@link MpscLinkedQueue} and the drain loop is serialized with 'wip', the same
+ * work in progress pattern as in {@link ArraySubscription}: whoever moves 'wip' from 0 owns the loop, every other
+ * producer only enqueues and increments it, and the owner goes around the loop again until it has seen all of them.
+ * 2. An uncontended producer which finds the queue empty and some demand emits its item directly.
+ * 3. Terminal signals wait for the queued items, the resource given to onDispose() is released after them or on cancel().
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BufferSink<T> implements FountainSink<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<BufferSink> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(BufferSink.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<BufferSink> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(BufferSink.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<BufferSink, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(BufferSink.class, Throwable.class, "error");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<BufferSink, Disposable> RESOURCE =
+            AtomicReferenceFieldUpdater.newUpdater(BufferSink.class, Disposable.class, "resource");
+
+    private static final Disposable DISPOSED = () -> {
+    };
+
+    private final Subscriber<? super T> actual;
+    private final MpscLinkedQueue<T> queue = new MpscLinkedQueue<>();
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+    //set by an illegal request(), the queued items are dropped
+    private volatile boolean isInvalid;
+    private volatile Disposable resource;
+
+    BufferSink(Subscriber<? super T> actual) {
+        this.actual = actual;
+    }
+
+    @Override
+    public void next(T value) {
+        Objects.requireNonNull(value, "value");
+        if (isDone || isCancelled) {
+            return;
+        }
+        if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+            long requested = this.requested;
+            if (requested != 0 && queue.isEmpty()) {
+                actual.onNext(value);
+                if (requested != Long.MAX_VALUE) {
+                    REQUESTED.decrementAndGet(this);
+                }
+            } else {
+                queue.offer(value);
+            }
+            if (WIP.decrementAndGet(this) == 0) {
+                return;
+            }
+        } else {
+            queue.offer(value);
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    @Override
+    public void error(Throwable error) {
+        Objects.requireNonNull(error, "error");
+        if (isDone || isCancelled) {
+            return;
+        }
+        if (ERROR.compareAndSet(this, null, error)) {
+            isDone = true;
+            drain();
+        }
+    }
+
+    @Override
+    public void complete() {
+        if (isDone || isCancelled) {
+            return;
+        }
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public long requested() {
+        return requested;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+    @Override
+    public FountainSink<T> onDispose(Disposable disposable) {
+        Objects.requireNonNull(disposable, "disposable");
+        if (!RESOURCE.compareAndSet(this, null, disposable)) {
+            //already released, or a resource was already registered
+            if (resource == DISPOSED) {
+                disposable.dispose();
+            } else {
+                throw new IllegalStateException("A resource is already registered");
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            dispose();
+            //overrides a pending terminal signal and the queued items, the drain loop delivers it
+            //so it stays serialized with the producers
+            error = new IllegalArgumentException();
+            isInvalid = true;
+            isDone = true;
+            drain();
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        dispose();
+        //if the drain loop is not running clear the queue here, otherwise the loop clears it
+        if (WIP.getAndIncrement(this) == 0) {
+            queue.clear();
+        }
+    }
+
+    private void dispose() {
+        Disposable disposable = RESOURCE.getAndSet(this, DISPOSED);
+        if (disposable != null && disposable != DISPOSED) {
+            disposable.dispose();
+        }
+    }
+
+    private void drain() {
+        if (WIP.getAndIncrement(this) == 0) {
+            drainLoop();
+        }
+    }
+
+    /**
+     * Called by the owner of 'wip' only.
+     */
+    private void drainLoop() {
+        final Subscriber<? super T> actual = this.actual;
+        final MpscLinkedQueue<T> queue = this.queue;
+        int missed = 1;
+
+        while (true) {
+            long requested = this.requested;
+            long emitted = 0;
+
+            while (emitted != requested) {
+                boolean done = isDone;
+                T value = queue.poll();
+                boolean empty = value == null;
+                if (isTerminated(done, empty)) {
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                actual.onNext(value);
+                emitted++;
+            }
+            if (emitted == requested && isTerminated(isDone, queue.isEmpty())) {
+                return;
+            }
+            if (emitted != 0 && requested != Long.MAX_VALUE) {
+                REQUESTED.addAndGet(this, -emitted);
+            }
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean isTerminated(boolean done, boolean empty) {
+        if (isCancelled) {
+            queue.clear();
+            return true;
+        }
+        //an error of the producer waits for the queued items, the same as a completion
+        if (!done || !(empty || isInvalid)) {
+            return false;
+        }
+        queue.clear();
+        //leave 'wip' above 0 for good, so nothing runs the loop again
+        isCancelled = true;
+        dispose();
+        Throwable throwable = error;
+        if (throwable != null) {
+            actual.onError(throwable);
+        } else {
+            actual.onComplete();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the elements of the upstream into lists of 'maxSize' elements, the last one may be shorter.
+ * A request for n buffers becomes a single request for n * maxSize elements, every buffer but the last is full,
+ * so the upstream can never emit more buffers than were requested and nothing has to be queued here.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BufferSubscriber<T> implements Subscriber<T>, Subscription {
+    private final Subscriber<? super List<T>> actual;
+    private final int maxSize;
+
+    private Subscription upstream;
+    //plain fields, signals from the upstream are serialized
+    private List<T> buffer;
+    private boolean isDone;
+
+    BufferSubscriber(Subscriber<? super List<T>> actual, int maxSize) {
+        this.actual = actual;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        List<T> buffer = this.buffer;
+        if (buffer == null) {
+            buffer = new ArrayList<>(maxSize);
+            this.buffer = buffer;
+        }
+        buffer.add(element);
+        if (buffer.size() == maxSize) {
+            this.buffer = null;
+            actual.onNext(buffer);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        buffer = null;
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        List<T> buffer = this.buffer;
+        if (buffer != null) {
+            this.buffer = null;
+            actual.onNext(buffer);
+        }
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        //an illegal amount is passed on as it is, the upstream reports it
+        upstream.request(numberOfElements < 1 ? numberOfElements : Demand.multiply(numberOfElements, maxSize));
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
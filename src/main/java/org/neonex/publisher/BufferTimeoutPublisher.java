@@ -0,0 +1,29 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.List;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BufferTimeoutPublisher<T> extends Fountain<List<T>> {
+    private final Publisher<? extends T> source;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final Scheduler scheduler;
+
+    BufferTimeoutPublisher(Publisher<? extends T> source, int maxSize, long maxDelayNanos, Scheduler scheduler) {
+        this.source = source;
+        this.maxSize = maxSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super List<T>> subscriber) {
+        source.subscribe(new BufferTimeoutSubscriber<>(subscriber, maxSize, maxDelayNanos, scheduler));
+    }
+}
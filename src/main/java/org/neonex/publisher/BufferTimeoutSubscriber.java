@@ -0,0 +1,277 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Collects the elements of the upstream into lists which are closed when 'maxSize' elements are collected or when
+ * 'maxDelay' has elapsed since the first element of the list, whichever comes first:
+ * <p>
+ * 1. A request for n buffers becomes a single request for n * maxSize elements, as in {@link BufferSubscriber}.
+ * 2. A buffer closed by the timer is shorter, so the elements requested for it can still arrive and fill more buffers
+ * than were requested. Closed buffers wait in a queue until the subscriber asks for them, the queue never holds more
+ * elements than the subscriber has already requested.
+ * 3. The upstream and the timer both close buffers, so the open buffer and the queue are guarded by this object's monitor,
+ * and the buffers are emitted by a work in progress drain loop, the same one as in {@link PublishOnSubscriber}.
+ * 4. Every timer is tagged with the generation of the buffer it was started for, a timer which fires after its buffer
+ * was closed by size finds another generation and does nothing.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class BufferTimeoutSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<BufferTimeoutSubscriber> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(BufferTimeoutSubscriber.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<BufferTimeoutSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(BufferTimeoutSubscriber.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<BufferTimeoutSubscriber, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(BufferTimeoutSubscriber.class, Throwable.class, "error");
+
+    private final Subscriber<? super List<T>> actual;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final Scheduler scheduler;
+
+    private Subscription upstream;
+
+    //guarded by 'this'
+    private final ArrayDeque<List<T>> closed = new ArrayDeque<>();
+    private List<T> buffer;
+    private long generation;
+    private Disposable timer;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+
+    //plain field, only the drain loop reads or writes it
+    private long emitted;
+
+    BufferTimeoutSubscriber(Subscriber<? super List<T>> actual, int maxSize, long maxDelayNanos, Scheduler scheduler) {
+        this.actual = actual;
+        this.maxSize = maxSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        boolean isFull;
+        try {
+            synchronized (this) {
+                List<T> buffer = this.buffer;
+                if (buffer == null) {
+                    buffer = new ArrayList<>(maxSize);
+                    this.buffer = buffer;
+                    startTimer();
+                }
+                buffer.add(element);
+                isFull = buffer.size() == maxSize;
+                if (isFull) {
+                    closeBuffer();
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            //the scheduler is disposed, the buffers could not be closed on time any more
+            upstream.cancel();
+            fail(e);
+            return;
+        }
+        if (isFull) {
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        synchronized (this) {
+            buffer = null;
+            stopTimer();
+        }
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        synchronized (this) {
+            if (buffer != null) {
+                closeBuffer();
+            }
+        }
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            upstream.cancel();
+            fail(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        upstream.request(Demand.multiply(numberOfElements, maxSize));
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        upstream.cancel();
+        synchronized (this) {
+            buffer = null;
+            stopTimer();
+        }
+        //if the drain loop is not running clear the queue here, otherwise the loop clears it
+        if (WIP.getAndIncrement(this) == 0) {
+            clear();
+        }
+    }
+
+    /**
+     * Called with the monitor held.
+     */
+    private void startTimer() {
+        long generation = ++this.generation;
+        timer = scheduler.schedule(() -> timeout(generation), maxDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Called with the monitor held, any timer still pending belongs to an older generation after this.
+     */
+    private void stopTimer() {
+        generation++;
+        Disposable timer = this.timer;
+        if (timer != null) {
+            this.timer = null;
+            timer.dispose();
+        }
+    }
+
+    /**
+     * Called with the monitor held.
+     */
+    private void closeBuffer() {
+        closed.offer(buffer);
+        buffer = null;
+        stopTimer();
+    }
+
+    private void timeout(long generation) {
+        synchronized (this) {
+            if (generation != this.generation || buffer == null) {
+                return;
+            }
+            //the timer has fired, there is nothing to dispose any more
+            timer = null;
+            closeBuffer();
+        }
+        drain();
+    }
+
+    private void fail(Throwable throwable) {
+        ERROR.compareAndSet(this, null, throwable);
+        isDone = true;
+        drain();
+    }
+
+    private void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final Subscriber<? super List<T>> actual = this.actual;
+        long emitted = this.emitted;
+        int missed = 1;
+
+        while (true) {
+            long demand = requested;
+            while (emitted != demand) {
+                boolean done = isDone;
+                List<T> buffer;
+                synchronized (this) {
+                    buffer = closed.poll();
+                }
+                boolean empty = buffer == null;
+                if (isTerminated(done, empty)) {
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                actual.onNext(buffer);
+                emitted++;
+            }
+            if (emitted == demand && isTerminated(isDone, isEmpty())) {
+                return;
+            }
+            this.emitted = emitted;
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private synchronized boolean isEmpty() {
+        return closed.isEmpty();
+    }
+
+    private synchronized void clear() {
+        closed.clear();
+    }
+
+    private boolean isTerminated(boolean done, boolean empty) {
+        if (isCancelled) {
+            clear();
+            return true;
+        }
+        if (done) {
+            Throwable throwable = error;
+            if (throwable != null) {
+                isCancelled = true;
+                clear();
+                actual.onError(throwable);
+                return true;
+            }
+            if (empty) {
+                isCancelled = true;
+                actual.onComplete();
+                return true;
+            }
+        }
+        return false;
+    }
+}
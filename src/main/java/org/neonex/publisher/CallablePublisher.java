@@ -0,0 +1,81 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Publisher of the value returned by a {@link Callable}, called once per subscription right after onSubscribe().
+ * A null value completes empty and an exception is delivered to onError(), the value waits for the demand
+ * in a {@link DeferredScalarSubscription}.
+ * <p>
+ * map() and filter() are composed into the callable, so a chain of them stays a single scalar stage.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class CallablePublisher<T> extends Fountain<T> {
+    final Callable<? extends T> callable;
+
+    CallablePublisher(Callable<? extends T> callable) {
+        this.callable = callable;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        CallableSubscription<T> subscription = new CallableSubscription<>(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (subscription.isTerminated()) {
+            return;
+        }
+        T value;
+        try {
+            value = callable.call();
+        } catch (Throwable e) {
+            subscription.error(e);
+            return;
+        }
+        if (value == null) {
+            subscription.completeEmpty();
+        } else {
+            subscription.complete(value);
+        }
+    }
+
+    @Override
+    public <R> Fountain<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        Function<T, R> mapping = MapFilterPublisher.mapping(mapper);
+        Callable<? extends T> callable = this.callable;
+        return new CallablePublisher<>(() -> {
+            T value = callable.call();
+            return value == null ? null : mapping.apply(value);
+        });
+    }
+
+    @Override
+    public Fountain<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        Callable<? extends T> callable = this.callable;
+        return new CallablePublisher<>(() -> {
+            T value = callable.call();
+            return value == null || !predicate.test(value) ? null : value;
+        });
+    }
+
+    private static final class CallableSubscription<T> extends DeferredScalarSubscription<T> {
+
+        CallableSubscription(Subscriber<? super T> actual) {
+            super(actual);
+        }
+
+        @Override
+        void onCancel() {
+            //the callable runs on the subscribing thread, there is nothing to stop
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Single use publisher of the bytes read from a socket, a channel can only be read by one subscriber,
+ * so every subscriber after the first one immediately receives an {@link IllegalStateException} through onError().
+ *
+ * @author Mandeep Rajpal
+ */
+final class ChannelPublisher extends Fountain<ByteBuffer> {
+
+    private static final AtomicIntegerFieldUpdater<ChannelPublisher> SUBSCRIBED =
+            AtomicIntegerFieldUpdater.newUpdater(ChannelPublisher.class, "subscribed");
+
+    private final AsynchronousSocketChannel channel;
+    private final BufferPool pool;
+
+    private volatile int subscribed;
+
+    ChannelPublisher(AsynchronousSocketChannel channel, BufferPool pool) {
+        this.channel = channel;
+        this.pool = pool;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        if (!SUBSCRIBED.compareAndSet(this, 0, 1)) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("This publisher allows only a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new ChannelReadSubscription(channel, pool, subscriber));
+    }
+}
@@ -0,0 +1,109 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Reads a socket only while the subscriber has outstanding demand, one read of one pooled buffer per unit of demand.
+ * <p>
+ * 1. There is at most one read in flight. 'requested' acts as the work in progress flag as in {@link ArraySubscription}:
+ * the request() call which moves it away from 0 starts the first read, and every completed read which leaves it above 0
+ * starts the next one, so the signals to the subscriber are serialized by the chain of reads.
+ * 2. Once the demand is exhausted no read is pending, the socket buffers fill up and TCP flow control slows the sender down.
+ * 3. The buffer emitted by onNext() belongs to the subscriber, which should give it back to the pool once consumed.
+ * 4. cancel() stops issuing reads but does not close the channel, which stays owned by the caller.
+ *
+ * @author Mandeep Rajpal
+ */
+final class ChannelReadSubscription implements Subscription, CompletionHandler<Integer, ByteBuffer> {
+
+    private static final AtomicLongFieldUpdater<ChannelReadSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(ChannelReadSubscription.class, "requested");
+
+    private final AsynchronousSocketChannel channel;
+    private final BufferPool pool;
+    private final Subscriber<? super ByteBuffer> subscriber;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand, it also acts as the work in progress flag: a read is in flight while it is above 0
+    private volatile long requested;
+
+    ChannelReadSubscription(AsynchronousSocketChannel channel, BufferPool pool, Subscriber<? super ByteBuffer> subscriber) {
+        this.channel = channel;
+        this.pool = pool;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) == 0) {
+            read(pool.acquire());
+        }
+    }
+
+    private void read(ByteBuffer buffer) {
+        try {
+            channel.read(buffer, buffer, this);
+        } catch (RuntimeException e) {
+            //the channel is closed or a read is already pending, either way nothing will complete this read
+            failed(e, buffer);
+        }
+    }
+
+    @Override
+    public void completed(Integer count, ByteBuffer buffer) {
+        if (isCancelled) {
+            pool.release(buffer);
+            return;
+        }
+        if (count < 0) {
+            isCancelled = true;
+            pool.release(buffer);
+            subscriber.onComplete();
+            return;
+        }
+        if (count == 0) {
+            //nothing was read, the demand is still there
+            read(buffer);
+            return;
+        }
+        buffer.flip();
+        subscriber.onNext(buffer);
+        long demand = requested;
+        if (demand != Long.MAX_VALUE) {
+            demand = REQUESTED.decrementAndGet(this);
+        }
+        if (demand != 0 && !isCancelled) {
+            read(pool.acquire());
+        }
+    }
+
+    @Override
+    public void failed(Throwable throwable, ByteBuffer buffer) {
+        pool.release(buffer);
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        subscriber.onError(throwable);
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
@@ -0,0 +1,124 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * {@link Subscriber} which writes every buffer it receives to a socket, the counterpart of {@link Fountain#fromChannel}.
+ * It requests one buffer at a time and asks for the next one only once the previous one is completely written,
+ * so a slow peer slows the publisher down instead of queueing buffers in memory.
+ * <p>
+ * Written buffers are given back to the pool when there is one, which makes a pipeline from
+ * {@link Fountain#fromChannel} to this subscriber sharing the same pool allocation free.
+ * The channel is not closed, {@link #completion()} tells when it can be.
+ *
+ * @author Mandeep Rajpal
+ */
+public final class ChannelSubscriber implements Subscriber<ByteBuffer>, CompletionHandler<Integer, ByteBuffer> {
+
+    private static final AtomicIntegerFieldUpdater<ChannelSubscriber> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(ChannelSubscriber.class, "state");
+
+    //bits of 'state', the write completion and onComplete() race to finish, whichever sees the other one's bit does
+    private static final int WRITING = 1;
+    private static final int DONE = 2;
+
+    private final AsynchronousSocketChannel channel;
+    private final BufferPool pool;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private Subscription upstream;
+
+    private volatile int state;
+
+    /**
+     * @param channel channel written to
+     * @param pool    pool the written buffers are released to, can be null
+     */
+    public ChannelSubscriber(AsynchronousSocketChannel channel, BufferPool pool) {
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.pool = pool;
+    }
+
+    /**
+     * @return completed once every buffer was written and the publisher completed, or exceptionally
+     * if either the publisher or a write failed
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (upstream != null) {
+            //rule 2.5, a subscriber must not be subscribed twice
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+        STATE.getAndUpdate(this, state -> state | WRITING);
+        write(buffer);
+    }
+
+    private void write(ByteBuffer buffer) {
+        try {
+            channel.write(buffer, buffer, this);
+        } catch (RuntimeException e) {
+            failed(e, buffer);
+        }
+    }
+
+    @Override
+    public void completed(Integer count, ByteBuffer buffer) {
+        if (buffer.hasRemaining()) {
+            //partial write, the peer is slower than the publisher
+            write(buffer);
+            return;
+        }
+        release(buffer);
+        int previous = STATE.getAndUpdate(this, state -> state & ~WRITING);
+        if ((previous & DONE) != 0) {
+            completion.complete(null);
+        } else {
+            upstream.request(1);
+        }
+    }
+
+    @Override
+    public void failed(Throwable throwable, ByteBuffer buffer) {
+        release(buffer);
+        upstream.cancel();
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        int previous = STATE.getAndUpdate(this, state -> state | DONE);
+        if ((previous & WRITING) == 0) {
+            completion.complete(null);
+        }
+    }
+
+    private void release(ByteBuffer buffer) {
+        if (pool != null) {
+            pool.release(buffer);
+        }
+    }
+}
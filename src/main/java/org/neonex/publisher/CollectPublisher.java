@@ -0,0 +1,35 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.stream.Collector;
+
+/**
+ * @param <T> type of the source elements
+ * @param <A> type of the mutable container of the collector
+ * @param <R> type of the result
+ * @author Mandeep Rajpal
+ */
+final class CollectPublisher<T, A, R> extends Fountain<R> {
+    private final Publisher<? extends T> source;
+    private final Collector<? super T, A, R> collector;
+
+    CollectPublisher(Publisher<? extends T> source, Collector<? super T, A, R> collector) {
+        this.source = source;
+        this.collector = collector;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        A container;
+        try {
+            container = collector.supplier().get();
+        } catch (Throwable e) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(e);
+            return;
+        }
+        source.subscribe(new CollectSubscriber<>(subscriber, collector, container));
+    }
+}
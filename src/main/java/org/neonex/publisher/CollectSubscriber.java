@@ -0,0 +1,95 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Requests an unbounded amount and accumulates the items into the container of a {@link Collector}, the finisher
+ * runs once the upstream completes and its result waits for the demand in the {@link DeferredScalarSubscription}.
+ * A finisher returning null completes empty.
+ *
+ * @param <T> type of the source elements
+ * @param <A> type of the mutable container of the collector
+ * @param <R> type of the result
+ * @author Mandeep Rajpal
+ */
+final class CollectSubscriber<T, A, R> extends DeferredScalarSubscription<R> implements Subscriber<T> {
+    private final BiConsumer<A, ? super T> accumulator;
+    private final Function<A, R> finisher;
+
+    private Subscription upstream;
+
+    //plain fields, the signals of the upstream are serialized
+    private A container;
+    private boolean isDone;
+
+    CollectSubscriber(Subscriber<? super R> actual, Collector<? super T, A, R> collector, A container) {
+        super(actual);
+        this.accumulator = collector.accumulator();
+        this.finisher = collector.finisher();
+        this.container = container;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        try {
+            accumulator.accept(container, element);
+        } catch (Throwable e) {
+            isDone = true;
+            container = null;
+            upstream.cancel();
+            error(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        container = null;
+        error(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        A container = this.container;
+        this.container = null;
+        R result;
+        try {
+            result = finisher.apply(container);
+        } catch (Throwable e) {
+            error(e);
+            return;
+        }
+        if (result == null) {
+            completeEmpty();
+        } else {
+            complete(result);
+        }
+    }
+
+    @Override
+    void onCancel() {
+        upstream.cancel();
+    }
+}
@@ -0,0 +1,211 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+
+/**
+ * Emits the combination of the latest item of every source each time one of them emits, once all of them have:
+ * <p>
+ * 1. The items of all the sources go through a single {@link MpscLinkedQueue}, tagged with the index of their source,
+ * so the drain loop sees them in the order they arrived. Every {@link CombineLatestInner} prefetches 'prefetch' items
+ * and requests 'limit' (3/4 of the prefetch) more once the drain loop has taken that many of its items, so the queue
+ * never holds more than 'prefetch' items per source and a source sees a request() call per batch.
+ * 2. The drain loop is serialized with 'wip', the same work in progress pattern as in {@link ZipCoordinator}. It keeps
+ * the latest items in a plain array and emits a copy of it for every item taken once every source has one.
+ * 3. It completes once every source completed and the queue is empty, or as soon as a source completes without any
+ * item since no combination can be emitted then. An error of any source is delivered right away.
+ *
+ * @param <R> type of the emitted elements
+ * @author Mandeep Rajpal
+ */
+final class CombineLatestCoordinator<R> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<CombineLatestCoordinator> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(CombineLatestCoordinator.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<CombineLatestCoordinator> COMPLETED =
+            AtomicIntegerFieldUpdater.newUpdater(CombineLatestCoordinator.class, "completed");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<CombineLatestCoordinator> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(CombineLatestCoordinator.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CombineLatestCoordinator, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(CombineLatestCoordinator.class, Throwable.class, "error");
+
+    private final Subscriber<? super R> actual;
+    private final Function<? super Object[], ? extends R> combiner;
+    private final CombineLatestInner[] inners;
+    final MpscLinkedQueue<Indexed> queue = new MpscLinkedQueue<>();
+
+    private volatile int wip;
+    //number of sources which completed after emitting at least one item
+    private volatile int completed;
+    private volatile long requested;
+    private volatile Throwable error;
+    //set by a source which completed without any item
+    private volatile boolean isEmptySource;
+    private volatile boolean isCancelled;
+
+    //plain fields, only the drain loop reads or writes them
+    private final Object[] latest;
+    private int present;
+    private long emitted;
+
+    CombineLatestCoordinator(Subscriber<? super R> actual, Function<? super Object[], ? extends R> combiner,
+                             int sources, int prefetch) {
+        this.actual = actual;
+        this.combiner = combiner;
+        this.latest = new Object[sources];
+        this.inners = new CombineLatestInner[sources];
+        for (int j = 0; j < sources; j++) {
+            inners[j] = new CombineLatestInner(this, j, prefetch);
+        }
+    }
+
+    void subscribe(Publisher<?>[] sources) {
+        for (int j = 0; j < sources.length; j++) {
+            if (isCancelled) {
+                return;
+            }
+            sources[j].subscribe(inners[j]);
+        }
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            innerError(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        cancelInners();
+        //if the drain loop is not running clear the queue here, otherwise the loop clears it
+        if (WIP.getAndIncrement(this) == 0) {
+            clear();
+        }
+    }
+
+    void innerError(Throwable throwable) {
+        ERROR.compareAndSet(this, null, throwable);
+        drain();
+    }
+
+    void innerComplete(boolean hasValue) {
+        if (hasValue) {
+            COMPLETED.incrementAndGet(this);
+        } else {
+            isEmptySource = true;
+        }
+        drain();
+    }
+
+    void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final Subscriber<? super R> actual = this.actual;
+        final MpscLinkedQueue<Indexed> queue = this.queue;
+        final Object[] latest = this.latest;
+        long emitted = this.emitted;
+        int missed = 1;
+
+        while (true) {
+            long demand = requested;
+            while (emitted != demand) {
+                boolean done = isDone();
+                Indexed item = queue.poll();
+                boolean empty = item == null;
+                if (isTerminated(done, empty)) {
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                int index = (int) item.index;
+                if (latest[index] == null) {
+                    present++;
+                }
+                latest[index] = item.value;
+                inners[index].consumed();
+                if (present != latest.length) {
+                    //not every source has an item yet, nothing to emit and no demand used
+                    continue;
+                }
+                R value;
+                try {
+                    value = ZipCoordinator.requireNonNull(combiner.apply(latest.clone()));
+                } catch (Throwable e) {
+                    ERROR.compareAndSet(this, null, e);
+                    isTerminated(false, false);
+                    return;
+                }
+                actual.onNext(value);
+                emitted++;
+            }
+            if (emitted == demand && isTerminated(isDone(), queue.isEmpty())) {
+                return;
+            }
+            this.emitted = emitted;
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean isDone() {
+        return completed == inners.length;
+    }
+
+    private boolean isTerminated(boolean done, boolean empty) {
+        if (isCancelled) {
+            clear();
+            return true;
+        }
+        Throwable throwable = error;
+        if (throwable != null) {
+            isCancelled = true;
+            cancelInners();
+            clear();
+            actual.onError(throwable);
+            return true;
+        }
+        if (done && empty || isEmptySource) {
+            isCancelled = true;
+            cancelInners();
+            clear();
+            actual.onComplete();
+            return true;
+        }
+        return false;
+    }
+
+    private void cancelInners() {
+        for (CombineLatestInner inner : inners) {
+            inner.cancel();
+        }
+    }
+
+    private void clear() {
+        queue.clear();
+        for (int j = 0; j < latest.length; j++) {
+            latest[j] = null;
+        }
+    }
+}
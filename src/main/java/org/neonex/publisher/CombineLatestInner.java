@@ -0,0 +1,90 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber of one source of a {@link CombineLatestCoordinator}, it tags its items with the index of the source
+ * and offers them to the shared queue of the coordinator.
+ *
+ * @author Mandeep Rajpal
+ */
+final class CombineLatestInner implements Subscriber<Object> {
+    private final CombineLatestCoordinator<?> parent;
+    private final int index;
+    private final int prefetch;
+    private final int limit;
+
+    private volatile Subscription upstream;
+    private volatile boolean isCancelled;
+
+    //plain fields, the signals of the source are serialized
+    private boolean isDone;
+    private boolean hasValue;
+
+    //plain field, only the drain loop of the parent reads or writes it
+    private int consumed;
+
+    CombineLatestInner(CombineLatestCoordinator<?> parent, int index, int prefetch) {
+        this.parent = parent;
+        this.index = index;
+        this.prefetch = prefetch;
+        this.limit = Demand.replenishLimit(prefetch);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        upstream = subscription;
+        if (isCancelled) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(Object element) {
+        if (isDone) {
+            return;
+        }
+        hasValue = true;
+        parent.queue.offer(new Indexed(index, element));
+        parent.drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        parent.innerError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        parent.innerComplete(hasValue);
+    }
+
+    /**
+     * Drain loop only, called for every item of this source taken from the queue.
+     */
+    void consumed() {
+        if (++consumed == limit) {
+            consumed = 0;
+            upstream.request(limit);
+        }
+    }
+
+    void cancel() {
+        isCancelled = true;
+        Subscription upstream = this.upstream;
+        if (upstream != null) {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.function.Function;
+
+/**
+ * @param <R> type of the emitted elements
+ * @author Mandeep Rajpal
+ */
+final class CombineLatestPublisher<R> extends Fountain<R> {
+    private final Publisher<?>[] sources;
+    private final Function<? super Object[], ? extends R> combiner;
+    private final int prefetch;
+
+    CombineLatestPublisher(Publisher<?>[] sources, Function<? super Object[], ? extends R> combiner, int prefetch) {
+        this.sources = sources;
+        this.combiner = combiner;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        CombineLatestCoordinator<R> coordinator = new CombineLatestCoordinator<>(subscriber, combiner, sources.length, prefetch);
+        subscriber.onSubscribe(coordinator);
+        coordinator.subscribe(sources);
+    }
+}
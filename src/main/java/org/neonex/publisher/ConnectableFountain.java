@@ -0,0 +1,31 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * Hot {@link Publisher} which shares one subscription to its source between all of its subscribers.
+ * Nothing is requested from the source until {@link #connect()} is called, subscribers which arrive before that
+ * are only attached to it.
+ *
+ * @param <T> type of Publisher
+ * @author Mandeep Rajpal
+ */
+public abstract class ConnectableFountain<T> extends Fountain<T> {
+
+    /**
+     * Subscribes to the source, if it is not already subscribed.
+     *
+     * @return a handle which cancels the subscription to the source
+     */
+    public abstract Disposable connect();
+
+    /**
+     * Connects when the first subscriber arrives and disconnects when the last one cancels.
+     * A subscriber which arrives after the source terminated triggers a new connection.
+     *
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> refCount() {
+        return new RefCountPublisher<>(this);
+    }
+}
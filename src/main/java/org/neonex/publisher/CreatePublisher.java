@@ -0,0 +1,32 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.function.Consumer;
+
+/**
+ * Hands a new {@link BufferSink} to the emitter for every subscriber, an exception thrown by the emitter
+ * terminates the sink with that error.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class CreatePublisher<T> extends Fountain<T> {
+    private final Consumer<? super FountainSink<T>> emitter;
+
+    CreatePublisher(Consumer<? super FountainSink<T>> emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        BufferSink<T> sink = new BufferSink<>(subscriber);
+        subscriber.onSubscribe(sink);
+        try {
+            emitter.accept(sink);
+        } catch (Throwable e) {
+            sink.error(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Calls the supplier on every subscribe() and subscribes to the publisher it returns,
+ * a failing supplier or a null publisher is delivered to onError().
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class DeferPublisher<T> extends Fountain<T> {
+    private final Supplier<? extends Publisher<? extends T>> supplier;
+
+    DeferPublisher(Supplier<? extends Publisher<? extends T>> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Publisher<? extends T> publisher;
+        try {
+            publisher = Objects.requireNonNull(supplier.get(), "The supplier returned a null Publisher");
+        } catch (Throwable e) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(e);
+            return;
+        }
+        publisher.subscribe(subscriber);
+    }
+}
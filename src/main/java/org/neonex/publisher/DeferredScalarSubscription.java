@@ -0,0 +1,125 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Subscription emitting at most one value which becomes available later, such as the result of a reduction.
+ * The value and the first request can arrive in any order and on any thread, 'state' records which of them arrived
+ * so the one arriving second emits the value, exactly once.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+abstract class DeferredScalarSubscription<T> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<DeferredScalarSubscription> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(DeferredScalarSubscription.class, "state");
+
+    private static final int NO_REQUEST_NO_VALUE = 0;
+    private static final int NO_REQUEST_HAS_VALUE = 1;
+    private static final int HAS_REQUEST_NO_VALUE = 2;
+    //also the final state after onError(), onComplete() or cancel()
+    private static final int TERMINATED = 3;
+
+    final Subscriber<? super T> actual;
+
+    //written before 'state' moves to NO_REQUEST_HAS_VALUE, which publishes it
+    private T value;
+
+    private volatile int state;
+
+    DeferredScalarSubscription(Subscriber<? super T> actual) {
+        this.actual = actual;
+    }
+
+    @Override
+    public final void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            if (STATE.getAndSet(this, TERMINATED) != TERMINATED) {
+                value = null;
+                onCancel();
+                actual.onError(new IllegalArgumentException());
+            }
+            return;
+        }
+        while (true) {
+            int state = this.state;
+            if (state == HAS_REQUEST_NO_VALUE || state == TERMINATED) {
+                return;
+            }
+            if (state == NO_REQUEST_HAS_VALUE) {
+                if (STATE.compareAndSet(this, NO_REQUEST_HAS_VALUE, TERMINATED)) {
+                    T value = this.value;
+                    this.value = null;
+                    actual.onNext(value);
+                    actual.onComplete();
+                }
+                return;
+            }
+            if (STATE.compareAndSet(this, NO_REQUEST_NO_VALUE, HAS_REQUEST_NO_VALUE)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Emits the value as soon as it is requested, then completes.
+     */
+    final void complete(T value) {
+        while (true) {
+            int state = this.state;
+            if (state == NO_REQUEST_NO_VALUE) {
+                this.value = value;
+                if (STATE.compareAndSet(this, NO_REQUEST_NO_VALUE, NO_REQUEST_HAS_VALUE)) {
+                    return;
+                }
+                this.value = null;
+            } else if (state == HAS_REQUEST_NO_VALUE) {
+                if (STATE.compareAndSet(this, HAS_REQUEST_NO_VALUE, TERMINATED)) {
+                    actual.onNext(value);
+                    actual.onComplete();
+                }
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Completes without any value, no demand is needed for that.
+     */
+    final void completeEmpty() {
+        if (STATE.getAndSet(this, TERMINATED) != TERMINATED) {
+            actual.onComplete();
+        }
+    }
+
+    final void error(Throwable throwable) {
+        if (STATE.getAndSet(this, TERMINATED) != TERMINATED) {
+            value = null;
+            actual.onError(throwable);
+        }
+    }
+
+    final boolean isTerminated() {
+        return state == TERMINATED;
+    }
+
+    @Override
+    public final void cancel() {
+        if (STATE.getAndSet(this, TERMINATED) != TERMINATED) {
+            value = null;
+            onCancel();
+        }
+    }
+
+    /**
+     * Stops whatever produces the value, called once on cancel() or an illegal request().
+     */
+    abstract void onCancel();
+}
@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class DelayElementsPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final long delayNanos;
+    private final Scheduler scheduler;
+
+    DelayElementsPublisher(Publisher<? extends T> source, long delayNanos, Scheduler scheduler) {
+        this.source = source;
+        this.delayNanos = delayNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new DelayElementsSubscriber<>(subscriber, delayNanos, scheduler));
+    }
+}
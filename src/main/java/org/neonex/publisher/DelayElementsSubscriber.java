@@ -0,0 +1,203 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Emits every item of the upstream 'delayNanos' after it arrived, one item at a time:
+ * <p>
+ * 1. A single item is requested from the upstream and only once the subscriber has some demand left, so there is
+ * at most one item waiting for its delay and it never waits for demand once the delay has elapsed.
+ * 2. The delay runs on the {@link Scheduler}, when it has elapsed the item is handed to the drain loop, which is
+ * serialized with 'wip', the same work in progress pattern as in {@link PublishOnSubscriber}. The drain loop emits it
+ * and requests the next one.
+ * 3. onComplete() waits for the delayed item, onError() is delivered right away and drops it. The upstream may answer
+ * the request of an item with onComplete() alone, so waiting for an item is tracked apart from the outstanding request.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class DelayElementsSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<DelayElementsSubscriber> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(DelayElementsSubscriber.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<DelayElementsSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(DelayElementsSubscriber.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DelayElementsSubscriber, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(DelayElementsSubscriber.class, Throwable.class, "error");
+
+    private final Subscriber<? super T> actual;
+    private final long delayNanos;
+    private final Scheduler scheduler;
+
+    private Subscription upstream;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+    //the item whose delay has elapsed
+    private volatile T ready;
+    //true from the arrival of an item until its delay has elapsed
+    private volatile boolean isDelaying;
+    private volatile Disposable task;
+
+    //plain fields, only the drain loop reads or writes them
+    private long emitted;
+    //true from the request of an item until it is emitted, or for good if the upstream completes instead
+    private boolean isInFlight;
+
+    DelayElementsSubscriber(Subscriber<? super T> actual, long delayNanos, Scheduler scheduler) {
+        this.actual = actual;
+        this.delayNanos = delayNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        //written before the schedule and so before onComplete() sets 'isDone'
+        isDelaying = true;
+        Disposable task;
+        try {
+            task = scheduler.schedule(() -> {
+                ready = element;
+                //after 'ready', the drain loop which sees this cleared sees the item as well
+                isDelaying = false;
+                drain();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            //the scheduler is disposed, the element would never be emitted
+            upstream.cancel();
+            fail(e);
+            return;
+        }
+        this.task = task;
+        //cancel() may have read the previous task
+        if (isCancelled) {
+            task.dispose();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            upstream.cancel();
+            fail(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        upstream.cancel();
+        disposeTask();
+        //if the drain loop is not running drop the item here, otherwise the loop drops it
+        if (WIP.getAndIncrement(this) == 0) {
+            ready = null;
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        ERROR.compareAndSet(this, null, throwable);
+        isDone = true;
+        drain();
+    }
+
+    private void disposeTask() {
+        Disposable task = this.task;
+        if (task != null) {
+            task.dispose();
+        }
+    }
+
+    private void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final Subscriber<? super T> actual = this.actual;
+        int missed = 1;
+
+        while (true) {
+            if (isCancelled) {
+                ready = null;
+                return;
+            }
+            boolean done = isDone;
+            boolean isDelaying = this.isDelaying;
+            Throwable throwable = error;
+            if (throwable != null) {
+                isCancelled = true;
+                disposeTask();
+                ready = null;
+                actual.onError(throwable);
+                return;
+            }
+            T element = ready;
+            if (element != null) {
+                ready = null;
+                isInFlight = false;
+                actual.onNext(element);
+                emitted++;
+                //check the demand and the terminal signals again before giving the missed count back
+                continue;
+            }
+            //the upstream signals onComplete() after the last item, which is emitted by now unless it is still delayed
+            //a request of an item still in flight is answered by the completion itself
+            if (done && !isDelaying) {
+                isCancelled = true;
+                actual.onComplete();
+                return;
+            }
+            if (!isInFlight && !done && emitted != requested) {
+                isInFlight = true;
+                upstream.request(1);
+            }
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
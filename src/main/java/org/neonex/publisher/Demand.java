@@ -0,0 +1,60 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Helpers for the demand accounting shared by the subscriptions of this package.
+ *
+ * @author Mandeep Rajpal
+ */
+final class Demand {
+
+    private Demand() {
+    }
+
+    /**
+     * Atomically adds 'numberOfElements' to the demand held by 'updater', capping the result to Long.MAX_VALUE
+     * as Long.MAX_VALUE + some value will result in some negative value.
+     * Once the demand is Long.MAX_VALUE it is never changed again.
+     *
+     * @return the demand before the update, 0 means the caller has to start the drain loop
+     */
+    static <T> long add(AtomicLongFieldUpdater<T> updater, T instance, long numberOfElements) {
+        long previous;
+        long next;
+        do {
+            previous = updater.get(instance);
+            if (previous == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            next = previous + numberOfElements;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+        } while (!updater.compareAndSet(instance, previous, next));
+        return previous;
+    }
+
+    /**
+     * Converts a demand expressed in groups of 'size' elements into a demand of elements, capped to Long.MAX_VALUE
+     * so an unbounded demand stays unbounded.
+     */
+    static long multiply(long numberOfElements, int size) {
+        return numberOfElements > Long.MAX_VALUE / size ? Long.MAX_VALUE : numberOfElements * size;
+    }
+
+    /**
+     * Number of elements after which a prefetching consumer requests more from its upstream,
+     * replenishing in batches of 3/4 of the prefetch keeps the queue warm without a request() call per element.
+     */
+    static int replenishLimit(int prefetch) {
+        return prefetch == Integer.MAX_VALUE ? Integer.MAX_VALUE : prefetch - (prefetch >> 2);
+    }
+
+    static int checkPrefetch(int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return prefetch;
+    }
+}
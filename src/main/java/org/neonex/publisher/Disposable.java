@@ -0,0 +1,15 @@
+package org.neonex.publisher;
+
+/**
+ * Handle to a task or resource which can be cancelled or released.
+ *
+ * @author Mandeep Rajpal
+ */
+@FunctionalInterface
+public interface Disposable {
+
+    /**
+     * Cancels the task or releases the resource, calling it more than once has no effect.
+     */
+    void dispose();
+}
@@ -0,0 +1,36 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.Arrays;
+
+/**
+ * Publisher of the elements of a {@code double[]}, {@link DoubleSubscriber}s receive them without boxing.
+ *
+ * @author Mandeep Rajpal
+ */
+final class DoubleArrayPublisher extends Fountain<Double> {
+    private final double[] array;
+
+    DoubleArrayPublisher(double[] array) {
+        this.array = Arrays.copyOf(array, array.length);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Double> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new DoubleArraySubscription(array, BoxedDoubleSubscriber.of(subscriber)));
+    }
+
+    @Override
+    public Fountain<Long> count() {
+        return new CallablePublisher<>(() -> (long) array.length);
+    }
+
+    /**
+     * Summed without boxing, see {@link Reductions} and {@link Fountain#sumDouble(org.reactivestreams.Publisher)}.
+     */
+    Fountain<Double> sumDouble() {
+        return new CallablePublisher<>(() -> Reductions.sum(array));
+    }
+}
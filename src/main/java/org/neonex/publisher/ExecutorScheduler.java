@@ -0,0 +1,111 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Scheduler} which runs every task on an {@link ExecutorService}.
+ *
+ * @author Mandeep Rajpal
+ */
+final class ExecutorScheduler implements Scheduler {
+    private final ExecutorService executor;
+    //shared schedulers are used by the whole application, dispose() must not stop them
+    private final boolean isShared;
+
+    ExecutorScheduler(ExecutorService executor, boolean isShared) {
+        this.executor = executor;
+        this.isShared = isShared;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        //execute() and not submit(), a FutureTask would swallow what the task throws and allocate a Future per call
+        ImmediateTask immediate = new ImmediateTask(task);
+        executor.execute(immediate);
+        return immediate;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        //the timer thread could only drop the task once the delay elapsed, the caller has to know now
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The scheduler is disposed");
+        }
+        DelayedTask delayed = new DelayedTask(task);
+        delayed.timer = Schedulers.timer().schedule(delayed, delay, unit);
+        return delayed;
+    }
+
+    @Override
+    public void dispose() {
+        if (!isShared) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Skips the task if it was disposed before one of the threads of the executor picked it up.
+     */
+    private static final class ImmediateTask implements Runnable, Disposable {
+        private final Runnable task;
+        private volatile boolean isDisposed;
+
+        ImmediateTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!isDisposed) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            isDisposed = true;
+        }
+    }
+
+    /**
+     * Runs on the timer thread when the delay has elapsed and moves the task to the executor.
+     */
+    private final class DelayedTask implements Runnable, Disposable {
+        private final Runnable task;
+        private volatile boolean isDisposed;
+        //assigned right after the task is handed to the timer, a dispose() racing with that only relies on 'isDisposed'
+        private volatile Disposable timer;
+
+        DelayedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (isDisposed) {
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    if (!isDisposed) {
+                        task.run();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                //the scheduler was disposed while the task was waiting, it is dropped like any other pending task
+                //schedule() rejects the tasks once it is disposed, so only the tasks scheduled before are dropped here
+            }
+        }
+
+        @Override
+        public void dispose() {
+            isDisposed = true;
+            Disposable timer = this.timer;
+            if (timer != null) {
+                timer.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Emits a {@link MappedFile} as consecutive read-only {@link ByteBuffer} views of 'chunkSize' bytes, the last one may be shorter.
+ * It is {@link ArraySubscription} with a chunk as the unit of demand: same work in progress pattern and same fast path
+ * for unbounded demand. No byte is copied, the views share the pages of the mapping.
+ *
+ * @author Mandeep Rajpal
+ */
+final class FileChunkSubscription implements Subscription {
+
+    private static final AtomicLongFieldUpdater<FileChunkSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(FileChunkSubscription.class, "requested");
+
+    private final Subscriber<? super ByteBuffer> subscriber;
+    private final MappedFile file;
+    private final int chunkSize;
+    private final long end;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand in chunks, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    //plain field, only the thread which owns the drain loop reads or writes it
+    private long position;
+
+    FileChunkSubscription(MappedFile file, int chunkSize, Subscriber<? super ByteBuffer> subscriber) {
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.end = file.size();
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        final Subscriber<? super ByteBuffer> subscriber = this.subscriber;
+        final long length = end;
+
+        for (long i = position; i != length; i = next(i)) {
+            if (isCancelled) {
+                return;
+            }
+            subscriber.onNext(file.slice(i, (int) (next(i) - i)));
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long demand) {
+        final Subscriber<? super ByteBuffer> subscriber = this.subscriber;
+        final long length = end;
+
+        long i = position;
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand && i != length) {
+                if (isCancelled) {
+                    return;
+                }
+                long next = next(i);
+                subscriber.onNext(file.slice(i, (int) (next - i)));
+                i = next;
+                emitted++;
+            }
+            if (i == length) {
+                if (!isCancelled) {
+                    isCancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                position = i;
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                position = i;
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    /**
+     * @return exclusive end of the chunk starting at 'from'
+     */
+    private long next(long from) {
+        return Math.min(from + chunkSize, end);
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
@@ -0,0 +1,145 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Emits the lines of a {@link MappedFile}, same demand handling as {@link FileChunkSubscription}.
+ * Lines are found by scanning the raw bytes for '\n', a trailing '\r' is dropped as {@link java.io.BufferedReader} does,
+ * and only the bytes of a line which is actually emitted are decoded, so a cancelled subscription never decodes the rest of the file.
+ *
+ * @author Mandeep Rajpal
+ */
+final class FileLineSubscription implements Subscription {
+
+    private static final AtomicLongFieldUpdater<FileLineSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(FileLineSubscription.class, "requested");
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final Subscriber<? super String> subscriber;
+    private final MappedFile file;
+    private final Charset charset;
+    private final long end;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand in lines, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    //plain field, only the thread which owns the drain loop reads or writes it
+    private long position;
+
+    FileLineSubscription(MappedFile file, Charset charset, Subscriber<? super String> subscriber) {
+        this.file = file;
+        this.charset = charset;
+        this.end = file.size();
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        final long length = end;
+
+        while (position != length) {
+            if (isCancelled || !emitLine()) {
+                return;
+            }
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long demand) {
+        final long length = end;
+
+        long emitted = 0;
+
+        while (true) {
+            //unlike the array subscriptions 'position' is advanced by emitLine() itself instead of a local copy
+            while (emitted != demand && position != length) {
+                if (isCancelled || !emitLine()) {
+                    return;
+                }
+                emitted++;
+            }
+            if (position == length) {
+                if (!isCancelled) {
+                    isCancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    /**
+     * Emits the line starting at 'position' and moves 'position' past its terminator.
+     *
+     * @return false if the line could not be emitted, in which case onError() has been signaled instead
+     */
+    private boolean emitLine() {
+        final long from = position;
+        long terminator = file.indexOf(LF, from);
+        long next = terminator < 0 ? end : terminator + 1;
+        long to = terminator < 0 ? end : terminator;
+        if (to > from && file.get(to - 1) == CR) {
+            to--;
+        }
+        if (to - from > Integer.MAX_VALUE) {
+            isCancelled = true;
+            subscriber.onError(new IllegalStateException("Line at position " + from + " is too long to be decoded"));
+            return false;
+        }
+        ByteBuffer line = file.slice(from, (int) (to - from));
+        byte[] bytes = new byte[line.remaining()];
+        line.get(bytes);
+        position = next;
+        subscriber.onNext(new String(bytes, charset));
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
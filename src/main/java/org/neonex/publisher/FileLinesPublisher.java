@@ -0,0 +1,41 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Maps the file again for every subscriber, so each one sees the content of the file at the time it subscribed.
+ *
+ * @author Mandeep Rajpal
+ */
+final class FileLinesPublisher extends Fountain<String> {
+    private final Path path;
+    private final Charset charset;
+
+    FileLinesPublisher(Path path, Charset charset) {
+        this.path = path;
+        this.charset = charset;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super String> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        MappedFile file;
+        try {
+            file = MappedFile.map(path, Integer.MAX_VALUE);
+        } catch (IOException | RuntimeException e) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(e);
+            return;
+        }
+        if (file.size() == 0) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onComplete();
+            return;
+        }
+        subscriber.onSubscribe(new FileLineSubscription(file, charset, subscriber));
+    }
+}
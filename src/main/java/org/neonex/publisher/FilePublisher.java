@@ -0,0 +1,42 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Maps the file again for every subscriber, so each one sees the content of the file at the time it subscribed.
+ *
+ * @author Mandeep Rajpal
+ */
+final class FilePublisher extends Fountain<ByteBuffer> {
+    private final Path path;
+    private final int chunkSize;
+
+    FilePublisher(Path path, int chunkSize) {
+        this.path = path;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        MappedFile file;
+        try {
+            //a region holds a whole number of chunks, so a chunk is never split across two mappings
+            file = MappedFile.map(path, (long) (Integer.MAX_VALUE / chunkSize) * chunkSize);
+        } catch (IOException | RuntimeException e) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(e);
+            return;
+        }
+        if (file.size() == 0) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onComplete();
+            return;
+        }
+        subscriber.onSubscribe(new FileChunkSubscription(file, chunkSize, subscriber));
+    }
+}
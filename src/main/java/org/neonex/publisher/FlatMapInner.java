@@ -0,0 +1,103 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber of one inner publisher of a {@link FlatMapSubscriber}. The elements which cannot be emitted right away
+ * are kept in a {@link SpscArrayQueue} sized to the prefetch, the inner upstream is the only producer and
+ * the drain loop of the parent is the only consumer.
+ *
+ * @param <R>
+ * @author Mandeep Rajpal
+ */
+final class FlatMapInner<R> implements Subscriber<R> {
+    private final FlatMapSubscriber<?, R> parent;
+    private final int prefetch;
+    private final int limit;
+
+    private volatile Subscription upstream;
+    //created by the first element which has to wait, most inners never need it
+    private volatile SpscArrayQueue<R> queue;
+    volatile boolean isDone;
+    private volatile boolean isCancelled;
+
+    //plain, only touched by the owner of the parent's work in progress loop
+    private int produced;
+
+    FlatMapInner(FlatMapSubscriber<?, R> parent, int prefetch) {
+        this.parent = parent;
+        this.prefetch = prefetch;
+        this.limit = Demand.replenishLimit(prefetch);
+    }
+
+    /**
+     * Inner holding a single value which could not be emitted when it was mapped, it is already complete.
+     */
+    static <R> FlatMapInner<R> ofScalar(FlatMapSubscriber<?, R> parent, R value) {
+        FlatMapInner<R> inner = new FlatMapInner<>(parent, 1);
+        inner.offer(value);
+        inner.isDone = true;
+        return inner;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (isCancelled) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(R element) {
+        parent.innerNext(this, element);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        parent.innerError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        isDone = true;
+        parent.drain();
+    }
+
+    SpscArrayQueue<R> queue() {
+        return queue;
+    }
+
+    boolean offer(R element) {
+        SpscArrayQueue<R> queue = this.queue;
+        if (queue == null) {
+            queue = new SpscArrayQueue<>(prefetch);
+            this.queue = queue;
+        }
+        return queue.offer(element);
+    }
+
+    /**
+     * Called after every element handed to the downstream, requests the next batch from the inner upstream.
+     */
+    void replenish() {
+        if (++produced == limit) {
+            produced = 0;
+            Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.request(limit);
+            }
+        }
+    }
+
+    void cancel() {
+        isCancelled = true;
+        Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.function.Function;
+
+/**
+ * @param <T> type of the source elements
+ * @param <R> type of the elements of the inner publishers
+ * @author Mandeep Rajpal
+ */
+final class FlatMapPublisher<T, R> extends Fountain<R> {
+    private final Publisher<? extends T> source;
+    private final Function<? super T, ? extends Publisher<? extends R>> mapper;
+    private final int maxConcurrency;
+    private final int prefetch;
+
+    FlatMapPublisher(Publisher<? extends T> source, Function<? super T, ? extends Publisher<? extends R>> mapper,
+                     int maxConcurrency, int prefetch) {
+        this.source = source;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        source.subscribe(new FlatMapSubscriber<>(subscriber, mapper, maxConcurrency, prefetch));
+    }
+}
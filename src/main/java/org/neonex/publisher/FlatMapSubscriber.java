@@ -0,0 +1,384 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+
+/**
+ * Maps every element of the upstream to a publisher and merges the elements of up to 'maxConcurrency' of them:
+ * <p>
+ * 1. All the inner publishers are drained by one loop serialized with 'wip', the same work in progress pattern
+ * as in {@link ArraySubscription}. Whoever moves 'wip' from 0 owns the loop, every other signal only increments it
+ * and the owner goes around the loop again until it has seen all of them.
+ * 2. An element arriving while nobody owns the loop and while there is demand is emitted directly on the arriving
+ * thread, otherwise it is put in the queue of its {@link FlatMapInner}.
+ * 3. A scalar inner source, see {@link Scalars}, is not subscribed at all and a callable one is called in place:
+ * its value goes through the same direct emission, and only when it has to wait it is wrapped in an already
+ * completed inner.
+ * 4. 'maxConcurrency' elements are requested from the upstream upfront and a slot is given back every time an inner
+ * completes. The slots are requested again in batches of 3/4 of 'maxConcurrency'.
+ * 5. The set of active inners is a copy-on-write array, so the drain loop iterates it without locking.
+ * 6. The first error, from the upstream or from any inner, cancels everything else and is delivered right away.
+ *
+ * @param <T> type of the source elements
+ * @param <R> type of the elements of the inner publishers
+ * @author Mandeep Rajpal
+ */
+final class FlatMapSubscriber<T, R> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<FlatMapSubscriber> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(FlatMapSubscriber.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<FlatMapSubscriber> REPLENISHED =
+            AtomicIntegerFieldUpdater.newUpdater(FlatMapSubscriber.class, "replenished");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<FlatMapSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(FlatMapSubscriber.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<FlatMapSubscriber, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(FlatMapSubscriber.class, Throwable.class, "error");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<FlatMapSubscriber, FlatMapInner[]> INNERS =
+            AtomicReferenceFieldUpdater.newUpdater(FlatMapSubscriber.class, FlatMapInner[].class, "inners");
+
+    private static final FlatMapInner<?>[] EMPTY = new FlatMapInner[0];
+    private static final FlatMapInner<?>[] TERMINATED = new FlatMapInner[0];
+
+    private final Subscriber<? super R> actual;
+    private final Function<? super T, ? extends Publisher<? extends R>> mapper;
+    private final int maxConcurrency;
+    private final int prefetch;
+    private final int limit;
+
+    private Subscription upstream;
+
+    private volatile int wip;
+    private volatile int replenished;
+    private volatile long requested;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+    private volatile FlatMapInner<R>[] inners;
+
+    //plain fields, only the owner of the work in progress loop reads or writes them
+    private long emitted;
+    private int lastIndex;
+
+    @SuppressWarnings("unchecked")
+    FlatMapSubscriber(Subscriber<? super R> actual, Function<? super T, ? extends Publisher<? extends R>> mapper,
+                      int maxConcurrency, int prefetch) {
+        this.actual = actual;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+        this.limit = Demand.replenishLimit(maxConcurrency);
+        this.inners = (FlatMapInner<R>[]) EMPTY;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+        subscription.request(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        Publisher<? extends R> publisher;
+        Object scalar;
+        try {
+            publisher = Objects.requireNonNull(mapper.apply(element), "The mapper returned a null Publisher");
+            scalar = Scalars.call(publisher);
+        } catch (Throwable e) {
+            upstream.cancel();
+            onError(e);
+            return;
+        }
+        if (scalar == null) {
+            //known to be empty, its slot is free right away
+            replenishMain();
+            return;
+        }
+        if (scalar != Scalars.NONE) {
+            scalarNext((R) scalar);
+            return;
+        }
+        FlatMapInner<R> inner = new FlatMapInner<>(this, prefetch);
+        if (add(inner)) {
+            publisher.subscribe(inner);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            fail(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        upstream.cancel();
+        cancelInners();
+    }
+
+    private void scalarNext(R value) {
+        if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+            if (emitted != requested) {
+                actual.onNext(value);
+                emitted++;
+                replenishMain();
+            } else {
+                waitingScalar(value);
+            }
+            if (WIP.decrementAndGet(this) == 0) {
+                return;
+            }
+            drainLoop();
+        } else {
+            waitingScalar(value);
+            drain();
+        }
+    }
+
+    private void waitingScalar(R value) {
+        add(FlatMapInner.ofScalar(this, value));
+    }
+
+    void innerNext(FlatMapInner<R> inner, R element) {
+        if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+            SpscArrayQueue<R> queue = inner.queue();
+            if (emitted != requested && (queue == null || queue.isEmpty())) {
+                actual.onNext(element);
+                emitted++;
+                inner.replenish();
+            } else if (!inner.offer(element)) {
+                overflow(inner);
+            }
+            if (WIP.decrementAndGet(this) == 0) {
+                return;
+            }
+            drainLoop();
+        } else {
+            if (!inner.offer(element)) {
+                overflow(inner);
+            }
+            drain();
+        }
+    }
+
+    private void overflow(FlatMapInner<R> inner) {
+        inner.cancel();
+        ERROR.compareAndSet(this, null, new IllegalStateException("Inner queue is full, the inner publisher did not respect the back pressure"));
+    }
+
+    void innerError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    private void fail(Throwable throwable) {
+        if (ERROR.compareAndSet(this, null, throwable)) {
+            isDone = true;
+            drain();
+        }
+    }
+
+    /**
+     * Gives one slot of concurrency back to the upstream, the slots are requested in batches of 'limit'.
+     */
+    private void replenishMain() {
+        if (maxConcurrency == Integer.MAX_VALUE || isCancelled) {
+            return;
+        }
+        if (REPLENISHED.incrementAndGet(this) == limit) {
+            REPLENISHED.addAndGet(this, -limit);
+            upstream.request(limit);
+        }
+    }
+
+    void drain() {
+        if (WIP.getAndIncrement(this) == 0) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        final Subscriber<? super R> actual = this.actual;
+        int missed = 1;
+
+        while (true) {
+            if (isTerminated()) {
+                return;
+            }
+            long demand = requested;
+            long emitted = this.emitted;
+            //read 'isDone' before the inners, every inner is added before the upstream completes
+            boolean done = isDone;
+            FlatMapInner<R>[] inners = this.inners;
+            int n = inners.length;
+
+            if (done && n == 0) {
+                if (!isTerminated()) {
+                    isCancelled = true;
+                    actual.onComplete();
+                }
+                return;
+            }
+
+            boolean removed = false;
+            if (n != 0) {
+                int j = lastIndex;
+                if (j >= n) {
+                    j = 0;
+                }
+                for (int i = 0; i < n; i++) {
+                    FlatMapInner<R> inner = inners[j];
+                    //read 'isDone' before polling, a done inner with an empty queue has nothing left
+                    boolean innerDone = inner.isDone;
+                    SpscArrayQueue<R> queue = inner.queue();
+                    if (queue != null) {
+                        while (emitted != demand) {
+                            R element = queue.poll();
+                            if (element == null) {
+                                break;
+                            }
+                            actual.onNext(element);
+                            emitted++;
+                            inner.replenish();
+                            if (isTerminated()) {
+                                return;
+                            }
+                        }
+                    }
+                    if (innerDone && (queue == null || queue.isEmpty())) {
+                        remove(inner);
+                        removed = true;
+                        replenishMain();
+                    }
+                    if (++j == n) {
+                        j = 0;
+                    }
+                    if (emitted == demand) {
+                        break;
+                    }
+                }
+                lastIndex = j;
+            }
+            this.emitted = emitted;
+
+            if (removed) {
+                //an inner went away, check again if everything is done before leaving the loop
+                continue;
+            }
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean isTerminated() {
+        if (isCancelled) {
+            return true;
+        }
+        Throwable throwable = error;
+        if (throwable != null) {
+            isCancelled = true;
+            upstream.cancel();
+            cancelInners();
+            actual.onError(throwable);
+            return true;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean add(FlatMapInner<R> inner) {
+        while (true) {
+            FlatMapInner<R>[] current = inners;
+            if (current == TERMINATED) {
+                inner.cancel();
+                return false;
+            }
+            int n = current.length;
+            FlatMapInner<R>[] next = new FlatMapInner[n + 1];
+            System.arraycopy(current, 0, next, 0, n);
+            next[n] = inner;
+            if (INNERS.compareAndSet(this, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(FlatMapInner<R> inner) {
+        while (true) {
+            FlatMapInner<R>[] current = inners;
+            int n = current.length;
+            int index = -1;
+            for (int i = 0; i < n; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            FlatMapInner<R>[] next;
+            if (n == 1) {
+                next = (FlatMapInner<R>[]) EMPTY;
+            } else {
+                next = new FlatMapInner[n - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, n - index - 1);
+            }
+            if (INNERS.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cancelInners() {
+        FlatMapInner<R>[] current = INNERS.getAndSet(this, TERMINATED);
+        for (FlatMapInner<R> inner : current) {
+            inner.cancel();
+        }
+    }
+}
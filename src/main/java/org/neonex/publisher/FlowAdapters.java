@@ -0,0 +1,159 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Bridges between {@link Publisher} and {@link Flow.Publisher}, see {@link Fountain#toFlowPublisher()} and
+ * {@link Fountain#fromFlowPublisher(Flow.Publisher)}.
+ * <p>
+ * 1. Converting an adapter back returns the publisher it wraps, so a round trip never stacks adapters.
+ * 2. The subscriptions of the array and range sources implement both Subscription interfaces, they are handed
+ * to the subscriber as they are and request() and cancel() reach the source directly.
+ * The per-element cost is then a single call to a final forwarding method, which the JIT inlines.
+ *
+ * @author Mandeep Rajpal
+ */
+final class FlowAdapters {
+
+    private FlowAdapters() {
+    }
+
+    static final class ToFlowPublisher<T> implements Flow.Publisher<T> {
+        final Fountain<T> source;
+
+        ToFlowPublisher(Fountain<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            source.subscribe(new ToFlowSubscriber<>(subscriber));
+        }
+    }
+
+    static final class FromFlowPublisher<T> extends Fountain<T> {
+        final Flow.Publisher<? extends T> source;
+
+        FromFlowPublisher(Flow.Publisher<? extends T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super T> subscriber) {
+            source.subscribe(new FromFlowSubscriber<>(subscriber));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Flow.Publisher<T> toFlowPublisher() {
+            //a publisher of a subtype of T is a publisher of T
+            return (Flow.Publisher<T>) source;
+        }
+    }
+
+    /**
+     * {@link Subscriber} of a {@link Fountain} forwarding to a {@link Flow.Subscriber}.
+     */
+    static final class ToFlowSubscriber<T> implements Subscriber<T> {
+        private final Flow.Subscriber<? super T> actual;
+
+        ToFlowSubscriber(Flow.Subscriber<? super T> actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            actual.onSubscribe(subscription instanceof Flow.Subscription
+                    ? (Flow.Subscription) subscription
+                    : new ToFlowSubscription(subscription));
+        }
+
+        @Override
+        public void onNext(T element) {
+            actual.onNext(element);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            actual.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            actual.onComplete();
+        }
+    }
+
+    /**
+     * {@link Flow.Subscriber} of a {@link Flow.Publisher} forwarding to a {@link Subscriber}.
+     */
+    static final class FromFlowSubscriber<T> implements Flow.Subscriber<T> {
+        private final Subscriber<? super T> actual;
+
+        FromFlowSubscriber(Subscriber<? super T> actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            actual.onSubscribe(subscription instanceof Subscription
+                    ? (Subscription) subscription
+                    : new FromFlowSubscription(subscription));
+        }
+
+        @Override
+        public void onNext(T element) {
+            actual.onNext(element);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            actual.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            actual.onComplete();
+        }
+    }
+
+    static final class ToFlowSubscription implements Flow.Subscription {
+        private final Subscription subscription;
+
+        ToFlowSubscription(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+
+    static final class FromFlowSubscription implements Subscription {
+        private final Flow.Subscription subscription;
+
+        FromFlowSubscription(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+}
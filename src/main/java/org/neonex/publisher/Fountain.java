@@ -1,9 +1,34 @@
 package org.neonex.publisher;
 
-import com.google.common.collect.Iterators;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Class containing factory methods to instantiate a {@link Publisher}
  *
@@ -12,6 +37,11 @@ import org.reactivestreams.Subscription;
  */
 public abstract class Fountain<T> implements Publisher<T> {
 
+    /**
+     * Number of items buffered by the operators which hand items over between threads, unless told otherwise
+     */
+    public static final int DEFAULT_PREFETCH = 256;
+
     /**
      * Creates a new {@link Publisher}  the emits the items contained in the provided array.
      *
@@ -27,7 +57,9 @@ public abstract class Fountain<T> implements Publisher<T> {
     }
 
     /**
-     * Creates a new {@link Publisher} the emits the items contained in varargs
+     * Creates a new {@link Publisher} the emits the items contained in varargs.
+     * A single item is emitted by a dedicated scalar publisher, which neither copies the array nor runs a drain loop,
+     * and which flatMap() recognizes so it never subscribes to it.
      *
      * @param elements varargs input elements which will be used to create a publisher
      * @param <T>      data  type of input varargs elements
@@ -38,34 +70,494 @@ public abstract class Fountain<T> implements Publisher<T> {
         if (elements == null || elements.length == 0) {
             return empty();
         }
+        if (elements.length == 1) {
+            //same signal as the array source for a null element
+            return elements[0] == null ? error(new NullPointerException()) : new ScalarPublisher<>(elements[0]);
+        }
         return fromArray(elements);
     }
 
     /**
-     * Creates a new {@link Publisher} the emits the items contained in the {@link Iterable} collection
+     * Creates a new {@link Publisher} which calls the callable for every subscriber and emits the value it returns.
+     * A null value completes the subscriber without any item, an exception is delivered to onError().
+     *
+     * @param callable supplies the value
+     * @param <T>      data type of the value
+     * @return a new Publisher<T>
+     */
+    public static <T> Fountain<T> fromCallable(Callable<? extends T> callable) {
+        Objects.requireNonNull(callable, "callable");
+        return new CallablePublisher<>(callable);
+    }
+
+    /**
+     * Creates a new {@link Publisher} fed by callbacks: the emitter is called for every subscriber with a
+     * {@link FountainSink} which can be used from any number of threads at once. The items are buffered until
+     * they are requested, see {@link FountainSink#requested()} to throttle the producers.
+     *
+     * @param emitter registers the callbacks which push the items into the sink
+     * @param <T>     data type of the items
+     * @return a new Publisher<T>
+     */
+    public static <T> Fountain<T> create(Consumer<? super FountainSink<T>> emitter) {
+        Objects.requireNonNull(emitter, "emitter");
+        return new CreatePublisher<>(emitter);
+    }
+
+    /**
+     * Creates a new {@link Publisher} which calls the supplier for every subscriber and subscribes it to the returned publisher.
+     *
+     * @param supplier supplies the publisher
+     * @param <T>      data type of the items
+     * @return a new Publisher<T>
+     */
+    public static <T> Fountain<T> defer(Supplier<? extends Publisher<? extends T>> supplier) {
+        Objects.requireNonNull(supplier, "supplier");
+        return new DeferPublisher<>(supplier);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits the items contained in the {@link Iterable} collection.
+     * The items are pulled from {@link Iterable#iterator()} lazily as the demand arrives, so the collection is never copied
+     * and large or lazily computed iterables are streamed in constant memory.
      *
      * @param <T>      data  type of elements in a iterable collection
      * @param elements of a collection which implements {@link Iterable}
      * @return a new Publisher<T>
      */
-    public static <T> Fountain fromIterable(Iterable<T> elements) {
+    public static <T> Fountain<T> fromIterable(Iterable<T> elements) {
         if (elements == null) {
             return empty();
         }
-        var iterator = elements.iterator();
-        int size = Iterators.size(iterator);
-        if (size == 0) {
+        return new IterablePublisher<>(elements);
+    }
+
+    /**
+     * Adapts a {@link Flow.Publisher}, such as a {@link java.util.concurrent.SubmissionPublisher}, to a {@link Publisher}.
+     * A publisher created by {@link #toFlowPublisher()} is unwrapped back to the original one.
+     *
+     * @param publisher the publisher to adapt
+     * @return a new Publisher<T>
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Fountain<T> fromFlowPublisher(Flow.Publisher<? extends T> publisher) {
+        Objects.requireNonNull(publisher, "publisher");
+        if (publisher instanceof FlowAdapters.ToFlowPublisher) {
+            //a publisher of a subtype of T is a publisher of T
+            return ((FlowAdapters.ToFlowPublisher<T>) publisher).source;
+        }
+        return new FlowAdapters.FromFlowPublisher<>(publisher);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits the items contained in the provided {@code int[]}.
+     * A {@link IntSubscriber} receives the items through {@link IntSubscriber#onNextInt(int)} without boxing,
+     * any other {@link org.reactivestreams.Subscriber} receives them boxed.
+     *
+     * @param array input array which will be used to create a publisher
+     * @return a new Publisher<Integer>
+     */
+    public static Fountain<Integer> fromInts(int[] array) {
+        if (array == null || array.length == 0) {
+            return empty();
+        }
+        return new IntArrayPublisher(array);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits the items contained in the provided {@code long[]}.
+     * A {@link LongSubscriber} receives the items through {@link LongSubscriber#onNextLong(long)} without boxing,
+     * any other {@link org.reactivestreams.Subscriber} receives them boxed.
+     *
+     * @param array input array which will be used to create a publisher
+     * @return a new Publisher<Long>
+     */
+    public static Fountain<Long> fromLongs(long[] array) {
+        if (array == null || array.length == 0) {
+            return empty();
+        }
+        return new LongArrayPublisher(array);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits the items contained in the provided {@code double[]}.
+     * A {@link DoubleSubscriber} receives the items through {@link DoubleSubscriber#onNextDouble(double)} without boxing,
+     * any other {@link org.reactivestreams.Subscriber} receives them boxed.
+     *
+     * @param array input array which will be used to create a publisher
+     * @return a new Publisher<Double>
+     */
+    public static Fountain<Double> fromDoubles(double[] array) {
+        if (array == null || array.length == 0) {
+            return empty();
+        }
+        return new DoubleArrayPublisher(array);
+    }
+
+    /**
+     * Creates a new single use {@link Publisher} the emits the items of the provided {@link Stream}.
+     * The items are pulled from the stream as the demand arrives and the stream is closed once the subscription
+     * completes, fails or is cancelled. As a stream can be consumed only once, every subscriber after the first one
+     * receives an {@link IllegalStateException} through onError().
+     *
+     * @param stream input stream which will be used to create a publisher
+     * @param <T>    data type of the stream elements
+     * @return a new Publisher<T>
+     */
+    public static <T> Fountain<T> fromStream(Stream<? extends T> stream) {
+        if (stream == null) {
+            return empty();
+        }
+        return new SpliteratorPublisher<>(stream.spliterator(), stream);
+    }
+
+    /**
+     * Creates a new single use {@link Publisher} the emits the items of the provided {@link Spliterator}.
+     * The items are pulled with tryAdvance() as the demand arrives, or with forEachRemaining() once the demand is unbounded.
+     * Every subscriber after the first one receives an {@link IllegalStateException} through onError().
+     *
+     * @param spliterator input spliterator which will be used to create a publisher
+     * @param <T>         data type of the spliterator elements
+     * @return a new Publisher<T>
+     */
+    public static <T> Fountain<T> fromSpliterator(Spliterator<? extends T> spliterator) {
+        if (spliterator == null) {
+            return empty();
+        }
+        return new SpliteratorPublisher<>(spliterator, null);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits the content of a file as read-only {@link ByteBuffer}s of 'chunkSize' bytes,
+     * the last one may be shorter. The file is memory mapped when a subscriber arrives and every buffer is a view of
+     * the mapping, no byte is copied. One buffer is emitted per unit of demand.
+     * If the file cannot be opened the subscriber receives the {@link java.io.IOException} through onError().
+     *
+     * @param path      file to read
+     * @param chunkSize number of bytes per buffer
+     * @return a new Publisher<ByteBuffer>
+     */
+    public static Fountain<ByteBuffer> fromFile(Path path, int chunkSize) {
+        Objects.requireNonNull(path, "path");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        return new FilePublisher(path, chunkSize);
+    }
+
+    /**
+     * Same as {@link #fromFileLines(Path, Charset)} with UTF-8.
+     *
+     * @param path file to read
+     * @return a new Publisher<String>
+     */
+    public static Fountain<String> fromFileLines(Path path) {
+        return fromFileLines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits the lines of a memory mapped file, without their '\n' or "\r\n" terminator.
+     * The lines are found on the raw bytes and only the lines which are emitted are decoded, so the charset has to
+     * encode '\n' as the single byte 0x0A, which holds for UTF-8, US-ASCII and the ISO-8859 family.
+     *
+     * @param path    file to read
+     * @param charset charset used to decode the lines
+     * @return a new Publisher<String>
+     */
+    public static Fountain<String> fromFileLines(Path path, Charset charset) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(charset, "charset");
+        return new FileLinesPublisher(path, charset);
+    }
+
+    /**
+     * Creates a new single use {@link Publisher} the emits the bytes read from a socket, one buffer per read.
+     * A read is issued only while the subscriber has outstanding demand, so without demand the socket is left alone
+     * and TCP flow control pushes back on the sender. The buffers come from the pool and are flipped before being emitted,
+     * the subscriber should release them to the pool once consumed. onComplete() is signaled when the peer shuts
+     * the connection down, the channel itself is never closed.
+     *
+     * @param channel connected channel to read from
+     * @param pool    pool the read buffers are acquired from
+     * @return a new Publisher<ByteBuffer>
+     * @see ChannelSubscriber
+     */
+    public static Fountain<ByteBuffer> fromChannel(AsynchronousSocketChannel channel, BufferPool pool) {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(pool, "pool");
+        return new ChannelPublisher(channel, pool);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits 'count' consecutive integers starting at 'start'.
+     * The values are computed on demand, there is no backing array.
+     * An {@link IntSubscriber} receives them without boxing.
+     *
+     * @param start first value emitted
+     * @param count number of values emitted
+     * @return a new Publisher<Integer>
+     * @throws IllegalArgumentException if count is negative or start + count - 1 exceeds Integer.MAX_VALUE
+     */
+    public static Fountain<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        long end = (long) start + count;
+        if (end - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("start + count can not exceed Integer.MAX_VALUE");
+        }
+        if (count == 0) {
+            return empty();
+        }
+        return new RangePublisher(start, end);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits 'count' consecutive longs starting at 'start'.
+     * The values are computed on demand, there is no backing array.
+     * A {@link LongSubscriber} receives them without boxing.
+     *
+     * @param start first value emitted
+     * @param count number of values emitted
+     * @return a new Publisher<Long>
+     * @throws IllegalArgumentException if count is negative or start + count - 1 exceeds Long.MAX_VALUE
+     */
+    public static Fountain<Long> rangeLong(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (count == 0) {
+            return empty();
+        }
+        if (start > Long.MAX_VALUE - count + 1) {
+            throw new IllegalArgumentException("start + count can not exceed Long.MAX_VALUE");
+        }
+        return new LongRangePublisher(start, start + count);
+    }
+
+    /**
+     * Same as {@link #interval(Duration, Scheduler)} on {@link Schedulers#parallel()}.
+     *
+     * @param period time between two ticks
+     * @return a new Publisher<Long>
+     */
+    public static Fountain<Long> interval(Duration period) {
+        return interval(period, Schedulers.parallel());
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits 0, 1, 2, ... one value per period, the first one after a period.
+     * The ticks can not be held back, a tick which finds no outstanding demand cancels the subscription and is
+     * signalled as an {@link IllegalStateException}, so the subscriber has to request ahead of the ticks.
+     * The delays are tracked by the shared timing wheel of the schedulers, a subscription costs no thread and
+     * scheduling or cancelling a tick is O(1).
+     *
+     * @param period    time between two ticks
+     * @param scheduler scheduler which emits the ticks
+     * @return a new Publisher<Long>
+     */
+    public static Fountain<Long> interval(Duration period, Scheduler scheduler) {
+        long periodNanos = checkDuration(period, "period");
+        Objects.requireNonNull(scheduler, "scheduler");
+        return new IntervalPublisher(periodNanos, periodNanos, scheduler);
+    }
+
+    /**
+     * Same as {@link #timer(Duration, Scheduler)} on {@link Schedulers#parallel()}.
+     *
+     * @param delay time to wait before emitting
+     * @return a new Publisher<Long>
+     */
+    public static Fountain<Long> timer(Duration delay) {
+        return timer(delay, Schedulers.parallel());
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits 0 once the delay has elapsed and completes. If the subscriber has not
+     * requested it by then an {@link IllegalStateException} is signalled instead, the same as a tick of
+     * {@link #interval(Duration, Scheduler)}.
+     *
+     * @param delay     time to wait before emitting
+     * @param scheduler scheduler which emits the value
+     * @return a new Publisher<Long>
+     */
+    public static Fountain<Long> timer(Duration delay, Scheduler scheduler) {
+        Objects.requireNonNull(delay, "delay");
+        Objects.requireNonNull(scheduler, "scheduler");
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("delay >= 0 required but it was " + delay);
+        }
+        return new TimerPublisher(delay.toNanos(), scheduler);
+    }
+
+    /**
+     * Creates a new {@link Publisher} the emits the items of all the provided publishers as they arrive,
+     * all of them are subscribed at once.
+     *
+     * @param sources publishers to merge
+     * @param <T>     data type of the items
+     * @return a new Publisher<T>
+     */
+    @SafeVarargs
+    public static <T> Fountain<T> merge(Publisher<? extends T>... sources) {
+        if (sources == null || sources.length == 0) {
+            return empty();
+        }
+        return new FlatMapPublisher<Publisher<? extends T>, T>(new ArrayPublisher<>(sources), Function.identity(),
+                sources.length, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Creates a new {@link Publisher} which combines the i-th items of the two publishers into its i-th item,
+     * it completes with the shorter one.
+     *
+     * @param first    first publisher
+     * @param second   second publisher
+     * @param combiner function called with one item of each publisher
+     * @param <A>      data type of the items of the first publisher
+     * @param <B>      data type of the items of the second publisher
+     * @param <R>      data type of the combined items
+     * @return a new Publisher<R>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> Fountain<R> zip(Publisher<? extends A> first, Publisher<? extends B> second,
+                                            BiFunction<? super A, ? super B, ? extends R> combiner) {
+        Objects.requireNonNull(combiner, "combiner");
+        return zip(row -> combiner.apply((A) row[0], (B) row[1]), DEFAULT_PREFETCH, first, second);
+    }
+
+    /**
+     * Creates a new {@link Publisher} which combines the i-th items of all the provided publishers into its i-th item,
+     * it completes with the shortest one:
+     * <p>
+     * 1. Every publisher is prefetched 'prefetch' items at a time and replenished in batches of 3/4 of it,
+     * so a slow publisher holds the others back by at most 'prefetch' items.
+     * 2. When every publisher is backed by an array, see {@link #fromArray(Object[])}, the arrays are zipped
+     * by a single loop without subscribing to them.
+     *
+     * @param combiner function called with one item of each publisher, in the order of the publishers
+     * @param prefetch number of items requested upfront from every publisher
+     * @param sources  publishers to zip
+     * @param <R>      data type of the combined items
+     * @return a new Publisher<R>
+     */
+    public static <R> Fountain<R> zip(Function<? super Object[], ? extends R> combiner, int prefetch, Publisher<?>... sources) {
+        Objects.requireNonNull(combiner, "combiner");
+        Demand.checkPrefetch(prefetch);
+        if (sources == null || sources.length == 0) {
+            return empty();
+        }
+        return new ZipPublisher<>(requireSources(sources), combiner, prefetch);
+    }
+
+    /**
+     * Creates a new {@link Publisher} which combines the latest items of the two publishers every time one of them
+     * emits, once both have emitted.
+     *
+     * @param first    first publisher
+     * @param second   second publisher
+     * @param combiner function called with the latest item of each publisher
+     * @param <A>      data type of the items of the first publisher
+     * @param <B>      data type of the items of the second publisher
+     * @param <R>      data type of the combined items
+     * @return a new Publisher<R>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> Fountain<R> combineLatest(Publisher<? extends A> first, Publisher<? extends B> second,
+                                                      BiFunction<? super A, ? super B, ? extends R> combiner) {
+        Objects.requireNonNull(combiner, "combiner");
+        return combineLatest(row -> combiner.apply((A) row[0], (B) row[1]), DEFAULT_PREFETCH, first, second);
+    }
+
+    /**
+     * Creates a new {@link Publisher} which combines the latest items of all the provided publishers every time
+     * one of them emits, once all of them have emitted:
+     * <p>
+     * 1. The items are combined in the order they arrive, every publisher is prefetched 'prefetch' items at a time
+     * and replenished in batches of 3/4 of it.
+     * 2. It completes once all the publishers completed, or as soon as one of them completes without any item.
+     *
+     * @param combiner function called with the latest item of each publisher, in the order of the publishers
+     * @param prefetch number of items requested upfront from every publisher
+     * @param sources  publishers to combine
+     * @param <R>      data type of the combined items
+     * @return a new Publisher<R>
+     */
+    public static <R> Fountain<R> combineLatest(Function<? super Object[], ? extends R> combiner, int prefetch,
+                                                Publisher<?>... sources) {
+        Objects.requireNonNull(combiner, "combiner");
+        Demand.checkPrefetch(prefetch);
+        if (sources == null || sources.length == 0) {
             return empty();
         }
-        @SuppressWarnings("unchecked")
-        var array = (T[]) new Object[size];
-        var index = 0;
-        iterator = elements.iterator();
-        while (iterator.hasNext()) {
-            array[index] = iterator.next();
-            index++;
+        return new CombineLatestPublisher<>(requireSources(sources), combiner, prefetch);
+    }
+
+    private static Publisher<?>[] requireSources(Publisher<?>[] sources) {
+        Publisher<?>[] copy = sources.clone();
+        for (Publisher<?> source : copy) {
+            Objects.requireNonNull(source, "source");
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a new {@link Publisher} which emits the sum of the items of the source as a long once it completes,
+     * the items are added with plain long additions of {@link Number#longValue()}, an overflow wraps around.
+     * An empty source emits 0. The int and long sources answer with a plain loop, or a closed form for the ranges,
+     * without boxing any item, large arrays are summed on the common {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param source publisher of the numbers to add
+     * @return a new Publisher<Long>
+     */
+    public static Fountain<Long> sum(Publisher<? extends Number> source) {
+        Objects.requireNonNull(source, "source");
+        if (source instanceof IntArrayPublisher) {
+            return ((IntArrayPublisher) source).sum();
+        }
+        if (source instanceof LongArrayPublisher) {
+            return ((LongArrayPublisher) source).sum();
+        }
+        if (source instanceof RangePublisher) {
+            return ((RangePublisher) source).sum();
         }
-        return fromArray(array);
+        if (source instanceof LongRangePublisher) {
+            return ((LongRangePublisher) source).sum();
+        }
+        return numbers(source).collect(Collector.of(() -> new long[1],
+                (sum, item) -> sum[0] += item.longValue(),
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                },
+                sum -> sum[0]));
+    }
+
+    /**
+     * Same as {@link #sum(Publisher)} with plain double additions of {@link Number#doubleValue()}, which is what the
+     * double source uses without boxing any item.
+     *
+     * @param source publisher of the numbers to add
+     * @return a new Publisher<Double>
+     */
+    public static Fountain<Double> sumDouble(Publisher<? extends Number> source) {
+        Objects.requireNonNull(source, "source");
+        if (source instanceof DoubleArrayPublisher) {
+            return ((DoubleArrayPublisher) source).sumDouble();
+        }
+        return numbers(source).collect(Collector.of(() -> new double[1],
+                (sum, item) -> sum[0] += item.doubleValue(),
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                },
+                sum -> sum[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Fountain<Number> numbers(Publisher<? extends Number> source) {
+        //a publisher of a subtype of Number is a publisher of Number
+        return source instanceof Fountain ? (Fountain<Number>) source : defer(() -> source);
     }
 
     /**
@@ -91,4 +583,596 @@ public abstract class Fountain<T> implements Publisher<T> {
         return new ErrorPublisher<>(error);
     }
 
+    /**
+     * Transforms the items emitted by this {@link Publisher} by applying a function to each of them.
+     * Consecutive map() and filter() calls are fused into a single stage.
+     *
+     * @param mapper function applied to each item, it must not return null
+     * @param <R>    data type of the transformed items
+     * @return a new Publisher<R>
+     */
+    public <R> Fountain<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new MapFilterPublisher<>(this, MapFilterPublisher.mapping(mapper), false);
+    }
+
+    /**
+     * Emits only the items of this {@link Publisher} which match the predicate.
+     * The demand of the dropped items is replenished from the upstream in batches.
+     * Consecutive map() and filter() calls are fused into a single stage.
+     *
+     * @param predicate test applied to each item
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new MapFilterPublisher<>(this, MapFilterPublisher.filtering(predicate), true);
+    }
+
+    /**
+     * Emits only the first 'n' items of this {@link Publisher}, then cancels it and completes.
+     *
+     * @param n number of items to emit
+     * @return a new Publisher<T>
+     * @throws IllegalArgumentException if n is negative
+     */
+    public Fountain<T> take(long n) {
+        checkCount(n);
+        return new TakePublisher<>(this, n);
+    }
+
+    /**
+     * Drops the first 'n' items of this {@link Publisher} and emits the rest.
+     *
+     * @param n number of items to drop
+     * @return a new Publisher<T>
+     * @throws IllegalArgumentException if n is negative
+     */
+    public Fountain<T> skip(long n) {
+        checkCount(n);
+        if (n == 0) {
+            return this;
+        }
+        return new SkipPublisher<>(this, n);
+    }
+
+    /**
+     * Emits the items of this {@link Publisher} while they match the predicate,
+     * the first item which does not match cancels it and completes.
+     *
+     * @param predicate test applied to each item
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> takeWhile(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new TakeWhilePublisher<>(this, predicate);
+    }
+
+    /**
+     * Maps every item of this {@link Publisher} to a publisher and merges their items as they arrive,
+     * with up to {@value #DEFAULT_PREFETCH} inner publishers subscribed at a time.
+     *
+     * @param mapper function which maps every item to a publisher
+     * @param <R>    data type of the items of the inner publishers
+     * @return a new Publisher<R>
+     */
+    public <R> Fountain<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper) {
+        return flatMap(mapper, DEFAULT_PREFETCH, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Maps every item of this {@link Publisher} to a publisher and merges their items as they arrive.
+     * A single value source such as {@link #just(Object[])} with one item is not subscribed, its item is emitted directly.
+     *
+     * @param mapper         function which maps every item to a publisher
+     * @param maxConcurrency maximum number of inner publishers subscribed at a time
+     * @param prefetch       number of items requested upfront from every inner publisher
+     * @param <R>            data type of the items of the inner publishers
+     * @return a new Publisher<R>
+     */
+    public <R> Fountain<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper, int maxConcurrency, int prefetch) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new FlatMapPublisher<>(this, mapper, checkMaxConcurrency(maxConcurrency), Demand.checkPrefetch(prefetch));
+    }
+
+    /**
+     * Turns this {@link Publisher} into a hot one which shares a single subscription between all of its subscribers,
+     * prefetching {@value #DEFAULT_PREFETCH} items. Nothing is requested until {@link ConnectableFountain#connect()} is called.
+     *
+     * @return a new ConnectableFountain<T>
+     */
+    public ConnectableFountain<T> publish() {
+        return publish(DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Turns this {@link Publisher} into a hot one which shares a single subscription between all of its subscribers.
+     * Every item is delivered to all the current subscribers and this publisher is requested at the pace of the
+     * slowest of them, in batches of 3/4 of the prefetch.
+     *
+     * @param prefetch number of items buffered between this publisher and the subscribers
+     * @return a new ConnectableFountain<T>
+     */
+    public ConnectableFountain<T> publish(int prefetch) {
+        return new PublishPublisher<>(this, Demand.checkPrefetch(prefetch));
+    }
+
+    /**
+     * Shares a single subscription to this {@link Publisher} between all of its subscribers, it is subscribed when the first
+     * subscriber arrives and cancelled when the last one leaves. Same as {@code publish().refCount()}.
+     *
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> share() {
+        return publish().refCount();
+    }
+
+    /**
+     * Subscribes to this {@link Publisher} once, when the first subscriber arrives, and replays all of its items
+     * and its terminal signal to every subscriber, each under its own back pressure.
+     *
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> cache() {
+        return new ReplayPublisher<>(this, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Same as {@link #cache()} but only the last 'maxItems' items are retained and replayed to late subscribers.
+     *
+     * @param maxItems number of items retained
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> replay(int maxItems) {
+        return new ReplayPublisher<>(this, checkMaxItems(maxItems), 0);
+    }
+
+    /**
+     * Same as {@link #cache()} but only the last 'maxItems' items which are not older than 'maxAge' are retained
+     * and replayed to late subscribers. Items are stored in linked fixed size segments which are dropped once all
+     * their items are out of the window, so a long lived hot source is replayed in bounded memory.
+     *
+     * @param maxItems number of items retained
+     * @param maxAge   age after which an item is not replayed any more
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> replay(int maxItems, Duration maxAge) {
+        Objects.requireNonNull(maxAge, "maxAge");
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        return new ReplayPublisher<>(this, checkMaxItems(maxItems), maxAge.toNanos());
+    }
+
+    /**
+     * Collects the items of this {@link Publisher} into lists of 'maxSize' items, the last list may be shorter.
+     * A request for n lists is forwarded upstream as a single request for n * maxSize items.
+     * Over an array source the lists are read-only views of the array, no item is copied.
+     *
+     * @param maxSize number of items per list
+     * @return a new Publisher<List<T>>
+     */
+    public Fountain<List<T>> buffer(int maxSize) {
+        return new BufferPublisher<>(this, checkMaxSize(maxSize));
+    }
+
+    /**
+     * Same as {@link #buffer(int)} but a list is also emitted when 'maxDelay' has elapsed since its first item,
+     * even if it is not full. The delay is measured on the provided {@link Scheduler}, which also emits the lists
+     * closed by the timer.
+     *
+     * @param maxSize   number of items per list
+     * @param maxDelay  time after which a list which is not full is emitted anyway
+     * @param scheduler scheduler which tracks the delay
+     * @return a new Publisher<List<T>>
+     */
+    public Fountain<List<T>> bufferTimeout(int maxSize, Duration maxDelay, Scheduler scheduler) {
+        Objects.requireNonNull(maxDelay, "maxDelay");
+        Objects.requireNonNull(scheduler, "scheduler");
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("maxDelay > 0 required but it was " + maxDelay);
+        }
+        return new BufferTimeoutPublisher<>(this, checkMaxSize(maxSize), maxDelay.toNanos(), scheduler);
+    }
+
+    /**
+     * Splits the items of this {@link Publisher} into consecutive publishers of 'maxSize' items, the last one may be shorter.
+     * A request for n windows is forwarded upstream as a single request for n * maxSize items, each window can be
+     * subscribed to once and keeps its items until its subscriber requests them.
+     *
+     * @param maxSize number of items per window
+     * @return a new Publisher<Fountain<T>>
+     */
+    public Fountain<Fountain<T>> window(int maxSize) {
+        return new WindowPublisher<>(this, checkMaxSize(maxSize));
+    }
+
+    /**
+     * Same as {@link #onBackpressureBuffer(int, Consumer)} without any overflow callback.
+     *
+     * @param capacity maximum number of items waiting for the demand of the subscriber
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> onBackpressureBuffer(int capacity) {
+        return onBackpressureBuffer(capacity, item -> {
+        });
+    }
+
+    /**
+     * Requests an unbounded amount from this {@link Publisher} and buffers the items the subscriber did not request yet
+     * in a bounded lock-free ring. An item which does not fit goes to the overflow callback, this publisher is
+     * cancelled and an {@link IllegalStateException} is delivered after the buffered items.
+     *
+     * @param capacity   maximum number of items waiting for the demand of the subscriber
+     * @param onOverflow called with the item which did not fit
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> onBackpressureBuffer(int capacity, Consumer<? super T> onOverflow) {
+        Objects.requireNonNull(onOverflow, "onOverflow");
+        return new BackpressureBufferPublisher<>(this, checkCapacity(capacity), onOverflow, null, null);
+    }
+
+    /**
+     * Same as {@link #onBackpressureBuffer(int)} except that the items which do not fit are written to a memory-mapped
+     * temporary file instead of failing, and read back in order once the subscriber requests them. The file lives
+     * outside of the heap and is deleted when the subscription terminates or is cancelled.
+     *
+     * @param capacity maximum number of items kept in memory
+     * @param encoder  turns an item into the bytes written to the file
+     * @param decoder  turns the bytes read from the file back into an item
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> onBackpressureSpill(int capacity, Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder) {
+        Objects.requireNonNull(encoder, "encoder");
+        Objects.requireNonNull(decoder, "decoder");
+        return new BackpressureBufferPublisher<>(this, checkCapacity(capacity), null, encoder, decoder);
+    }
+
+    /**
+     * Same as {@link #onBackpressureDrop(Consumer)} without any drop callback.
+     *
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> onBackpressureDrop() {
+        return onBackpressureDrop(item -> {
+        });
+    }
+
+    /**
+     * Requests an unbounded amount from this {@link Publisher} and drops the items the subscriber did not request.
+     *
+     * @param onDrop called with every dropped item
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> onBackpressureDrop(Consumer<? super T> onDrop) {
+        Objects.requireNonNull(onDrop, "onDrop");
+        return new BackpressureDropPublisher<>(this, onDrop);
+    }
+
+    /**
+     * Requests an unbounded amount from this {@link Publisher} and keeps only the most recent item the subscriber
+     * did not request yet, it is emitted as soon as the subscriber requests more.
+     *
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> onBackpressureLatest() {
+        return new BackpressureLatestPublisher<>(this);
+    }
+
+    /**
+     * Same as {@link #parallel(int)} with one rail per available processor.
+     *
+     * @return a new ParallelFountain<T>
+     */
+    public ParallelFountain<T> parallel() {
+        return parallel(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Splits the items of this {@link Publisher} across 'rails' independent sequences, see {@link ParallelFountain}.
+     * Array and range sources are cut into contiguous index ranges, so the rails do not share anything,
+     * any other source is subscribed once and its items are dealt round-robin to the rails which have demand.
+     *
+     * @param rails number of rails
+     * @return a new ParallelFountain<T>
+     */
+    public ParallelFountain<T> parallel(int rails) {
+        ParallelFountain.checkRails(rails);
+        Fountain<T>[] parts = split(rails);
+        if (parts != null) {
+            return new ParallelSplitSource<>(this, parts);
+        }
+        return new ParallelSource<>(this, rails, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * @return 'rails' publishers which emit the items of this one between them, in order, or null if it cannot be split
+     */
+    Fountain<T>[] split(int rails) {
+        return null;
+    }
+
+    /**
+     * Same as {@link #delayElements(Duration, Scheduler)} on {@link Schedulers#parallel()}.
+     *
+     * @param delay time each item is held back
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> delayElements(Duration delay) {
+        return delayElements(delay, Schedulers.parallel());
+    }
+
+    /**
+     * Emits every item of this {@link Publisher} on the provided {@link Scheduler} once 'delay' has elapsed since it
+     * arrived. The items are requested one at a time and only when the subscriber has some demand left, so the
+     * delays do not overlap. onComplete() waits for the last item, onError() is delivered right away.
+     *
+     * @param delay     time each item is held back
+     * @param scheduler scheduler which tracks the delay and emits the items
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> delayElements(Duration delay, Scheduler scheduler) {
+        long delayNanos = checkDuration(delay, "delay");
+        Objects.requireNonNull(scheduler, "scheduler");
+        return new DelayElementsPublisher<>(this, delayNanos, scheduler);
+    }
+
+    /**
+     * Same as {@link #timeout(Duration, Scheduler)} on {@link Schedulers#parallel()}.
+     *
+     * @param timeout maximum time to wait for the first item and between two items
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> timeout(Duration timeout) {
+        return timeout(timeout, Schedulers.parallel());
+    }
+
+    /**
+     * Cancels this {@link Publisher} and signals a {@link java.util.concurrent.TimeoutException} when the first item,
+     * or the next one, does not arrive within 'timeout'. The time starts once the subscriber has received the previous
+     * item, and it runs whether the subscriber has requested the next item or not.
+     *
+     * @param timeout   maximum time to wait for the first item and between two items
+     * @param scheduler scheduler which tracks the timeout and signals the error
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> timeout(Duration timeout, Scheduler scheduler) {
+        long timeoutNanos = checkDuration(timeout, "timeout");
+        Objects.requireNonNull(scheduler, "scheduler");
+        return new TimeoutPublisher<>(this, timeoutNanos, scheduler);
+    }
+
+    /**
+     * Subscribes to this {@link Publisher} on the provided {@link Scheduler}, the requests of the subscriber are
+     * forwarded through the scheduler as well, so a synchronous source emits on the scheduler threads.
+     *
+     * @param scheduler scheduler which runs subscribe() and request()
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> subscribeOn(Scheduler scheduler) {
+        Objects.requireNonNull(scheduler, "scheduler");
+        return new SubscribeOnPublisher<>(this, scheduler);
+    }
+
+    /**
+     * Emits the items of this {@link Publisher} on the provided {@link Scheduler}, prefetching {@value #DEFAULT_PREFETCH} of them.
+     *
+     * @param scheduler scheduler which runs onNext(), onError() and onComplete() of the subscriber
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> publishOn(Scheduler scheduler) {
+        return publishOn(scheduler, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Emits the items of this {@link Publisher} on the provided {@link Scheduler}.
+     * Up to 'prefetch' items are buffered in a bounded queue, and they are requested again from this publisher
+     * in batches of 3/4 of the prefetch as the subscriber consumes them.
+     *
+     * @param scheduler scheduler which runs onNext(), onError() and onComplete() of the subscriber
+     * @param prefetch  number of items buffered between this publisher and the subscriber
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> publishOn(Scheduler scheduler, int prefetch) {
+        Objects.requireNonNull(scheduler, "scheduler");
+        return new PublishOnPublisher<>(this, scheduler, Demand.checkPrefetch(prefetch));
+    }
+
+    /**
+     * Adapts this {@link Publisher} to a {@link Flow.Publisher}. A publisher created by
+     * {@link #fromFlowPublisher(Flow.Publisher)} is unwrapped back to the original one, and the subscribers of
+     * array and range sources receive the subscription of the source itself.
+     *
+     * @return a new Flow.Publisher<T>
+     */
+    public Flow.Publisher<T> toFlowPublisher() {
+        return new FlowAdapters.ToFlowPublisher<>(this);
+    }
+
+    /**
+     * Same as {@link #toIterable(int)} with a prefetch of {@value #DEFAULT_PREFETCH}.
+     *
+     * @return a new Iterable<T>
+     */
+    public Iterable<T> toIterable() {
+        return toIterable(DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Every call to iterator() subscribes to this {@link Publisher}, the elements are buffered in a bounded queue and
+     * requested again in batches of 3/4 of the prefetch as they are consumed. hasNext() blocks while the queue is empty,
+     * and throws the error of this publisher once the elements before it have been consumed.
+     *
+     * @param prefetch number of elements buffered between this publisher and the iterating thread
+     * @return a new Iterable<T>
+     */
+    public Iterable<T> toIterable(int prefetch) {
+        return new BlockingIterable<>(this, Demand.checkPrefetch(prefetch));
+    }
+
+    /**
+     * Same as {@link #toStream(int)} with a prefetch of {@value #DEFAULT_PREFETCH}.
+     *
+     * @return a new Stream<T>
+     */
+    public Stream<T> toStream() {
+        return toStream(DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Subscribes to this {@link Publisher} and returns a sequential {@link Stream} of its elements, backed by
+     * {@link #toIterable(int)}. Closing the stream cancels the subscription.
+     *
+     * @param prefetch number of elements buffered between this publisher and the consuming thread
+     * @return a new Stream<T>
+     */
+    public Stream<T> toStream(int prefetch) {
+        Iterator<T> iterator = toIterable(prefetch).iterator();
+        Stream<T> stream = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        if (iterator instanceof Disposable) {
+            return stream.onClose(((Disposable) iterator)::dispose);
+        }
+        return stream;
+    }
+
+    /**
+     * Subscribes to this {@link Publisher}, requests one element and blocks until it arrives.
+     *
+     * @return the first element or null if this publisher completes empty
+     */
+    public T blockFirst() {
+        BlockingSingleSubscriber<T> subscriber = new BlockingSingleSubscriber.First<>();
+        subscribe(subscriber);
+        return subscriber.blockingGet();
+    }
+
+    /**
+     * Subscribes to this {@link Publisher} with an unbounded demand and blocks until it completes.
+     *
+     * @return the last element or null if this publisher completes empty
+     */
+    public T blockLast() {
+        BlockingSingleSubscriber<T> subscriber = new BlockingSingleSubscriber.Last<>();
+        subscribe(subscriber);
+        return subscriber.blockingGet();
+    }
+
+    /**
+     * Folds the items of this {@link Publisher} with the reducer and emits the result once it completes,
+     * an empty publisher completes empty. A reducer returning null fails with a {@link NullPointerException}.
+     * <p>
+     * Over an array source the reduction is a plain loop over the array without any subscription, and from
+     * 65536 elements on (the 'org.neonex.publisher.parallelThreshold' system property) it is split over the common
+     * {@link java.util.concurrent.ForkJoinPool}, so the reducer must be associative.
+     *
+     * @param reducer function combining the result so far with the next item
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> reduce(BinaryOperator<T> reducer) {
+        Objects.requireNonNull(reducer, "reducer");
+        return new ReducePublisher<>(this, reducer);
+    }
+
+    /**
+     * Emits the number of items of this {@link Publisher} once it completes.
+     * Array and range sources answer without emitting anything.
+     *
+     * @return a new Publisher<Long>
+     */
+    public Fountain<Long> count() {
+        return collect(Collectors.counting());
+    }
+
+    /**
+     * Accumulates the items of this {@link Publisher} with the collector and emits its result once it completes,
+     * a collector returning null completes empty. Over an array source the items are accumulated in a plain loop,
+     * split over the common {@link java.util.concurrent.ForkJoinPool} as described in {@link #reduce(BinaryOperator)},
+     * the partial containers are merged with the combiner of the collector.
+     *
+     * @param collector collector of the items
+     * @param <A>       type of the mutable container of the collector
+     * @param <R>       type of the result
+     * @return a new Publisher<R>
+     */
+    public <A, R> Fountain<R> collect(Collector<? super T, A, R> collector) {
+        Objects.requireNonNull(collector, "collector");
+        return new CollectPublisher<>(this, collector);
+    }
+
+    /**
+     * Same as {@link #collect(Collector)} into an {@link java.util.ArrayList}.
+     *
+     * @return a new Publisher<List<T>>
+     */
+    public Fountain<List<T>> toList() {
+        return collect(Collectors.toList());
+    }
+
+    /**
+     * Emits the items of this {@link Publisher} in an array once it completes. Over an array source the array is
+     * copied without any subscription.
+     *
+     * @param generator creates an array of the requested length
+     * @return a new Publisher<T[]>
+     */
+    public Fountain<T[]> toArray(IntFunction<T[]> generator) {
+        Objects.requireNonNull(generator, "generator");
+        return collect(Collectors.collectingAndThen(Collectors.toList(), list -> list.toArray(generator.apply(list.size()))));
+    }
+
+    /**
+     * Subscribes to this {@link Publisher} with an unbounded demand, the future completes with the last item once
+     * it completes, with null if it completes empty, or exceptionally on onError(). Cancelling the future cancels
+     * the subscription. Meant for the single item publishers such as {@link #reduce(BinaryOperator)}.
+     *
+     * @return a new CompletableFuture<T>
+     */
+    public CompletableFuture<T> toFuture() {
+        FutureSubscriber<T> subscriber = new FutureSubscriber<>();
+        subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static int checkMaxItems(int maxItems) {
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("maxItems > 0 required but it was " + maxItems);
+        }
+        return maxItems;
+    }
+
+    static int checkMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        return maxConcurrency;
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        return capacity;
+    }
+
+    private static long checkDuration(Duration duration, String name) {
+        Objects.requireNonNull(duration, name);
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " > 0 required but it was " + duration);
+        }
+        return duration.toNanos();
+    }
+
+    static int checkMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return maxSize;
+    }
+
+    static void checkCount(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n >= 0 required but it was " + n);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Service provider interface called every time a source of this library is subscribed to, installed with
+ * {@link FountainHooks#install(FountainHook)}. It can return a decorator of the subscriber to observe or trace
+ * the signals of the subscription, {@link SubscriptionMetrics} is such a hook.
+ * <p>
+ * The hook is looked up once per subscribe(), never per element, so the drain loops of the sources are exactly the same
+ * whether a hook is installed or not, and a subscription which started without a hook never sees one.
+ *
+ * @author Mandeep Rajpal
+ */
+public interface FountainHook {
+
+    /**
+     * @param source     the source being subscribed to
+     * @param subscriber the subscriber of the source
+     * @param <T>        type of the elements
+     * @return the subscriber the source will signal, either the given one or a decorator forwarding every signal to it
+     */
+    <T> Subscriber<? super T> onSubscribe(Publisher<T> source, Subscriber<? super T> subscriber);
+}
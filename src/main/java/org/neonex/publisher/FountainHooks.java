@@ -0,0 +1,43 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.Objects;
+
+/**
+ * Global registry of the {@link FountainHook}, there is at most one installed at a time.
+ *
+ * @author Mandeep Rajpal
+ */
+public final class FountainHooks {
+
+    private static volatile FountainHook hook;
+
+    private FountainHooks() {
+    }
+
+    /**
+     * Installs the hook for every subscription made from now on, replacing the previous one.
+     *
+     * @param hook hook to install
+     */
+    public static void install(FountainHook hook) {
+        FountainHooks.hook = Objects.requireNonNull(hook, "hook");
+    }
+
+    /**
+     * Removes the installed hook, the subscriptions which were already decorated keep their decorator.
+     */
+    public static void reset() {
+        hook = null;
+    }
+
+    /**
+     * Called by the sources at the start of subscribe(), a single volatile read when no hook is installed.
+     */
+    static <T> Subscriber<? super T> onSubscribe(Publisher<T> source, Subscriber<? super T> subscriber) {
+        FountainHook hook = FountainHooks.hook;
+        return hook == null ? subscriber : hook.onSubscribe(source, subscriber);
+    }
+}
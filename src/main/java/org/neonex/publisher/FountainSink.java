@@ -0,0 +1,54 @@
+package org.neonex.publisher;
+
+/**
+ * Push side of {@link Fountain#create(java.util.function.Consumer)}: callbacks of a listener or of a completion handler
+ * call it to emit the items. Every method can be called from any number of threads at once, the signals are
+ * serialized before they reach the subscriber.
+ * <p>
+ * The items are buffered until the subscriber requests them, a producer which can slow down checks
+ * {@link #requested()} to avoid growing the buffer.
+ *
+ * @param <T> type of the items
+ * @author Mandeep Rajpal
+ */
+public interface FountainSink<T> {
+
+    /**
+     * Emits an item, ignored once the sink is terminated or cancelled.
+     *
+     * @param value item to emit
+     * @throws NullPointerException if the value is null
+     */
+    void next(T value);
+
+    /**
+     * Terminates with an error once the buffered items are delivered, only the first terminal signal counts.
+     *
+     * @param error error to deliver
+     */
+    void error(Throwable error);
+
+    /**
+     * Completes once the buffered items are delivered, only the first terminal signal counts.
+     */
+    void complete();
+
+    /**
+     * @return the demand of the subscriber which is not yet fulfilled, Long.MAX_VALUE once unbounded
+     */
+    long requested();
+
+    /**
+     * @return true once the subscriber cancelled or the terminal signal was delivered, the producer can stop
+     */
+    boolean isCancelled();
+
+    /**
+     * Registers the resource to release when the subscriber cancels or once the terminal signal is delivered,
+     * it is released right away if that already happened.
+     *
+     * @param disposable resource to release
+     * @return this
+     */
+    FountainSink<T> onDispose(Disposable disposable);
+}
@@ -0,0 +1,60 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link CompletableFuture} completed with the last item of the upstream, or null when it completes empty.
+ * Cancelling the future cancels the subscription.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class FutureSubscriber<T> extends CompletableFuture<T> implements Subscriber<T> {
+
+    private volatile Subscription upstream;
+
+    //plain field, the signals of the upstream are serialized
+    private T last;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        upstream = subscription;
+        //cancel() may have run before the subscription was assigned
+        if (isDone()) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T element) {
+        last = element;
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        last = null;
+        completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        T last = this.last;
+        this.last = null;
+        complete(last);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean isCancelled = super.cancel(mayInterruptIfRunning);
+        Subscription upstream = this.upstream;
+        if (isCancelled && upstream != null) {
+            upstream.cancel();
+        }
+        return isCancelled;
+    }
+}
@@ -0,0 +1,17 @@
+package org.neonex.publisher;
+
+/**
+ * An item travelling through the rails of {@link ParallelFountain#ordered()} together with its position in the source.
+ * The value is replaced in place by map(), every item owns its instance so this never races.
+ *
+ * @author Mandeep Rajpal
+ */
+final class Indexed {
+    final long index;
+    Object value;
+
+    Indexed(long index, Object value) {
+        this.index = index;
+        this.value = value;
+    }
+}
@@ -0,0 +1,118 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Primitive counterpart of {@link ArraySubscription} for {@code int[]}, it follows the same work in progress and
+ * back pressure rules. Primitive arrays cannot contain null, so there is no onError path for the elements.
+ *
+ * @author Mandeep Rajpal
+ */
+final class IntArraySubscription implements Subscription, Flow.Subscription {
+
+    private static final AtomicLongFieldUpdater<IntArraySubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(IntArraySubscription.class, "requested");
+
+    private final IntSubscriber subscriber;
+    private final int[] array;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    //plain field, only the thread which owns the drain loop reads or writes it
+    private int index;
+
+    IntArraySubscription(int[] array, IntSubscriber subscriber) {
+        this.array = array;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        final IntSubscriber subscriber = this.subscriber;
+        final int[] array = this.array;
+        final int length = array.length;
+
+        for (int i = index; i < length; i++) {
+            if (isCancelled) {
+                return;
+            }
+            subscriber.onNextInt(array[i]);
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long demand) {
+        final IntSubscriber subscriber = this.subscriber;
+        final int[] array = this.array;
+        final int length = array.length;
+
+        int i = index;
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand && i != length) {
+                if (isCancelled) {
+                    return;
+                }
+                subscriber.onNextInt(array[i]);
+                i++;
+                emitted++;
+            }
+            if (i == length) {
+                if (!isCancelled) {
+                    isCancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                index = i;
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                index = i;
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
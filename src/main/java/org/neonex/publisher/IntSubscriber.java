@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * {@link Subscriber} which can receive the elements of a primitive source, such as {@link Fountain#fromInts(int[])}, without boxing.
+ * Primitive sources call {@link #onNextInt(int)} instead of {@link #onNext(Object)} when the subscriber implements this interface,
+ * any other subscriber receives the boxed value.
+ *
+ * @author Mandeep Rajpal
+ */
+public interface IntSubscriber extends Subscriber<Integer> {
+
+    /**
+     * Primitive counterpart of {@link #onNext(Object)}, following the same rules of the specification.
+     *
+     * @param value the element signaled
+     */
+    void onNextInt(int value);
+
+    @Override
+    default void onNext(Integer value) {
+        onNextInt(value);
+    }
+}
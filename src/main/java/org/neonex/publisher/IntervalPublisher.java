@@ -0,0 +1,28 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * Emits 0, 1, 2, ... one item per period, the first one after 'initialDelayNanos'.
+ *
+ * @author Mandeep Rajpal
+ */
+final class IntervalPublisher extends Fountain<Long> {
+    private final long initialDelayNanos;
+    private final long periodNanos;
+    private final Scheduler scheduler;
+
+    IntervalPublisher(long initialDelayNanos, long periodNanos, Scheduler scheduler) {
+        this.initialDelayNanos = initialDelayNanos;
+        this.periodNanos = periodNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Long> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        IntervalSubscription subscription = new IntervalSubscription(subscriber, periodNanos, scheduler);
+        subscriber.onSubscribe(subscription);
+        subscription.start(initialDelayNanos);
+    }
+}
@@ -0,0 +1,130 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Emits a tick per period on the {@link Scheduler}:
+ * <p>
+ * 1. The ticks cannot be held back, so a tick which finds no outstanding demand cancels the subscription and sends an
+ * {@link IllegalStateException} to onError(), the same way {@link ArraySubscription#request(long)} reports an illegal state.
+ * 2. Every tick schedules the next one only after onNext() has returned, so the ticks never overlap. The delay is
+ * computed from the start of the subscription and not from the previous tick, so a late tick does not shift the others.
+ * 3. The scheduled tick is replaced on every period, cancel() disposes the current one. A tick scheduled concurrently
+ * with cancel() sees the flag and disposes itself.
+ * 4. The signals are serialized by 'wip': a tick holds it while it emits, and an error raised outside of a tick, such as
+ * the one of an invalid request(), is sent only by the thread which moves it from 0. Otherwise the running tick sends it
+ * once it finds that 'wip' was incremented in the meantime. A terminal signal never gives 'wip' back.
+ *
+ * @author Mandeep Rajpal
+ */
+final class IntervalSubscription implements Subscription, Runnable {
+
+    private static final AtomicIntegerFieldUpdater<IntervalSubscription> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(IntervalSubscription.class, "wip");
+    private static final AtomicLongFieldUpdater<IntervalSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(IntervalSubscription.class, "requested");
+
+    private final Subscriber<? super Long> actual;
+    private final long periodNanos;
+    private final Scheduler scheduler;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile boolean isCancelled;
+    //the error to send once the running tick gives 'wip' back
+    private volatile Throwable error;
+    private volatile Disposable task;
+
+    //plain, only the tick which is running reads or writes them, the scheduler orders the ticks
+    private long startNanos;
+    private long count;
+
+    IntervalSubscription(Subscriber<? super Long> actual, long periodNanos, Scheduler scheduler) {
+        this.actual = actual;
+        this.periodNanos = periodNanos;
+        this.scheduler = scheduler;
+    }
+
+    void start(long initialDelayNanos) {
+        startNanos = System.nanoTime() + initialDelayNanos;
+        schedule(initialDelayNanos);
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            signalError(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+        Disposable task = this.task;
+        if (task != null) {
+            task.dispose();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (isCancelled || WIP.getAndIncrement(this) != 0) {
+            //cancelled, or an error is being sent
+            return;
+        }
+        long count = this.count;
+        //'requested' is cumulative, it caps at Long.MAX_VALUE which the count never reaches
+        if (requested == count) {
+            isCancelled = true;
+            actual.onError(new IllegalStateException("Could not emit tick " + count + " due to lack of requests"));
+            return;
+        }
+        actual.onNext(count);
+        this.count = ++count;
+        if (WIP.decrementAndGet(this) != 0) {
+            //an error was raised while emitting, it is left to this tick
+            actual.onError(error);
+            return;
+        }
+        schedule(startNanos + count * periodNanos - System.nanoTime());
+    }
+
+    /**
+     * Any thread, sends the error right away unless a tick is emitting.
+     */
+    private void signalError(Throwable throwable) {
+        error = throwable;
+        if (WIP.getAndIncrement(this) == 0) {
+            actual.onError(throwable);
+        }
+    }
+
+    private void schedule(long delayNanos) {
+        if (isCancelled) {
+            return;
+        }
+        Disposable task;
+        try {
+            task = scheduler.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            //the scheduler is disposed
+            isCancelled = true;
+            signalError(e);
+            return;
+        }
+        this.task = task;
+        //cancel() may have read the previous task
+        if (isCancelled) {
+            task.dispose();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.Iterator;
+
+/**
+ * Publisher which pulls the elements of an {@link Iterable} lazily, every subscriber gets its own {@link Iterator}.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class IterablePublisher<T> extends Fountain<T> {
+    private final Iterable<? extends T> iterable;
+
+    IterablePublisher(Iterable<? extends T> iterable) {
+        this.iterable = iterable;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        Iterator<? extends T> iterator;
+        boolean hasNext;
+        try {
+            iterator = iterable.iterator();
+            hasNext = iterator.hasNext();
+        } catch (Throwable e) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(e);
+            return;
+        }
+        if (!hasNext) {
+            //same as EmptyPublisher, there is no need to wait for the demand to signal onComplete()
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onComplete();
+            return;
+        }
+        subscriber.onSubscribe(new IterableSubscription<>(iterator, subscriber));
+    }
+}
@@ -0,0 +1,147 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Pulls one element from the {@link Iterator} per unit of demand, following the same work in progress and
+ * back pressure rules as {@link ArraySubscription}. Nothing is read ahead apart from {@link Iterator#hasNext()},
+ * which is called right after every element so that onComplete() does not wait for more demand.
+ * <p>
+ * The iterator is only touched by the thread which owns the drain loop, it is handed over to the next owner
+ * through the write to 'requested' made at the end of every batch.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class IterableSubscription<T> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<IterableSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(IterableSubscription.class, "requested");
+
+    private final Subscriber<? super T> subscriber;
+    private final Iterator<? extends T> iterator;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    IterableSubscription(Iterator<? extends T> iterator, Subscriber<? super T> subscriber) {
+        this.iterator = iterator;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        while (true) {
+            if (!emitNext()) {
+                return;
+            }
+        }
+    }
+
+    private void slowPath(long demand) {
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand) {
+                if (!emitNext()) {
+                    return;
+                }
+                emitted++;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    /**
+     * Emits the next element of the iterator and signals onComplete() if it was the last one.
+     *
+     * @return false if the subscription is terminated or cancelled and the drain loop has to stop
+     */
+    private boolean emitNext() {
+        final Subscriber<? super T> subscriber = this.subscriber;
+        final Iterator<? extends T> iterator = this.iterator;
+
+        if (isCancelled) {
+            return false;
+        }
+        T element;
+        try {
+            element = iterator.next();
+        } catch (Throwable e) {
+            return fail(e);
+        }
+        //if element is null send it to onError() channel instead of throwing NullPointerException
+        if (element == null) {
+            return fail(new NullPointerException());
+        }
+        subscriber.onNext(element);
+        if (isCancelled) {
+            return false;
+        }
+        boolean hasNext;
+        try {
+            hasNext = iterator.hasNext();
+        } catch (Throwable e) {
+            return fail(e);
+        }
+        if (!hasNext) {
+            if (!isCancelled) {
+                isCancelled = true;
+                subscriber.onComplete();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private boolean fail(Throwable error) {
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onError(error);
+        }
+        return false;
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
@@ -0,0 +1,90 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of durations in nanoseconds, in the spirit of HdrHistogram: values below 16 have their own bucket,
+ * every power of two above is split into 8 buckets, so any value is known within 12.5% and the whole range of
+ * a long fits in 496 counters.
+ * <p>
+ * Recording is lock-free and wait-free for a single writer, which is what a subscription provides as its onNext()
+ * calls are serialized: the counters are incremented with ordered writes and no CAS. Readers on other threads,
+ * such as JMX, see a slightly stale but consistent enough picture.
+ *
+ * @author Mandeep Rajpal
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int LINEAR = 16;
+    private static final int LINEAR_BITS = 4;
+    private static final int BUCKETS = LINEAR + (64 - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    //single writer fields, volatile for the readers
+    private volatile long totalCount;
+    private volatile long max;
+
+    /**
+     * Single writer only.
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int index = index(value);
+        counts.lazySet(index, counts.get(index) + 1);
+        if (value > max) {
+            max = value;
+        }
+        totalCount = totalCount + 1;
+    }
+
+    long totalCount() {
+        return totalCount;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the upper bound of the bucket holding the value at the percentile, 0 if nothing was recorded
+     */
+    long percentile(double percentile) {
+        long total = totalCount;
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        //the leading one and the next SUB_BUCKET_BITS bits, in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        int top = (int) (value >>> (exponent - SUB_BUCKET_BITS));
+        return LINEAR + (exponent - LINEAR_BITS) * SUB_BUCKETS + top - SUB_BUCKETS;
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int exponent = (index - LINEAR) / SUB_BUCKETS + LINEAR_BITS;
+        long top = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        //the very last bucket would overflow
+        return exponent == 63 && top == 2 * SUB_BUCKETS - 1 ? Long.MAX_VALUE : ((top + 1) << shift) - 1;
+    }
+}
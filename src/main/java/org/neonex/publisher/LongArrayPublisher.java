@@ -0,0 +1,36 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.Arrays;
+
+/**
+ * Publisher of the elements of a {@code long[]}, {@link LongSubscriber}s receive them without boxing.
+ *
+ * @author Mandeep Rajpal
+ */
+final class LongArrayPublisher extends Fountain<Long> {
+    private final long[] array;
+
+    LongArrayPublisher(long[] array) {
+        this.array = Arrays.copyOf(array, array.length);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Long> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new LongArraySubscription(array, BoxedLongSubscriber.of(subscriber)));
+    }
+
+    @Override
+    public Fountain<Long> count() {
+        return new CallablePublisher<>(() -> (long) array.length);
+    }
+
+    /**
+     * Summed without boxing, see {@link Reductions} and {@link Fountain#sum(org.reactivestreams.Publisher)}.
+     */
+    Fountain<Long> sum() {
+        return new CallablePublisher<>(() -> Reductions.sum(array));
+    }
+}
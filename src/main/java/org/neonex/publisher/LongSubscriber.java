@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * {@link Subscriber} which can receive the elements of a primitive source, such as {@link Fountain#fromLongs(long[])}, without boxing.
+ * Primitive sources call {@link #onNextLong(long)} instead of {@link #onNext(Object)} when the subscriber implements this interface,
+ * any other subscriber receives the boxed value.
+ *
+ * @author Mandeep Rajpal
+ */
+public interface LongSubscriber extends Subscriber<Long> {
+
+    /**
+     * Primitive counterpart of {@link #onNext(Object)}, following the same rules of the specification.
+     *
+     * @param value the element signaled
+     */
+    void onNextLong(long value);
+
+    @Override
+    default void onNext(Long value) {
+        onNextLong(value);
+    }
+}
@@ -0,0 +1,89 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Single stage for any chain of consecutive map() and filter() operators (macro fusion).
+ * The whole chain is folded into one 'transformer' function which returns null for the elements dropped by a filter,
+ * a null produced by a mapper is turned into a {@link NullPointerException} before it reaches the transformer result.
+ * <p>
+ * Over an {@link ArrayPublisher} the transformer is applied inside the array drain loop itself (micro fusion),
+ * so there is no intermediate subscriber at all and dropped elements do not consume any demand.
+ *
+ * @param <T> type of the source elements
+ * @param <R> type of the emitted elements
+ * @author Mandeep Rajpal
+ */
+final class MapFilterPublisher<T, R> extends Fountain<R> {
+    private final Publisher<? extends T> source;
+    private final Function<? super T, ? extends R> transformer;
+    //true if the chain contains a filter(), which means the upstream demand has to be replenished for dropped elements
+    private final boolean mayDrop;
+
+    MapFilterPublisher(Publisher<? extends T> source, Function<? super T, ? extends R> transformer, boolean mayDrop) {
+        this.source = source;
+        this.transformer = transformer;
+        this.mayDrop = mayDrop;
+    }
+
+    static <T, R> Function<T, R> mapping(Function<? super T, ? extends R> mapper) {
+        return element -> Objects.requireNonNull(mapper.apply(element), "The mapper returned a null value");
+    }
+
+    static <T> Function<T, T> filtering(Predicate<? super T> predicate) {
+        return element -> predicate.test(element) ? element : null;
+    }
+
+    @Override
+    public <V> Fountain<V> map(Function<? super R, ? extends V> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        Function<? super T, ? extends R> transformer = this.transformer;
+        Function<R, V> next = mapping(mapper);
+        return new MapFilterPublisher<T, V>(source, element -> {
+            R value = transformer.apply(element);
+            return value == null ? null : next.apply(value);
+        }, mayDrop);
+    }
+
+    @Override
+    public Fountain<R> filter(Predicate<? super R> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        Function<? super T, ? extends R> transformer = this.transformer;
+        return new MapFilterPublisher<T, R>(source, element -> {
+            R value = transformer.apply(element);
+            return value == null || !predicate.test(value) ? null : value;
+        }, true);
+    }
+
+    @Override
+    public Fountain<R> take(long n) {
+        //a chain of map() emits exactly one element per source element, so the take() can be moved in front of it
+        //which lets an ArrayPublisher source turn it into a slice
+        //skip() is not moved the same way, the skipped elements still go through the mappers and may fail there
+        if (!mayDrop && source instanceof Fountain) {
+            @SuppressWarnings("unchecked")
+            Fountain<T> fountain = (Fountain<T>) source;
+            return new MapFilterPublisher<>(fountain.take(n), transformer, false);
+        }
+        return super.take(n);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        if (source instanceof ArrayPublisher) {
+            @SuppressWarnings("unchecked")
+            ArrayPublisher<T> arrayPublisher = (ArrayPublisher<T>) source;
+            //the fused stage is the source here
+            subscriber = FountainHooks.onSubscribe(this, subscriber);
+            subscriber.onSubscribe(new ArrayMapFilterSubscription<>(arrayPublisher.array, arrayPublisher.from, arrayPublisher.to,
+                    transformer, subscriber));
+            return;
+        }
+        source.subscribe(new MapFilterSubscriber<>(subscriber, transformer, mayDrop));
+    }
+}
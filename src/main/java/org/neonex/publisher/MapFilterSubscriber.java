@@ -0,0 +1,116 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
+
+/**
+ * Applies the transformer of a {@link MapFilterPublisher} to the elements of any publisher.
+ * <p>
+ * Every element dropped by a filter has to be requested again from the upstream, otherwise the downstream could wait forever.
+ * Instead of request(1) per dropped element the replenishment is batched: 'outstanding' counts the elements requested
+ * from the upstream but not delivered yet, and the dropped elements are requested again only when 'outstanding' reaches 0
+ * or {@link #REPLENISH_BATCH} elements have been dropped. With unbounded demand nothing needs to be replenished at all.
+ *
+ * @param <T> type of the source elements
+ * @param <R> type of the emitted elements
+ * @author Mandeep Rajpal
+ */
+final class MapFilterSubscriber<T, R> implements Subscriber<T>, Subscription {
+
+    static final int REPLENISH_BATCH = 64;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<MapFilterSubscriber> OUTSTANDING =
+            AtomicLongFieldUpdater.newUpdater(MapFilterSubscriber.class, "outstanding");
+
+    private final Subscriber<? super R> actual;
+    private final Function<? super T, ? extends R> transformer;
+    private final boolean mayDrop;
+
+    private Subscription upstream;
+    //plain fields, signals from the upstream are serialized
+    private boolean isDone;
+    private long dropped;
+
+    private volatile long outstanding;
+
+    MapFilterSubscriber(Subscriber<? super R> actual, Function<? super T, ? extends R> transformer, boolean mayDrop) {
+        this.actual = actual;
+        this.transformer = transformer;
+        this.mayDrop = mayDrop;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        R value;
+        try {
+            value = transformer.apply(element);
+        } catch (Throwable e) {
+            upstream.cancel();
+            onError(e);
+            return;
+        }
+        if (value != null) {
+            actual.onNext(value);
+            if (!mayDrop) {
+                return;
+            }
+        } else {
+            dropped++;
+        }
+        if (outstanding == Long.MAX_VALUE) {
+            dropped = 0;
+            return;
+        }
+        long remaining = OUTSTANDING.decrementAndGet(this);
+        if (dropped != 0 && (remaining == 0 || dropped >= REPLENISH_BATCH)) {
+            long replenish = dropped;
+            dropped = 0;
+            Demand.add(OUTSTANDING, this, replenish);
+            upstream.request(replenish);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (mayDrop && numberOfElements > 0) {
+            Demand.add(OUTSTANDING, this, numberOfElements);
+        }
+        upstream.request(numberOfElements);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
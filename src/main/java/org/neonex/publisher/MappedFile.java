@@ -0,0 +1,91 @@
+package org.neonex.publisher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only memory mapping of a whole file, used by {@link Fountain#fromFile(Path, int)} and {@link Fountain#fromFileLines(Path)}.
+ * A single mapping cannot exceed Integer.MAX_VALUE bytes, so the file is mapped as consecutive regions of 'regionSize' bytes.
+ * The regions are mapped upfront, which only reserves address space, and the channel is closed right away as a mapping
+ * stays valid without it. The pages are read by the OS when they are first touched and unmapped when the buffers are collected.
+ *
+ * @author Mandeep Rajpal
+ */
+final class MappedFile {
+    private final MappedByteBuffer[] regions;
+    private final long regionSize;
+    private final long size;
+
+    private MappedFile(MappedByteBuffer[] regions, long regionSize, long size) {
+        this.regions = regions;
+        this.regionSize = regionSize;
+        this.size = size;
+    }
+
+    /**
+     * @param regionSize number of bytes per mapping, at most Integer.MAX_VALUE
+     */
+    static MappedFile map(Path path, long regionSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((size + regionSize - 1) / regionSize)];
+            for (int i = 0; i < regions.length; i++) {
+                long position = i * regionSize;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionSize, size - position));
+            }
+            return new MappedFile(regions, regionSize, size);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * @return a read-only view of the bytes [position, position + length), it is a copy only when they span two regions
+     */
+    ByteBuffer slice(long position, int length) {
+        int region = (int) (position / regionSize);
+        int offset = (int) (position - region * regionSize);
+        if (offset + length <= regions[region].capacity()) {
+            ByteBuffer view = regions[region].duplicate();
+            view.position(offset).limit(offset + length);
+            return view.slice();
+        }
+        ByteBuffer copy = ByteBuffer.allocate(length);
+        while (copy.hasRemaining()) {
+            ByteBuffer part = regions[region++].duplicate();
+            part.position(offset).limit(Math.min(part.capacity(), offset + copy.remaining()));
+            copy.put(part);
+            offset = 0;
+        }
+        copy.flip();
+        return copy.asReadOnlyBuffer();
+    }
+
+    byte get(long position) {
+        int region = (int) (position / regionSize);
+        return regions[region].get((int) (position - region * regionSize));
+    }
+
+    /**
+     * @return position of the first occurrence of 'value' at or after 'from', or -1 if there is none
+     */
+    long indexOf(byte value, long from) {
+        for (int region = (int) (from / regionSize); region < regions.length; region++) {
+            final MappedByteBuffer buffer = regions[region];
+            final long base = region * regionSize;
+            final int limit = buffer.capacity();
+            for (int i = (int) Math.max(0, from - base); i < limit; i++) {
+                if (buffer.get(i) == value) {
+                    return base + i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,127 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Decorator installed by {@link SubscriptionMetrics} between a source and its subscriber.
+ * <p>
+ * 1. Every counter has a single writer, request() calls are serialized by the spec and so are the onNext() calls,
+ * so plain increments of volatile fields are enough and readers on other threads only pay a volatile read.
+ * 2. The time spent waiting for demand is measured from the last onNext() (or onSubscribe()) to the request() which
+ * made the outstanding demand positive again.
+ * 3. A decorated subscriber is neither a {@link BatchSubscriber} nor a primitive subscriber, the sources then use
+ * their element by element path.
+ *
+ * @param <T> type of the elements
+ * @author Mandeep Rajpal
+ */
+final class MeteredSubscriber<T> implements Subscriber<T>, Subscription {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<MeteredSubscriber> OUTSTANDING =
+            AtomicLongFieldUpdater.newUpdater(MeteredSubscriber.class, "outstanding");
+
+    private final Subscriber<? super T> actual;
+    private final SubscriptionMetrics metrics;
+    private final long id;
+    private final String source;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private Subscription upstream;
+
+    private volatile long outstanding;
+    private volatile long lastSignalAt;
+
+    //written by the requesting thread
+    private volatile long requested;
+    private volatile long requestCalls;
+    private volatile long demandWaitNanos;
+
+    //written by the emitting thread
+    private volatile long emitted;
+
+    MeteredSubscriber(Subscriber<? super T> actual, SubscriptionMetrics metrics, long id, String source) {
+        this.actual = actual;
+        this.metrics = metrics;
+        this.id = id;
+        this.source = source;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        lastSignalAt = System.nanoTime();
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T item) {
+        long start = System.nanoTime();
+        //published before the demand is consumed, so the next request() sees it when it finds no demand
+        lastSignalAt = start;
+        if (outstanding != Long.MAX_VALUE) {
+            OUTSTANDING.decrementAndGet(this);
+        }
+        emitted = emitted + 1;
+        actual.onNext(item);
+        latency.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        metrics.terminated(this);
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        metrics.terminated(this);
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n > 0) {
+            requestCalls = requestCalls + 1;
+            long total = requested + n;
+            requested = total < 0 ? Long.MAX_VALUE : total;
+            if (Demand.add(OUTSTANDING, this, n) == 0) {
+                demandWaitNanos = demandWaitNanos + (System.nanoTime() - lastSignalAt);
+            }
+        }
+        upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        metrics.terminated(this);
+        upstream.cancel();
+    }
+
+    long id() {
+        return id;
+    }
+
+    long requested() {
+        return requested;
+    }
+
+    long requestCalls() {
+        return requestCalls;
+    }
+
+    long emitted() {
+        return emitted;
+    }
+
+    long demandWaitNanos() {
+        return demandWaitNanos;
+    }
+
+    SubscriptionSnapshot snapshot() {
+        return new SubscriptionSnapshot(id, source, requested, requestCalls, emitted, demandWaitNanos,
+                latency.totalCount(), latency.percentile(50), latency.percentile(99), latency.percentile(99.9),
+                latency.max());
+    }
+}
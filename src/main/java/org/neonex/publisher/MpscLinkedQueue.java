@@ -0,0 +1,95 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Unbounded lock-free queue for any number of producer threads and exactly one consumer thread at a time,
+ * a linked list of nodes in the style of Dmitry Vyukov's intrusive MPSC queue:
+ * <p>
+ * 1. A producer swaps its node into 'producerNode' with a single getAndSet() and then links the previous node to it
+ * with an ordered write, so producers never retry and never wait for each other.
+ * 2. Between the swap and the link the new node is not reachable yet, the consumer sees a non empty queue
+ * with a missing 'next' and spins for the few instructions it takes the producer to write it.
+ * 3. The consumer moves 'consumerNode' forward as a plain field, the node it leaves behind becomes the new stub.
+ *
+ * @param <E> type of the elements, null is not allowed
+ * @author Mandeep Rajpal
+ */
+final class MpscLinkedQueue<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MpscLinkedQueue, Node> PRODUCER_NODE =
+            AtomicReferenceFieldUpdater.newUpdater(MpscLinkedQueue.class, Node.class, "producerNode");
+
+    private volatile Node<E> producerNode;
+    //plain, consumer thread only
+    private Node<E> consumerNode;
+
+    MpscLinkedQueue() {
+        Node<E> stub = new Node<>(null);
+        consumerNode = stub;
+        producerNode = stub;
+    }
+
+    /**
+     * Any thread.
+     */
+    @SuppressWarnings("unchecked")
+    void offer(E element) {
+        Node<E> node = new Node<>(element);
+        Node<E> previous = PRODUCER_NODE.getAndSet(this, node);
+        Node.NEXT.lazySet(previous, node);
+    }
+
+    /**
+     * Consumer side only.
+     *
+     * @return the head of the queue or null if it is empty
+     */
+    E poll() {
+        Node<E> current = consumerNode;
+        Node<E> next = current.next;
+        if (next == null) {
+            if (current == producerNode) {
+                return null;
+            }
+            //a producer swapped its node in but did not link it yet
+            while ((next = current.next) == null) {
+                Thread.onSpinWait();
+            }
+        }
+        E element = next.value;
+        next.value = null;
+        consumerNode = next;
+        return element;
+    }
+
+    /**
+     * Consumer side only.
+     */
+    boolean isEmpty() {
+        return consumerNode == producerNode;
+    }
+
+    /**
+     * Consumer side only, drops every element.
+     */
+    void clear() {
+        while (poll() != null) {
+            //drop the element
+        }
+    }
+
+    static final class Node<E> {
+        @SuppressWarnings("rawtypes")
+        static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        E value;
+        volatile Node<E> next;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Deals the items of a single upstream to the rails of a {@link ParallelSource}:
+ * <p>
+ * 1. The upstream is prefetched into a bounded {@link SpscArrayQueue} and replenished in batches of 3/4 of the prefetch,
+ * as in {@link PublishOnSubscriber}.
+ * 2. A single work in progress drain loop hands the items out round-robin, skipping the rails without demand,
+ * so the signals of every rail are serialized by the loop. It stops once a whole round found no rail with demand.
+ * 3. In indexed mode every item is wrapped with its position in the upstream, for {@link ParallelOrderedJoin}.
+ * 4. The upstream is cancelled once every rail has cancelled.
+ * 5. An invalid request() of a rail is recorded and its onError() is sent by the drain loop as well,
+ * the requesting thread never signals a rail directly.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ParallelDispatcher<T> implements Subscriber<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ParallelDispatcher> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(ParallelDispatcher.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ParallelDispatcher> CANCELLED_RAILS =
+            AtomicIntegerFieldUpdater.newUpdater(ParallelDispatcher.class, "cancelledRails");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ParallelDispatcher, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(ParallelDispatcher.class, Throwable.class, "error");
+
+    private final Subscriber<Object>[] rails;
+    private final int prefetch;
+    private final int limit;
+    private final boolean isIndexed;
+    private final SpscArrayQueue<T> queue;
+    //demand of every rail, with the same capping rules as Demand.add()
+    private final AtomicLongArray requested;
+    //set by the rails which cancelled, read by the drain loop
+    private final AtomicIntegerArray cancelled;
+    //error of the rails which made an invalid request, set once and sent by the drain loop
+    private final AtomicReferenceArray<Throwable> railErrors;
+
+    private Subscription upstream;
+
+    private volatile int wip;
+    private volatile int cancelledRails;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+    //set after an entry of 'railErrors', cleared by the drain loop before it looks at them
+    private volatile boolean hasRailErrors;
+
+    //plain fields, only the drain loop reads or writes them
+    private final long[] emitted;
+    private final boolean[] isRailErrorSent;
+    private int next;
+    private int consumed;
+    private long index;
+
+    @SuppressWarnings("unchecked")
+    ParallelDispatcher(Subscriber<?>[] rails, int prefetch, boolean isIndexed) {
+        this.rails = (Subscriber<Object>[]) rails;
+        this.prefetch = prefetch;
+        this.limit = Demand.replenishLimit(prefetch);
+        this.isIndexed = isIndexed;
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.requested = new AtomicLongArray(rails.length);
+        this.cancelled = new AtomicIntegerArray(rails.length);
+        this.railErrors = new AtomicReferenceArray<>(rails.length);
+        this.emitted = new long[rails.length];
+        this.isRailErrorSent = new boolean[rails.length];
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        for (int i = 0; i < rails.length; i++) {
+            rails[i].onSubscribe(new Rail(i));
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        if (!queue.offer(element)) {
+            upstream.cancel();
+            onError(new IllegalStateException("Queue is full, the upstream did not respect the back pressure"));
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        ERROR.compareAndSet(this, null, throwable);
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        drain();
+    }
+
+    private void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final Subscriber<Object>[] rails = this.rails;
+        final int n = rails.length;
+        final SpscArrayQueue<T> queue = this.queue;
+        final long[] emitted = this.emitted;
+        int missed = 1;
+
+        while (true) {
+            int idle = 0;
+            while (true) {
+                //before the cancellation check, the rail which made the invalid request has cancelled as well
+                if (hasRailErrors) {
+                    hasRailErrors = false;
+                    sendRailErrors();
+                }
+                if (isCancelled) {
+                    queue.clear();
+                    return;
+                }
+                boolean done = isDone;
+                if (done && error != null) {
+                    isCancelled = true;
+                    queue.clear();
+                    for (int i = 0; i < n; i++) {
+                        if (cancelled.get(i) == 0) {
+                            rails[i].onError(error);
+                        }
+                    }
+                    return;
+                }
+                boolean empty = queue.isEmpty();
+                if (done && empty) {
+                    isCancelled = true;
+                    for (int i = 0; i < n; i++) {
+                        if (cancelled.get(i) == 0) {
+                            rails[i].onComplete();
+                        }
+                    }
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                int rail = next;
+                if (cancelled.get(rail) == 0 && requested.get(rail) != emitted[rail]) {
+                    T element = queue.poll();
+                    rails[rail].onNext(isIndexed ? new Indexed(index++, element) : element);
+                    emitted[rail]++;
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        upstream.request(limit);
+                    }
+                    idle = 0;
+                } else if (++idle == n) {
+                    //a whole round without any rail able to take an item
+                    break;
+                }
+                next = rail + 1 == n ? 0 : rail + 1;
+            }
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drain loop only.
+     */
+    private void sendRailErrors() {
+        for (int i = 0; i < rails.length; i++) {
+            Throwable throwable = railErrors.get(i);
+            if (throwable != null && !isRailErrorSent[i]) {
+                isRailErrorSent[i] = true;
+                rails[i].onError(throwable);
+            }
+        }
+    }
+
+    private final class Rail implements Subscription {
+        private final int rail;
+
+        Rail(int rail) {
+            this.rail = rail;
+        }
+
+        @Override
+        public void request(long numberOfElements) {
+            if (numberOfElements < 1) {
+                //the drain loop may be emitting to this rail right now, so the error is left for the loop to send
+                //it skips a cancelled rail afterwards, so this is the only signal the rail receives from now on
+                if (railErrors.compareAndSet(rail, null, new IllegalArgumentException())) {
+                    hasRailErrors = true;
+                }
+                cancel();
+                drain();
+                return;
+            }
+            long previous;
+            long next;
+            do {
+                previous = requested.get(rail);
+                if (previous == Long.MAX_VALUE) {
+                    return;
+                }
+                next = previous + numberOfElements;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (!requested.compareAndSet(rail, previous, next));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled.getAndSet(rail, 1) != 0) {
+                return;
+            }
+            if (CANCELLED_RAILS.incrementAndGet(ParallelDispatcher.this) == rails.length) {
+                isCancelled = true;
+                upstream.cancel();
+                drain();
+            }
+        }
+    }
+}
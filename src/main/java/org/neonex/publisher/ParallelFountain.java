@@ -0,0 +1,179 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The items of a {@link Fountain} split across a fixed number of rails, created by {@link Fountain#parallel(int)}.
+ * Every rail is an independent sequence following the rules of the specification, the rails only run in parallel
+ * once {@link #runOn(Scheduler)} moved them to a multi-threaded {@link Scheduler}:
+ * <pre>
+ *     Fountain.fromArray(images)
+ *             .parallel(8)
+ *             .runOn(Schedulers.parallel())
+ *             .map(Image::thumbnail)
+ *             .sequential();
+ * </pre>
+ * Array and range sources are split into contiguous index ranges, one per rail, any other source is subscribed once
+ * and its items are dealt to the rails which have demand, round-robin. {@link #ordered()} joins the rails back in
+ * the original order of the items, which requires every source to be dealt round-robin with a sequence number.
+ *
+ * @param <T> type of the items
+ * @author Mandeep Rajpal
+ */
+public abstract class ParallelFountain<T> {
+
+    ParallelFountain() {
+    }
+
+    /**
+     * @return number of rails
+     */
+    public abstract int parallelism();
+
+    /**
+     * Subscribes one subscriber to every rail.
+     *
+     * @param subscribers one subscriber per rail, its length has to be {@link #parallelism()}
+     */
+    public final void subscribe(Subscriber<? super T>[] subscribers) {
+        checkSubscribers(subscribers);
+        subscribeRails(subscribers);
+    }
+
+    abstract void subscribeRails(Subscriber<? super T>[] subscribers);
+
+    /**
+     * Same as {@link #subscribeRails(Subscriber[])} but every item is wrapped in an {@link Indexed} carrying its position
+     * in the source, which is what {@link #ordered()} sorts on.
+     */
+    abstract void subscribeIndexed(Subscriber<? super Indexed>[] subscribers);
+
+    /**
+     * Moves every rail to the provided {@link Scheduler}, as {@link Fountain#publishOn(Scheduler)} does for a single sequence,
+     * prefetching {@value Fountain#DEFAULT_PREFETCH} items per rail. The operators after this one run on the scheduler,
+     * each rail on its own thread when the scheduler has enough of them.
+     *
+     * @param scheduler scheduler which runs the rails
+     * @return a new ParallelFountain<T>
+     */
+    public ParallelFountain<T> runOn(Scheduler scheduler) {
+        return runOn(scheduler, Fountain.DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Same as {@link #runOn(Scheduler)} with 'prefetch' items buffered per rail.
+     *
+     * @param scheduler scheduler which runs the rails
+     * @param prefetch  number of items buffered per rail
+     * @return a new ParallelFountain<T>
+     */
+    public ParallelFountain<T> runOn(Scheduler scheduler, int prefetch) {
+        Objects.requireNonNull(scheduler, "scheduler");
+        return new ParallelRunOn<>(this, scheduler, Demand.checkPrefetch(prefetch));
+    }
+
+    /**
+     * Transforms the items of every rail, consecutive map() and filter() are fused as in {@link Fountain#map(Function)}.
+     *
+     * @param mapper function applied to every item, it must not return null
+     * @param <R>    type of the transformed items
+     * @return a new ParallelFountain<R>
+     */
+    public <R> ParallelFountain<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new ParallelMapFilter<>(this, MapFilterPublisher.mapping(mapper), false);
+    }
+
+    /**
+     * Drops the items of every rail which do not match the predicate.
+     *
+     * @param predicate condition an item has to match to be emitted
+     * @return a new ParallelFountain<T>
+     */
+    public ParallelFountain<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return new ParallelMapFilter<>(this, MapFilterPublisher.filtering(predicate), true);
+    }
+
+    /**
+     * Reduces every rail on its own thread, then the results of the rails with each other.
+     * The reducer has to be associative as the items are not combined in their original order.
+     *
+     * @param reducer function combining two items into one, it must not return null
+     * @return a new Publisher<T> emitting the result, or nothing if there were no items
+     */
+    public Fountain<T> reduce(BinaryOperator<T> reducer) {
+        Objects.requireNonNull(reducer, "reducer");
+        return new ParallelReduce<>(this, reducer);
+    }
+
+    /**
+     * Joins the rails back into a single sequence, prefetching {@value Fountain#DEFAULT_PREFETCH} items per rail.
+     * The items are emitted in whatever order the rails produce them.
+     *
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> sequential() {
+        return sequential(Fountain.DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Same as {@link #sequential()} with 'prefetch' items buffered per rail.
+     *
+     * @param prefetch number of items buffered per rail
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> sequential(int prefetch) {
+        return new ParallelJoin<>(this, Demand.checkPrefetch(prefetch));
+    }
+
+    /**
+     * Joins the rails back into a single sequence in the original order of the items,
+     * prefetching {@value Fountain#DEFAULT_PREFETCH} items per rail.
+     *
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> ordered() {
+        return ordered(Fountain.DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Same as {@link #ordered()} with 'prefetch' items buffered per rail. An item is emitted once every rail has either
+     * an item or completed, so a slow rail holds the others back by at most 'prefetch' items.
+     *
+     * @param prefetch number of items buffered per rail
+     * @return a new Publisher<T>
+     */
+    public Fountain<T> ordered(int prefetch) {
+        return new ParallelOrderedJoin<>(this, Demand.checkPrefetch(prefetch));
+    }
+
+    private void checkSubscribers(Subscriber<?>[] subscribers) {
+        Objects.requireNonNull(subscribers, "subscribers");
+        if (subscribers.length != parallelism()) {
+            throw new IllegalArgumentException("parallelism is " + parallelism() + " but there are " + subscribers.length + " subscribers");
+        }
+    }
+
+    static int checkRails(int rails) {
+        if (rails < 1) {
+            throw new IllegalArgumentException("rails > 0 required but it was " + rails);
+        }
+        return rails;
+    }
+
+    /**
+     * @return first index of the rail 'rail' when [from, to) is split into 'rails' contiguous ranges,
+     * the first (to - from) % rails ranges are one element longer than the others
+     */
+    static long splitPoint(long from, long to, int rails, int rail) {
+        long size = (to - from) / rails;
+        long remainder = (to - from) % rails;
+        return from + rail * size + Math.min(rail, remainder);
+    }
+}
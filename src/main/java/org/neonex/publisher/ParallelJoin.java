@@ -0,0 +1,264 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Merges the rails back into a single sequence in whatever order they produce the items.
+ * <p>
+ * 1. Every rail is prefetched into its own {@link SpscArrayQueue} and replenished in batches of 3/4 of the prefetch,
+ * as the inner sources of {@link FlatMapSubscriber} are.
+ * 2. A single work in progress drain loop takes one item from every rail in turn while there is demand,
+ * so a busy rail cannot starve the others.
+ * 3. The first error cancels every rail and is delivered right away, the items still queued are dropped.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ParallelJoin<T> extends Fountain<T> {
+    private final ParallelFountain<T> source;
+    private final int prefetch;
+
+    ParallelJoin(ParallelFountain<T> source, int prefetch) {
+        this.source = source;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        JoinMain<T> main = new JoinMain<>(subscriber, source.parallelism(), prefetch);
+        subscriber.onSubscribe(main);
+        source.subscribeRails(main.rails);
+    }
+
+    /**
+     * What a {@link JoinRail} reports to, shared with {@link ParallelOrderedJoin}.
+     */
+    interface Parent {
+        void railFailed(Throwable throwable);
+
+        void railDone();
+
+        void drain();
+    }
+
+    static final class JoinMain<T> implements Subscription, Parent {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<JoinMain> WIP =
+                AtomicIntegerFieldUpdater.newUpdater(JoinMain.class, "wip");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<JoinMain> DONE_RAILS =
+                AtomicIntegerFieldUpdater.newUpdater(JoinMain.class, "doneRails");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<JoinMain> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(JoinMain.class, "requested");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<JoinMain, Throwable> ERROR =
+                AtomicReferenceFieldUpdater.newUpdater(JoinMain.class, Throwable.class, "error");
+
+        private final Subscriber<? super T> actual;
+        final JoinRail<T>[] rails;
+
+        private volatile int wip;
+        private volatile int doneRails;
+        private volatile long requested;
+        private volatile Throwable error;
+        private volatile boolean isCancelled;
+
+        //plain field, only the drain loop reads or writes it
+        private long emitted;
+
+        @SuppressWarnings("unchecked")
+        JoinMain(Subscriber<? super T> actual, int parallelism, int prefetch) {
+            this.actual = actual;
+            this.rails = new JoinRail[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                rails[i] = new JoinRail<T>(this, prefetch);
+            }
+        }
+
+        @Override
+        public void request(long numberOfElements) {
+            if (numberOfElements < 1) {
+                railFailed(new IllegalArgumentException());
+                return;
+            }
+            Demand.add(REQUESTED, this, numberOfElements);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (isCancelled) {
+                return;
+            }
+            isCancelled = true;
+            cancelRails();
+            //if the drain loop is not running clear the queues here, otherwise the loop clears them
+            if (WIP.getAndIncrement(this) == 0) {
+                clearRails();
+            }
+        }
+
+        @Override
+        public void railFailed(Throwable throwable) {
+            if (ERROR.compareAndSet(this, null, throwable)) {
+                cancelRails();
+                drain();
+            }
+        }
+
+        @Override
+        public void railDone() {
+            DONE_RAILS.incrementAndGet(this);
+            drain();
+        }
+
+        private void cancelRails() {
+            for (JoinRail<T> rail : rails) {
+                rail.cancel();
+            }
+        }
+
+        private void clearRails() {
+            for (JoinRail<T> rail : rails) {
+                rail.queue.clear();
+            }
+        }
+
+        @Override
+        public void drain() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+            final JoinRail<T>[] rails = this.rails;
+            final int n = rails.length;
+            long emitted = this.emitted;
+            int missed = 1;
+
+            while (true) {
+                long demand = requested;
+                while (true) {
+                    if (isCancelled) {
+                        clearRails();
+                        return;
+                    }
+                    Throwable throwable = error;
+                    if (throwable != null) {
+                        isCancelled = true;
+                        clearRails();
+                        actual.onError(throwable);
+                        return;
+                    }
+                    //read before polling, a rail which completed has nothing left to offer
+                    boolean done = doneRails == n;
+                    boolean empty = true;
+                    for (int i = 0; i < n && emitted != demand; i++) {
+                        T element = rails[i].queue.poll();
+                        if (element != null) {
+                            empty = false;
+                            actual.onNext(element);
+                            emitted++;
+                            rails[i].consumed();
+                        }
+                    }
+                    if (done && empty && isEmpty()) {
+                        isCancelled = true;
+                        actual.onComplete();
+                        return;
+                    }
+                    if (empty || emitted == demand) {
+                        break;
+                    }
+                }
+                this.emitted = emitted;
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            for (JoinRail<T> rail : rails) {
+                if (!rail.queue.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class JoinRail<T> implements Subscriber<T> {
+        private final Parent parent;
+        private final int prefetch;
+        private final int limit;
+        final SpscArrayQueue<T> queue;
+
+        private volatile Subscription upstream;
+        private volatile boolean isCancelled;
+        //set before the parent is told, so a parent which sees it set and then an empty queue knows the rail is finished
+        volatile boolean isDone;
+
+        //plain field, only the drain loop of the parent reads or writes it
+        private int consumed;
+
+        JoinRail(Parent parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = Demand.replenishLimit(prefetch);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            if (isCancelled) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T element) {
+            if (!queue.offer(element)) {
+                cancel();
+                parent.railFailed(new IllegalStateException("Queue is full, the rail did not respect the back pressure"));
+                return;
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            parent.railFailed(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            isDone = true;
+            parent.railDone();
+        }
+
+        void consumed() {
+            if (++consumed == limit) {
+                consumed = 0;
+                upstream.request(limit);
+            }
+        }
+
+        void cancel() {
+            isCancelled = true;
+            Subscription upstream = this.upstream;
+            if (upstream != null) {
+                upstream.cancel();
+            }
+        }
+    }
+}
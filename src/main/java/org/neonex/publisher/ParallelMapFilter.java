@@ -0,0 +1,91 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * map() and filter() on every rail, folded into a single transformer as in {@link MapFilterPublisher}.
+ * Over a {@link ParallelSplitSource} every rail becomes a {@link MapFilterPublisher} of its part of the source,
+ * so a split array is transformed inside its drain loop, without any intermediate subscriber.
+ *
+ * @param <T> type of the source items
+ * @param <R> type of the emitted items
+ * @author Mandeep Rajpal
+ */
+final class ParallelMapFilter<T, R> extends ParallelFountain<R> {
+    private final ParallelFountain<T> source;
+    private final Function<? super T, ? extends R> transformer;
+    private final boolean mayDrop;
+
+    ParallelMapFilter(ParallelFountain<T> source, Function<? super T, ? extends R> transformer, boolean mayDrop) {
+        this.source = source;
+        this.transformer = transformer;
+        this.mayDrop = mayDrop;
+    }
+
+    @Override
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    public <V> ParallelFountain<V> map(Function<? super R, ? extends V> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        Function<? super T, ? extends R> transformer = this.transformer;
+        Function<R, V> next = MapFilterPublisher.mapping(mapper);
+        return new ParallelMapFilter<T, V>(source, element -> {
+            R value = transformer.apply(element);
+            return value == null ? null : next.apply(value);
+        }, mayDrop);
+    }
+
+    @Override
+    public ParallelFountain<R> filter(Predicate<? super R> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        Function<? super T, ? extends R> transformer = this.transformer;
+        return new ParallelMapFilter<T, R>(source, element -> {
+            R value = transformer.apply(element);
+            return value == null || !predicate.test(value) ? null : value;
+        }, true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void subscribeRails(Subscriber<? super R>[] subscribers) {
+        if (source instanceof ParallelSplitSource) {
+            Fountain<T>[] parts = ((ParallelSplitSource<T>) source).parts;
+            for (int i = 0; i < parts.length; i++) {
+                new MapFilterPublisher<>(parts[i], transformer, mayDrop).subscribe(subscribers[i]);
+            }
+            return;
+        }
+        Subscriber<? super T>[] rails = new Subscriber[subscribers.length];
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new MapFilterSubscriber<>(subscribers[i], transformer, mayDrop);
+        }
+        source.subscribeRails(rails);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void subscribeIndexed(Subscriber<? super Indexed>[] subscribers) {
+        Function<? super T, ? extends R> transformer = this.transformer;
+        //the position travels with the item, only the value is transformed
+        Function<Indexed, Indexed> indexedTransformer = item -> {
+            R value = transformer.apply((T) item.value);
+            if (value == null) {
+                return null;
+            }
+            item.value = value;
+            return item;
+        };
+        Subscriber<? super Indexed>[] rails = new Subscriber[subscribers.length];
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new MapFilterSubscriber<>(subscribers[i], indexedTransformer, mayDrop);
+        }
+        source.subscribeIndexed(rails);
+    }
+}
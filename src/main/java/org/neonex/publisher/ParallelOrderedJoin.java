@@ -0,0 +1,182 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Merges the rails back into a single sequence in the original order of the items.
+ * The rails are subscribed in indexed mode, so every item carries its position in the source, and the rails are
+ * prefetched as in {@link ParallelJoin}. Within a rail the positions are increasing, so the next item in the original
+ * order is the head with the lowest position, which is known only once every rail has a head or has completed.
+ * Positions dropped by a filter() are simply never seen.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ParallelOrderedJoin<T> extends Fountain<T> {
+    private final ParallelFountain<T> source;
+    private final int prefetch;
+
+    ParallelOrderedJoin(ParallelFountain<T> source, int prefetch) {
+        this.source = source;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        OrderedMain<T> main = new OrderedMain<>(subscriber, source.parallelism(), prefetch);
+        subscriber.onSubscribe(main);
+        source.subscribeIndexed(main.rails);
+    }
+
+    static final class OrderedMain<T> implements Subscription, ParallelJoin.Parent {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<OrderedMain> WIP =
+                AtomicIntegerFieldUpdater.newUpdater(OrderedMain.class, "wip");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<OrderedMain> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(OrderedMain.class, "requested");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<OrderedMain, Throwable> ERROR =
+                AtomicReferenceFieldUpdater.newUpdater(OrderedMain.class, Throwable.class, "error");
+
+        private final Subscriber<? super T> actual;
+        final ParallelJoin.JoinRail<Indexed>[] rails;
+
+        private volatile int wip;
+        private volatile long requested;
+        private volatile Throwable error;
+        private volatile boolean isCancelled;
+
+        //plain field, only the drain loop reads or writes it
+        private long emitted;
+
+        @SuppressWarnings("unchecked")
+        OrderedMain(Subscriber<? super T> actual, int parallelism, int prefetch) {
+            this.actual = actual;
+            this.rails = new ParallelJoin.JoinRail[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                rails[i] = new ParallelJoin.JoinRail<>(this, prefetch);
+            }
+        }
+
+        @Override
+        public void request(long numberOfElements) {
+            if (numberOfElements < 1) {
+                railFailed(new IllegalArgumentException());
+                return;
+            }
+            Demand.add(REQUESTED, this, numberOfElements);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (isCancelled) {
+                return;
+            }
+            isCancelled = true;
+            cancelRails();
+            if (WIP.getAndIncrement(this) == 0) {
+                clearRails();
+            }
+        }
+
+        @Override
+        public void railFailed(Throwable throwable) {
+            if (ERROR.compareAndSet(this, null, throwable)) {
+                cancelRails();
+                drain();
+            }
+        }
+
+        @Override
+        public void railDone() {
+            drain();
+        }
+
+        private void cancelRails() {
+            for (ParallelJoin.JoinRail<Indexed> rail : rails) {
+                rail.cancel();
+            }
+        }
+
+        private void clearRails() {
+            for (ParallelJoin.JoinRail<Indexed> rail : rails) {
+                rail.queue.clear();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void drain() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+            final ParallelJoin.JoinRail<Indexed>[] rails = this.rails;
+            final int n = rails.length;
+            long emitted = this.emitted;
+            int missed = 1;
+
+            while (true) {
+                long demand = requested;
+                while (true) {
+                    if (isCancelled) {
+                        clearRails();
+                        return;
+                    }
+                    Throwable throwable = error;
+                    if (throwable != null) {
+                        isCancelled = true;
+                        clearRails();
+                        actual.onError(throwable);
+                        return;
+                    }
+                    Indexed min = null;
+                    int minRail = -1;
+                    int finished = 0;
+                    boolean isWaiting = false;
+                    for (int i = 0; i < n; i++) {
+                        //read before peeking, a rail which completed has nothing left to offer
+                        boolean done = rails[i].isDone;
+                        Indexed head = rails[i].queue.peek();
+                        if (head == null) {
+                            if (done) {
+                                finished++;
+                            } else {
+                                //the next item in order may still come from this rail
+                                isWaiting = true;
+                                break;
+                            }
+                        } else if (min == null || head.index < min.index) {
+                            min = head;
+                            minRail = i;
+                        }
+                    }
+                    if (finished == n) {
+                        isCancelled = true;
+                        actual.onComplete();
+                        return;
+                    }
+                    if (isWaiting || emitted == demand) {
+                        break;
+                    }
+                    rails[minRail].queue.poll();
+                    actual.onNext((T) min.value);
+                    emitted++;
+                    rails[minRail].consumed();
+                }
+                this.emitted = emitted;
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BinaryOperator;
+
+/**
+ * Reduces every rail with its own unbounded subscriber, then combines the results of the rails as they complete.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ParallelReduce<T> extends Fountain<T> {
+    private final ParallelFountain<T> source;
+    private final BinaryOperator<T> reducer;
+
+    ParallelReduce(ParallelFountain<T> source, BinaryOperator<T> reducer) {
+        this.source = source;
+        this.reducer = reducer;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        ReduceMain<T> main = new ReduceMain<>(subscriber, source.parallelism(), reducer);
+        subscriber.onSubscribe(main);
+        source.subscribeRails(main.rails);
+    }
+
+    static final class ReduceMain<T> extends DeferredScalarSubscription<T> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<ReduceMain> REMAINING =
+                AtomicIntegerFieldUpdater.newUpdater(ReduceMain.class, "remaining");
+
+        private final ReduceRail<T>[] rails;
+        private final BinaryOperator<T> reducer;
+
+        //guarded by 'this', the rails complete on their own threads
+        private T result;
+
+        private volatile int remaining;
+
+        @SuppressWarnings("unchecked")
+        ReduceMain(Subscriber<? super T> actual, int parallelism, BinaryOperator<T> reducer) {
+            super(actual);
+            this.reducer = reducer;
+            this.remaining = parallelism;
+            this.rails = new ReduceRail[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                rails[i] = new ReduceRail<>(this, reducer);
+            }
+        }
+
+        void railDone(T value) {
+            if (value != null) {
+                try {
+                    synchronized (this) {
+                        result = result == null ? value : requireNonNull(reducer.apply(result, value));
+                    }
+                } catch (Throwable throwable) {
+                    railFailed(throwable);
+                    return;
+                }
+            }
+            if (REMAINING.decrementAndGet(this) == 0) {
+                T result;
+                synchronized (this) {
+                    result = this.result;
+                    this.result = null;
+                }
+                if (result == null) {
+                    completeEmpty();
+                } else {
+                    complete(result);
+                }
+            }
+        }
+
+        void railFailed(Throwable throwable) {
+            if (!isTerminated()) {
+                onCancel();
+                error(throwable);
+            }
+        }
+
+        @Override
+        void onCancel() {
+            for (ReduceRail<T> rail : rails) {
+                rail.cancel();
+            }
+        }
+    }
+
+    static <T> T requireNonNull(T value) {
+        if (value == null) {
+            throw new NullPointerException("The reducer returned a null value");
+        }
+        return value;
+    }
+
+    static final class ReduceRail<T> implements Subscriber<T> {
+        private final ReduceMain<T> parent;
+        private final BinaryOperator<T> reducer;
+
+        private volatile Subscription upstream;
+        private volatile boolean isCancelled;
+
+        //plain fields, signals from the rail are serialized
+        private T value;
+        private boolean isDone;
+
+        ReduceRail(ReduceMain<T> parent, BinaryOperator<T> reducer) {
+            this.parent = parent;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            if (isCancelled) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T element) {
+            if (isDone) {
+                return;
+            }
+            try {
+                value = value == null ? element : requireNonNull(reducer.apply(value, element));
+            } catch (Throwable throwable) {
+                isDone = true;
+                parent.railFailed(throwable);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (isDone) {
+                return;
+            }
+            isDone = true;
+            parent.railFailed(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (isDone) {
+                return;
+            }
+            isDone = true;
+            T value = this.value;
+            this.value = null;
+            parent.railDone(value);
+        }
+
+        void cancel() {
+            isCancelled = true;
+            Subscription upstream = this.upstream;
+            if (upstream != null) {
+                upstream.cancel();
+            }
+        }
+    }
+}
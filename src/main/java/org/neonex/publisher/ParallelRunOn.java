@@ -0,0 +1,46 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * Wraps every rail with a {@link PublishOnSubscriber}, so each rail is drained by its own task on the scheduler.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ParallelRunOn<T> extends ParallelFountain<T> {
+    private final ParallelFountain<T> source;
+    private final Scheduler scheduler;
+    private final int prefetch;
+
+    ParallelRunOn(ParallelFountain<T> source, Scheduler scheduler, int prefetch) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void subscribeRails(Subscriber<? super T>[] subscribers) {
+        Subscriber<? super T>[] rails = new Subscriber[subscribers.length];
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new PublishOnSubscriber<>(subscribers[i], scheduler, prefetch);
+        }
+        source.subscribeRails(rails);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void subscribeIndexed(Subscriber<? super Indexed>[] subscribers) {
+        Subscriber<? super Indexed>[] rails = new Subscriber[subscribers.length];
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new PublishOnSubscriber<>(subscribers[i], scheduler, prefetch);
+        }
+        source.subscribeIndexed(rails);
+    }
+}
@@ -0,0 +1,37 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Rails of a source which cannot be split, the source is subscribed once and its items are dealt to the rails.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ParallelSource<T> extends ParallelFountain<T> {
+    private final Publisher<? extends T> source;
+    private final int rails;
+    private final int prefetch;
+
+    ParallelSource(Publisher<? extends T> source, int rails, int prefetch) {
+        this.source = source;
+        this.rails = rails;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public int parallelism() {
+        return rails;
+    }
+
+    @Override
+    void subscribeRails(Subscriber<? super T>[] subscribers) {
+        source.subscribe(new ParallelDispatcher<T>(subscribers, prefetch, false));
+    }
+
+    @Override
+    void subscribeIndexed(Subscriber<? super Indexed>[] subscribers) {
+        source.subscribe(new ParallelDispatcher<T>(subscribers, prefetch, true));
+    }
+}
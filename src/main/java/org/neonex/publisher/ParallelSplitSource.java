@@ -0,0 +1,37 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * Rails of a source which can be split, every rail subscribes to its own part of the source so the rails share nothing.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ParallelSplitSource<T> extends ParallelFountain<T> {
+    private final Fountain<T> source;
+    final Fountain<T>[] parts;
+
+    ParallelSplitSource(Fountain<T> source, Fountain<T>[] parts) {
+        this.source = source;
+        this.parts = parts;
+    }
+
+    @Override
+    public int parallelism() {
+        return parts.length;
+    }
+
+    @Override
+    void subscribeRails(Subscriber<? super T>[] subscribers) {
+        for (int i = 0; i < parts.length; i++) {
+            parts[i].subscribe(subscribers[i]);
+        }
+    }
+
+    @Override
+    void subscribeIndexed(Subscriber<? super Indexed>[] subscribers) {
+        //contiguous parts would make the ordered join wait for the first rail to finish before emitting anything of the others
+        new ParallelSource<>(source, parts.length, Fountain.DEFAULT_PREFETCH).subscribeIndexed(subscribers);
+    }
+}
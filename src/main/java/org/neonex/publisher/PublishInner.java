@@ -0,0 +1,77 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Subscription of one subscriber of a {@link PublishPublisher}, it only records the demand,
+ * the elements are pushed by the drain loop of the {@link PublishSubscriber} it is attached to.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class PublishInner<T> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<PublishInner> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(PublishInner.class, "requested");
+
+    final Subscriber<? super T> actual;
+
+    volatile long requested;
+    private volatile boolean isCancelled;
+    private volatile PublishSubscriber<T> parent;
+
+    //plain, only the drain loop of the parent reads or writes it
+    long emitted;
+
+    PublishInner(Subscriber<? super T> actual) {
+        this.actual = actual;
+    }
+
+    void setParent(PublishSubscriber<T> parent) {
+        this.parent = parent;
+    }
+
+    boolean isCancelled() {
+        return isCancelled;
+    }
+
+    /**
+     * @return number of elements this subscriber can take right now
+     */
+    long available() {
+        long demand = requested;
+        return demand == Long.MAX_VALUE ? Long.MAX_VALUE : demand - emitted;
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            actual.onError(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        PublishSubscriber<T> parent = this.parent;
+        if (parent != null) {
+            parent.drain();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        PublishSubscriber<T> parent = this.parent;
+        if (parent != null) {
+            parent.remove(this);
+            //the slowest subscriber may be gone, so the others may be able to move on
+            parent.drain();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class PublishOnPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final Scheduler scheduler;
+    private final int prefetch;
+
+    PublishOnPublisher(Publisher<? extends T> source, Scheduler scheduler, int prefetch) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new PublishOnSubscriber<>(subscriber, scheduler, prefetch));
+    }
+}
@@ -0,0 +1,209 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Hands the elements of the upstream over to a {@link Scheduler} through a bounded {@link SpscArrayQueue}:
+ * <p>
+ * 1. 'prefetch' elements are requested upfront, and every time 'limit' (3/4 of the prefetch) of them have been
+ * delivered downstream the same number is requested again, so the upstream sees a request() call per batch.
+ * 2. Every signal schedules the drain loop on the scheduler, 'wip' makes sure only one instance of it runs at a time
+ * and it is the same work in progress pattern as in {@link ArraySubscription}: the missed signals are counted and
+ * the loop goes around again instead of scheduling another task.
+ * 3. Errors, including the one for an illegal request(), are delivered as soon as the drain loop sees them,
+ * the elements still in the queue are dropped.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class PublishOnSubscriber<T> implements Subscriber<T>, Subscription, Runnable {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PublishOnSubscriber> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(PublishOnSubscriber.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<PublishOnSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(PublishOnSubscriber.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<PublishOnSubscriber, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(PublishOnSubscriber.class, Throwable.class, "error");
+
+    private final Subscriber<? super T> actual;
+    private final Scheduler scheduler;
+    private final int prefetch;
+    private final int limit;
+    private final SpscArrayQueue<T> queue;
+
+    private Subscription upstream;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+
+    //plain fields, only the drain loop reads or writes them
+    private long emitted;
+    private int consumed;
+
+    PublishOnSubscriber(Subscriber<? super T> actual, Scheduler scheduler, int prefetch) {
+        this.actual = actual;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+        this.limit = Demand.replenishLimit(prefetch);
+        this.queue = new SpscArrayQueue<>(prefetch);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        if (!queue.offer(element)) {
+            //the upstream emitted more than requested
+            upstream.cancel();
+            fail(new IllegalStateException("Queue is full, the upstream did not respect the back pressure"));
+            return;
+        }
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        schedule();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            upstream.cancel();
+            fail(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        upstream.cancel();
+        //if the drain loop is not running clear the queue here, otherwise the loop clears it
+        if (WIP.getAndIncrement(this) == 0) {
+            queue.clear();
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        ERROR.compareAndSet(this, null, throwable);
+        isDone = true;
+        schedule();
+    }
+
+    private void schedule() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        try {
+            scheduler.schedule(this);
+        } catch (RejectedExecutionException e) {
+            //the scheduler is disposed, nothing else can run the drain loop
+            isCancelled = true;
+            upstream.cancel();
+            queue.clear();
+            actual.onError(e);
+        }
+    }
+
+    /**
+     * The drain loop, runs on the scheduler.
+     */
+    @Override
+    public void run() {
+        final Subscriber<? super T> actual = this.actual;
+        final SpscArrayQueue<T> queue = this.queue;
+        long emitted = this.emitted;
+        int consumed = this.consumed;
+        int missed = 1;
+
+        while (true) {
+            long demand = requested;
+            while (emitted != demand) {
+                boolean done = isDone;
+                T element = queue.poll();
+                boolean empty = element == null;
+                if (isTerminated(done, empty)) {
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                actual.onNext(element);
+                emitted++;
+                if (++consumed == limit) {
+                    consumed = 0;
+                    upstream.request(limit);
+                }
+            }
+            if (emitted == demand && isTerminated(isDone, queue.isEmpty())) {
+                return;
+            }
+            this.emitted = emitted;
+            this.consumed = consumed;
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean isTerminated(boolean done, boolean empty) {
+        if (isCancelled) {
+            queue.clear();
+            return true;
+        }
+        if (done) {
+            Throwable throwable = error;
+            if (throwable != null) {
+                isCancelled = true;
+                queue.clear();
+                actual.onError(throwable);
+                return true;
+            }
+            if (empty) {
+                isCancelled = true;
+                actual.onComplete();
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * {@link ConnectableFountain} which multicasts every element of its source to all the current subscribers.
+ * Every connection is a {@link PublishSubscriber}, a new one is created once the previous one terminated.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class PublishPublisher<T> extends ConnectableFountain<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<PublishPublisher, PublishSubscriber> CONNECTION =
+            AtomicReferenceFieldUpdater.newUpdater(PublishPublisher.class, PublishSubscriber.class, "connection");
+
+    private final Publisher<? extends T> source;
+    private final int prefetch;
+
+    private volatile PublishSubscriber<T> connection;
+
+    PublishPublisher(Publisher<? extends T> source, int prefetch) {
+        this.source = source;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        PublishInner<T> inner = new PublishInner<>(subscriber);
+        subscriber.onSubscribe(inner);
+        while (true) {
+            PublishSubscriber<T> current = currentConnection();
+            if (current.add(inner)) {
+                if (inner.isCancelled()) {
+                    current.remove(inner);
+                }
+                current.drain();
+                return;
+            }
+            //the connection terminated in the meantime, attach to the next one
+        }
+    }
+
+    @Override
+    public Disposable connect() {
+        PublishSubscriber<T> current = currentConnection();
+        if (current.tryConnect()) {
+            source.subscribe(current);
+        }
+        return current;
+    }
+
+    private PublishSubscriber<T> currentConnection() {
+        while (true) {
+            PublishSubscriber<T> current = connection;
+            if (current != null && !current.isTerminated()) {
+                return current;
+            }
+            PublishSubscriber<T> next = new PublishSubscriber<>(prefetch);
+            if (CONNECTION.compareAndSet(this, current, next)) {
+                return next;
+            }
+        }
+    }
+}
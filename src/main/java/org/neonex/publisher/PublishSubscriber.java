@@ -0,0 +1,273 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * One connection of a {@link PublishPublisher} to its source, it dispatches every element to all the attached subscribers:
+ * <p>
+ * 1. The elements of the source wait in a {@link SpscArrayQueue} sized to the prefetch, and are requested again
+ * in batches of 3/4 of the prefetch as they are dispatched.
+ * 2. An element is dispatched only when every subscriber can take it, so the source runs at the pace of the
+ * slowest subscriber. The drain loop computes the smallest outstanding demand once per batch and then
+ * dispatches up to that many elements without looking at the demand again.
+ * 3. Subscribers are kept in a copy-on-write array, adding or removing one never blocks the drain loop,
+ * which only notices the change at the end of the element it is dispatching.
+ * 4. The drain loop is serialized with 'wip', the same work in progress pattern as in {@link ArraySubscription}.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class PublishSubscriber<T> implements Subscriber<T>, Disposable {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PublishSubscriber> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(PublishSubscriber.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PublishSubscriber> CONNECTED =
+            AtomicIntegerFieldUpdater.newUpdater(PublishSubscriber.class, "connected");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<PublishSubscriber, PublishInner[]> SUBSCRIBERS =
+            AtomicReferenceFieldUpdater.newUpdater(PublishSubscriber.class, PublishInner[].class, "subscribers");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<PublishSubscriber, Subscription> UPSTREAM =
+            AtomicReferenceFieldUpdater.newUpdater(PublishSubscriber.class, Subscription.class, "upstream");
+
+    private static final PublishInner<?>[] EMPTY = new PublishInner[0];
+    private static final PublishInner<?>[] TERMINATED = new PublishInner[0];
+
+    //marks the connection as disposed, the upstream is cancelled as soon as it arrives
+    private static final Subscription DISPOSED = new Subscription() {
+        @Override
+        public void request(long numberOfElements) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final int prefetch;
+    private final int limit;
+    private final SpscArrayQueue<T> queue;
+
+    private volatile Subscription upstream;
+    private volatile PublishInner<T>[] subscribers;
+    private volatile int wip;
+    private volatile int connected;
+    private volatile boolean isDone;
+    private Throwable error;
+
+    //plain, only the drain loop reads or writes it
+    private int consumed;
+
+    @SuppressWarnings("unchecked")
+    PublishSubscriber(int prefetch) {
+        this.prefetch = prefetch;
+        this.limit = Demand.replenishLimit(prefetch);
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.subscribers = (PublishInner<T>[]) EMPTY;
+    }
+
+    boolean tryConnect() {
+        return connected == 0 && CONNECTED.compareAndSet(this, 0, 1);
+    }
+
+    boolean isTerminated() {
+        return subscribers == TERMINATED;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (!UPSTREAM.compareAndSet(this, null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        if (!queue.offer(element)) {
+            upstream.cancel();
+            onError(new IllegalStateException("Queue is full, the upstream did not respect the back pressure"));
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        error = throwable;
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        Subscription subscription = UPSTREAM.getAndSet(this, DISPOSED);
+        if (subscription == DISPOSED) {
+            return;
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        if (!isDone) {
+            error = new CancellationException("Disconnected");
+            isDone = true;
+        }
+        drain();
+    }
+
+    @SuppressWarnings("unchecked")
+    boolean add(PublishInner<T> inner) {
+        while (true) {
+            PublishInner<T>[] current = subscribers;
+            if (current == TERMINATED) {
+                return false;
+            }
+            int n = current.length;
+            PublishInner<T>[] next = new PublishInner[n + 1];
+            System.arraycopy(current, 0, next, 0, n);
+            next[n] = inner;
+            inner.setParent(this);
+            if (SUBSCRIBERS.compareAndSet(this, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void remove(PublishInner<T> inner) {
+        while (true) {
+            PublishInner<T>[] current = subscribers;
+            int n = current.length;
+            int index = -1;
+            for (int i = 0; i < n; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            PublishInner<T>[] next;
+            if (n == 1) {
+                next = (PublishInner<T>[]) EMPTY;
+            } else {
+                next = new PublishInner[n - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, n - index - 1);
+            }
+            if (SUBSCRIBERS.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final SpscArrayQueue<T> queue = this.queue;
+        int missed = 1;
+
+        while (true) {
+            PublishInner<T>[] subscribers = this.subscribers;
+            int n = subscribers.length;
+
+            if (n != 0) {
+                long demand = Long.MAX_VALUE;
+                for (PublishInner<T> inner : subscribers) {
+                    if (!inner.isCancelled()) {
+                        demand = Math.min(demand, inner.available());
+                    }
+                }
+                long emitted = 0;
+                while (emitted != demand) {
+                    boolean done = isDone;
+                    T element = queue.poll();
+                    boolean empty = element == null;
+                    if (isTerminated(done, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    for (PublishInner<T> inner : subscribers) {
+                        if (!inner.isCancelled()) {
+                            inner.actual.onNext(element);
+                            inner.emitted++;
+                        }
+                    }
+                    emitted++;
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        upstream.request(limit);
+                    }
+                    if (subscribers != this.subscribers) {
+                        //somebody joined or left, the smallest demand has to be computed again
+                        break;
+                    }
+                }
+                if (emitted == demand && isTerminated(isDone, queue.isEmpty())) {
+                    return;
+                }
+                if (subscribers != this.subscribers) {
+                    continue;
+                }
+            } else if (isTerminated(isDone, queue.isEmpty())) {
+                return;
+            }
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Terminates every attached subscriber once the source is done, an error is delivered without waiting for the queue.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isTerminated(boolean done, boolean empty) {
+        if (!done) {
+            return false;
+        }
+        Throwable throwable = error;
+        if (throwable == null && !empty) {
+            return false;
+        }
+        queue.clear();
+        for (PublishInner<T> inner : (PublishInner<T>[]) SUBSCRIBERS.getAndSet(this, TERMINATED)) {
+            if (!inner.isCancelled()) {
+                if (throwable != null) {
+                    inner.actual.onError(throwable);
+                } else {
+                    inner.actual.onComplete();
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * Publisher of 'count' consecutive {@code int} values starting at 'start', the values are computed on demand
+ * so the memory needed does not depend on 'count'.
+ *
+ * @author Mandeep Rajpal
+ */
+final class RangePublisher extends Fountain<Integer> {
+    private final long start;
+    private final long end;
+
+    RangePublisher(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Integer> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new RangeSubscription(start, end, BoxedIntSubscriber.of(subscriber)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Fountain<Integer>[] split(int rails) {
+        Fountain<Integer>[] parts = new Fountain[rails];
+        for (int i = 0; i < rails; i++) {
+            long from = ParallelFountain.splitPoint(start, end, rails, i);
+            long to = ParallelFountain.splitPoint(start, end, rails, i + 1);
+            parts[i] = from == to ? empty() : new RangePublisher(from, to);
+        }
+        return parts;
+    }
+
+    @Override
+    public Fountain<Long> count() {
+        return new CallablePublisher<>(() -> end - start);
+    }
+
+    /**
+     * Closed form of the sum, nothing is iterated.
+     */
+    Fountain<Long> sum() {
+        return new CallablePublisher<>(() -> Reductions.sum(start, end));
+    }
+}
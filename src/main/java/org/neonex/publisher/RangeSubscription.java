@@ -0,0 +1,117 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Emits the values of [start, end) following the same work in progress and back pressure rules as {@link ArraySubscription},
+ * with the current value taking the place of the array index.
+ *
+ * @author Mandeep Rajpal
+ */
+final class RangeSubscription implements Subscription, Flow.Subscription {
+
+    private static final AtomicLongFieldUpdater<RangeSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(RangeSubscription.class, "requested");
+
+    private final IntSubscriber subscriber;
+    private final long end;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    //next value to emit, plain field as only the thread which owns the drain loop reads or writes it
+    private long index;
+
+    RangeSubscription(long start, long end, IntSubscriber subscriber) {
+        this.index = start;
+        this.end = end;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        final IntSubscriber subscriber = this.subscriber;
+        final long end = this.end;
+
+        for (long i = index; i != end; i++) {
+            if (isCancelled) {
+                return;
+            }
+            subscriber.onNextInt((int) i);
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long demand) {
+        final IntSubscriber subscriber = this.subscriber;
+        final long end = this.end;
+
+        long i = index;
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand && i != end) {
+                if (isCancelled) {
+                    return;
+                }
+                subscriber.onNextInt((int) i);
+                i++;
+                emitted++;
+            }
+            if (i == end) {
+                if (!isCancelled) {
+                    isCancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                index = i;
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                index = i;
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
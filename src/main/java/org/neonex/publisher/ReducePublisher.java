@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ReducePublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final BinaryOperator<T> reducer;
+
+    ReducePublisher(Publisher<? extends T> source, BinaryOperator<T> reducer) {
+        this.source = source;
+        this.reducer = reducer;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new ReduceSubscriber<>(subscriber, reducer));
+    }
+}
@@ -0,0 +1,85 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Requests an unbounded amount, folds the items with the reducer and emits the result once the upstream completes,
+ * an empty upstream completes empty. The result waits for the demand in the {@link DeferredScalarSubscription}.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ReduceSubscriber<T> extends DeferredScalarSubscription<T> implements Subscriber<T> {
+    private final BinaryOperator<T> reducer;
+
+    private Subscription upstream;
+
+    //plain fields, the signals of the upstream are serialized
+    private T result;
+    private boolean isDone;
+
+    ReduceSubscriber(Subscriber<? super T> actual, BinaryOperator<T> reducer) {
+        super(actual);
+        this.reducer = reducer;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        T result = this.result;
+        if (result == null) {
+            this.result = element;
+            return;
+        }
+        try {
+            this.result = ParallelReduce.requireNonNull(reducer.apply(result, element));
+        } catch (Throwable e) {
+            isDone = true;
+            this.result = null;
+            upstream.cancel();
+            error(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        result = null;
+        error(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        T result = this.result;
+        this.result = null;
+        if (result == null) {
+            completeEmpty();
+        } else {
+            complete(result);
+        }
+    }
+
+    @Override
+    void onCancel() {
+        upstream.cancel();
+    }
+}
@@ -0,0 +1,167 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collector;
+
+/**
+ * Plain loops behind the terminal operators of the array and range sources, they run without any subscription:
+ * <p>
+ * 1. Every loop reads the array in place and follows the rules of the subscriptions it replaces, a null element
+ * fails with a {@link NullPointerException} and so does a reducer returning null.
+ * 2. From 'PARALLEL_THRESHOLD' elements on, the reductions and the sums are split in halves recursively and run on the
+ * common {@link ForkJoinPool}, the results are combined in order so the reducer only needs to be associative.
+ * The threshold is read once from the 'org.neonex.publisher.parallelThreshold' system property, 65536 by default.
+ * 3. The sums use plain additions in both cases, overflowing longs wrap around and the doubles are not compensated.
+ *
+ * @author Mandeep Rajpal
+ */
+final class Reductions {
+
+    static final int PARALLEL_THRESHOLD = Math.max(2, Integer.getInteger("org.neonex.publisher.parallelThreshold", 1 << 16));
+
+    private Reductions() {
+    }
+
+    static <T> T reduce(T[] array, int from, int to, BinaryOperator<T> reducer) {
+        if (from == to) {
+            return null;
+        }
+        return split(from, to, (start, end) -> {
+            T result = requireElement(array[start]);
+            for (int i = start + 1; i < end; i++) {
+                result = ParallelReduce.requireNonNull(reducer.apply(result, requireElement(array[i])));
+            }
+            return result;
+        }, (left, right) -> ParallelReduce.requireNonNull(reducer.apply(left, right)));
+    }
+
+    static <T, A, R> R collect(T[] array, int from, int to, Collector<? super T, A, R> collector) {
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        A container;
+        if (from == to) {
+            container = collector.supplier().get();
+        } else {
+            container = split(from, to, (start, end) -> {
+                A partial = collector.supplier().get();
+                for (int i = start; i < end; i++) {
+                    accumulator.accept(partial, requireElement(array[i]));
+                }
+                return partial;
+            }, collector.combiner());
+        }
+        return collector.finisher().apply(container);
+    }
+
+    static void checkElements(Object[] array, int from, int to) {
+        if (ArraySubscription.firstNull(array, from, to) != to) {
+            throw new NullPointerException();
+        }
+    }
+
+    static long sum(int[] array) {
+        if (array.length == 0) {
+            return 0;
+        }
+        return split(0, array.length, (start, end) -> {
+            long sum = 0;
+            for (int i = start; i < end; i++) {
+                sum += array[i];
+            }
+            return sum;
+        }, Long::sum);
+    }
+
+    static long sum(long[] array) {
+        if (array.length == 0) {
+            return 0;
+        }
+        return split(0, array.length, (start, end) -> {
+            long sum = 0;
+            for (int i = start; i < end; i++) {
+                sum += array[i];
+            }
+            return sum;
+        }, Long::sum);
+    }
+
+    static double sum(double[] array) {
+        if (array.length == 0) {
+            return 0;
+        }
+        return split(0, array.length, (start, end) -> {
+            double sum = 0;
+            for (int i = start; i < end; i++) {
+                sum += array[i];
+            }
+            return sum;
+        }, Double::sum);
+    }
+
+    /**
+     * Sum of [start, end), wrapping around on overflow like the additions of a loop would.
+     */
+    static long sum(long start, long end) {
+        long count = end - start;
+        if ((count & 1) == 0) {
+            return (count >> 1) * (start + end - 1);
+        }
+        //an odd count has a middle value
+        return count * (start + ((count - 1) >> 1));
+    }
+
+    /**
+     * Runs 'leaf' over [from, to) on the calling thread, or on the common pool split into halves if the range is large,
+     * the range must not be empty.
+     */
+    private static <R> R split(int from, int to, Leaf<R> leaf, BinaryOperator<R> combiner) {
+        if (to - from < PARALLEL_THRESHOLD) {
+            return leaf.apply(from, to);
+        }
+        //a few chunks per worker, so a slow one does not hold the others back
+        int chunk = Math.max(PARALLEL_THRESHOLD >> 2, (to - from) / (ForkJoinPool.getCommonPoolParallelism() << 2));
+        return new SplitTask<>(from, to, chunk, leaf, combiner).invoke();
+    }
+
+    private static <T> T requireElement(T element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        return element;
+    }
+
+    @FunctionalInterface
+    private interface Leaf<R> {
+        R apply(int from, int to);
+    }
+
+    private static final class SplitTask<R> extends RecursiveTask<R> {
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final Leaf<R> leaf;
+        private final BinaryOperator<R> combiner;
+
+        SplitTask(int from, int to, int chunk, Leaf<R> leaf, BinaryOperator<R> combiner) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= chunk) {
+                return leaf.apply(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SplitTask<R> left = new SplitTask<>(from, middle, chunk, leaf, combiner);
+            left.fork();
+            R right = new SplitTask<>(middle, to, chunk, leaf, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * Connects its {@link ConnectableFountain} when the first subscriber arrives and disposes the connection when the
+ * last subscriber cancels. The bookkeeping is guarded by the monitor of this publisher, it only runs on subscribe,
+ * cancel and termination, never on the path of the elements.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class RefCountPublisher<T> extends Fountain<T> {
+    private final ConnectableFountain<T> source;
+
+    //guarded by this
+    private RefConnection connection;
+
+    RefCountPublisher(ConnectableFountain<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        RefConnection current;
+        boolean connect = false;
+        synchronized (this) {
+            current = connection;
+            if (current == null) {
+                current = new RefConnection();
+                connection = current;
+            }
+            if (++current.count == 1 && !current.isConnected) {
+                current.isConnected = true;
+                connect = true;
+            }
+        }
+        source.subscribe(new RefCountSubscriber<>(subscriber, this, current));
+        if (connect) {
+            Disposable disposable = source.connect();
+            boolean disposeNow;
+            synchronized (this) {
+                current.disposable = disposable;
+                disposeNow = current.isDisposeRequested;
+            }
+            if (disposeNow) {
+                disposable.dispose();
+            }
+        }
+    }
+
+    /**
+     * Called once by every subscriber when it cancels or terminates.
+     *
+     * @param terminated true if the source terminated, the next subscriber then needs a new connection
+     */
+    void release(RefConnection released, boolean terminated) {
+        Disposable disposable = null;
+        synchronized (this) {
+            if (connection != released) {
+                return;
+            }
+            if (terminated) {
+                connection = null;
+                return;
+            }
+            if (--released.count == 0) {
+                connection = null;
+                disposable = released.disposable;
+                if (disposable == null) {
+                    //connect() has not returned yet, the subscribing thread disposes it
+                    released.isDisposeRequested = true;
+                }
+            }
+        }
+        if (disposable != null) {
+            disposable.dispose();
+        }
+    }
+
+    static final class RefConnection {
+        //all guarded by the monitor of the RefCountPublisher
+        int count;
+        boolean isConnected;
+        boolean isDisposeRequested;
+        Disposable disposable;
+    }
+}
@@ -0,0 +1,72 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Forwards the signals of a shared connection and tells the {@link RefCountPublisher} when the subscriber leaves.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class RefCountSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<RefCountSubscriber> RELEASED =
+            AtomicIntegerFieldUpdater.newUpdater(RefCountSubscriber.class, "released");
+
+    private final Subscriber<? super T> actual;
+    private final RefCountPublisher<T> parent;
+    private final RefCountPublisher.RefConnection connection;
+
+    private Subscription upstream;
+    private volatile int released;
+
+    RefCountSubscriber(Subscriber<? super T> actual, RefCountPublisher<T> parent, RefCountPublisher.RefConnection connection) {
+        this.actual = actual;
+        this.parent = parent;
+        this.connection = connection;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T element) {
+        actual.onNext(element);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        release(true);
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        release(true);
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        upstream.request(numberOfElements);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+        release(false);
+    }
+
+    private void release(boolean terminated) {
+        if (released == 0 && RELEASED.compareAndSet(this, 0, 1)) {
+            parent.release(connection, terminated);
+        }
+    }
+}
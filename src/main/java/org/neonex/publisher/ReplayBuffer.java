@@ -0,0 +1,243 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Retains the elements of the source of a {@link ReplayPublisher} in a linked list of fixed size {@link Segment}s:
+ * <p>
+ * 1. The source is the only writer. It stores the element in the tail segment, links a new segment when the tail is full,
+ * and then publishes the element with an ordered write of 'size'. Appending never copies what is already retained.
+ * 2. Readers hold their own cursor (segment and absolute index) and read everything below 'size' without any locking.
+ * 3. The head moves forward segment by segment once all of its elements are out of the window, either because more
+ * than 'maxItems' elements came after them or because they are older than 'maxAge'. A reader which is still behind
+ * keeps its own segments reachable until it catches up, new subscribers start at the first retained element.
+ * 4. The source is requested unbounded, the memory is bounded by the window instead.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ReplayBuffer<T> implements Subscriber<T> {
+
+    static final int SEGMENT_SIZE = 64;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ReplayBuffer> SIZE =
+            AtomicLongFieldUpdater.newUpdater(ReplayBuffer.class, "size");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ReplayBuffer> CONNECTED =
+            AtomicIntegerFieldUpdater.newUpdater(ReplayBuffer.class, "connected");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ReplayBuffer, ReplaySubscription[]> SUBSCRIBERS =
+            AtomicReferenceFieldUpdater.newUpdater(ReplayBuffer.class, ReplaySubscription[].class, "subscribers");
+
+    private static final ReplaySubscription<?>[] EMPTY = new ReplaySubscription[0];
+
+    private final int maxItems;
+    //0 when there is no age limit
+    private final long maxAgeNanos;
+
+    private volatile Segment head;
+    //plain, written only by the source
+    private Segment tail;
+
+    volatile long size;
+    volatile boolean isDone;
+    Throwable error;
+
+    private volatile int connected;
+    private volatile ReplaySubscription<T>[] subscribers;
+
+    @SuppressWarnings("unchecked")
+    ReplayBuffer(int maxItems, long maxAgeNanos) {
+        this.maxItems = maxItems;
+        this.maxAgeNanos = maxAgeNanos;
+        Segment first = new Segment(0, maxAgeNanos != 0);
+        this.head = first;
+        this.tail = first;
+        this.subscribers = (ReplaySubscription<T>[]) EMPTY;
+    }
+
+    boolean tryConnect() {
+        return connected == 0 && CONNECTED.compareAndSet(this, 0, 1);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        long index = size;
+        Segment segment = tail;
+        int offset = (int) (index - segment.start);
+        if (offset == SEGMENT_SIZE) {
+            Segment next = new Segment(index, maxAgeNanos != 0);
+            segment.next = next;
+            tail = next;
+            segment = next;
+            offset = 0;
+        }
+        segment.values[offset] = element;
+        if (maxAgeNanos != 0) {
+            segment.timestamps[offset] = System.nanoTime();
+        }
+        SIZE.lazySet(this, index + 1);
+        trim(index + 1);
+        for (ReplaySubscription<T> subscription : subscribers) {
+            subscription.drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        error = throwable;
+        terminate();
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        terminate();
+    }
+
+    private void terminate() {
+        isDone = true;
+        for (ReplaySubscription<T> subscription : subscribers) {
+            subscription.drain();
+        }
+    }
+
+    /**
+     * Drops the head segments which are entirely out of the window, called by the source only.
+     * A segment followed by another one is full, so looking at its last element is enough.
+     */
+    private void trim(long size) {
+        Segment head = this.head;
+        long firstByCount = maxItems == Integer.MAX_VALUE ? 0 : size - maxItems;
+        long cutoff = maxAgeNanos == 0 ? 0 : System.nanoTime() - maxAgeNanos;
+        while (head.next != null) {
+            boolean isOutOfCount = head.start + SEGMENT_SIZE <= firstByCount;
+            boolean isOutOfAge = maxAgeNanos != 0 && head.timestamps[SEGMENT_SIZE - 1] - cutoff < 0;
+            if (!isOutOfCount && !isOutOfAge) {
+                break;
+            }
+            head = head.next;
+        }
+        if (head != this.head) {
+            this.head = head;
+        }
+    }
+
+    /**
+     * @return absolute index of the oldest element inside the window
+     */
+    private long firstRetained(long size) {
+        long first = maxItems == Integer.MAX_VALUE ? 0 : Math.max(0, size - maxItems);
+        if (maxAgeNanos == 0) {
+            return first;
+        }
+        long cutoff = System.nanoTime() - maxAgeNanos;
+        Segment segment = head;
+        long index = Math.max(first, segment.start);
+        while (index < size) {
+            int offset = (int) (index - segment.start);
+            if (offset == SEGMENT_SIZE) {
+                segment = segment.next;
+                continue;
+            }
+            if (segment.timestamps[offset] - cutoff >= 0) {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Creates the subscription of a new subscriber, positioned at the first retained element.
+     */
+    ReplaySubscription<T> newSubscription(Subscriber<? super T> subscriber) {
+        //read 'size' first, the head can only move forward after that
+        long size = this.size;
+        long index = firstRetained(size);
+        Segment segment = head;
+        if (index < segment.start) {
+            index = segment.start;
+        }
+        while (index - segment.start >= SEGMENT_SIZE && segment.next != null) {
+            segment = segment.next;
+        }
+        return new ReplaySubscription<>(this, subscriber, segment, index);
+    }
+
+    @SuppressWarnings("unchecked")
+    void add(ReplaySubscription<T> subscription) {
+        while (true) {
+            ReplaySubscription<T>[] current = subscribers;
+            int n = current.length;
+            ReplaySubscription<T>[] next = new ReplaySubscription[n + 1];
+            System.arraycopy(current, 0, next, 0, n);
+            next[n] = subscription;
+            if (SUBSCRIBERS.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void remove(ReplaySubscription<T> subscription) {
+        while (true) {
+            ReplaySubscription<T>[] current = subscribers;
+            int n = current.length;
+            int index = -1;
+            for (int i = 0; i < n; i++) {
+                if (current[i] == subscription) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            ReplaySubscription<T>[] next;
+            if (n == 1) {
+                next = (ReplaySubscription<T>[]) EMPTY;
+            } else {
+                next = new ReplaySubscription[n - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, n - index - 1);
+            }
+            if (SUBSCRIBERS.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    static final class Segment {
+        //absolute index of values[0]
+        final long start;
+        final Object[] values = new Object[SEGMENT_SIZE];
+        //null when there is no age limit
+        final long[] timestamps;
+        volatile Segment next;
+
+        Segment(long start, boolean isTimed) {
+            this.start = start;
+            this.timestamps = isTimed ? new long[SEGMENT_SIZE] : null;
+        }
+    }
+}
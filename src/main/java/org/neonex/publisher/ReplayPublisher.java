@@ -0,0 +1,32 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Subscribes to its source once, on the first subscriber, and replays the retained elements to every subscriber.
+ * The elements are kept by a {@link ReplayBuffer}.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ReplayPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final ReplayBuffer<T> buffer;
+
+    ReplayPublisher(Publisher<? extends T> source, int maxItems, long maxAgeNanos) {
+        this.source = source;
+        this.buffer = new ReplayBuffer<>(maxItems, maxAgeNanos);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        ReplaySubscription<T> subscription = buffer.newSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        buffer.add(subscription);
+        if (buffer.tryConnect()) {
+            source.subscribe(buffer);
+        }
+        subscription.drain();
+    }
+}
@@ -0,0 +1,133 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Replays a {@link ReplayBuffer} to one subscriber under its own back pressure, from its own cursor.
+ * The drain loop is serialized with 'wip', the same work in progress pattern as in {@link ArraySubscription},
+ * it runs on the thread of request() or on the thread of the source when a new element arrives.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ReplaySubscription<T> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ReplaySubscription> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(ReplaySubscription.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ReplaySubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(ReplaySubscription.class, "requested");
+
+    private final ReplayBuffer<T> buffer;
+    private final Subscriber<? super T> actual;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile boolean isCancelled;
+
+    //plain fields, only the drain loop reads or writes them
+    private ReplayBuffer.Segment segment;
+    private long index;
+    private long emitted;
+
+    ReplaySubscription(ReplayBuffer<T> buffer, Subscriber<? super T> actual, ReplayBuffer.Segment segment, long index) {
+        this.buffer = buffer;
+        this.actual = actual;
+        this.segment = segment;
+        this.index = index;
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            actual.onError(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        buffer.remove(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final Subscriber<? super T> actual = this.actual;
+        final ReplayBuffer<T> buffer = this.buffer;
+        ReplayBuffer.Segment segment = this.segment;
+        long index = this.index;
+        long emitted = this.emitted;
+        int missed = 1;
+
+        while (true) {
+            long demand = requested;
+            while (emitted != demand) {
+                if (isCancelled) {
+                    this.segment = null;
+                    return;
+                }
+                //read 'isDone' before 'size', once the buffer is done its size does not change any more
+                boolean done = buffer.isDone;
+                if (index == buffer.size) {
+                    if (done) {
+                        terminate();
+                        return;
+                    }
+                    break;
+                }
+                int offset = (int) (index - segment.start);
+                if (offset == ReplayBuffer.SEGMENT_SIZE) {
+                    segment = segment.next;
+                    offset = 0;
+                }
+                actual.onNext((T) segment.values[offset]);
+                index++;
+                emitted++;
+            }
+            if (emitted == demand) {
+                if (isCancelled) {
+                    this.segment = null;
+                    return;
+                }
+                if (buffer.isDone && index == buffer.size) {
+                    terminate();
+                    return;
+                }
+            }
+            this.segment = segment;
+            this.index = index;
+            this.emitted = emitted;
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void terminate() {
+        isCancelled = true;
+        segment = null;
+        buffer.remove(this);
+        Throwable error = buffer.error;
+        if (error != null) {
+            actual.onError(error);
+        } else {
+            actual.onComplete();
+        }
+    }
+}
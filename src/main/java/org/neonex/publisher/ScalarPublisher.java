@@ -0,0 +1,86 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Publisher of a single non null value, created by {@link Fountain#just(Object[])} with one element.
+ * <p>
+ * 1. The value is emitted by a {@link ScalarSubscription}, there is no array copy and no drain loop.
+ * 2. {@link Scalars#value(Publisher)} recognizes it, so flatMap() emits the value of an inner one without subscribing.
+ * 3. map() and filter() become a {@link CallablePublisher} and flatMap() a {@link DeferPublisher}, so the chain
+ * stays scalar and the functions are still applied once per subscription.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ScalarPublisher<T> extends Fountain<T> {
+    final T value;
+
+    ScalarPublisher(T value) {
+        this.value = value;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new ScalarSubscription<>(subscriber, value));
+    }
+
+    @Override
+    public <R> Fountain<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        Function<T, R> mapping = MapFilterPublisher.mapping(mapper);
+        T value = this.value;
+        return new CallablePublisher<>(() -> mapping.apply(value));
+    }
+
+    @Override
+    public Fountain<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        T value = this.value;
+        return new CallablePublisher<>(() -> predicate.test(value) ? value : null);
+    }
+
+    @Override
+    public <R> Fountain<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper, int maxConcurrency, int prefetch) {
+        Objects.requireNonNull(mapper, "mapper");
+        checkMaxConcurrency(maxConcurrency);
+        Demand.checkPrefetch(prefetch);
+        T value = this.value;
+        return new DeferPublisher<>(() -> mapper.apply(value));
+    }
+
+    @Override
+    public Fountain<T> take(long n) {
+        checkCount(n);
+        return n == 0 ? empty() : this;
+    }
+
+    @Override
+    public Fountain<T> skip(long n) {
+        checkCount(n);
+        return n == 0 ? this : empty();
+    }
+
+    @Override
+    public Iterable<T> toIterable(int prefetch) {
+        Demand.checkPrefetch(prefetch);
+        return Collections.singleton(value);
+    }
+
+    @Override
+    public T blockFirst() {
+        return value;
+    }
+
+    @Override
+    public T blockLast() {
+        return value;
+    }
+}
@@ -0,0 +1,57 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Subscription emitting a value which is known upfront, a single 'state' field replaces the demand counter and
+ * the drain loop of {@link ArraySubscription}: the first valid request() moves it from READY to EMITTED and emits
+ * the value, every other call finds it already moved, including a request() made from inside onNext().
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class ScalarSubscription<T> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ScalarSubscription> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(ScalarSubscription.class, "state");
+
+    private static final int READY = 0;
+    private static final int EMITTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final Subscriber<? super T> subscriber;
+    private final T value;
+
+    private volatile int state;
+
+    ScalarSubscription(Subscriber<? super T> subscriber, T value) {
+        this.subscriber = subscriber;
+        this.value = value;
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            if (STATE.getAndSet(this, CANCELLED) != CANCELLED) {
+                subscriber.onError(new IllegalArgumentException());
+            }
+            return;
+        }
+        if (state == READY && STATE.compareAndSet(this, READY, EMITTED)) {
+            subscriber.onNext(value);
+            //cancel() called from onNext() suppresses the completion
+            if (state != CANCELLED) {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        state = CANCELLED;
+    }
+}
@@ -0,0 +1,53 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * Detects at assembly time the sources which hold at most one value, so operators can use the value directly
+ * instead of subscribing to them.
+ *
+ * @author Mandeep Rajpal
+ */
+final class Scalars {
+
+    /**
+     * Returned by {@link #value(Publisher)} for publishers which are not scalar
+     */
+    static final Object NONE = new Object();
+
+    private Scalars() {
+    }
+
+    /**
+     * @return the single value of the publisher, null if it is known to be empty, {@link #NONE} otherwise
+     */
+    static Object value(Publisher<?> publisher) {
+        if (publisher instanceof ScalarPublisher) {
+            return ((ScalarPublisher<?>) publisher).value;
+        }
+        if (publisher instanceof ArrayPublisher) {
+            ArrayPublisher<?> arrayPublisher = (ArrayPublisher<?>) publisher;
+            if (arrayPublisher.to - arrayPublisher.from == 1 && arrayPublisher.array[arrayPublisher.from] != null) {
+                return arrayPublisher.array[arrayPublisher.from];
+            }
+            return NONE;
+        }
+        if (publisher instanceof EmptyPublisher) {
+            return null;
+        }
+        return NONE;
+    }
+
+    /**
+     * Same as {@link #value(Publisher)} and also calls the callable of a {@link CallablePublisher}, to be used at
+     * subscription time only.
+     *
+     * @return the single value of the publisher, null if it is empty, {@link #NONE} otherwise
+     */
+    static Object call(Publisher<?> publisher) throws Exception {
+        if (publisher instanceof CallablePublisher) {
+            return ((CallablePublisher<?>) publisher).callable.call();
+        }
+        return value(publisher);
+    }
+}
@@ -0,0 +1,43 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on threads other than the caller's, used by {@link Fountain#subscribeOn(Scheduler)} and
+ * {@link Fountain#publishOn(Scheduler)} to move the work of a subscription away from the thread which calls request().
+ * The implementations available out of the box are created through {@link Schedulers}.
+ *
+ * @author Mandeep Rajpal
+ */
+public interface Scheduler {
+
+    /**
+     * Runs the task as soon as possible on one of the threads of this scheduler.
+     * Tasks scheduled by the operators of this library never run concurrently with themselves,
+     * they are serialized by their own work in progress counter.
+     *
+     * @param task task to run
+     * @return a handle which cancels the task if it has not started yet
+     * @throws java.util.concurrent.RejectedExecutionException if the scheduler is disposed
+     */
+    Disposable schedule(Runnable task);
+
+    /**
+     * Runs the task on one of the threads of this scheduler once the delay has elapsed.
+     * The delay is tracked by a single shared timer thread, which only hands the task over and never runs it.
+     * The timer is a hashed timing wheel with 1ms ticks, scheduling and cancelling are O(1) and the delay is
+     * rounded up to the next tick.
+     *
+     * @param task  task to run
+     * @param delay time to wait before running the task
+     * @param unit  unit of the delay
+     * @return a handle which cancels the task if it has not started yet
+     * @throws java.util.concurrent.RejectedExecutionException if the scheduler is disposed
+     */
+    Disposable schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Stops the threads of this scheduler, tasks which have not started yet are dropped.
+     */
+    void dispose();
+}
@@ -0,0 +1,135 @@
+package org.neonex.publisher;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory methods of the {@link Scheduler} backends:
+ * <p>
+ * 1. single - one thread running the tasks one after the other
+ * 2. parallel - a {@link ForkJoinPool} in async mode, sized to the number of cores
+ * 3. virtual - one virtual thread per task, available only on JDKs which have virtual threads (21+)
+ * <p>
+ * The shared instances live for the whole application and ignore dispose(), the new*() ones are owned by the caller.
+ * All the threads are daemon threads.
+ *
+ * @author Mandeep Rajpal
+ */
+public final class Schedulers {
+
+    //looked up reflectively as the library targets Java 11, null when the JDK has no virtual threads
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    private Schedulers() {
+    }
+
+    /**
+     * @return the shared single thread {@link Scheduler}
+     */
+    public static Scheduler single() {
+        return SharedSingle.INSTANCE;
+    }
+
+    /**
+     * @return the shared {@link ForkJoinPool} backed {@link Scheduler}
+     */
+    public static Scheduler parallel() {
+        return SharedParallel.INSTANCE;
+    }
+
+    /**
+     * @param name prefix of the thread name
+     * @return a new single thread {@link Scheduler}
+     */
+    public static Scheduler newSingle(String name) {
+        return new ExecutorScheduler(Executors.newSingleThreadExecutor(threadFactory(name)), false);
+    }
+
+    /**
+     * @param parallelism number of threads of the {@link ForkJoinPool}
+     * @return a new {@link ForkJoinPool} backed {@link Scheduler}
+     */
+    public static Scheduler newParallel(int parallelism) {
+        return new ExecutorScheduler(forkJoinPool("fountain-parallel", parallelism), false);
+    }
+
+    /**
+     * @return true if the running JDK supports {@link #newVirtual()}
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return a new {@link Scheduler} which starts a virtual thread per task
+     * @throws UnsupportedOperationException if the running JDK has no virtual threads
+     */
+    public static Scheduler newVirtual() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JDK");
+        }
+        try {
+            return new ExecutorScheduler((ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(), false);
+        } catch (Throwable e) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JDK", e);
+        }
+    }
+
+    private static MethodHandle findVirtualThreadPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the timer thread which tracks the delays of {@link Scheduler#schedule(Runnable, long, java.util.concurrent.TimeUnit)}
+     */
+    static TimingWheel timer() {
+        return SharedTimer.INSTANCE;
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ForkJoinPool forkJoinPool(String name, int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, true);
+    }
+
+    //holder classes so the threads are created only when the shared scheduler is first used
+    private static final class SharedSingle {
+        static final Scheduler INSTANCE =
+                new ExecutorScheduler(Executors.newSingleThreadExecutor(threadFactory("fountain-single")), true);
+    }
+
+    private static final class SharedParallel {
+        static final Scheduler INSTANCE =
+                new ExecutorScheduler(forkJoinPool("fountain-parallel", Runtime.getRuntime().availableProcessors()), true);
+    }
+
+    private static final class SharedTimer {
+        //1ms ticks, a revolution of the wheel covers 512ms
+        static final TimingWheel INSTANCE = new TimingWheel("fountain-timer", TimeUnit.MILLISECONDS.toNanos(1), 512);
+    }
+}
@@ -0,0 +1,31 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class SkipPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final long n;
+
+    SkipPublisher(Publisher<? extends T> source, long n) {
+        this.source = source;
+        this.n = n;
+    }
+
+    @Override
+    public Fountain<T> skip(long n) {
+        checkCount(n);
+        //skip(a).skip(b) is skip(a + b)
+        long total = this.n + n;
+        return new SkipPublisher<>(source, total < 0 ? Long.MAX_VALUE : total);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new SkipSubscriber<>(subscriber, n));
+    }
+}
@@ -0,0 +1,64 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Drops the first 'n' elements. They are requested from the upstream in one go right after onSubscribe(),
+ * so the downstream demand is passed through untouched.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class SkipSubscriber<T> implements Subscriber<T>, Subscription {
+    private final Subscriber<? super T> actual;
+
+    private Subscription upstream;
+    //plain field, signals from the upstream are serialized
+    private long remaining;
+
+    SkipSubscriber(Subscriber<? super T> actual, long n) {
+        this.actual = actual;
+        this.remaining = n;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        //read it before onSubscribe() as the downstream may request and receive elements synchronously
+        long toSkip = remaining;
+        actual.onSubscribe(this);
+        if (toSkip != 0) {
+            subscription.request(toSkip);
+        }
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (remaining != 0) {
+            remaining--;
+            return;
+        }
+        actual.onNext(element);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        upstream.request(numberOfElements);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
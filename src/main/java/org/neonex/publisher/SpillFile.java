@@ -0,0 +1,153 @@
+package org.neonex.publisher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
+
+/**
+ * Append-only log of encoded items in a memory-mapped temporary file, one producer thread appends and one consumer
+ * thread reads them back in order:
+ * <p>
+ * 1. The file is mapped in segments of {@value #SEGMENT_SIZE} bytes, or of a single record when it is bigger,
+ * which are chained as the producer maps them. Each side moves through the chain with its own view of the buffers.
+ * 2. A record is its length followed by its bytes, a record which does not fit in the rest of a segment starts
+ * the next one and a length of -1 tells the consumer to follow.
+ * 3. 'written' and 'read' count the records, the producer bumps 'written' with an ordered write after the record
+ * is in the mapping so the consumer never reads a partial one.
+ * 4. The pages are written back by the operating system under memory pressure, so the heap only holds the segment
+ * headers. The file is deleted when it is closed, its size is only reclaimed then.
+ *
+ * @param <T> type of the items
+ * @author Mandeep Rajpal
+ */
+final class SpillFile<T> {
+    static final int SEGMENT_SIZE = 1 << 24;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpillFile> WRITTEN =
+            AtomicLongFieldUpdater.newUpdater(SpillFile.class, "written");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpillFile> READ =
+            AtomicLongFieldUpdater.newUpdater(SpillFile.class, "read");
+
+    private static final int SKIP = -1;
+
+    private final FileChannel channel;
+    private final Function<? super T, byte[]> encoder;
+    private final Function<byte[], ? extends T> decoder;
+
+    private volatile long written;
+    private volatile long read;
+
+    //plain, producer thread only
+    private Segment writeSegment;
+    private long mappedSize;
+
+    //plain, consumer thread only
+    private Segment readSegment;
+
+    private SpillFile(FileChannel channel, Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder) {
+        this.channel = channel;
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    static <T> SpillFile<T> create(Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder) throws IOException {
+        Path path = Files.createTempFile("fountain-spill", ".bin");
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        SpillFile<T> file = new SpillFile<>(channel, encoder, decoder);
+        try {
+            file.writeSegment = file.map(SEGMENT_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        file.readSegment = file.writeSegment;
+        return file;
+    }
+
+    private Segment map(int size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, mappedSize, size);
+        mappedSize += size;
+        return new Segment(buffer);
+    }
+
+    /**
+     * Producer side only.
+     */
+    void append(T item) throws IOException {
+        byte[] bytes = encoder.apply(item);
+        ByteBuffer buffer = writeSegment.writer;
+        if (buffer.remaining() < Integer.BYTES + bytes.length) {
+            if (buffer.remaining() >= Integer.BYTES) {
+                buffer.putInt(SKIP);
+            }
+            Segment next = map(Math.max(SEGMENT_SIZE, Integer.BYTES + bytes.length));
+            writeSegment.next = next;
+            writeSegment = next;
+            buffer = next.writer;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        WRITTEN.lazySet(this, written + 1);
+    }
+
+    /**
+     * Any thread.
+     *
+     * @return true if some records were appended and not read yet
+     */
+    boolean hasUnread() {
+        return read != written;
+    }
+
+    /**
+     * Consumer side only.
+     *
+     * @return the next item or null if every record was read
+     */
+    T poll() {
+        long index = read;
+        if (index == written) {
+            return null;
+        }
+        ByteBuffer buffer = readSegment.reader;
+        int length = buffer.remaining() >= Integer.BYTES ? buffer.getInt() : SKIP;
+        if (length == SKIP) {
+            //the producer linked the next segment before it wrote the record into it
+            readSegment = readSegment.next;
+            buffer = readSegment.reader;
+            length = buffer.getInt();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        READ.lazySet(this, index + 1);
+        return decoder.apply(bytes);
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            //the file is deleted by the operating system once the last handle is gone
+        }
+    }
+
+    private static final class Segment {
+        final ByteBuffer writer;
+        final ByteBuffer reader;
+        volatile Segment next;
+
+        Segment(MappedByteBuffer buffer) {
+            this.writer = buffer;
+            this.reader = buffer.duplicate();
+        }
+    }
+}
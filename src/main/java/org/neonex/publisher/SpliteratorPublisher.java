@@ -0,0 +1,51 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Single use publisher of the elements of a {@link Spliterator}, a {@link java.util.stream.Stream} can only be traversed once
+ * so every subscriber after the first one immediately receives an {@link IllegalStateException} through onError().
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class SpliteratorPublisher<T> extends Fountain<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<SpliteratorPublisher> SUBSCRIBED =
+            AtomicIntegerFieldUpdater.newUpdater(SpliteratorPublisher.class, "subscribed");
+
+    private final Spliterator<? extends T> spliterator;
+    private final AutoCloseable resource;
+
+    private volatile int subscribed;
+
+    /**
+     * @param resource closed once the subscription completes, fails or is cancelled, can be null
+     */
+    SpliteratorPublisher(Spliterator<? extends T> spliterator, AutoCloseable resource) {
+        this.spliterator = spliterator;
+        this.resource = resource;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        if (!SUBSCRIBED.compareAndSet(this, 0, 1)) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("This publisher allows only a single subscriber"));
+            return;
+        }
+        if (spliterator.getExactSizeIfKnown() == 0) {
+            //same as EmptyPublisher, there is no need to wait for the demand to signal onComplete()
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onComplete();
+            SpliteratorSubscription.close(resource);
+            return;
+        }
+        subscriber.onSubscribe(new SpliteratorSubscription<>(spliterator, resource, subscriber));
+    }
+}
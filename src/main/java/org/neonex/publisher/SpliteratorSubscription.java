@@ -0,0 +1,209 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * Pulls the elements of a {@link Spliterator} according to the demand, following the same work in progress and
+ * back pressure rules as {@link ArraySubscription}:
+ * <p>
+ * 1. For a bounded demand every element is pulled with {@link Spliterator#tryAdvance(Consumer)}.
+ * If the spliterator knows its exact size onComplete() is signalled right after the last element,
+ * otherwise it is signalled when tryAdvance() reports the end, which may need one more unit of demand.
+ * 2. Once the demand is Long.MAX_VALUE the rest is pushed with {@link Spliterator#forEachRemaining(Consumer)},
+ * which lets the stream pipeline run its own loop. Cancellation aborts that loop by throwing {@link #ABORT}.
+ * 3. The resource, usually the {@link java.util.stream.Stream}, is closed by the thread which owns the drain loop
+ * once the subscription terminates. cancel() takes the ownership of the loop like request() does, so the
+ * resource is never closed while another thread is still inside the spliterator.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class SpliteratorSubscription<T> implements Subscription, Consumer<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpliteratorSubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(SpliteratorSubscription.class, "requested");
+
+    /**
+     * Thrown from inside forEachRemaining() to stop a cancelled subscription, it has no stack trace so it costs nothing to throw.
+     */
+    private static final RuntimeException ABORT = new RuntimeException("cancelled", null, false, false) {
+    };
+
+    private final Subscriber<? super T> subscriber;
+    private final Spliterator<? extends T> spliterator;
+    private final AutoCloseable resource;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    //plain fields, only the thread which owns the drain loop reads or writes them
+    private T current;
+    private long remaining;
+    private boolean isTerminated;
+
+    SpliteratorSubscription(Spliterator<? extends T> spliterator, AutoCloseable resource, Subscriber<? super T> subscriber) {
+        this.spliterator = spliterator;
+        this.resource = resource;
+        this.subscriber = subscriber;
+        //-1 when the size is unknown
+        this.remaining = spliterator.getExactSizeIfKnown();
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        if (isTerminated) {
+            return;
+        }
+        final Subscriber<? super T> subscriber = this.subscriber;
+        try {
+            spliterator.forEachRemaining(element -> {
+                if (isCancelled) {
+                    throw ABORT;
+                }
+                //if element is null send it to onError() channel instead of throwing NullPointerException
+                if (element == null) {
+                    throw new NullPointerException();
+                }
+                subscriber.onNext(element);
+            });
+        } catch (Throwable e) {
+            if (e != ABORT) {
+                terminate(e);
+            } else {
+                terminate(null);
+            }
+            return;
+        }
+        terminate(null);
+    }
+
+    private void slowPath(long demand) {
+        final Subscriber<? super T> subscriber = this.subscriber;
+        final Spliterator<? extends T> spliterator = this.spliterator;
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand) {
+                if (isCancelled || isTerminated) {
+                    terminate(null);
+                    return;
+                }
+                boolean advanced;
+                try {
+                    advanced = spliterator.tryAdvance(this);
+                } catch (Throwable e) {
+                    terminate(e);
+                    return;
+                }
+                if (!advanced) {
+                    terminate(null);
+                    return;
+                }
+                T element = current;
+                current = null;
+                if (element == null) {
+                    terminate(new NullPointerException());
+                    return;
+                }
+                subscriber.onNext(element);
+                emitted++;
+                if (remaining > 0 && --remaining == 0) {
+                    terminate(null);
+                    return;
+                }
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    @Override
+    public void accept(T element) {
+        current = element;
+    }
+
+    /**
+     * Signals onComplete(), or onError() if 'error' is not null, unless the subscription was cancelled, and closes the resource.
+     * Called only by the owner of the drain loop.
+     */
+    private void terminate(Throwable error) {
+        if (isTerminated) {
+            return;
+        }
+        isTerminated = true;
+        if (!isCancelled) {
+            isCancelled = true;
+            if (error == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(error);
+            }
+        }
+        close(resource);
+    }
+
+    static void close(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception ignored) {
+            //the subscriber is already terminated, there is no channel left to report it
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        //take the ownership of the drain loop, if nobody owns it the resource is closed here
+        //otherwise the current owner sees 'isCancelled' and closes it
+        if (Demand.add(REQUESTED, this, 1) == 0) {
+            if (!isTerminated) {
+                isTerminated = true;
+                close(resource);
+            }
+        }
+    }
+}
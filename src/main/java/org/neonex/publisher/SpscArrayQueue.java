@@ -0,0 +1,173 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Bounded lock-free queue for exactly one producer thread and one consumer thread at a time.
+ * <p>
+ * The producer index and the consumer index are each surrounded by 64 bytes of padding, inherited from the classes below,
+ * so the two threads never write to the same cache line. The field layout of the JVM keeps the fields of a superclass
+ * in front of the ones of its subclasses, which is what makes the padding stick.
+ * <p>
+ * The producer writes the slot and then publishes it with an ordered write of 'producerIndex', the consumer reads
+ * 'producerIndex' before reading the slot. Each side also keeps a plain cached copy of the other side's index,
+ * so the shared index is read only when the cached one says the queue is full or empty.
+ *
+ * @param <E> type of the elements, null is not allowed
+ * @author Mandeep Rajpal
+ */
+final class SpscArrayQueue<E> extends SpscArrayQueuePad3<E> {
+
+    SpscArrayQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Producer side only.
+     *
+     * @return false if the queue is full
+     */
+    boolean offer(E element) {
+        final long index = producerIndex;
+        if (index >= producerLimit) {
+            //refresh the cached consumer index, it is read only when the queue looks full
+            producerLimit = consumerIndex + capacity;
+            if (index >= producerLimit) {
+                return false;
+            }
+        }
+        buffer[(int) index & mask] = element;
+        PRODUCER_INDEX.lazySet(this, index + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side only.
+     *
+     * @return the head of the queue or null if it is empty
+     */
+    E poll() {
+        final long index = consumerIndex;
+        if (index >= consumerLimit) {
+            consumerLimit = producerIndex;
+            if (index >= consumerLimit) {
+                return null;
+            }
+        }
+        final int offset = (int) index & mask;
+        @SuppressWarnings("unchecked")
+        E element = (E) buffer[offset];
+        buffer[offset] = null;
+        CONSUMER_INDEX.lazySet(this, index + 1);
+        return element;
+    }
+
+    /**
+     * Consumer side only.
+     *
+     * @return the head of the queue without removing it or null if it is empty
+     */
+    @SuppressWarnings("unchecked")
+    E peek() {
+        final long index = consumerIndex;
+        if (index >= consumerLimit) {
+            consumerLimit = producerIndex;
+            if (index >= consumerLimit) {
+                return null;
+            }
+        }
+        return (E) buffer[(int) index & mask];
+    }
+
+    boolean isEmpty() {
+        return producerIndex == consumerIndex;
+    }
+
+    int size() {
+        //read the consumer index first, so the result is never negative
+        long consumer = consumerIndex;
+        return (int) (producerIndex - consumer);
+    }
+
+    /**
+     * Consumer side only, drops every element.
+     */
+    void clear() {
+        while (poll() != null) {
+            //drop the element
+        }
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        return value <= 1 ? 1 : 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+}
+
+abstract class SpscArrayQueueColdFields<E> {
+    final Object[] buffer;
+    final int mask;
+    final int capacity;
+
+    SpscArrayQueueColdFields(int capacity) {
+        int size = SpscArrayQueue.roundToPowerOfTwo(capacity);
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        //the queue holds at most the requested capacity even if the buffer is bigger, so it never exceeds the prefetch
+        this.capacity = capacity;
+    }
+}
+
+@SuppressWarnings("unused")
+abstract class SpscArrayQueuePad1<E> extends SpscArrayQueueColdFields<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+
+    SpscArrayQueuePad1(int capacity) {
+        super(capacity);
+    }
+}
+
+abstract class SpscArrayQueueProducerIndex<E> extends SpscArrayQueuePad1<E> {
+    @SuppressWarnings("rawtypes")
+    static final AtomicLongFieldUpdater<SpscArrayQueueProducerIndex> PRODUCER_INDEX =
+            AtomicLongFieldUpdater.newUpdater(SpscArrayQueueProducerIndex.class, "producerIndex");
+
+    volatile long producerIndex;
+    //plain, producer thread only, cached 'consumerIndex + capacity'
+    long producerLimit;
+
+    SpscArrayQueueProducerIndex(int capacity) {
+        super(capacity);
+    }
+}
+
+@SuppressWarnings("unused")
+abstract class SpscArrayQueuePad2<E> extends SpscArrayQueueProducerIndex<E> {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    SpscArrayQueuePad2(int capacity) {
+        super(capacity);
+    }
+}
+
+abstract class SpscArrayQueueConsumerIndex<E> extends SpscArrayQueuePad2<E> {
+    @SuppressWarnings("rawtypes")
+    static final AtomicLongFieldUpdater<SpscArrayQueueConsumerIndex> CONSUMER_INDEX =
+            AtomicLongFieldUpdater.newUpdater(SpscArrayQueueConsumerIndex.class, "consumerIndex");
+
+    volatile long consumerIndex;
+    //plain, consumer thread only, cached 'producerIndex'
+    long consumerLimit;
+
+    SpscArrayQueueConsumerIndex(int capacity) {
+        super(capacity);
+    }
+}
+
+@SuppressWarnings("unused")
+abstract class SpscArrayQueuePad3<E> extends SpscArrayQueueConsumerIndex<E> {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    SpscArrayQueuePad3(int capacity) {
+        super(capacity);
+    }
+}
@@ -0,0 +1,112 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded lock-free queue for exactly one producer thread and one consumer thread at a time, used where the number
+ * of elements is bounded by the demand but can be too big to allocate upfront.
+ * <p>
+ * Elements are stored in fixed size arrays linked through their last slot. When the producer finds the next slot
+ * still occupied it starts a new array, stores the element there and leaves a NEXT marker in the old slot,
+ * the consumer follows the link when it reads the marker. Slots are written with ordered writes and the indices
+ * are published after the slots, as in {@link SpscArrayQueue}.
+ *
+ * @param <E> type of the elements, null is not allowed
+ * @author Mandeep Rajpal
+ */
+final class SpscLinkedArrayQueue<E> {
+
+    private static final Object NEXT = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpscLinkedArrayQueue> PRODUCER_INDEX =
+            AtomicLongFieldUpdater.newUpdater(SpscLinkedArrayQueue.class, "producerIndex");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpscLinkedArrayQueue> CONSUMER_INDEX =
+            AtomicLongFieldUpdater.newUpdater(SpscLinkedArrayQueue.class, "consumerIndex");
+
+    private final int mask;
+
+    //plain fields, each one is touched by a single side only
+    private AtomicReferenceArray<Object> producerArray;
+    private AtomicReferenceArray<Object> consumerArray;
+
+    private volatile long producerIndex;
+    private volatile long consumerIndex;
+
+    /**
+     * @param chunkSize number of elements per linked array, rounded up to a power of two
+     */
+    SpscLinkedArrayQueue(int chunkSize) {
+        int size = SpscArrayQueue.roundToPowerOfTwo(Math.max(8, chunkSize));
+        this.mask = size - 1;
+        //one extra slot for the link to the next array
+        AtomicReferenceArray<Object> array = new AtomicReferenceArray<>(size + 1);
+        this.producerArray = array;
+        this.consumerArray = array;
+    }
+
+    /**
+     * Producer side only.
+     */
+    void offer(E element) {
+        final AtomicReferenceArray<Object> array = producerArray;
+        final int mask = this.mask;
+        final long index = producerIndex;
+        final int offset = (int) index & mask;
+
+        if (array.get((int) (index + 1) & mask) != null) {
+            //keep one slot free so a full array is never mistaken for an empty one, continue in a new array
+            AtomicReferenceArray<Object> next = new AtomicReferenceArray<>(mask + 2);
+            producerArray = next;
+            next.lazySet(offset, element);
+            array.lazySet(mask + 1, next);
+            array.lazySet(offset, NEXT);
+        } else {
+            array.lazySet(offset, element);
+        }
+        PRODUCER_INDEX.lazySet(this, index + 1);
+    }
+
+    /**
+     * Consumer side only.
+     *
+     * @return the head of the queue or null if it is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        AtomicReferenceArray<Object> array = consumerArray;
+        final int mask = this.mask;
+        final long index = consumerIndex;
+        final int offset = (int) index & mask;
+
+        Object element = array.get(offset);
+        if (element == null) {
+            return null;
+        }
+        if (element == NEXT) {
+            AtomicReferenceArray<Object> next = (AtomicReferenceArray<Object>) array.get(mask + 1);
+            array.lazySet(mask + 1, null);
+            element = next.get(offset);
+            array = next;
+            consumerArray = next;
+        }
+        array.lazySet(offset, null);
+        CONSUMER_INDEX.lazySet(this, index + 1);
+        return (E) element;
+    }
+
+    boolean isEmpty() {
+        return producerIndex == consumerIndex;
+    }
+
+    /**
+     * Consumer side only.
+     */
+    void clear() {
+        while (poll() != null) {
+            //drop the element
+        }
+    }
+}
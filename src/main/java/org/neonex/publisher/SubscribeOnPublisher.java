@@ -0,0 +1,31 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class SubscribeOnPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final Scheduler scheduler;
+
+    SubscribeOnPublisher(Publisher<? extends T> source, Scheduler scheduler) {
+        this.source = source;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        var subscribeOn = new SubscribeOnSubscriber<T>(subscriber, scheduler);
+        subscriber.onSubscribe(subscribeOn);
+        try {
+            subscribeOn.setTask(scheduler.schedule(() -> source.subscribe(subscribeOn)));
+        } catch (RejectedExecutionException e) {
+            subscriber.onError(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Subscribes to the upstream on a {@link Scheduler} and sends every request() there as well,
+ * so a synchronous source such as {@link ArrayPublisher} emits on the scheduler instead of on the thread calling request().
+ * <p>
+ * The downstream gets this subscription before the upstream one exists, the demand received in the meantime is
+ * accumulated in 'requested' and handed over once the upstream subscription arrives.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class SubscribeOnSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<SubscribeOnSubscriber, Subscription> UPSTREAM =
+            AtomicReferenceFieldUpdater.newUpdater(SubscribeOnSubscriber.class, Subscription.class, "upstream");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SubscribeOnSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(SubscribeOnSubscriber.class, "requested");
+
+    //marks the subscription as cancelled, the upstream is cancelled as soon as it arrives
+    private static final Subscription CANCELLED = new Subscription() {
+        @Override
+        public void request(long numberOfElements) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final Subscriber<? super T> actual;
+    private final Scheduler scheduler;
+
+    private volatile Subscription upstream;
+    private volatile long requested;
+    private volatile Disposable task;
+
+    SubscribeOnSubscriber(Subscriber<? super T> actual, Scheduler scheduler) {
+        this.actual = actual;
+        this.scheduler = scheduler;
+    }
+
+    void setTask(Disposable task) {
+        this.task = task;
+        if (upstream == CANCELLED) {
+            task.dispose();
+        }
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (!UPSTREAM.compareAndSet(this, null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        //already on the scheduler, the accumulated demand can be requested directly
+        long pending = REQUESTED.getAndSet(this, 0);
+        if (pending != 0) {
+            subscription.request(pending);
+        }
+    }
+
+    @Override
+    public void onNext(T element) {
+        actual.onNext(element);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        Subscription subscription = upstream;
+        if (subscription != null) {
+            requestOnScheduler(subscription, numberOfElements);
+            return;
+        }
+        if (numberOfElements < 1) {
+            //nothing to forward it to yet, cancel and report it right away
+            cancel();
+            actual.onError(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        //the upstream may have arrived while the demand was being added, whoever takes 'requested' forwards it
+        subscription = upstream;
+        if (subscription != null) {
+            long pending = REQUESTED.getAndSet(this, 0);
+            if (pending != 0) {
+                requestOnScheduler(subscription, pending);
+            }
+        }
+    }
+
+    private void requestOnScheduler(Subscription subscription, long numberOfElements) {
+        if (subscription == CANCELLED) {
+            return;
+        }
+        try {
+            scheduler.schedule(() -> subscription.request(numberOfElements));
+        } catch (RejectedExecutionException e) {
+            subscription.request(numberOfElements);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        Subscription subscription = UPSTREAM.getAndSet(this, CANCELLED);
+        if (subscription != null && subscription != CANCELLED) {
+            subscription.cancel();
+        }
+        Disposable task = this.task;
+        if (task != null) {
+            task.dispose();
+        }
+    }
+}
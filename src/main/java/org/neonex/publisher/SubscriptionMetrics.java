@@ -0,0 +1,129 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link FountainHook} recording, for every subscription to a source: the requested and emitted counts, the number of
+ * request() calls, the time spent waiting for demand and a histogram of the onNext() latencies.
+ * <pre>
+ *     SubscriptionMetrics metrics = new SubscriptionMetrics().registerMBean();
+ *     FountainHooks.install(metrics);
+ * </pre>
+ * Active subscriptions are listed by {@link #snapshot()}, once terminated or cancelled only their counts are kept
+ * in the totals.
+ *
+ * @author Mandeep Rajpal
+ */
+public final class SubscriptionMetrics implements FountainHook, SubscriptionMetricsMXBean {
+    public static final String OBJECT_NAME = "org.neonex.publisher:type=SubscriptionMetrics";
+
+    private final ConcurrentHashMap<Long, MeteredSubscriber<?>> active = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final LongAdder totalEmitted = new LongAdder();
+    private final LongAdder totalRequestCalls = new LongAdder();
+
+    @Override
+    public <T> Subscriber<? super T> onSubscribe(Publisher<T> source, Subscriber<? super T> subscriber) {
+        MeteredSubscriber<T> metered = new MeteredSubscriber<>(subscriber, this, ids.incrementAndGet(),
+                source.getClass().getSimpleName());
+        active.put(metered.id(), metered);
+        return metered;
+    }
+
+    void terminated(MeteredSubscriber<?> subscriber) {
+        //cancel() may race with a terminal signal, the counts are only moved once
+        if (active.remove(subscriber.id()) != null) {
+            totalEmitted.add(subscriber.emitted());
+            totalRequestCalls.add(subscriber.requestCalls());
+        }
+    }
+
+    /**
+     * @return snapshots of the active subscriptions, in no particular order
+     */
+    public List<SubscriptionSnapshot> snapshot() {
+        List<SubscriptionSnapshot> snapshots = new ArrayList<>(active.size());
+        for (MeteredSubscriber<?> subscriber : active.values()) {
+            snapshots.add(subscriber.snapshot());
+        }
+        return snapshots;
+    }
+
+    @Override
+    public int getActiveSubscriptions() {
+        return active.size();
+    }
+
+    @Override
+    public long getTotalSubscriptions() {
+        return ids.get();
+    }
+
+    @Override
+    public long getTotalEmitted() {
+        long total = totalEmitted.sum();
+        for (MeteredSubscriber<?> subscriber : active.values()) {
+            total += subscriber.emitted();
+        }
+        return total;
+    }
+
+    @Override
+    public long getTotalRequestCalls() {
+        long total = totalRequestCalls.sum();
+        for (MeteredSubscriber<?> subscriber : active.values()) {
+            total += subscriber.requestCalls();
+        }
+        return total;
+    }
+
+    @Override
+    public List<SubscriptionSnapshot> getSubscriptions() {
+        return snapshot();
+    }
+
+    /**
+     * Registers these metrics in the platform MBeanServer under {@link #OBJECT_NAME}, replacing any previous one.
+     *
+     * @return this
+     */
+    public SubscriptionMetrics registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register " + OBJECT_NAME, e);
+        }
+        return this;
+    }
+
+    /**
+     * Removes {@link #OBJECT_NAME} from the platform MBeanServer if it is registered.
+     */
+    public static void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister " + OBJECT_NAME, e);
+        }
+    }
+}
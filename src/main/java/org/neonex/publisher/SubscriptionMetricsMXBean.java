@@ -0,0 +1,36 @@
+package org.neonex.publisher;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link SubscriptionMetrics}, registered under {@link SubscriptionMetrics#OBJECT_NAME}.
+ *
+ * @author Mandeep Rajpal
+ */
+public interface SubscriptionMetricsMXBean {
+
+    /**
+     * @return number of subscriptions which are neither terminated nor cancelled
+     */
+    int getActiveSubscriptions();
+
+    /**
+     * @return number of subscriptions observed since the metrics were created
+     */
+    long getTotalSubscriptions();
+
+    /**
+     * @return elements emitted by all the subscriptions, terminated ones included
+     */
+    long getTotalEmitted();
+
+    /**
+     * @return request() calls made on all the subscriptions, terminated ones included
+     */
+    long getTotalRequestCalls();
+
+    /**
+     * @return snapshots of the active subscriptions
+     */
+    List<SubscriptionSnapshot> getSubscriptions();
+}
@@ -0,0 +1,104 @@
+package org.neonex.publisher;
+
+/**
+ * Immutable view of the metrics of one subscription at the time it was taken, see {@link SubscriptionMetrics}.
+ * The getters make it an open type, so it is exported as-is through JMX.
+ *
+ * @author Mandeep Rajpal
+ */
+public final class SubscriptionSnapshot {
+    private final long id;
+    private final String source;
+    private final long requested;
+    private final long requestCalls;
+    private final long emitted;
+    private final long demandWaitNanos;
+    private final long onNextCount;
+    private final long onNextP50Nanos;
+    private final long onNextP99Nanos;
+    private final long onNextP999Nanos;
+    private final long onNextMaxNanos;
+
+    SubscriptionSnapshot(long id, String source, long requested, long requestCalls, long emitted, long demandWaitNanos,
+                         long onNextCount, long onNextP50Nanos, long onNextP99Nanos, long onNextP999Nanos,
+                         long onNextMaxNanos) {
+        this.id = id;
+        this.source = source;
+        this.requested = requested;
+        this.requestCalls = requestCalls;
+        this.emitted = emitted;
+        this.demandWaitNanos = demandWaitNanos;
+        this.onNextCount = onNextCount;
+        this.onNextP50Nanos = onNextP50Nanos;
+        this.onNextP99Nanos = onNextP99Nanos;
+        this.onNextP999Nanos = onNextP999Nanos;
+        this.onNextMaxNanos = onNextMaxNanos;
+    }
+
+    /**
+     * @return identifier of the subscription, unique for the {@link SubscriptionMetrics} which created it
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return simple class name of the source
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return total of the request() calls, Long.MAX_VALUE once unbounded
+     */
+    public long getRequested() {
+        return requested;
+    }
+
+    public long getRequestCalls() {
+        return requestCalls;
+    }
+
+    public long getEmitted() {
+        return emitted;
+    }
+
+    /**
+     * @return time the source spent with nothing to do because the subscriber had not requested more
+     */
+    public long getDemandWaitNanos() {
+        return demandWaitNanos;
+    }
+
+    /**
+     * @return number of onNext() calls whose latency was recorded, it can lag behind {@link #getEmitted()}
+     */
+    public long getOnNextCount() {
+        return onNextCount;
+    }
+
+    public long getOnNextP50Nanos() {
+        return onNextP50Nanos;
+    }
+
+    public long getOnNextP99Nanos() {
+        return onNextP99Nanos;
+    }
+
+    public long getOnNextP999Nanos() {
+        return onNextP999Nanos;
+    }
+
+    public long getOnNextMaxNanos() {
+        return onNextMaxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SubscriptionSnapshot{id=" + id + ", source=" + source + ", requested=" + requested
+                + ", requestCalls=" + requestCalls + ", emitted=" + emitted + ", demandWaitNanos=" + demandWaitNanos
+                + ", onNextP50Nanos=" + onNextP50Nanos + ", onNextP99Nanos=" + onNextP99Nanos
+                + ", onNextMaxNanos=" + onNextMaxNanos + '}';
+    }
+}
@@ -0,0 +1,30 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class TakePublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final long n;
+
+    TakePublisher(Publisher<? extends T> source, long n) {
+        this.source = source;
+        this.n = n;
+    }
+
+    @Override
+    public Fountain<T> take(long n) {
+        checkCount(n);
+        //take(a).take(b) is take(min(a, b))
+        return n >= this.n ? this : new TakePublisher<>(source, n);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new TakeSubscriber<>(subscriber, n));
+    }
+}
@@ -0,0 +1,96 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Emits the first 'n' elements then cancels the upstream and signals onComplete().
+ * If the first request covers all the 'n' elements the upstream is asked for Long.MAX_VALUE instead,
+ * which lets the array and range sources run their unbounded fast path.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class TakeSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<TakeSubscriber> FIRST_REQUEST =
+            AtomicIntegerFieldUpdater.newUpdater(TakeSubscriber.class, "firstRequest");
+
+    private final Subscriber<? super T> actual;
+    private final long n;
+
+    private Subscription upstream;
+    //plain fields, signals from the upstream are serialized
+    private long remaining;
+    private boolean isDone;
+
+    private volatile int firstRequest;
+
+    TakeSubscriber(Subscriber<? super T> actual, long n) {
+        this.actual = actual;
+        this.n = n;
+        this.remaining = n;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (n == 0) {
+            subscription.cancel();
+            isDone = true;
+            actual.onSubscribe(EmptySubscription.INSTANCE);
+            actual.onComplete();
+            return;
+        }
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        long left = --remaining;
+        actual.onNext(element);
+        if (left == 0 && !isDone) {
+            isDone = true;
+            upstream.cancel();
+            actual.onComplete();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (firstRequest == 0 && FIRST_REQUEST.compareAndSet(this, 0, 1) && numberOfElements >= n) {
+            upstream.request(Long.MAX_VALUE);
+            return;
+        }
+        upstream.request(numberOfElements);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
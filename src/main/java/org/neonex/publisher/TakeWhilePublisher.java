@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.function.Predicate;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class TakeWhilePublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final Predicate<? super T> predicate;
+
+    TakeWhilePublisher(Publisher<? extends T> source, Predicate<? super T> predicate) {
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new TakeWhileSubscriber<>(subscriber, predicate));
+    }
+}
@@ -0,0 +1,82 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.function.Predicate;
+
+/**
+ * Emits elements while the predicate holds, the first element which fails it is dropped,
+ * the upstream is cancelled and onComplete() is signalled.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class TakeWhileSubscriber<T> implements Subscriber<T>, Subscription {
+    private final Subscriber<? super T> actual;
+    private final Predicate<? super T> predicate;
+
+    private Subscription upstream;
+    //plain field, signals from the upstream are serialized
+    private boolean isDone;
+
+    TakeWhileSubscriber(Subscriber<? super T> actual, Predicate<? super T> predicate) {
+        this.actual = actual;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        boolean matches;
+        try {
+            matches = predicate.test(element);
+        } catch (Throwable e) {
+            upstream.cancel();
+            onError(e);
+            return;
+        }
+        if (!matches) {
+            upstream.cancel();
+            onComplete();
+            return;
+        }
+        actual.onNext(element);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        upstream.request(numberOfElements);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
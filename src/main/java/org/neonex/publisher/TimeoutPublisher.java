@@ -0,0 +1,25 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class TimeoutPublisher<T> extends Fountain<T> {
+    private final Publisher<? extends T> source;
+    private final long timeoutNanos;
+    private final Scheduler scheduler;
+
+    TimeoutPublisher(Publisher<? extends T> source, long timeoutNanos, Scheduler scheduler) {
+        this.source = source;
+        this.timeoutNanos = timeoutNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new TimeoutSubscriber<>(subscriber, timeoutNanos, scheduler));
+    }
+}
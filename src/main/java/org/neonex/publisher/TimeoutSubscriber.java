@@ -0,0 +1,143 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Fails with a {@link TimeoutException} when the first item, or the next one, does not arrive within 'timeoutNanos':
+ * <p>
+ * 1. 'index' counts the signals, every timer is started for the index of the signal it waits for and fires only if it
+ * can move 'index' from that value to Long.MAX_VALUE, the terminal state. An item or a terminal signal racing with it
+ * moves 'index' first, so exactly one of them wins and the signals stay serialized.
+ * 2. The timer for the next item starts once onNext() of the subscriber has returned, the time the subscriber spends
+ * on an item does not count, and a timer never fires while onNext() is running.
+ * 3. Every new timer replaces the previous one, which is disposed. A timer started after the subscription terminated
+ * finds the disposed marker and is disposed right away, the same as the resource of {@link BufferSink}.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class TimeoutSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<TimeoutSubscriber> INDEX =
+            AtomicLongFieldUpdater.newUpdater(TimeoutSubscriber.class, "index");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<TimeoutSubscriber, Disposable> TASK =
+            AtomicReferenceFieldUpdater.newUpdater(TimeoutSubscriber.class, Disposable.class, "task");
+
+    private static final long TERMINATED = Long.MAX_VALUE;
+    private static final Disposable DISPOSED = () -> {
+    };
+
+    private final Subscriber<? super T> actual;
+    private final long timeoutNanos;
+    private final Scheduler scheduler;
+
+    private Subscription upstream;
+
+    private volatile long index;
+    private volatile Disposable task;
+
+    TimeoutSubscriber(Subscriber<? super T> actual, long timeoutNanos, Scheduler scheduler) {
+        this.actual = actual;
+        this.timeoutNanos = timeoutNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+        //the items emitted synchronously from onSubscribe() have started their own timer already
+        if (index == 0) {
+            startTimer(0);
+        }
+    }
+
+    @Override
+    public void onNext(T element) {
+        long index = this.index;
+        if (index == TERMINATED || !INDEX.compareAndSet(this, index, index + 1)) {
+            //the timer has fired
+            return;
+        }
+        actual.onNext(element);
+        startTimer(index + 1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (INDEX.getAndSet(this, TERMINATED) != TERMINATED) {
+            disposeTask();
+            actual.onError(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (INDEX.getAndSet(this, TERMINATED) != TERMINATED) {
+            disposeTask();
+            actual.onComplete();
+        }
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        upstream.request(numberOfElements);
+    }
+
+    @Override
+    public void cancel() {
+        INDEX.getAndSet(this, TERMINATED);
+        disposeTask();
+        upstream.cancel();
+    }
+
+    private void startTimer(long index) {
+        Disposable next;
+        try {
+            next = scheduler.schedule(() -> timeout(index), timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            //the scheduler is disposed, the timeout could not be enforced any more
+            if (INDEX.getAndSet(this, TERMINATED) != TERMINATED) {
+                upstream.cancel();
+                actual.onError(e);
+            }
+            return;
+        }
+        while (true) {
+            Disposable current = task;
+            if (current == DISPOSED) {
+                next.dispose();
+                return;
+            }
+            if (TASK.compareAndSet(this, current, next)) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return;
+            }
+        }
+    }
+
+    private void timeout(long index) {
+        if (INDEX.compareAndSet(this, index, TERMINATED)) {
+            upstream.cancel();
+            actual.onError(new TimeoutException("No item within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms"));
+        }
+    }
+
+    private void disposeTask() {
+        Disposable task = TASK.getAndSet(this, DISPOSED);
+        if (task != null) {
+            task.dispose();
+        }
+    }
+}
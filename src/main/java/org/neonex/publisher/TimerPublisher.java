@@ -0,0 +1,33 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits 0 once the delay has elapsed and completes.
+ *
+ * @author Mandeep Rajpal
+ */
+final class TimerPublisher extends Fountain<Long> {
+    private final long delayNanos;
+    private final Scheduler scheduler;
+
+    TimerPublisher(long delayNanos, Scheduler scheduler) {
+        this.delayNanos = delayNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Long> subscriber) {
+        subscriber = FountainHooks.onSubscribe(this, subscriber);
+        TimerSubscription subscription = new TimerSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            subscription.setTask(scheduler.schedule(subscription, delayNanos, TimeUnit.NANOSECONDS));
+        } catch (RejectedExecutionException e) {
+            subscriber.onError(e);
+        }
+    }
+}
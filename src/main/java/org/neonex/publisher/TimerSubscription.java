@@ -0,0 +1,63 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Emits 0 when the delay of the timer has elapsed and completes, if the subscriber has not requested it by then an
+ * {@link IllegalStateException} is sent to onError() instead, like a tick of {@link IntervalSubscription}.
+ *
+ * @author Mandeep Rajpal
+ */
+final class TimerSubscription implements Subscription, Runnable {
+    private final Subscriber<? super Long> actual;
+
+    private volatile boolean isRequested;
+    private volatile boolean isCancelled;
+    private volatile Disposable task;
+
+    TimerSubscription(Subscriber<? super Long> actual) {
+        this.actual = actual;
+    }
+
+    void setTask(Disposable task) {
+        this.task = task;
+        //cancel() may have run before the task was assigned
+        if (isCancelled) {
+            task.dispose();
+        }
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            actual.onError(new IllegalArgumentException());
+            return;
+        }
+        isRequested = true;
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+        Disposable task = this.task;
+        if (task != null) {
+            task.dispose();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        if (!isRequested) {
+            actual.onError(new IllegalStateException("Could not emit the timer value due to lack of requests"));
+            return;
+        }
+        actual.onNext(0L);
+        actual.onComplete();
+    }
+}
@@ -0,0 +1,183 @@
+package org.neonex.publisher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel, the timer thread behind {@link Scheduler#schedule(Runnable, long, TimeUnit)}:
+ * <p>
+ * 1. The time is cut into ticks of 'tickNanos' and the wheel has one bucket per tick of a revolution,
+ * a timeout goes to the bucket of the tick in which it expires together with the number of full revolutions left.
+ * 2. schedule() only offers the timeout to a lock-free {@link MpscLinkedQueue}, the timer thread moves it to its bucket
+ * at the next tick, so scheduling is O(1) and the buckets are plain linked lists owned by the timer thread.
+ * 3. dispose() is a single CAS on the state of the timeout, O(1) as well. The timer thread unlinks cancelled timeouts
+ * the next time it walks their bucket, which happens at least once per revolution.
+ * 4. Every tick walks a single bucket and runs the expired tasks on the timer thread, so the tasks must only hand
+ * the real work over to another thread.
+ * 5. When there is no timeout at all the timer thread parks until schedule() wakes it up, an idle wheel does not tick.
+ * <p>
+ * A delay is rounded up to the next tick, the delays shorter than a tick expire at the end of the current one.
+ *
+ * @author Mandeep Rajpal
+ */
+final class TimingWheel implements Runnable {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Timeout[] buckets;
+    private final MpscLinkedQueue<Timeout> pending = new MpscLinkedQueue<>();
+    //origin of the ticks, every deadline is relative to it
+    private final long startNanos = System.nanoTime();
+    private final Thread thread;
+
+    private volatile boolean isIdle;
+
+    //plain, timer thread only
+    private long tick;
+    private int size;
+
+    /**
+     * @param name       name of the timer thread
+     * @param tickNanos  resolution of the wheel
+     * @param wheelSize  number of buckets, rounded up to a power of 2
+     */
+    TimingWheel(String name, long tickNanos, int wheelSize) {
+        int buckets = 1 << -Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.tickNanos = tickNanos;
+        this.mask = buckets - 1;
+        this.buckets = new Timeout[buckets];
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Any thread.
+     *
+     * @return a handle which cancels the task if it has not run yet
+     */
+    Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        //a negative delay expires at the end of the current tick, the same as a zero one
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.offer(timeout);
+        //pairs with the write of 'isIdle' and the read of the queue in park()
+        if (isIdle) {
+            LockSupport.unpark(thread);
+        }
+        return timeout;
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            long deadline = (tick + 1) * tickNanos;
+            long now = System.nanoTime() - startNanos;
+            if (now < deadline) {
+                if (size == 0 && pending.isEmpty()) {
+                    park();
+                    //the buckets are empty, so the ticks which went by while parked can be skipped
+                    tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+                } else {
+                    LockSupport.parkNanos(this, deadline - now);
+                }
+                continue;
+            }
+            transferPending();
+            expire(tick & mask);
+            tick++;
+        }
+    }
+
+    private void park() {
+        isIdle = true;
+        //a timeout offered before 'isIdle' was written is seen here, one offered after it unparks the thread
+        if (pending.isEmpty()) {
+            LockSupport.park(this);
+        }
+        isIdle = false;
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.state != Timeout.PENDING) {
+                continue;
+            }
+            //the tick at the end of which the deadline has passed, never one which went by already
+            long target = Math.max(tick, (timeout.deadline + tickNanos - 1) / tickNanos - 1);
+            timeout.rounds = (target - tick) >>> Integer.numberOfTrailingZeros(buckets.length);
+            int index = (int) (target & mask);
+            timeout.next = buckets[index];
+            buckets[index] = timeout;
+            size++;
+        }
+    }
+
+    private void expire(long index) {
+        Timeout previous = null;
+        Timeout timeout = buckets[(int) index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.state == Timeout.PENDING && timeout.rounds > 0) {
+                timeout.rounds--;
+                previous = timeout;
+            } else {
+                //unlink the expired and the cancelled timeouts
+                if (previous == null) {
+                    buckets[(int) index] = next;
+                } else {
+                    previous.next = next;
+                }
+                timeout.next = null;
+                size--;
+                timeout.expire();
+            }
+            timeout = next;
+        }
+    }
+
+    static final class Timeout implements Disposable {
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        static final int PENDING = 0;
+        static final int EXPIRED = 1;
+        static final int CANCELLED = 2;
+
+        private final long deadline;
+        private Runnable task;
+
+        private volatile int state;
+
+        //plain, timer thread only
+        private long rounds;
+        private Timeout next;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        private void expire() {
+            Runnable task = this.task;
+            this.task = null;
+            if (!STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                //the timer thread has to keep going for all the other timeouts
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            STATE.compareAndSet(this, PENDING, CANCELLED);
+        }
+    }
+}
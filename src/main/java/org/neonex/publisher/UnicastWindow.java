@@ -0,0 +1,184 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * One window of {@link Fountain#window(int)}, it can be subscribed to only once.
+ * The elements pushed by {@link WindowSubscriber} are queued until the subscriber of the window asks for them,
+ * there are never more than 'maxSize' of them, and they are emitted by the same work in progress drain loop as
+ * {@link PublishOnSubscriber}, running on the thread of whichever signal arrives first.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class UnicastWindow<T> extends Fountain<T> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<UnicastWindow> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(UnicastWindow.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<UnicastWindow> ONCE =
+            AtomicIntegerFieldUpdater.newUpdater(UnicastWindow.class, "once");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<UnicastWindow> RELEASED =
+            AtomicIntegerFieldUpdater.newUpdater(UnicastWindow.class, "released");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<UnicastWindow> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(UnicastWindow.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<UnicastWindow, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(UnicastWindow.class, Throwable.class, "error");
+
+    private final WindowSubscriber<T> parent;
+    private final SpscLinkedArrayQueue<T> queue;
+
+    //set once by the only subscriber, before 'once' is read by the drain loop
+    private volatile Subscriber<? super T> actual;
+
+    private volatile int wip;
+    private volatile int once;
+    private volatile int released;
+    private volatile long requested;
+    private volatile Throwable error;
+    private volatile boolean isDone;
+    private volatile boolean isCancelled;
+
+    //plain field, only the drain loop reads or writes it
+    private long emitted;
+
+    UnicastWindow(WindowSubscriber<T> parent, int maxSize) {
+        this.parent = parent;
+        this.queue = new SpscLinkedArrayQueue<>(Math.min(maxSize, DEFAULT_PREFETCH));
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (once == 0 && ONCE.compareAndSet(this, 0, 1)) {
+            subscriber.onSubscribe(this);
+            actual = subscriber;
+            drain();
+        } else {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("A window allows only a single subscriber"));
+        }
+    }
+
+    void next(T element) {
+        if (isCancelled) {
+            return;
+        }
+        queue.offer(element);
+        drain();
+    }
+
+    /**
+     * @param throwable the error of the upstream, null for a normal completion
+     */
+    void complete(Throwable throwable) {
+        if (throwable != null) {
+            ERROR.compareAndSet(this, null, throwable);
+        }
+        isDone = true;
+        release();
+        drain();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            ERROR.compareAndSet(this, null, new IllegalArgumentException());
+            isDone = true;
+            release();
+            drain();
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        release();
+        //if the drain loop is not running clear the queue here, otherwise the loop clears it
+        if (WIP.getAndIncrement(this) == 0) {
+            queue.clear();
+        }
+    }
+
+    private void release() {
+        if (released == 0 && RELEASED.compareAndSet(this, 0, 1)) {
+            parent.release();
+        }
+    }
+
+    private void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final SpscLinkedArrayQueue<T> queue = this.queue;
+        long emitted = this.emitted;
+        int missed = 1;
+
+        while (true) {
+            Subscriber<? super T> actual = this.actual;
+            if (actual != null) {
+                long demand = requested;
+                while (emitted != demand) {
+                    boolean done = isDone;
+                    T element = queue.poll();
+                    boolean empty = element == null;
+                    if (isTerminated(actual, done, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    actual.onNext(element);
+                    emitted++;
+                }
+                if (emitted == demand && isTerminated(actual, isDone, queue.isEmpty())) {
+                    return;
+                }
+                this.emitted = emitted;
+            } else if (isCancelled) {
+                queue.clear();
+                return;
+            }
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean isTerminated(Subscriber<? super T> actual, boolean done, boolean empty) {
+        if (isCancelled) {
+            queue.clear();
+            return true;
+        }
+        if (done) {
+            Throwable throwable = error;
+            if (throwable != null) {
+                isCancelled = true;
+                queue.clear();
+                actual.onError(throwable);
+                return true;
+            }
+            if (empty) {
+                isCancelled = true;
+                actual.onComplete();
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class WindowPublisher<T> extends Fountain<Fountain<T>> {
+    private final Publisher<? extends T> source;
+    private final int maxSize;
+
+    WindowPublisher(Publisher<? extends T> source, int maxSize) {
+        this.source = source;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Fountain<T>> subscriber) {
+        source.subscribe(new WindowSubscriber<>(subscriber, maxSize));
+    }
+}
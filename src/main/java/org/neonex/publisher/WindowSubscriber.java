@@ -0,0 +1,125 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Splits the elements of the upstream into consecutive {@link UnicastWindow}s of 'maxSize' elements:
+ * <p>
+ * 1. A request for n windows becomes a single request for n * maxSize elements, so no more windows than requested
+ * are ever opened. The elements flow into the open window whatever its own demand is, it holds at most 'maxSize' of them.
+ * 2. A window is opened, and emitted, when the first of its elements arrives, and completed by its last one.
+ * 3. The upstream is cancelled only when nobody is interested any more: 'active' counts the open window plus the
+ * subscriber of the windows, each of them leaves exactly once, by completion or cancellation.
+ *
+ * @param <T>
+ * @author Mandeep Rajpal
+ */
+final class WindowSubscriber<T> implements Subscriber<T>, Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<WindowSubscriber> ACTIVE =
+            AtomicIntegerFieldUpdater.newUpdater(WindowSubscriber.class, "active");
+
+    private final Subscriber<? super Fountain<T>> actual;
+    private final int maxSize;
+
+    private Subscription upstream;
+    //plain fields, signals from the upstream are serialized
+    private UnicastWindow<T> window;
+    private int count;
+    private boolean isDone;
+
+    //the subscriber of the windows counts as one
+    private volatile int active = 1;
+    private volatile boolean isCancelled;
+
+    WindowSubscriber(Subscriber<? super Fountain<T>> actual, int maxSize) {
+        this.actual = actual;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (isDone) {
+            return;
+        }
+        UnicastWindow<T> window = this.window;
+        if (window == null) {
+            if (isCancelled) {
+                //nobody would receive a new window, the upstream is being cancelled
+                return;
+            }
+            window = new UnicastWindow<>(this, maxSize);
+            ACTIVE.getAndIncrement(this);
+            this.window = window;
+            actual.onNext(window);
+        }
+        window.next(element);
+        if (++count == maxSize) {
+            count = 0;
+            this.window = null;
+            window.complete(null);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        UnicastWindow<T> window = this.window;
+        if (window != null) {
+            this.window = null;
+            window.complete(throwable);
+        }
+        actual.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        UnicastWindow<T> window = this.window;
+        if (window != null) {
+            this.window = null;
+            window.complete(null);
+        }
+        actual.onComplete();
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        //an illegal amount is passed on as it is, the upstream reports it
+        upstream.request(numberOfElements < 1 ? numberOfElements : Demand.multiply(numberOfElements, maxSize));
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        release();
+    }
+
+    /**
+     * Called once by every window when it is completed or cancelled, and once by cancel().
+     */
+    void release() {
+        if (ACTIVE.decrementAndGet(this) == 0) {
+            upstream.cancel();
+        }
+    }
+}
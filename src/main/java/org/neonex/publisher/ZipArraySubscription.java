@@ -0,0 +1,167 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
+
+/**
+ * Zips array sources with a single indexed loop over their backing arrays, there is no subscription to the sources
+ * and no queue. It follows the same work in progress and back pressure rules as {@link ArrayMapFilterSubscription},
+ * the i-th row holds the i-th element of every array and the shortest array decides when it completes.
+ *
+ * @param <R> type of the emitted elements
+ * @author Mandeep Rajpal
+ */
+final class ZipArraySubscription<R> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ZipArraySubscription> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(ZipArraySubscription.class, "requested");
+
+    private final Subscriber<? super R> subscriber;
+    private final Function<? super Object[], ? extends R> combiner;
+    private final Object[][] arrays;
+    //index of the first element of each array
+    private final int[] offsets;
+    private final int end;
+
+    private volatile boolean isCancelled = false;
+
+    //outstanding demand, it also acts as the work in progress flag, see ArraySubscription
+    private volatile long requested;
+
+    //plain field, only the thread which owns the drain loop reads or writes it
+    private int index;
+
+    ZipArraySubscription(Object[][] arrays, int[] offsets, int length, Function<? super Object[], ? extends R> combiner,
+                         Subscriber<? super R> subscriber) {
+        this.arrays = arrays;
+        this.offsets = offsets;
+        this.end = length;
+        this.combiner = combiner;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long numberOfElements) {
+        if (numberOfElements < 1) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException());
+            return;
+        }
+        if (isCancelled) {
+            return;
+        }
+        if (Demand.add(REQUESTED, this, numberOfElements) != 0) {
+            //work in progress pattern - another call already owns the drain loop
+            return;
+        }
+        if (numberOfElements == Long.MAX_VALUE) {
+            fastPath();
+        } else {
+            slowPath(numberOfElements);
+        }
+    }
+
+    private void fastPath() {
+        final Subscriber<? super R> subscriber = this.subscriber;
+        final int end = this.end;
+
+        for (int i = index; i < end; i++) {
+            if (isCancelled) {
+                return;
+            }
+            R value = combine(i);
+            if (value == null) {
+                //combine() failed
+                return;
+            }
+            subscriber.onNext(value);
+        }
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long demand) {
+        final Subscriber<? super R> subscriber = this.subscriber;
+        final int end = this.end;
+
+        int i = index;
+        long emitted = 0;
+
+        while (true) {
+            while (emitted != demand && i != end) {
+                if (isCancelled) {
+                    return;
+                }
+                R value = combine(i);
+                if (value == null) {
+                    return;
+                }
+                subscriber.onNext(value);
+                i++;
+                emitted++;
+            }
+            if (i == end) {
+                if (!isCancelled) {
+                    isCancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            demand = requested;
+            if (demand == Long.MAX_VALUE) {
+                index = i;
+                fastPath();
+                return;
+            }
+            if (demand == emitted) {
+                index = i;
+                demand = REQUESTED.addAndGet(this, -emitted);
+                if (demand == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+
+    /**
+     * @return the combined row, or null if an element was null or the combiner failed
+     * in which case the subscription is already terminated with onError()
+     */
+    private R combine(int index) {
+        final Object[][] arrays = this.arrays;
+        Object[] row = new Object[arrays.length];
+        for (int j = 0; j < arrays.length; j++) {
+            Object element = arrays[j][offsets[j] + index];
+            if (element == null) {
+                fail(new NullPointerException());
+                return null;
+            }
+            row[j] = element;
+        }
+        try {
+            return ZipCoordinator.requireNonNull(combiner.apply(row));
+        } catch (Throwable e) {
+            fail(e);
+            return null;
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (!isCancelled) {
+            isCancelled = true;
+            subscriber.onError(error);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        isCancelled = true;
+    }
+}
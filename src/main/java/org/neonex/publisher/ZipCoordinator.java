@@ -0,0 +1,208 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+
+/**
+ * Zips any sources through one {@link ZipInner} per source:
+ * <p>
+ * 1. Every inner prefetches 'prefetch' items into its own {@link SpscArrayQueue} and requests 'limit' (3/4 of the
+ * prefetch) more every time that many of its items have been zipped, the same batches as {@link PublishOnSubscriber},
+ * so a source sees a request() call per batch and not one per row.
+ * 2. The rows are assembled by a drain loop serialized with 'wip', whichever source or request() call moves it from 0
+ * owns the loop. A row is taken once every queue has an item, the items are polled only then.
+ * 3. A source which completed with an empty queue can not fill another row, so it completes the zip and the other
+ * sources are cancelled. An error of any source is delivered right away.
+ *
+ * @param <R> type of the emitted elements
+ * @author Mandeep Rajpal
+ */
+final class ZipCoordinator<R> implements Subscription {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ZipCoordinator> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(ZipCoordinator.class, "wip");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<ZipCoordinator> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(ZipCoordinator.class, "requested");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ZipCoordinator, Throwable> ERROR =
+            AtomicReferenceFieldUpdater.newUpdater(ZipCoordinator.class, Throwable.class, "error");
+
+    //what the heads of the queues allow, see rowState()
+    private static final int ROW_READY = 0;
+    private static final int ROW_MISSING = 1;
+    private static final int NO_MORE_ROWS = 2;
+
+    private final Subscriber<? super R> actual;
+    private final Function<? super Object[], ? extends R> combiner;
+    private final ZipInner[] inners;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile Throwable error;
+    private volatile boolean isCancelled;
+
+    //plain field, only the drain loop reads or writes it
+    private long emitted;
+
+    ZipCoordinator(Subscriber<? super R> actual, Function<? super Object[], ? extends R> combiner, int sources, int prefetch) {
+        this.actual = actual;
+        this.combiner = combiner;
+        this.inners = new ZipInner[sources];
+        for (int j = 0; j < sources; j++) {
+            inners[j] = new ZipInner(this, prefetch);
+        }
+    }
+
+    void subscribe(Publisher<?>[] sources) {
+        for (int j = 0; j < sources.length; j++) {
+            if (isCancelled) {
+                return;
+            }
+            sources[j].subscribe(inners[j]);
+        }
+    }
+
+    static <R> R requireNonNull(R value) {
+        if (value == null) {
+            throw new NullPointerException("The combiner returned a null value");
+        }
+        return value;
+    }
+
+    @Override
+    public void request(long numberOfElements) {
+        if (numberOfElements < 1) {
+            innerError(new IllegalArgumentException());
+            return;
+        }
+        Demand.add(REQUESTED, this, numberOfElements);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) {
+            return;
+        }
+        isCancelled = true;
+        cancelInners();
+        //if the drain loop is not running clear the queues here, otherwise the loop clears them
+        if (WIP.getAndIncrement(this) == 0) {
+            clearInners();
+        }
+    }
+
+    void innerError(Throwable throwable) {
+        ERROR.compareAndSet(this, null, throwable);
+        drain();
+    }
+
+    void drain() {
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+        final Subscriber<? super R> actual = this.actual;
+        final ZipInner[] inners = this.inners;
+        long emitted = this.emitted;
+        int missed = 1;
+
+        while (true) {
+            long demand = requested;
+            while (emitted != demand) {
+                int state = rowState();
+                if (isTerminated(state)) {
+                    return;
+                }
+                if (state == ROW_MISSING) {
+                    break;
+                }
+                Object[] row = new Object[inners.length];
+                for (int j = 0; j < inners.length; j++) {
+                    row[j] = inners[j].queue.poll();
+                }
+                R value;
+                try {
+                    value = requireNonNull(combiner.apply(row));
+                } catch (Throwable e) {
+                    ERROR.compareAndSet(this, null, e);
+                    isTerminated(ROW_MISSING);
+                    return;
+                }
+                actual.onNext(value);
+                emitted++;
+                for (ZipInner inner : inners) {
+                    inner.consumed();
+                }
+            }
+            if (emitted == demand && isTerminated(rowState())) {
+                return;
+            }
+            this.emitted = emitted;
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drain loop only.
+     */
+    private int rowState() {
+        int state = ROW_READY;
+        for (ZipInner inner : inners) {
+            //'isDone' has to be read before the queue, an item offered before onComplete() is seen then
+            boolean done = inner.isDone;
+            if (inner.queue.isEmpty()) {
+                if (done) {
+                    return NO_MORE_ROWS;
+                }
+                state = ROW_MISSING;
+            }
+        }
+        return state;
+    }
+
+    private boolean isTerminated(int state) {
+        if (isCancelled) {
+            clearInners();
+            return true;
+        }
+        Throwable throwable = error;
+        if (throwable != null) {
+            isCancelled = true;
+            cancelInners();
+            clearInners();
+            actual.onError(throwable);
+            return true;
+        }
+        if (state == NO_MORE_ROWS) {
+            isCancelled = true;
+            cancelInners();
+            clearInners();
+            actual.onComplete();
+            return true;
+        }
+        return false;
+    }
+
+    private void cancelInners() {
+        for (ZipInner inner : inners) {
+            inner.cancel();
+        }
+    }
+
+    private void clearInners() {
+        for (ZipInner inner : inners) {
+            inner.queue.clear();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber of one source of a {@link ZipCoordinator}, its items wait in a bounded queue until a row can be zipped.
+ *
+ * @author Mandeep Rajpal
+ */
+final class ZipInner implements Subscriber<Object> {
+    private final ZipCoordinator<?> parent;
+    private final int prefetch;
+    private final int limit;
+    final SpscArrayQueue<Object> queue;
+
+    private volatile Subscription upstream;
+    private volatile boolean isCancelled;
+    volatile boolean isDone;
+
+    //plain field, only the drain loop of the parent reads or writes it
+    private int consumed;
+
+    ZipInner(ZipCoordinator<?> parent, int prefetch) {
+        this.parent = parent;
+        this.prefetch = prefetch;
+        this.limit = Demand.replenishLimit(prefetch);
+        this.queue = new SpscArrayQueue<>(prefetch);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        upstream = subscription;
+        if (isCancelled) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(Object element) {
+        if (isDone) {
+            return;
+        }
+        if (!queue.offer(element)) {
+            //the source emitted more than requested
+            cancel();
+            parent.innerError(new IllegalStateException("Queue is full, the upstream did not respect the back pressure"));
+            isDone = true;
+            return;
+        }
+        parent.drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (isDone) {
+            return;
+        }
+        //the error goes first, a done inner with an empty queue would complete the zip otherwise
+        parent.innerError(throwable);
+        isDone = true;
+    }
+
+    @Override
+    public void onComplete() {
+        if (isDone) {
+            return;
+        }
+        isDone = true;
+        parent.drain();
+    }
+
+    /**
+     * Drain loop only, called once per zipped row.
+     */
+    void consumed() {
+        if (++consumed == limit) {
+            consumed = 0;
+            upstream.request(limit);
+        }
+    }
+
+    void cancel() {
+        isCancelled = true;
+        Subscription upstream = this.upstream;
+        if (upstream != null) {
+            upstream.cancel();
+        }
+    }
+}
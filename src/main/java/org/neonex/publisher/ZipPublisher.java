@@ -0,0 +1,58 @@
+package org.neonex.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.function.Function;
+
+/**
+ * Combines the i-th items of every source into the i-th emitted item. When every source is an {@link ArrayPublisher}
+ * the backing arrays are zipped by a {@link ZipArraySubscription} without subscribing to them,
+ * any other mix of sources goes through the prefetching queues of a {@link ZipCoordinator}.
+ *
+ * @param <R> type of the emitted elements
+ * @author Mandeep Rajpal
+ */
+final class ZipPublisher<R> extends Fountain<R> {
+    private final Publisher<?>[] sources;
+    private final Function<? super Object[], ? extends R> combiner;
+    private final int prefetch;
+
+    ZipPublisher(Publisher<?>[] sources, Function<? super Object[], ? extends R> combiner, int prefetch) {
+        this.sources = sources;
+        this.combiner = combiner;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super R> subscriber) {
+        final Publisher<?>[] sources = this.sources;
+        if (isArrays(sources)) {
+            Object[][] arrays = new Object[sources.length][];
+            int[] offsets = new int[sources.length];
+            int length = Integer.MAX_VALUE;
+            for (int j = 0; j < sources.length; j++) {
+                ArrayPublisher<?> source = (ArrayPublisher<?>) sources[j];
+                arrays[j] = source.array;
+                offsets[j] = source.from;
+                length = Math.min(length, source.to - source.from);
+            }
+            //the fused stage is the source here
+            subscriber = FountainHooks.onSubscribe(this, subscriber);
+            subscriber.onSubscribe(new ZipArraySubscription<>(arrays, offsets, length, combiner, subscriber));
+            return;
+        }
+        ZipCoordinator<R> coordinator = new ZipCoordinator<>(subscriber, combiner, sources.length, prefetch);
+        subscriber.onSubscribe(coordinator);
+        coordinator.subscribe(sources);
+    }
+
+    private static boolean isArrays(Publisher<?>[] sources) {
+        for (Publisher<?> source : sources) {
+            if (!(source instanceof ArrayPublisher)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,193 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.FountainSink;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+
+@SuppressWarnings("ALL")
+public class BackpressureTest extends PublisherVerification<Long> {
+
+    public BackpressureTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void bufferKeepsItemsUntilRequested() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set).onBackpressureBuffer(8), 0)
+                    .then(() -> push(sink.get(), 1, 2, 3))
+                    .expectNoEvent(Duration.ofMillis(10))
+                    .thenRequest(2)
+                    .expectNext(1, 2)
+                    .then(() -> sink.get().complete())
+                    .thenRequest(1)
+                    .expectNext(3)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void bufferOverflowFailsAfterBufferedItems() {
+        List<Integer> overflowed = new ArrayList<>();
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set).onBackpressureBuffer(4, overflowed::add), 0)
+                    .then(() -> push(sink.get(), 1, 2, 3, 4, 5, 6))
+                    .thenRequest(10)
+                    .expectNext(1, 2, 3, 4)
+                    .verifyError(IllegalStateException.class);
+        assertEquals(overflowed, Arrays.asList(5));
+    }
+
+    @Test
+    public void dropEmitsOnlyRequestedItems() {
+        List<Integer> dropped = new ArrayList<>();
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set).onBackpressureDrop(dropped::add), 2)
+                    .then(() -> push(sink.get(), 1, 2))
+                    .expectNext(1, 2)
+                    .then(() -> push(sink.get(), 3, 4))
+                    .thenRequest(1)
+                    .then(() -> push(sink.get(), 5, 6))
+                    .expectNext(5)
+                    .then(() -> sink.get().complete())
+                    .verifyComplete();
+        assertEquals(dropped, Arrays.asList(3, 4, 6));
+    }
+
+    @Test
+    public void latestKeepsMostRecentItem() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set).onBackpressureLatest(), 0)
+                    .then(() -> push(sink.get(), 1, 2, 3))
+                    .thenRequest(1)
+                    .expectNext(3)
+                    .then(() -> push(sink.get(), 4, 5))
+                    .then(() -> sink.get().complete())
+                    .expectNoEvent(Duration.ofMillis(10))
+                    .thenRequest(1)
+                    .expectNext(5)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void spillKeepsOrderAcrossMemoryAndFile() throws IOException {
+        long spillFiles = spillFiles();
+        AtomicReference<FountainSink<String>> sink = new AtomicReference<>();
+        List<String> expected = IntStream.range(0, 2000).mapToObj(String::valueOf).collect(Collectors.toList());
+        List<String> items = new ArrayList<>();
+
+        StepVerifier.create(Fountain.<String>create(sink::set)
+                                    .onBackpressureSpill(16, BackpressureTest::encode, BackpressureTest::decode), 0)
+                    .then(() -> expected.subList(0, 1000).forEach(sink.get()::next))
+                    .recordWith(() -> items)
+                    .thenRequest(500)
+                    .expectNextCount(500)
+                    //the file still has unread records, so these go there even though memory has room
+                    .then(() -> expected.subList(1000, 2000).forEach(sink.get()::next))
+                    .then(() -> sink.get().complete())
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNextCount(1500)
+                    .verifyComplete();
+
+        assertEquals(items, expected);
+        assertEquals(spillFiles(), spillFiles, "the spill file was not deleted");
+    }
+
+    @Test
+    public void spillCrossesSegments() {
+        //200 records of 100KB do not fit in a single 16MB segment
+        char[] chars = new char[100_000];
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Arrays.fill(chars, (char) ('a' + i % 26));
+            expected.add(new String(chars));
+        }
+        AtomicReference<FountainSink<String>> sink = new AtomicReference<>();
+        List<String> items = new ArrayList<>();
+
+        StepVerifier.create(Fountain.<String>create(sink::set)
+                                    .onBackpressureSpill(1, BackpressureTest::encode, BackpressureTest::decode), 0)
+                    .then(() -> {
+                        expected.forEach(sink.get()::next);
+                        sink.get().complete();
+                    })
+                    .recordWith(() -> items)
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNextCount(200)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+        assertEquals(items, expected);
+    }
+
+    @Test
+    public void spillDecoderErrorIsDelivered() {
+        AtomicReference<FountainSink<String>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<String>create(sink::set).onBackpressureSpill(1, BackpressureTest::encode, bytes -> {
+            throw new IllegalStateException();
+        }), 0)
+                    .then(() -> push(sink.get(), "a", "b", "c"))
+                    .thenRequest(3)
+                    .expectNext("a")
+                    .verifyError(IllegalStateException.class);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidCapacity() {
+        Fountain.range(0, 10).onBackpressureBuffer(0);
+    }
+
+    private static <T> void push(FountainSink<T> sink, T... items) {
+        for (T item : items) {
+            sink.next(item);
+        }
+    }
+
+    private static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String decode(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("fountain-spill")).count();
+        }
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements).onBackpressureBuffer(1024);
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        //the whole range is pushed into the buffer right away
+        return 1024;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.<Long>error(new RuntimeException()).onBackpressureBuffer(16);
+    }
+}
@@ -0,0 +1,236 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.BatchSubscriber;
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class BatchSubscriberTest extends PublisherVerification<Long> {
+
+    public BatchSubscriberTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void slicesAreSizedToDemand() {
+        RecordingBatchSubscriber<Integer> subscriber = new RecordingBatchSubscriber<>();
+        Fountain.just(1, 2, 3, 4, 5, 6, 7).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        subscriber.subscription.request(2);
+        subscriber.subscription.request(10);
+
+        assertEquals(subscriber.slices, Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5), Arrays.asList(6, 7)));
+        assertEquals(subscriber.singles, 0);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void unboundedDemandEmitsSingleSlice() {
+        RecordingBatchSubscriber<Integer> subscriber = new RecordingBatchSubscriber<>();
+        Fountain.just(1, 2, 3, 4).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(subscriber.slices, Arrays.asList(Arrays.asList(1, 2, 3, 4)));
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void requestFromInsideBatchIsServedAsNextSlice() {
+        RecordingBatchSubscriber<Integer> subscriber = new RecordingBatchSubscriber<Integer>() {
+            @Override
+            public void onNextBatch(Object[] array, int offset, int length) {
+                super.onNextBatch(array, offset, length);
+                subscription.request(2);
+            }
+        };
+        Fountain.just(1, 2, 3, 4, 5).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(subscriber.slices, Arrays.asList(Arrays.asList(1), Arrays.asList(2, 3), Arrays.asList(4, 5)));
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void nullElementTerminatesAfterPrecedingElements() {
+        RecordingBatchSubscriber<String> subscriber = new RecordingBatchSubscriber<>();
+        Fountain.fromArray(new String[]{"a", "b", null, "c"}).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(subscriber.slices, Arrays.asList(Arrays.asList("a", "b")));
+        assertTrue(subscriber.error instanceof NullPointerException);
+    }
+
+    @Test
+    public void arrayOfGenericVarargsIsSliced() {
+        StringBuilder joined = new StringBuilder();
+        RecordingBatchSubscriber<String> subscriber = new RecordingBatchSubscriber<String>() {
+            @Override
+            public void onNextBatch(Object[] array, int offset, int length) {
+                super.onNextBatch(array, offset, length);
+                for (int i = offset; i < offset + length; i++) {
+                    String element = (String) array[i];
+                    joined.append(element);
+                }
+            }
+        };
+        //the varargs array of a generic method is an Object[], not a String[]
+        varargs("a", "b").subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(joined.toString(), "ab");
+        assertTrue(subscriber.completed);
+    }
+
+    @SafeVarargs
+    private static <T> Fountain<T> varargs(T... elements) {
+        return Fountain.just(elements);
+    }
+
+    @Test
+    public void slicesOfTakeAndSkipStayWithinBounds() {
+        RecordingBatchSubscriber<Integer> subscriber = new RecordingBatchSubscriber<>();
+        Fountain.just(1, 2, 3, 4, 5, 6).skip(1).take(4).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(subscriber.slices, Arrays.asList(Arrays.asList(2, 3, 4, 5)));
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void nonArraySourceFallsBackToOnNext() {
+        RecordingBatchSubscriber<Integer> subscriber = new RecordingBatchSubscriber<>();
+        Fountain.fromIterable(Arrays.asList(1, 2, 3)).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(subscriber.singles, 3);
+        assertTrue(subscriber.slices.isEmpty());
+        assertNull(subscriber.error);
+        assertTrue(subscriber.completed);
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        Long[] array = LongStream.range(0, elements).boxed().toArray(Long[]::new);
+        Publisher<Long> source = Fountain.fromArray(array);
+        //the TCK subscribers are plain ones, so bridge them through a batch subscriber to verify the slice path
+        return subscriber -> source.subscribe(new SlicingSubscriber<>(subscriber));
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        //the source is backed by an array of the requested size
+        return 1024;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.error(new RuntimeException());
+    }
+
+    static class RecordingBatchSubscriber<T> implements BatchSubscriber<T> {
+        final List<List<T>> slices = new ArrayList<>();
+        Subscription subscription;
+        int singles;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNextBatch(Object[] array, int offset, int length) {
+            List<T> slice = new ArrayList<>(length);
+            for (int i = offset; i < offset + length; i++) {
+                slice.add((T) array[i]);
+            }
+            slices.add(slice);
+        }
+
+        @Override
+        public void onNext(T element) {
+            singles++;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    static final class SlicingSubscriber<T> implements BatchSubscriber<T>, Subscription {
+        private final Subscriber<? super T> actual;
+        private Subscription subscription;
+        private volatile boolean cancelled;
+
+        SlicingSubscriber(Subscriber<? super T> actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            actual.onSubscribe(this);
+        }
+
+        @Override
+        public void onNextBatch(Object[] array, int offset, int length) {
+            for (int i = offset; i < offset + length && !cancelled; i++) {
+                actual.onNext((T) array[i]);
+            }
+        }
+
+        @Override
+        public void onNext(T element) {
+            actual.onNext(element);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            actual.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscription.cancel();
+        }
+    }
+}
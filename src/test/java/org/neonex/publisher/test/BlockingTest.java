@@ -0,0 +1,160 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.Scheduler;
+import org.neonex.publisher.Schedulers;
+import org.reactivestreams.Publisher;
+import org.testng.annotations.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+@SuppressWarnings("ALL")
+public class BlockingTest {
+
+    @Test
+    public void iterableOfArray() {
+        List<Integer> items = new ArrayList<>();
+        for (Integer item : Fountain.fromArray(new Integer[]{1, 2, 3, 4, 5}).skip(1).toIterable()) {
+            items.add(item);
+        }
+        assertEquals(items, Arrays.asList(2, 3, 4, 5));
+    }
+
+    @Test
+    public void iterableOfArrayFailsAtNull() {
+        Iterator<Integer> iterator = Fountain.fromArray(new Integer[]{1, null, 3}).toIterable().iterator();
+        assertEquals(iterator.next(), Integer.valueOf(1));
+        expectThrows(NullPointerException.class, iterator::hasNext);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void iterableRequestsInBatches() {
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        Publisher<Integer> source = Flux.range(0, 100).doOnRequest(requests::add);
+
+        List<Integer> items = new ArrayList<>();
+        Fountain.defer(() -> source).toIterable(16).forEach(items::add);
+
+        assertEquals(items, IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+        assertEquals(requests.get(0), Long.valueOf(16));
+        assertTrue(requests.subList(1, requests.size()).stream().allMatch(n -> n == 12), requests.toString());
+    }
+
+    @Test
+    public void iterableOfAsynchronousSource() {
+        Scheduler scheduler = Schedulers.newSingle("blocking-test");
+        try {
+            long sum = 0;
+            int count = 0;
+            for (Integer item : Fountain.range(0, 100_000).publishOn(scheduler).toIterable(64)) {
+                sum += item;
+                count++;
+            }
+            assertEquals(count, 100_000);
+            assertEquals(sum, 100_000L * 99_999 / 2);
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    public void iterableThrowsErrorAfterElements() {
+        Iterator<Integer> iterator = Fountain.defer(() -> Flux.just(1, 2).concatWith(Flux.error(new IllegalStateException("boom"))))
+                .toIterable().iterator();
+        assertEquals(iterator.next(), Integer.valueOf(1));
+        assertEquals(iterator.next(), Integer.valueOf(2));
+        IllegalStateException error = expectThrows(IllegalStateException.class, iterator::hasNext);
+        assertEquals(error.getMessage(), "boom");
+    }
+
+    @Test
+    public void iterableWrapsCheckedError() {
+        Iterator<Integer> iterator = Fountain.<Integer>error(new Exception("checked")).toIterable().iterator();
+        IllegalStateException error = expectThrows(IllegalStateException.class, iterator::hasNext);
+        assertEquals(error.getCause().getMessage(), "checked");
+    }
+
+    @Test
+    public void exhaustedIterator() {
+        Iterator<Integer> iterator = Fountain.range(0, 1).toIterable().iterator();
+        assertEquals(iterator.next(), Integer.valueOf(0));
+        assertFalse(iterator.hasNext());
+        expectThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void iterableRejectsInvalidPrefetch() {
+        Fountain.range(0, 10).toIterable(0);
+    }
+
+    @Test
+    public void streamOfRange() {
+        assertEquals(Fountain.range(0, 1000).toStream(32).mapToLong(Integer::longValue).sum(), 999L * 1000 / 2);
+    }
+
+    @Test
+    public void closingStreamCancels() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        try (Stream<Integer> stream = Fountain.defer(() -> Flux.range(0, 1000).doOnCancel(() -> cancelled.set(true))).toStream(8)) {
+            assertEquals(stream.limit(3).collect(Collectors.toList()), Arrays.asList(0, 1, 2));
+        }
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void blockFirst() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        Integer first = Fountain.defer(() -> Flux.range(5, 1000).doOnRequest(requests::add).doOnCancel(() -> cancelled.set(true)))
+                .blockFirst();
+        assertEquals(first, Integer.valueOf(5));
+        assertEquals(requests, Arrays.asList(1L));
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void blockLast() {
+        assertEquals(Fountain.range(0, 1000).blockLast(), Integer.valueOf(999));
+        assertEquals(Fountain.range(0, 1000).subscribeOn(Schedulers.parallel()).blockLast(), Integer.valueOf(999));
+    }
+
+    @Test
+    public void blockOnEmpty() {
+        assertNull(Fountain.empty().blockFirst());
+        assertNull(Fountain.empty().blockLast());
+        assertNull(Fountain.fromArray(new Integer[0]).blockFirst());
+        assertNull(Fountain.fromArray(new Integer[0]).blockLast());
+    }
+
+    @Test
+    public void blockOnArray() {
+        Fountain<Integer> fountain = Fountain.fromArray(new Integer[]{1, 2, 3});
+        assertEquals(fountain.blockFirst(), Integer.valueOf(1));
+        assertEquals(fountain.blockLast(), Integer.valueOf(3));
+        assertEquals(fountain.take(2).blockLast(), Integer.valueOf(2));
+        expectThrows(NullPointerException.class, () -> Fountain.fromArray(new Integer[]{1, null, 3}).blockLast());
+    }
+
+    @Test
+    public void blockThrowsError() {
+        expectThrows(IllegalStateException.class, () -> Fountain.error(new IllegalStateException()).blockFirst());
+        expectThrows(IllegalStateException.class, () -> Fountain.error(new IllegalStateException()).blockLast());
+    }
+}
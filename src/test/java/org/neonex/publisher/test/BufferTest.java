@@ -0,0 +1,218 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.Scheduler;
+import org.neonex.publisher.Schedulers;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+@SuppressWarnings("ALL")
+public class BufferTest extends PublisherVerification<Long> {
+
+    private final Scheduler scheduler = Schedulers.newSingle("buffer-test");
+
+    public BufferTest() {
+        super(new TestEnvironment());
+    }
+
+    @AfterClass
+    public void disposeScheduler() {
+        scheduler.dispose();
+    }
+
+    @Test
+    public void bufferEmitsFullListsAndRemainder() {
+        StepVerifier.create(Fountain.fromIterable(Arrays.asList(1, 2, 3, 4, 5)).buffer(2), 1)
+                    .expectNext(Arrays.asList(1, 2))
+                    .thenRequest(2)
+                    .expectNext(Arrays.asList(3, 4), Arrays.asList(5))
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void bufferRequestsUpstreamOncePerDownstreamRequest() {
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        Publisher<Integer> source = Flux.range(0, 100).doOnRequest(requests::add);
+
+        StepVerifier.create(wrap(source).buffer(10), 3)
+                    .expectNextCount(3)
+                    .thenRequest(2)
+                    .expectNextCount(2)
+                    .thenCancel()
+                    .verify();
+
+        assertEquals(requests, Arrays.asList(30L, 20L));
+    }
+
+    @Test
+    public void bufferOverArrayHandsOutReadOnlyViews() {
+        Integer[] array = {1, 2, 3, 4, 5, 6, 7};
+        List<List<Integer>> buffers = new ArrayList<>();
+
+        StepVerifier.create(Fountain.fromArray(array).skip(1).buffer(3))
+                    .recordWith(() -> buffers)
+                    .expectNext(Arrays.asList(2, 3, 4), Arrays.asList(5, 6, 7))
+                    .expectComplete()
+                    .verify();
+
+        expectThrows(UnsupportedOperationException.class, () -> buffers.get(0).set(0, 42));
+    }
+
+    @Test
+    public void bufferOverArrayWithNullSignalsError() {
+        StepVerifier.create(Fountain.fromArray(new String[]{"a", "b", "c", null}).buffer(2))
+                    .expectNext(Arrays.asList("a", "b"))
+                    .expectError(NullPointerException.class)
+                    .verify();
+    }
+
+    @Test
+    public void bufferTimeoutEmitsPartialListWhenDelayElapses() {
+        StepVerifier.create(wrap(Flux.just(1, 2).concatWith(Flux.never()))
+                                    .bufferTimeout(10, Duration.ofMillis(50), scheduler))
+                    .expectNext(Arrays.asList(1, 2))
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void bufferTimeoutOnDisposedSchedulerSignalsError() {
+        Scheduler disposed = Schedulers.newSingle("buffer-test-disposed");
+        disposed.dispose();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        StepVerifier.create(wrap(Flux.just(1, 2).concatWith(Flux.never()).doOnCancel(() -> cancelled.set(true)))
+                                    .bufferTimeout(10, Duration.ofMillis(50), disposed))
+                    .expectError(RejectedExecutionException.class)
+                    .verify(Duration.ofSeconds(5));
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void bufferTimeoutEmitsFullListsWithoutWaiting() {
+        StepVerifier.create(Fountain.range(0, 6).bufferTimeout(3, Duration.ofHours(1), scheduler))
+                    .expectNext(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5))
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void bufferTimeoutKeepsClosedListsUntilRequested() {
+        //one list is requested, so two items are requested upstream, each of them ends up alone in a list closed by the timer
+        StepVerifier.create(wrap(Flux.just(1).concatWith(Flux.just(2, 3).delaySubscription(Duration.ofMillis(200))))
+                                    .bufferTimeout(2, Duration.ofMillis(50), scheduler), 1)
+                    .expectNext(Collections.singletonList(1))
+                    .expectNoEvent(Duration.ofMillis(400))
+                    .thenRequest(1)
+                    .expectNext(Collections.singletonList(2))
+                    .thenRequest(1)
+                    .expectNext(Collections.singletonList(3))
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void windowSplitsItemsIntoPublishers() {
+        StepVerifier.create(Fountain.range(0, 7).window(3).flatMap(window -> window.buffer(3), 1, 1))
+                    .expectNext(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Arrays.asList(6))
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void windowAllowsSingleSubscriber() {
+        List<Fountain<Integer>> windows = new ArrayList<>();
+        Fountain.range(0, 2).window(2).subscribe(new org.reactivestreams.Subscriber<Fountain<Integer>>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Fountain<Integer> window) {
+                windows.add(window);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        StepVerifier.create(windows.get(0)).expectNext(0, 1).expectComplete().verify();
+        StepVerifier.create(windows.get(0)).expectError(IllegalStateException.class).verify();
+    }
+
+    @Test
+    public void windowCancelsUpstreamOnlyAfterOpenWindowCompletes() {
+        List<Integer> cancelledAfter = new CopyOnWriteArrayList<>();
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        Publisher<Integer> source = Flux.range(0, 10)
+                                        .doOnNext(seen::add)
+                                        .doOnCancel(() -> cancelledAfter.add(seen.size()));
+
+        StepVerifier.create(wrap(source).window(4).take(1).flatMap(window -> window))
+                    .expectNext(0, 1, 2, 3)
+                    .expectComplete()
+                    .verify();
+
+        assertEquals(cancelledAfter, Collections.singletonList(4));
+    }
+
+    @Test
+    public void invalidSizeIsRejected() {
+        expectThrows(IllegalArgumentException.class, () -> Fountain.range(0, 1).buffer(0));
+        expectThrows(IllegalArgumentException.class, () -> Fountain.range(0, 1).window(-1));
+        expectThrows(IllegalArgumentException.class,
+                     () -> Fountain.range(0, 1).bufferTimeout(1, Duration.ZERO, scheduler));
+    }
+
+    private static <T> Fountain<T> wrap(Publisher<T> source) {
+        return new Fountain<T>() {
+            @Override
+            public void subscribe(org.reactivestreams.Subscriber<? super T> subscriber) {
+                source.subscribe(subscriber);
+            }
+        };
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements * 2)
+                       .buffer(2)
+                       .map(list -> list.get(0));
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        //twice as many elements are generated, keep the count within the range of the source
+        return Long.MAX_VALUE / 2;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.error(new RuntimeException());
+    }
+}
@@ -0,0 +1,198 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.BufferPool;
+import org.neonex.publisher.ChannelSubscriber;
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class ChannelTest {
+
+    private AsynchronousServerSocketChannel server;
+    private AsynchronousSocketChannel client;
+    private AsynchronousSocketChannel accepted;
+
+    @BeforeMethod
+    public void connect() throws Exception {
+        server = AsynchronousServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        Future<AsynchronousSocketChannel> accepting = server.accept();
+        client = AsynchronousSocketChannel.open();
+        client.connect(server.getLocalAddress()).get(5, TimeUnit.SECONDS);
+        accepted = accepting.get(5, TimeUnit.SECONDS);
+    }
+
+    @AfterMethod
+    public void close() throws IOException {
+        client.close();
+        accepted.close();
+        server.close();
+    }
+
+    @Test
+    public void bytesWrittenBySubscriberAreReadByPublisher() throws Exception {
+        byte[] content = randomBytes(1 << 20);
+        ChannelSubscriber writer = new ChannelSubscriber(client, null);
+        Fountain.fromArray(chunks(content, 10_000)).subscribe(writer);
+
+        CollectingSubscriber reader = new CollectingSubscriber(BufferPool.direct(4096, 4), Long.MAX_VALUE);
+        Fountain.fromChannel(accepted, reader.pool).subscribe(reader);
+
+        writer.completion().get(5, TimeUnit.SECONDS);
+        client.shutdownOutput();
+
+        assertTrue(reader.done.await(5, TimeUnit.SECONDS));
+        assertTrue(Arrays.equals(reader.bytes.toByteArray(), content));
+    }
+
+    @Test
+    public void readsOnlyWhileThereIsDemand() throws Exception {
+        client.write(ByteBuffer.wrap(randomBytes(64))).get(5, TimeUnit.SECONDS);
+
+        CollectingSubscriber reader = new CollectingSubscriber(BufferPool.direct(16, 4), 1);
+        Fountain.fromChannel(accepted, reader.pool).subscribe(reader);
+
+        //64 bytes are available but only one buffer of 16 was requested
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(reader.buffers.get(), 1);
+
+        reader.subscription.request(2);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(reader.buffers.get(), 3);
+    }
+
+    @Test
+    public void echoThroughPooledBuffers() throws Exception {
+        BufferPool pool = BufferPool.direct(1024, 8);
+        ChannelSubscriber echo = new ChannelSubscriber(accepted, pool);
+        Fountain.fromChannel(accepted, pool).subscribe(echo);
+
+        byte[] content = randomBytes(100_000);
+        ChannelSubscriber writer = new ChannelSubscriber(client, null);
+        Fountain.fromArray(chunks(content, 3000)).subscribe(writer);
+        writer.completion().get(5, TimeUnit.SECONDS);
+        client.shutdownOutput();
+
+        //the echo completes once the client shut its output down and every buffer was written back
+        echo.completion().get(5, TimeUnit.SECONDS);
+        accepted.shutdownOutput();
+
+        CollectingSubscriber reader = new CollectingSubscriber(BufferPool.direct(4096, 2), Long.MAX_VALUE);
+        Fountain.fromChannel(client, reader.pool).subscribe(reader);
+        assertTrue(reader.done.await(5, TimeUnit.SECONDS));
+        assertTrue(Arrays.equals(reader.bytes.toByteArray(), content));
+    }
+
+    @Test
+    public void channelAllowsSingleSubscriber() {
+        Fountain<ByteBuffer> source = Fountain.fromChannel(accepted, BufferPool.direct(16, 1));
+        source.subscribe(new CollectingSubscriber(BufferPool.direct(16, 1), 0));
+
+        StepVerifier.create(source)
+                    .expectError(IllegalStateException.class)
+                    .verify();
+    }
+
+    @Test
+    public void poolReusesReleasedBuffers() {
+        BufferPool pool = BufferPool.direct(64, 1);
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+        assertNotSame(first, second);
+        assertTrue(first.isDirect());
+
+        first.put((byte) 1);
+        pool.release(first);
+        //there is a single slot, this one is dropped
+        pool.release(second);
+        //not created by the pool
+        pool.release(ByteBuffer.allocate(64));
+
+        ByteBuffer reused = pool.acquire();
+        assertSame(reused, first);
+        assertEquals(reused.position(), 0);
+        assertNotSame(pool.acquire(), second);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static ByteBuffer[] chunks(byte[] content, int chunkSize) {
+        int count = (content.length + chunkSize - 1) / chunkSize;
+        ByteBuffer[] chunks = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            int from = i * chunkSize;
+            chunks[i] = ByteBuffer.wrap(content, from, Math.min(chunkSize, content.length - from));
+        }
+        return chunks;
+    }
+
+    static final class CollectingSubscriber implements Subscriber<ByteBuffer> {
+        final BufferPool pool;
+        final long initialRequest;
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final AtomicInteger buffers = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Subscription subscription;
+
+        CollectingSubscriber(BufferPool pool, long initialRequest) {
+            this.pool = pool;
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            byte[] chunk = new byte[buffer.remaining()];
+            buffer.get(chunk);
+            synchronized (bytes) {
+                bytes.write(chunk, 0, chunk.length);
+            }
+            pool.release(buffer);
+            buffers.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+}
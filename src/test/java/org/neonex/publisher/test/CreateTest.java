@@ -0,0 +1,218 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.FountainSink;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+@SuppressWarnings("ALL")
+public class CreateTest extends PublisherVerification<Long> {
+
+    public CreateTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void itemsAreBufferedUntilRequested() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set), 0)
+                    .then(() -> {
+                        sink.get().next(1);
+                        sink.get().next(2);
+                        sink.get().next(3);
+                        sink.get().complete();
+                    })
+                    .expectNoEvent(Duration.ofMillis(10))
+                    .thenRequest(2)
+                    .expectNext(1, 2)
+                    .then(() -> assertEquals(sink.get().requested(), 0L))
+                    .thenRequest(1)
+                    .expectNext(3)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void requestedReflectsDemand() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set), 5)
+                    .then(() -> assertEquals(sink.get().requested(), 5L))
+                    .then(() -> sink.get().next(1))
+                    .expectNext(1)
+                    .then(() -> assertEquals(sink.get().requested(), 4L))
+                    .thenCancel()
+                    .verify();
+        assertTrue(sink.get().isCancelled());
+    }
+
+    @Test
+    public void errorIsDeliveredAfterBufferedItems() {
+        StepVerifier.create(Fountain.<Integer>create(sink -> {
+            sink.next(1);
+            sink.error(new IllegalStateException());
+            sink.next(2);
+            sink.complete();
+        }))
+                    .expectNext(1)
+                    .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    public void emitterExceptionIsDelivered() {
+        StepVerifier.create(Fountain.create(sink -> {
+            throw new IllegalStateException();
+        }))
+                    .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    public void nullItemIsRejected() {
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        StepVerifier.create(Fountain.create(sink -> {
+            try {
+                sink.next(null);
+            } catch (NullPointerException e) {
+                thrown.set(e);
+            }
+            sink.complete();
+        }))
+                    .verifyComplete();
+        assertTrue(thrown.get() instanceof NullPointerException);
+    }
+
+    @Test
+    public void resourceIsReleasedOnCancelAndOnTermination() {
+        AtomicInteger released = new AtomicInteger();
+        StepVerifier.create(Fountain.<Integer>create(sink -> sink.onDispose(released::incrementAndGet)))
+                    .thenCancel()
+                    .verify();
+        assertEquals(released.get(), 1);
+
+        StepVerifier.create(Fountain.<Integer>create(sink -> {
+            sink.onDispose(released::incrementAndGet);
+            sink.next(1);
+            sink.complete();
+        }))
+                    .expectNext(1)
+                    .verifyComplete();
+        assertEquals(released.get(), 2);
+
+        Fountain.<Integer>create(sink -> {
+            sink.complete();
+            sink.onDispose(released::incrementAndGet);
+        }).subscribe(new BaseSubscriber<Integer>() {
+        });
+        assertEquals(released.get(), 3);
+    }
+
+    @Test
+    public void concurrentProducersAreSerialized() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean overlapping = new AtomicBoolean();
+        AtomicBoolean inOnNext = new AtomicBoolean();
+        int[] lastSeen = new int[producers];
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        try {
+            StepVerifier.create(Fountain.<Integer>create(sink -> {
+                for (int p = 0; p < producers; p++) {
+                    int producer = p;
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        for (int i = 1; i <= perProducer; i++) {
+                            sink.next(producer * perProducer + i);
+                        }
+                    });
+                }
+            }).map(value -> {
+                if (!inOnNext.compareAndSet(false, true)) {
+                    overlapping.set(true);
+                }
+                int producer = (value - 1) / perProducer;
+                int sequence = (value - 1) % perProducer;
+                if (sequence != lastSeen[producer]) {
+                    outOfOrder.set(true);
+                }
+                lastSeen[producer] = sequence + 1;
+                inOnNext.set(false);
+                return value;
+            }))
+                        .then(start::countDown)
+                        .expectNextCount(producers * perProducer)
+                        .thenCancel()
+                        .verify(Duration.ofSeconds(20));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(overlapping.get(), "onNext() was called concurrently");
+        assertFalse(outOfOrder.get(), "the items of a producer were reordered");
+    }
+
+    @Test
+    public void invalidRequestFails() {
+        List<Object> signals = new ArrayList<>();
+        Fountain.<Integer>create(sink -> sink.next(1)).subscribe(new BaseSubscriber<Integer>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                subscription.request(0);
+            }
+
+            @Override
+            protected void hookOnNext(Integer value) {
+                signals.add(value);
+            }
+
+            @Override
+            protected void hookOnError(Throwable throwable) {
+                signals.add(throwable.getClass());
+            }
+        });
+        assertEquals(signals, List.of(IllegalArgumentException.class));
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.create(sink -> {
+            for (long i = 0; i < elements; i++) {
+                sink.next(i);
+            }
+            sink.complete();
+        });
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        //every item is buffered upfront
+        return 1024;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.create(sink -> sink.error(new RuntimeException()));
+    }
+}
@@ -0,0 +1,132 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+@SuppressWarnings("ALL")
+public class FileTest extends PublisherVerification<Long> {
+
+    public FileTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void fileIsEmittedInChunksPerDemand() throws IOException {
+        Path path = file("abcdefgh".getBytes(StandardCharsets.US_ASCII));
+
+        StepVerifier.create(Fountain.fromFile(path, 3).map(FileTest::ascii), 1)
+                    .expectNext("abc")
+                    .thenRequest(2)
+                    .expectNext("def", "gh")
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void chunksAreReadOnlyViews() throws IOException {
+        Path path = file(new byte[]{1, 2, 3, 4});
+        List<ByteBuffer> chunks = new ArrayList<>();
+
+        StepVerifier.create(Fountain.fromFile(path, 2))
+                    .recordWith(() -> chunks)
+                    .expectNextCount(2)
+                    .expectComplete()
+                    .verify();
+
+        assertTrue(chunks.get(0).isReadOnly());
+        assertEquals(chunks.get(1).remaining(), 2);
+        assertEquals(chunks.get(1).get(0), 3);
+        expectThrows(ReadOnlyBufferException.class, () -> chunks.get(0).put(0, (byte) 9));
+    }
+
+    @Test
+    public void emptyFileCompletesImmediately() throws IOException {
+        StepVerifier.create(Fountain.fromFile(file(new byte[0]), 16), 0)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void missingFileSignalsError() {
+        StepVerifier.create(Fountain.fromFile(Paths.get("does", "not", "exist"), 16))
+                    .expectError(NoSuchFileException.class)
+                    .verify();
+    }
+
+    @Test
+    public void linesAreSplitOnNewlines() throws IOException {
+        Path path = file("first\r\nsecond\n\nfourth".getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(Fountain.fromFileLines(path), 2)
+                    .expectNext("first", "second")
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNext("", "fourth")
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void linesAreDecodedWithCharset() throws IOException {
+        Path path = file("z\u00fcrich\n\u0153uvre\n".getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(Fountain.fromFileLines(path, StandardCharsets.UTF_8))
+                    .expectNext("z\u00fcrich", "\u0153uvre")
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void invalidChunkSizeIsRejected() {
+        expectThrows(IllegalArgumentException.class, () -> Fountain.fromFile(Paths.get("any"), 0));
+    }
+
+    private static String ascii(ByteBuffer buffer) {
+        return StandardCharsets.US_ASCII.decode(buffer).toString();
+    }
+
+    private static Path file(byte[] content) throws IOException {
+        Path path = Files.createTempFile("fountain", ".bin");
+        path.toFile().deleteOnExit();
+        return Files.write(path, content);
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        try {
+            return Fountain.fromFile(file(new byte[(int) elements]), 1).map(buffer -> (long) buffer.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        //one byte per element
+        return 1024;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.fromFile(Paths.get("does", "not", "exist"), 1).map(buffer -> (long) buffer.get());
+    }
+}
@@ -0,0 +1,108 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.Schedulers;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class FlatMapTest extends PublisherVerification<Long> {
+
+    public FlatMapTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void synchronousInnersAreEmittedInOrder() {
+        StepVerifier.create(Fountain.range(1, 3).flatMap(i -> Fountain.range(i * 10, 2)))
+                    .expectNext(10, 11, 20, 21, 30, 31)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void scalarInnersRespectBackPressure() {
+        StepVerifier.create(Fountain.range(0, 10).flatMap(i -> Fountain.just(i), 4, 8), 2)
+                    .expectNext(0, 1)
+                    .thenRequest(3)
+                    .expectNext(2, 3, 4)
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNext(5, 6, 7, 8, 9)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void emptyInnersAreSkipped() {
+        StepVerifier.create(Fountain.range(0, 1000).flatMap(i -> i % 2 == 0 ? Fountain.empty() : Fountain.just(i), 2, 1))
+                    .expectNextCount(500)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void maxConcurrencyIsHonored() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        StepVerifier.create(Fountain.range(0, 50)
+                                    .flatMap(i -> Fountain.range(0, 100)
+                                                          .map(j -> {
+                                                              if (j == 0) {
+                                                                  maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                                                              } else if (j == 99) {
+                                                                  active.decrementAndGet();
+                                                              }
+                                                              return j;
+                                                          })
+                                                          .subscribeOn(Schedulers.parallel()), 3, 16))
+                    .expectNextCount(5000)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+
+        assertTrue(maxActive.get() <= 3);
+    }
+
+    @Test
+    public void mergeOfAsynchronousSources() {
+        Set<Long> seen = new HashSet<>();
+        StepVerifier.create(Fountain.merge(Fountain.rangeLong(0, 10_000).publishOn(Schedulers.parallel()),
+                                           Fountain.rangeLong(10_000, 10_000).publishOn(Schedulers.parallel()),
+                                           Fountain.just(20_000L)))
+                    .thenConsumeWhile(seen::add)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+
+        assertEquals(seen.size(), 20_001);
+    }
+
+    @Test
+    public void innerErrorCancelsEverything() {
+        StepVerifier.create(Fountain.range(0, 10).flatMap(i -> i == 3 ? Fountain.error(new IllegalStateException()) : Fountain.just(i)))
+                    .expectNext(0, 1, 2)
+                    .expectError(IllegalStateException.class)
+                    .verify();
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements)
+                       .flatMap(i -> i % 2 == 0 ? Fountain.just(i) : Fountain.rangeLong(i, 1), 4, 2);
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.error(new RuntimeException());
+    }
+}
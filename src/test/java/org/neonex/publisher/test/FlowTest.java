@@ -0,0 +1,144 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+
+@SuppressWarnings("ALL")
+public class FlowTest extends PublisherVerification<Long> {
+
+    public FlowTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void roundTripUnwraps() {
+        Fountain<Integer> fountain = Fountain.range(0, 10);
+        assertSame(Fountain.fromFlowPublisher(fountain.toFlowPublisher()), fountain);
+
+        Flow.Publisher<Integer> flow = subscriber -> Fountain.range(0, 10).toFlowPublisher().subscribe(subscriber);
+        assertSame(Fountain.fromFlowPublisher(flow).toFlowPublisher(), flow);
+    }
+
+    @Test
+    public void nativeSubscriptionIsNotWrapped() {
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        Fountain.fromArray(new Integer[]{1, 2, 3}).toFlowPublisher().subscribe(new CollectingSubscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+            }
+        });
+        assertEquals(subscription.get().getClass().getSimpleName(), "ArraySubscription");
+
+        Fountain.range(0, 3).toFlowPublisher().subscribe(new CollectingSubscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+            }
+        });
+        assertEquals(subscription.get().getClass().getSimpleName(), "RangeSubscription");
+
+        Fountain.fromInts(new int[]{1, 2, 3}).toFlowPublisher().subscribe(new CollectingSubscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+            }
+        });
+        assertEquals(subscription.get().getClass().getSimpleName(), "IntArraySubscription");
+
+        Fountain.fromIterable(Arrays.asList(1, 2, 3)).toFlowPublisher().subscribe(new CollectingSubscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+            }
+        });
+        assertNotEquals(subscription.get().getClass().getSimpleName(), "IterableSubscription");
+    }
+
+    @Test
+    public void flowSubscriberReceivesEverySignal() throws Exception {
+        CollectingSubscriber<Integer> subscriber = new CollectingSubscriber<>();
+        Fountain.fromIterable(Arrays.asList(1, 2, 3)).map(i -> i * 10).toFlowPublisher().subscribe(subscriber);
+        assertEquals(subscriber.done.get(1, TimeUnit.SECONDS), Arrays.asList(10, 20, 30));
+    }
+
+    @Test
+    public void fromSubmissionPublisher() {
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        StepVerifier.create(Fountain.fromFlowPublisher(publisher).map(i -> i + 1))
+                    .then(() -> {
+                        for (int i = 0; i < 100; i++) {
+                            publisher.submit(i);
+                        }
+                        publisher.close();
+                    })
+                    .expectNextCount(100)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void errorOfFlowPublisherIsForwarded() {
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        StepVerifier.create(Fountain.fromFlowPublisher(publisher))
+                    .then(() -> publisher.closeExceptionally(new IllegalStateException()))
+                    .expectError(IllegalStateException.class)
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        //the lambda hides the adapter, so both directions are exercised
+        Flow.Publisher<Long> flow = Fountain.rangeLong(0, elements).toFlowPublisher();
+        return Fountain.fromFlowPublisher(subscriber -> flow.subscribe(subscriber));
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        Flow.Publisher<Long> flow = Fountain.<Long>error(new RuntimeException()).toFlowPublisher();
+        return Fountain.fromFlowPublisher(subscriber -> flow.subscribe(subscriber));
+    }
+
+    static class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        final CompletableFuture<List<T>> done = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(items);
+        }
+    }
+}
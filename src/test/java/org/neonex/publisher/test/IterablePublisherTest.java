@@ -0,0 +1,80 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.assertEquals;
+
+@SuppressWarnings("ALL")
+public class IterablePublisherTest extends PublisherVerification<Long> {
+
+    public IterablePublisherTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void elementsArePulledOnlyAsDemandArrives() {
+        AtomicLong pulled = new AtomicLong();
+        Fountain<Long> publisher = Fountain.fromIterable(counting(Long.MAX_VALUE, pulled));
+
+        StepVerifier.create(publisher, 2)
+                    .expectNext(0L, 1L)
+                    .then(() -> assertEquals(pulled.get(), 2L))
+                    .thenRequest(1)
+                    .expectNext(2L)
+                    .thenCancel()
+                    .verify();
+
+        assertEquals(pulled.get(), 3L);
+    }
+
+    @Test
+    public void nullElementIsSignalledAsError() {
+        StepVerifier.create(Fountain.fromIterable(Arrays.asList("a", null, "c")))
+                    .expectNext("a")
+                    .expectError(NullPointerException.class)
+                    .verify();
+    }
+
+    @Test
+    public void emptyIterableCompletesWithoutDemand() {
+        StepVerifier.create(Fountain.fromIterable(Arrays.asList()), 0)
+                    .expectComplete()
+                    .verify();
+    }
+
+    private static Iterable<Long> counting(long size, AtomicLong pulled) {
+        return () -> new Iterator<>() {
+            long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Long next() {
+                pulled.incrementAndGet();
+                return next++;
+            }
+        };
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.fromIterable(counting(elements, new AtomicLong()));
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.error(new RuntimeException());
+    }
+}
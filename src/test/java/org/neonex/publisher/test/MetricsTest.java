@@ -0,0 +1,192 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.FountainHooks;
+import org.neonex.publisher.SubscriptionMetrics;
+import org.neonex.publisher.SubscriptionSnapshot;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class MetricsTest {
+
+    private SubscriptionMetrics metrics;
+
+    @BeforeMethod
+    public void install() {
+        metrics = new SubscriptionMetrics();
+        FountainHooks.install(metrics);
+    }
+
+    @AfterMethod
+    public void reset() {
+        FountainHooks.reset();
+        SubscriptionMetrics.unregisterMBean();
+    }
+
+    @Test
+    public void countsRequestsAndEmissionsOfActiveSubscription() {
+        Subscription subscription = subscribe(Fountain.range(0, 100));
+        subscription.request(10);
+        subscription.request(5);
+
+        List<SubscriptionSnapshot> snapshots = metrics.snapshot();
+        assertEquals(snapshots.size(), 1);
+        SubscriptionSnapshot snapshot = snapshots.get(0);
+        assertEquals(snapshot.getSource(), "RangePublisher");
+        assertEquals(snapshot.getRequested(), 15);
+        assertEquals(snapshot.getRequestCalls(), 2);
+        assertEquals(snapshot.getEmitted(), 15);
+        assertEquals(snapshot.getOnNextCount(), 15);
+
+        subscription.cancel();
+        assertEquals(metrics.getActiveSubscriptions(), 0);
+        assertEquals(metrics.getTotalEmitted(), 15);
+        assertEquals(metrics.getTotalRequestCalls(), 2);
+    }
+
+    @Test
+    public void unboundedRequestIsCapped() {
+        Subscription subscription = subscribe(Fountain.fromArray(new Integer[]{1, 2, 3, 4}));
+        subscription.request(2);
+
+        assertEquals(metrics.snapshot().get(0).getRequested(), 2);
+        subscription.request(Long.MAX_VALUE);
+        assertEquals(metrics.getActiveSubscriptions(), 0);
+        assertEquals(metrics.getTotalEmitted(), 4);
+        assertEquals(metrics.getTotalSubscriptions(), 1);
+    }
+
+    @Test
+    public void measuresTimeWaitingForDemand() throws InterruptedException {
+        Subscription subscription = subscribe(Fountain.range(0, 10));
+        subscription.request(1);
+        TimeUnit.MILLISECONDS.sleep(20);
+        subscription.request(1);
+
+        SubscriptionSnapshot snapshot = metrics.snapshot().get(0);
+        assertTrue(snapshot.getDemandWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(20), snapshot.toString());
+        subscription.cancel();
+    }
+
+    @Test
+    public void p99ReflectsSlowOnNext() {
+        AtomicReference<Subscription> upstream = new AtomicReference<>();
+        //one more element than requested keeps the subscription active
+        Fountain.range(0, 101).subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                upstream.set(subscription);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                if (item == 99) {
+                    sleep(10);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        upstream.get().request(100);
+
+        SubscriptionSnapshot snapshot = metrics.snapshot().get(0);
+        assertEquals(snapshot.getOnNextCount(), 100);
+        assertTrue(snapshot.getOnNextMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(10), snapshot.toString());
+        //one slow element out of 100 is the 100th percentile, not the median
+        assertTrue(snapshot.getOnNextP50Nanos() < TimeUnit.MILLISECONDS.toNanos(10), snapshot.toString());
+        assertTrue(snapshot.getOnNextP999Nanos() >= TimeUnit.MILLISECONDS.toNanos(9), snapshot.toString());
+        upstream.get().cancel();
+    }
+
+    @Test
+    public void signalsAreForwarded() {
+        StepVerifier.create(Fountain.fromArray(new Integer[]{1, 2, 3}).map(i -> i * 2))
+                .expectNext(2, 4, 6)
+                .verifyComplete();
+        StepVerifier.create(Fountain.fromIterable(() -> {
+            throw new IllegalStateException();
+        }))
+                .verifyError(IllegalStateException.class);
+        assertEquals(metrics.getActiveSubscriptions(), 0);
+        assertEquals(metrics.getTotalSubscriptions(), 2);
+        assertEquals(metrics.getTotalEmitted(), 3);
+    }
+
+    @Test
+    public void exportedThroughJmx() throws Exception {
+        metrics.registerMBean();
+        Subscription subscription = subscribe(Fountain.range(0, 100));
+        subscription.request(7);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(SubscriptionMetrics.OBJECT_NAME);
+        assertEquals(server.getAttribute(name, "ActiveSubscriptions"), 1);
+        assertEquals(server.getAttribute(name, "TotalEmitted"), 7L);
+        CompositeData[] subscriptions = (CompositeData[]) server.getAttribute(name, "Subscriptions");
+        assertEquals(subscriptions.length, 1);
+        assertEquals(subscriptions[0].get("emitted"), 7L);
+        assertEquals(subscriptions[0].get("source"), "RangePublisher");
+        subscription.cancel();
+    }
+
+    @Test
+    public void noDecorationOnceReset() {
+        FountainHooks.reset();
+        Subscription subscription = subscribe(Fountain.range(0, 10));
+        assertEquals(subscription.getClass().getSimpleName(), "RangeSubscription");
+        assertEquals(metrics.getTotalSubscriptions(), 0);
+    }
+
+    private static Subscription subscribe(Fountain<?> fountain) {
+        AtomicReference<Subscription> upstream = new AtomicReference<>();
+        fountain.subscribe(new Subscriber<Object>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                upstream.set(subscription);
+            }
+
+            @Override
+            public void onNext(Object item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        return upstream.get();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
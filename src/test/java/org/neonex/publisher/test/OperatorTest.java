@@ -0,0 +1,143 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+
+@SuppressWarnings("ALL")
+public class OperatorTest extends PublisherVerification<Long> {
+
+    public OperatorTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void fusedMapFilterOverArray() {
+        StepVerifier.create(Fountain.just(1, 2, 3, 4, 5, 6)
+                                    .filter(i -> i % 2 == 0)
+                                    .map(i -> i * 10)
+                                    .map(String::valueOf), 1)
+                    .expectNext("20")
+                    .thenRequest(1)
+                    .expectNext("40")
+                    .thenRequest(1)
+                    .expectNext("60")
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void filterOverNonArraySourceReplenishesDroppedElements() {
+        List<Integer> source = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        StepVerifier.create(Fountain.fromIterable(source).filter(i -> i % 100 == 0), 1)
+                    .expectNext(0)
+                    .thenRequest(2)
+                    .expectNext(100, 200)
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNext(300, 400, 500, 600, 700, 800, 900)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void mapperReturningNullIsSignalledAsError() {
+        StepVerifier.create(Fountain.just("a", "b").map(s -> s.equals("b") ? null : s))
+                    .expectNext("a")
+                    .expectError(NullPointerException.class)
+                    .verify();
+    }
+
+    @Test
+    public void takeAndSkipSliceTheArray() {
+        StepVerifier.create(Fountain.just(1, 2, 3, 4, 5).map(i -> i + 1).skip(1).take(3))
+                    .expectNext(3, 4, 5)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void skipStillMapsSkippedElements() {
+        AtomicLong calls = new AtomicLong();
+        StepVerifier.create(Fountain.just(1, 2, 3).map(i -> {
+                        calls.incrementAndGet();
+                        if (i == 1) {
+                            throw new IllegalStateException("boom");
+                        }
+                        return i;
+                    }).skip(1))
+                    .expectErrorMessage("boom")
+                    .verify();
+        assertEquals(calls.get(), 1);
+
+        //same signals with or without a filter in the chain
+        StepVerifier.create(Fountain.just(1, 2, 3).map(i -> i == 1 ? null : i).skip(1))
+                    .verifyError(NullPointerException.class);
+        StepVerifier.create(Fountain.just(1, 2, 3).map(i -> i == 1 ? null : i).filter(i -> true).skip(1))
+                    .verifyError(NullPointerException.class);
+
+        calls.set(0);
+        StepVerifier.create(Fountain.just(1, 2, 3).map(i -> calls.incrementAndGet()).skip(2))
+                    .expectNext(3L)
+                    .verifyComplete();
+        assertEquals(calls.get(), 3);
+    }
+
+    @Test
+    public void takeCancelsUpstream() {
+        AtomicLong pulled = new AtomicLong();
+        Fountain<Long> infinite = Fountain.rangeLong(0, Long.MAX_VALUE).map(i -> {
+            pulled.incrementAndGet();
+            return i;
+        });
+
+        StepVerifier.create(infinite.filter(i -> i % 2 == 1).take(3))
+                    .expectNext(1L, 3L, 5L)
+                    .expectComplete()
+                    .verify();
+
+        assertEquals(pulled.get(), 6L);
+    }
+
+    @Test
+    public void skipOverNonArraySource() {
+        StepVerifier.create(Fountain.fromIterable(Arrays.asList(1, 2, 3, 4)).skip(2), 1)
+                    .expectNext(3)
+                    .thenRequest(1)
+                    .expectNext(4)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void takeWhileCompletesOnFirstMismatch() {
+        StepVerifier.create(Fountain.range(1, 10).takeWhile(i -> i < 4))
+                    .expectNext(1, 2, 3)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements)
+                       .map(i -> i + 1)
+                       .filter(i -> i > 0)
+                       .map(i -> i - 1);
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.error(new RuntimeException());
+    }
+}
@@ -0,0 +1,202 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.Schedulers;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+@SuppressWarnings("ALL")
+public class ParallelTest extends PublisherVerification<Long> {
+
+    public ParallelTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void sequentialEmitsEveryItemOfSplitArray() {
+        Integer[] array = IntStream.range(0, 10_000).boxed().toArray(Integer[]::new);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> items = new ArrayList<>();
+
+        StepVerifier.create(Fountain.fromArray(array)
+                                    .parallel(4)
+                                    .runOn(Schedulers.parallel())
+                                    .map(i -> {
+                                        threads.add(Thread.currentThread().getName());
+                                        return i * 2;
+                                    })
+                                    .sequential())
+                    .recordWith(() -> items)
+                    .expectNextCount(10_000)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+
+        assertEquals(items.stream().sorted().collect(Collectors.toList()),
+                     IntStream.range(0, 10_000).map(i -> i * 2).boxed().collect(Collectors.toList()));
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("fountain-parallel")), threads.toString());
+    }
+
+    @Test
+    public void orderedKeepsOriginalOrderDespiteUnevenWork() {
+        List<Integer> expected = IntStream.range(0, 2000).filter(i -> i % 3 != 0).map(i -> i + 1).boxed()
+                                          .collect(Collectors.toList());
+
+        StepVerifier.create(Fountain.range(0, 2000)
+                                    .parallel(4)
+                                    .runOn(Schedulers.parallel(), 16)
+                                    .filter(i -> i % 3 != 0)
+                                    .map(i -> {
+                                        if (i % 7 == 0) {
+                                            LockSupport.parkNanos(10_000);
+                                        }
+                                        return i + 1;
+                                    })
+                                    .ordered(8))
+                    .expectNextSequence(expected)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void sourceWhichCannotBeSplitIsDealtToRails() {
+        List<Integer> source = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        StepVerifier.create(Fountain.fromIterable(source).parallel(3).runOn(Schedulers.parallel()).ordered())
+                    .expectNextSequence(source)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void reduceCombinesTheRails() {
+        StepVerifier.create(Fountain.rangeLong(1, 1000).parallel(4).runOn(Schedulers.parallel()).reduce(Long::sum))
+                    .expectNext(500_500L)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void reduceOfNothingCompletesEmpty() {
+        StepVerifier.create(Fountain.range(0, 10).parallel(2).filter(i -> i < 0).reduce(Integer::sum))
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void reducerErrorIsSignalled() {
+        StepVerifier.create(Fountain.range(0, 10).parallel(2).reduce((a, b) -> {
+                        throw new IllegalStateException("boom");
+                    }))
+                    .expectErrorMessage("boom")
+                    .verify();
+    }
+
+    @Test
+    public void moreRailsThanItems() {
+        StepVerifier.create(Fountain.just(1, 2).parallel(8).ordered())
+                    .expectNext(1, 2)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void errorOfOneRailCancelsTheJoin() {
+        StepVerifier.create(Fountain.range(0, 100)
+                                    .parallel(4)
+                                    .map(i -> {
+                                        if (i == 60) {
+                                            throw new IllegalStateException("rail failed");
+                                        }
+                                        return i;
+                                    })
+                                    .sequential())
+                    .thenConsumeWhile(i -> true)
+                    .expectErrorMessage("rail failed")
+                    .verify();
+    }
+
+    @Test
+    public void invalidRequestOfRailIsSignalledOnce() {
+        List<Object> first = Collections.synchronizedList(new ArrayList<>());
+        List<Object> second = Collections.synchronizedList(new ArrayList<>());
+        Fountain.fromIterable(IntStream.range(0, 100).boxed().collect(Collectors.toList()))
+                .parallel(2)
+                .subscribe(new Subscriber[]{new RecordingSubscriber(first, 0), new RecordingSubscriber(second, Long.MAX_VALUE)});
+
+        assertEquals(first.size(), 1);
+        assertTrue(first.get(0) instanceof IllegalArgumentException);
+        //every item goes to the rail with demand, then it completes
+        assertEquals(second.size(), 101);
+        assertEquals(second.get(100), "complete");
+    }
+
+    @Test
+    public void subscribeRequiresOneSubscriberPerRail() {
+        expectThrows(IllegalArgumentException.class,
+                     () -> Fountain.range(0, 10).parallel(4).subscribe(new Subscriber[3]));
+        expectThrows(IllegalArgumentException.class, () -> Fountain.range(0, 10).parallel(0));
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<Object> {
+        private final List<Object> signals;
+        private final long request;
+
+        RecordingSubscriber(List<Object> signals, long request) {
+            this.signals = signals;
+            this.request = request;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(request);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+        }
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements)
+                       .parallel(4)
+                       .runOn(Schedulers.parallel())
+                       .map(i -> i + 1)
+                       .ordered();
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.<Long>error(new RuntimeException()).parallel(2).sequential();
+    }
+}
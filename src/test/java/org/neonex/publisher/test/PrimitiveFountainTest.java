@@ -0,0 +1,87 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.LongSubscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class PrimitiveFountainTest {
+
+    @Test
+    public void plainSubscriberReceivesBoxedInts() {
+        StepVerifier.create(Fountain.fromInts(new int[]{1, 2, 3}))
+                    .expectSubscription()
+                    .expectNext(1, 2, 3)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void plainSubscriberReceivesBoxedDoubles() {
+        StepVerifier.create(Fountain.fromDoubles(new double[]{0.5, 1.5}), 1)
+                    .expectNext(0.5)
+                    .thenRequest(1)
+                    .expectNext(1.5)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void emptyPrimitiveArrayCompletesImmediately() {
+        StepVerifier.create(Fountain.fromLongs(new long[0]))
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void longSubscriberIsServedWithoutBoxing() {
+        ArrayList<Long> collected = new ArrayList<>();
+        AtomicBoolean boxedPathUsed = new AtomicBoolean();
+        AtomicBoolean completed = new AtomicBoolean();
+        Subscription[] subscription = new Subscription[1];
+
+        Fountain.fromLongs(new long[]{10L, 20L, 30L}).subscribe(new LongSubscriber() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNextLong(long value) {
+                collected.add(value);
+            }
+
+            @Override
+            public void onNext(Long value) {
+                boxedPathUsed.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        assertEquals(collected, Collections.emptyList());
+        subscription[0].request(2);
+        assertEquals(collected, asList(10L, 20L));
+        subscription[0].request(Long.MAX_VALUE);
+        assertEquals(collected, asList(10L, 20L, 30L));
+        assertTrue(completed.get());
+        assertEquals(boxedPathUsed.get(), false);
+    }
+}
@@ -0,0 +1,163 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.ConnectableFountain;
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class PublishTest {
+
+    @Test
+    public void everySubscriberReceivesEveryElementFromOneSubscription() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ConnectableFountain<Integer> publisher = Fountain.fromIterable(counting(asList(1, 2, 3), subscriptions)).publish();
+        Collector<Integer> first = new Collector<>(Long.MAX_VALUE);
+        Collector<Integer> second = new Collector<>(Long.MAX_VALUE);
+
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        assertEquals(first.values, Collections.emptyList());
+
+        publisher.connect();
+
+        assertEquals(first.values, asList(1, 2, 3));
+        assertEquals(second.values, asList(1, 2, 3));
+        assertTrue(first.completed && second.completed);
+        assertEquals(subscriptions.get(), 1);
+    }
+
+    @Test
+    public void sourceRunsAtThePaceOfTheSlowestSubscriber() {
+        ConnectableFountain<Integer> publisher = Fountain.range(0, 100).publish(8);
+        Collector<Integer> slow = new Collector<>(2);
+        Collector<Integer> fast = new Collector<>(Long.MAX_VALUE);
+
+        publisher.subscribe(slow);
+        publisher.subscribe(fast);
+        publisher.connect();
+
+        assertEquals(slow.values, asList(0, 1));
+        assertEquals(fast.values, asList(0, 1));
+
+        slow.subscription.request(3);
+        assertEquals(fast.values, asList(0, 1, 2, 3, 4));
+
+        //once the slow subscriber leaves the fast one is not held back any more
+        slow.subscription.cancel();
+        assertEquals(fast.values.size(), 100);
+        assertTrue(fast.completed);
+    }
+
+    @Test
+    public void shareDisconnectsWhenTheLastSubscriberCancels() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Fountain<Integer> shared = Fountain.fromStream(Stream.iterate(0, i -> i + 1).onClose(() -> closed.set(true))).share();
+        Collector<Integer> first = new Collector<>(3);
+        Collector<Integer> second = new Collector<>(5);
+
+        shared.subscribe(first);
+        assertEquals(first.values, asList(0, 1, 2));
+
+        //hot source, the late subscriber only sees what is dispatched after it joined
+        //and nothing is dispatched while the first one has no demand
+        shared.subscribe(second);
+        assertEquals(second.values, Collections.emptyList());
+
+        first.subscription.cancel();
+        assertEquals(second.values, asList(3, 4, 5, 6, 7));
+        assertEquals(closed.get(), false);
+
+        second.subscription.cancel();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void shareReconnectsAfterTermination() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Fountain<Integer> shared = Fountain.fromIterable(counting(asList(1, 2), subscriptions)).share();
+        Collector<Integer> first = new Collector<>(Long.MAX_VALUE);
+        Collector<Integer> second = new Collector<>(Long.MAX_VALUE);
+
+        shared.subscribe(first);
+        shared.subscribe(second);
+
+        assertEquals(first.values, asList(1, 2));
+        assertEquals(second.values, asList(1, 2));
+        assertEquals(subscriptions.get(), 2);
+    }
+
+    @Test
+    public void subscribersCanJoinAndLeaveConcurrently() throws InterruptedException {
+        ConnectableFountain<Integer> publisher = Fountain.range(0, 200_000).publish(64);
+        Collector<Integer> main = new Collector<>(Long.MAX_VALUE);
+        publisher.subscribe(main);
+
+        Thread churn = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                Collector<Integer> transient_ = new Collector<>(Long.MAX_VALUE);
+                publisher.subscribe(transient_);
+                transient_.subscription.cancel();
+            }
+        });
+        churn.start();
+        publisher.connect();
+        churn.join();
+
+        assertEquals(main.values, IntStream.range(0, 200_000).boxed().collect(java.util.stream.Collectors.toList()));
+    }
+
+    private static <T> Iterable<T> counting(List<T> values, AtomicInteger subscriptions) {
+        return () -> {
+            subscriptions.incrementAndGet();
+            Iterator<T> iterator = values.iterator();
+            return iterator;
+        };
+    }
+
+    private static final class Collector<T> implements Subscriber<T> {
+        final List<T> values = Collections.synchronizedList(new ArrayList<>());
+        final long initialRequest;
+        volatile Subscription subscription;
+        volatile boolean completed;
+
+        Collector(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+            s.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(T t) {
+            values.add(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            t.printStackTrace();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+@SuppressWarnings("ALL")
+public class RangePublisherTest extends PublisherVerification<Long> {
+
+    public RangePublisherTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void rangeEmitsConsecutiveIntegersUnderBackPressure() {
+        StepVerifier.create(Fountain.range(5, 4), 2)
+                    .expectNext(5, 6)
+                    .thenRequest(10)
+                    .expectNext(7, 8)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void rangeCanEndAtMaxValue() {
+        StepVerifier.create(Fountain.range(Integer.MAX_VALUE - 1, 2))
+                    .expectNext(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)
+                    .expectComplete()
+                    .verify();
+        StepVerifier.create(Fountain.rangeLong(Long.MAX_VALUE, 1))
+                    .expectNext(Long.MAX_VALUE)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rangeMustNotOverflow() {
+        Fountain.range(Integer.MAX_VALUE, 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeCountIsRejected() {
+        Fountain.rangeLong(0, -1);
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements);
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.error(new RuntimeException());
+    }
+}
@@ -0,0 +1,189 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.FountainSink;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+@SuppressWarnings("ALL")
+public class ReduceTest extends PublisherVerification<Long> {
+
+    public ReduceTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void reduceOfArray() {
+        Integer[] array = IntStream.rangeClosed(1, 100).boxed().toArray(Integer[]::new);
+        StepVerifier.create(Fountain.fromArray(array).reduce(Integer::sum))
+                    .expectNext(5050)
+                    .verifyComplete();
+        StepVerifier.create(Fountain.fromArray(array).skip(90).reduce(Integer::sum))
+                    .expectNext(955)
+                    .verifyComplete();
+        StepVerifier.create(Fountain.fromArray(new Integer[0]).reduce(Integer::sum)).verifyComplete();
+    }
+
+    @Test
+    public void reduceOfOtherSources() {
+        StepVerifier.create(Fountain.fromIterable(Arrays.asList("a", "b", "c")).reduce(String::concat))
+                    .expectNext("abc")
+                    .verifyComplete();
+        StepVerifier.create(Fountain.range(0, 10).filter(i -> i < 0).reduce(Integer::sum)).verifyComplete();
+    }
+
+    @Test
+    public void reduceWaitsForDemand() {
+        StepVerifier.create(Fountain.fromArray(new Integer[]{1, 2}).reduce(Integer::sum), 0)
+                    .expectSubscription()
+                    .expectNoEvent(Duration.ofMillis(10))
+                    .thenRequest(1)
+                    .expectNext(3)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void reduceErrors() {
+        StepVerifier.create(Fountain.fromArray(new Integer[]{1, null, 3}).reduce(Integer::sum))
+                    .verifyError(NullPointerException.class);
+        StepVerifier.create(Fountain.fromArray(new Integer[]{1, 2}).reduce((a, b) -> null))
+                    .verifyError(NullPointerException.class);
+
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set).reduce((a, b) -> {
+                        throw new IllegalStateException("boom");
+                    }))
+                    .then(() -> {
+                        sink.get().next(1);
+                        sink.get().next(2);
+                    })
+                    .expectErrorMessage("boom")
+                    .verify();
+        assertTrue(sink.get().isCancelled());
+    }
+
+    @Test
+    public void largeArrayIsReducedInParallelInOrder() {
+        //above the default parallel threshold of 65536
+        Integer[] array = IntStream.range(0, 300_000).boxed().toArray(Integer[]::new);
+        StepVerifier.create(Fountain.fromArray(array).map(i -> i).reduce(Integer::sum))
+                    .expectNext(IntStream.range(0, 300_000).sum())
+                    .verifyComplete();
+        StepVerifier.create(Fountain.fromArray(array).reduce(Integer::sum))
+                    .expectNext(IntStream.range(0, 300_000).sum())
+                    .verifyComplete();
+        //associative but not commutative
+        StepVerifier.create(Fountain.fromArray(array).reduce((a, b) -> b))
+                    .expectNext(299_999)
+                    .verifyComplete();
+        List<Integer> list = Fountain.fromArray(array).toList().blockLast();
+        assertEquals(list, Arrays.asList(array));
+
+        array[200_000] = null;
+        StepVerifier.create(Fountain.fromArray(array).reduce(Integer::sum)).verifyError(NullPointerException.class);
+    }
+
+    @Test
+    public void countOfEverySource() {
+        StepVerifier.create(Fountain.fromArray(new Integer[]{1, 2, 3}).count()).expectNext(3L).verifyComplete();
+        StepVerifier.create(Fountain.fromArray(new Integer[]{1, null}).count()).verifyError(NullPointerException.class);
+        StepVerifier.create(Fountain.range(5, 10).count()).expectNext(10L).verifyComplete();
+        StepVerifier.create(Fountain.rangeLong(5, 1_000_000_000_000L).count()).expectNext(1_000_000_000_000L).verifyComplete();
+        StepVerifier.create(Fountain.fromInts(new int[]{1, 2}).count()).expectNext(2L).verifyComplete();
+        StepVerifier.create(Fountain.fromIterable(Arrays.asList(1, 2, 3, 4)).count()).expectNext(4L).verifyComplete();
+        StepVerifier.create(Fountain.empty().count()).expectNext(0L).verifyComplete();
+    }
+
+    @Test
+    public void sumOfPrimitiveSources() {
+        int[] ints = IntStream.range(0, 200_000).toArray();
+        long[] longs = LongStream.range(0, 200_000).map(i -> i * 1_000_003).toArray();
+        double[] doubles = {0.5, 1.5, 2.0};
+
+        StepVerifier.create(Fountain.sum(Fountain.fromInts(ints))).expectNext(IntStream.of(ints).asLongStream().sum()).verifyComplete();
+        StepVerifier.create(Fountain.sum(Fountain.fromLongs(longs))).expectNext(LongStream.of(longs).sum()).verifyComplete();
+        StepVerifier.create(Fountain.sumDouble(Fountain.fromDoubles(doubles))).expectNext(4.0).verifyComplete();
+        StepVerifier.create(Fountain.sum(Fountain.range(-10, 1000))).expectNext(LongStream.range(-10, 990).sum()).verifyComplete();
+        StepVerifier.create(Fountain.sum(Fountain.rangeLong(7, 1001))).expectNext(LongStream.range(7, 1008).sum()).verifyComplete();
+        //the closed form wraps around like the loop does
+        long start = Long.MAX_VALUE - 100;
+        StepVerifier.create(Fountain.sum(Fountain.rangeLong(start, 101)))
+                    .expectNext(LongStream.rangeClosed(start, Long.MAX_VALUE).sum())
+                    .verifyComplete();
+        StepVerifier.create(Fountain.sum(Fountain.fromInts(ints).filter(i -> i % 2 == 0)))
+                    .expectNext(IntStream.of(ints).filter(i -> i % 2 == 0).asLongStream().sum())
+                    .verifyComplete();
+        StepVerifier.create(Fountain.sum(Fountain.fromIterable(Arrays.<Number>asList(1, 2L, 3.9)))).expectNext(6L).verifyComplete();
+        //any publisher of numbers, not only a Fountain
+        StepVerifier.create(Fountain.sumDouble(Flux.just(0.5, 1.5))).expectNext(2.0).verifyComplete();
+        StepVerifier.create(Fountain.sum(Fountain.<Integer>empty())).expectNext(0L).verifyComplete();
+    }
+
+    @Test
+    public void collectAndToArray() {
+        StepVerifier.create(Fountain.fromArray(new String[]{"a", "b", "c"}).collect(Collectors.joining(",")))
+                    .expectNext("a,b,c")
+                    .verifyComplete();
+        StepVerifier.create(Fountain.range(0, 3).map(String::valueOf).collect(Collectors.joining(",")))
+                    .expectNext("0,1,2")
+                    .verifyComplete();
+        StepVerifier.create(Fountain.range(0, 3).toList()).expectNext(Arrays.asList(0, 1, 2)).verifyComplete();
+
+        Integer[] copy = Fountain.fromArray(new Integer[]{1, 2, 3}).skip(1).toArray(Integer[]::new).blockLast();
+        assertEquals(copy, new Integer[]{2, 3});
+        Integer[] collected = Fountain.range(0, 3).toArray(Integer[]::new).blockLast();
+        assertEquals(collected, new Integer[]{0, 1, 2});
+    }
+
+    @Test
+    public void toFutureCompletesWithResult() throws Exception {
+        assertEquals(Fountain.range(0, 10).reduce(Integer::sum).toFuture().get(), Integer.valueOf(45));
+        assertNull(Fountain.empty().toFuture().get());
+        ExecutionException e = expectThrows(ExecutionException.class,
+                () -> Fountain.error(new IllegalStateException()).toFuture().get());
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void cancellingFutureCancelsSubscription() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        CompletableFuture<Long> future = Fountain.<Integer>create(sink::set).count().toFuture();
+        sink.get().next(1);
+        assertTrue(future.cancel(false));
+        assertTrue(sink.get().isCancelled());
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, 10).filter(i -> elements != 0).reduce(Long::sum);
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return 1;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.<Long>error(new RuntimeException()).reduce(Long::sum);
+    }
+}
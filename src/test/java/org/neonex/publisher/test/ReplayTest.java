@@ -0,0 +1,122 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.Schedulers;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+
+@SuppressWarnings("ALL")
+public class ReplayTest extends PublisherVerification<Long> {
+
+    public ReplayTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void cacheSubscribesToTheSourceOnce() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Fountain<Integer> cached = Fountain.fromIterable(() -> {
+            subscriptions.incrementAndGet();
+            return IntStream.range(0, 200).iterator();
+        }).cache();
+
+        StepVerifier.create(cached)
+                    .expectNextCount(200)
+                    .expectComplete()
+                    .verify();
+        StepVerifier.create(cached, 1)
+                    .expectNext(0)
+                    .thenRequest(198)
+                    .expectNextCount(198)
+                    .thenRequest(1)
+                    .expectNext(199)
+                    .expectComplete()
+                    .verify();
+
+        assertEquals(subscriptions.get(), 1);
+    }
+
+    @Test
+    public void replayKeepsOnlyTheLastItems() {
+        Fountain<Integer> replayed = Fountain.range(0, 1000).replay(100);
+
+        StepVerifier.create(replayed)
+                    .expectNextCount(1000)
+                    .expectComplete()
+                    .verify();
+        StepVerifier.create(replayed, 1)
+                    .expectNext(900)
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNextCount(99)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void replayEvictsOldItems() throws InterruptedException {
+        Fountain<Integer> replayed = Fountain.range(0, 10).replay(100, Duration.ofMillis(100));
+
+        StepVerifier.create(replayed)
+                    .expectNextCount(10)
+                    .expectComplete()
+                    .verify();
+
+        Thread.sleep(200);
+        StepVerifier.create(replayed)
+                    .expectComplete()
+                    .verify();
+    }
+
+    @Test
+    public void errorIsReplayed() {
+        Fountain<Integer> replayed = Fountain.merge(Fountain.just(1), Fountain.<Integer>error(new IllegalStateException())).cache();
+
+        StepVerifier.create(replayed)
+                    .expectNext(1)
+                    .expectError(IllegalStateException.class)
+                    .verify();
+        StepVerifier.create(replayed)
+                    .expectNext(1)
+                    .expectError(IllegalStateException.class)
+                    .verify();
+    }
+
+    @Test
+    public void lateSubscriberCatchesUpWithAnAsynchronousSource() {
+        Fountain<Long> cached = Fountain.rangeLong(0, 100_000).publishOn(Schedulers.parallel()).cache();
+
+        StepVerifier.create(cached.take(10))
+                    .expectNextCount(10)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+        StepVerifier.create(cached)
+                    .expectNextCount(100_000)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        //the source is requested unbounded, an infinite one would never stop filling the cache
+        return 1024;
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements).cache();
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.<Long>error(new RuntimeException()).cache();
+    }
+}
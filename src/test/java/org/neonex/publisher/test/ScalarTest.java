@@ -0,0 +1,192 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+@SuppressWarnings("ALL")
+public class ScalarTest extends PublisherVerification<Long> {
+
+    public ScalarTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void justSingleValue() {
+        StepVerifier.create(Fountain.just("a"), 0)
+                    .expectSubscription()
+                    .expectNoEvent(Duration.ofMillis(10))
+                    .thenRequest(1)
+                    .expectNext("a")
+                    .verifyComplete();
+        StepVerifier.create(Fountain.just((String) null)).verifyError(NullPointerException.class);
+    }
+
+    @Test
+    public void requestFromOnNextDoesNotEmitAgain() {
+        List<Object> signals = new ArrayList<>();
+        Fountain.just(1).subscribe(new Subscriber<Integer>() {
+            Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                signals.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("complete");
+            }
+        });
+        assertEquals(signals, Arrays.asList(1, "complete"));
+    }
+
+    @Test
+    public void cancelInOnNextSuppressesCompletion() {
+        List<Object> signals = new ArrayList<>();
+        Fountain.just(1).subscribe(new Subscriber<Integer>() {
+            Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                signals.add(item);
+                subscription.cancel();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("complete");
+            }
+        });
+        assertEquals(signals, Arrays.asList(1));
+    }
+
+    @Test
+    public void scalarOperators() {
+        StepVerifier.create(Fountain.just(2).map(i -> i * 10).filter(i -> i > 5).map(String::valueOf))
+                    .expectNext("20")
+                    .verifyComplete();
+        StepVerifier.create(Fountain.just(2).filter(i -> i > 5)).verifyComplete();
+        StepVerifier.create(Fountain.just(2).map(i -> null)).verifyError(NullPointerException.class);
+        StepVerifier.create(Fountain.just(2).skip(1)).verifyComplete();
+        StepVerifier.create(Fountain.just(2).take(5)).expectNext(2).verifyComplete();
+        assertEquals(Fountain.just(2).blockLast(), Integer.valueOf(2));
+    }
+
+    @Test
+    public void flatMapOfScalarSubscribesToMappedPublisher() {
+        StepVerifier.create(Fountain.just(3).flatMap(i -> Fountain.range(0, i)))
+                    .expectNext(0, 1, 2)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void fromCallableIsCalledPerSubscription() {
+        AtomicInteger calls = new AtomicInteger();
+        Fountain<Integer> fountain = Fountain.fromCallable(calls::incrementAndGet);
+        StepVerifier.create(fountain).expectNext(1).verifyComplete();
+        StepVerifier.create(fountain).expectNext(2).verifyComplete();
+        StepVerifier.create(fountain.map(i -> i * 10)).expectNext(30).verifyComplete();
+    }
+
+    @Test
+    public void fromCallableNullAndError() {
+        StepVerifier.create(Fountain.fromCallable(() -> null)).verifyComplete();
+        StepVerifier.create(Fountain.fromCallable(() -> {
+            throw new IOException();
+        })).verifyError(IOException.class);
+    }
+
+    @Test
+    public void fromCallableWaitsForDemand() {
+        StepVerifier.create(Fountain.fromCallable(() -> "v"), 0)
+                    .expectSubscription()
+                    .expectNoEvent(Duration.ofMillis(10))
+                    .thenRequest(1)
+                    .expectNext("v")
+                    .verifyComplete();
+    }
+
+    @Test
+    public void flatMapCallsCallableInnerInPlace() {
+        StepVerifier.create(Fountain.range(0, 100).flatMap(i -> Fountain.fromCallable(() -> i % 2 == 0 ? i : null)))
+                    .expectNextCount(50)
+                    .verifyComplete();
+        StepVerifier.create(Fountain.range(0, 10).flatMap(i -> Fountain.fromCallable(() -> {
+            if (i == 3) {
+                throw new IllegalStateException();
+            }
+            return i;
+        })))
+                    .expectNext(0, 1, 2)
+                    .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    public void deferCallsSupplierPerSubscription() {
+        AtomicInteger calls = new AtomicInteger();
+        Fountain<Integer> fountain = Fountain.defer(() -> Fountain.range(0, calls.incrementAndGet()));
+        StepVerifier.create(fountain).expectNext(0).verifyComplete();
+        StepVerifier.create(fountain).expectNext(0, 1).verifyComplete();
+        StepVerifier.create(Fountain.defer(() -> null)).verifyError(NullPointerException.class);
+    }
+
+    @Test
+    public void blockingOfScalar() {
+        assertEquals(Fountain.just("x").blockFirst(), "x");
+        assertNull(Fountain.fromCallable(() -> null).blockFirst());
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return elements == 0 ? Fountain.empty() : Fountain.just(0L);
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return 1;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.error(new RuntimeException());
+    }
+}
@@ -0,0 +1,147 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.Scheduler;
+import org.neonex.publisher.Schedulers;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+@SuppressWarnings("ALL")
+public class SchedulerTest extends PublisherVerification<Long> {
+
+    public SchedulerTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void publishOnMovesSignalsToTheScheduler() {
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> emitter = new AtomicReference<>();
+
+        StepVerifier.create(Fountain.range(0, 1000)
+                                    .publishOn(Schedulers.single(), 16)
+                                    .map(i -> {
+                                        emitter.set(Thread.currentThread());
+                                        return i;
+                                    })
+                                    .filter(i -> i == 999))
+                    .expectNext(999)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+
+        assertNotEquals(emitter.get(), caller);
+        assertTrue(emitter.get().getName().startsWith("fountain-single"));
+    }
+
+    @Test
+    public void publishOnRespectsBackPressure() {
+        StepVerifier.create(Fountain.rangeLong(0, 100).publishOn(Schedulers.parallel(), 8), 3)
+                    .expectNext(0L, 1L, 2L)
+                    .expectNoEvent(Duration.ofMillis(50))
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNextCount(97)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void subscribeOnEmitsFromTheScheduler() {
+        Scheduler scheduler = Schedulers.newSingle("subscribe-on");
+        try {
+            AtomicReference<String> emitter = new AtomicReference<>();
+            StepVerifier.create(Fountain.just(1, 2, 3)
+                                        .map(i -> {
+                                            emitter.set(Thread.currentThread().getName());
+                                            return i;
+                                        })
+                                        .subscribeOn(scheduler), 1)
+                        .expectNext(1)
+                        .thenRequest(2)
+                        .expectNext(2, 3)
+                        .expectComplete()
+                        .verify(Duration.ofSeconds(5));
+
+            assertTrue(emitter.get().startsWith("subscribe-on"));
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    public void parallelSchedulerSerializesTheDrainLoop() {
+        ConcurrentHashMap<Long, Boolean> seen = new ConcurrentHashMap<>();
+        StepVerifier.create(Fountain.rangeLong(0, 100_000)
+                                    .subscribeOn(Schedulers.parallel())
+                                    .publishOn(Schedulers.parallel(), 32))
+                    .thenConsumeWhile(i -> seen.put(i, true) == null)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+
+        assertEquals(seen.size(), 100_000);
+    }
+
+    @Test
+    public void exceptionOfTaskIsNotSwallowed() throws InterruptedException {
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        AtomicReference<Throwable> uncaught = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) -> {
+            uncaught.set(e);
+            latch.countDown();
+        });
+        Scheduler scheduler = Schedulers.newSingle("throwing");
+        try {
+            scheduler.schedule(() -> {
+                throw new IllegalStateException("boom");
+            });
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(uncaught.get().getMessage(), "boom");
+        } finally {
+            scheduler.dispose();
+            Thread.setDefaultUncaughtExceptionHandler(previous);
+        }
+    }
+
+    @Test
+    public void virtualSchedulerWhenSupported() {
+        if (!Schedulers.isVirtualThreadSupported()) {
+            expectThrows(UnsupportedOperationException.class, Schedulers::newVirtual);
+            return;
+        }
+        Scheduler scheduler = Schedulers.newVirtual();
+        try {
+            StepVerifier.create(Fountain.range(0, 10).publishOn(scheduler))
+                        .expectNextCount(10)
+                        .expectComplete()
+                        .verify(Duration.ofSeconds(5));
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements)
+                       .subscribeOn(Schedulers.parallel())
+                       .publishOn(Schedulers.single(), 16);
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.<Long>error(new RuntimeException()).publishOn(Schedulers.single());
+    }
+}
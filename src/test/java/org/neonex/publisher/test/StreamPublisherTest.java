@@ -0,0 +1,87 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class StreamPublisherTest extends PublisherVerification<Long> {
+
+    public StreamPublisherTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void streamIsPulledLazilyAndClosedOnCancel() {
+        AtomicLong pulled = new AtomicLong();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Long> stream = Stream.iterate(0L, i -> i + 1)
+                                    .peek(i -> pulled.incrementAndGet())
+                                    .onClose(() -> closed.set(true));
+
+        StepVerifier.create(Fountain.fromStream(stream), 3)
+                    .expectNext(0L, 1L, 2L)
+                    .then(() -> assertFalse(closed.get()))
+                    .thenCancel()
+                    .verify();
+
+        assertEquals(pulled.get(), 3L);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void unboundedDemandCompletesAndClosesStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<String> stream = Stream.of("a", "b", "c").onClose(() -> closed.set(true));
+
+        StepVerifier.create(Fountain.fromStream(stream))
+                    .expectNext("a", "b", "c")
+                    .expectComplete()
+                    .verify();
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void secondSubscriberReceivesError() {
+        Fountain<String> publisher = Fountain.fromStream(Stream.of("a"));
+
+        StepVerifier.create(publisher)
+                    .expectNext("a")
+                    .expectComplete()
+                    .verify();
+        StepVerifier.create(publisher)
+                    .expectError(IllegalStateException.class)
+                    .verify();
+    }
+
+    @Test
+    public void nullElementIsSignalledAsError() {
+        StepVerifier.create(Fountain.fromSpliterator(Stream.of("a", null).spliterator()))
+                    .expectNext("a")
+                    .expectError(NullPointerException.class)
+                    .verify();
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.fromStream(LongStream.range(0, elements).boxed());
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.error(new RuntimeException());
+    }
+}
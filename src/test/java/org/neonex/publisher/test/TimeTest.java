@@ -0,0 +1,235 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Disposable;
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.FountainSink;
+import org.neonex.publisher.Scheduler;
+import org.neonex.publisher.Schedulers;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class TimeTest extends PublisherVerification<Long> {
+
+    public TimeTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void intervalEmitsTicksInOrder() {
+        long start = System.nanoTime();
+        StepVerifier.create(Fountain.interval(Duration.ofMillis(10)).take(5))
+                    .expectNext(0L, 1L, 2L, 3L, 4L)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void intervalTickWithoutDemandFails() {
+        StepVerifier.create(Fountain.interval(Duration.ofMillis(5)), 2)
+                    .expectNext(0L, 1L)
+                    .expectErrorMessage("Could not emit tick 2 due to lack of requests")
+                    .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void invalidRequestDuringTickIsSignalledAfterIt() throws InterruptedException {
+        List<Object> signals = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        Fountain.interval(Duration.ofMillis(5)).subscribe(new Subscriber<Long>() {
+            Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Long tick) {
+                signals.add(tick);
+                if (tick == 2) {
+                    subscription.request(0);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add(throwable);
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        //no tick after the error
+        Thread.sleep(30);
+        assertEquals(signals.size(), 4);
+        assertEquals(signals.subList(0, 3), Arrays.asList(0L, 1L, 2L));
+        assertTrue(signals.get(3) instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void timerEmitsZeroAfterDelay() {
+        long start = System.nanoTime();
+        StepVerifier.create(Fountain.timer(Duration.ofMillis(30)))
+                    .expectNext(0L)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    public void timerWithoutDemandFails() {
+        StepVerifier.create(Fountain.timer(Duration.ofMillis(5)), 0)
+                    .expectError(IllegalStateException.class)
+                    .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void cancelledTimerDoesNotFire() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        StepVerifier.create(Fountain.timer(Duration.ofMillis(20), Schedulers.single()).map(v -> fired.incrementAndGet()))
+                    .thenCancel()
+                    .verify();
+        Disposable task = Schedulers.single().schedule(fired::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        task.dispose();
+        Thread.sleep(100);
+        assertEquals(fired.get(), 0);
+    }
+
+    @Test
+    public void manyTimeoutsExpireOnce() throws InterruptedException {
+        int count = 100_000;
+        CountDownLatch latch = new CountDownLatch(count / 2);
+        AtomicInteger fired = new AtomicInteger();
+        List<Disposable> cancelled = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            //delays up to 1.5s span three revolutions of the wheel, the cancelled ones are long enough to be cancelled in time
+            long delay = i % 2 == 0 ? ThreadLocalRandom.current().nextLong(1500) : 500 + ThreadLocalRandom.current().nextLong(1000);
+            Disposable task = Schedulers.parallel().schedule(() -> {
+                fired.incrementAndGet();
+                latch.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+            if (i % 2 == 1) {
+                cancelled.add(task);
+            }
+        }
+        cancelled.forEach(Disposable::dispose);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        //past the longest delay
+        Thread.sleep(Math.max(0, 1700 - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        assertEquals(fired.get(), count / 2);
+    }
+
+    @Test
+    public void delayElementsKeepsOrder() {
+        long start = System.nanoTime();
+        StepVerifier.create(Fountain.range(0, 5).delayElements(Duration.ofMillis(20)))
+                    .expectNext(0, 1, 2, 3, 4)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void delayElementsWaitsForDemand() {
+        StepVerifier.create(Fountain.range(0, 3).delayElements(Duration.ofMillis(5)), 1)
+                    .expectNext(0)
+                    .expectNoEvent(Duration.ofMillis(50))
+                    .thenRequest(2)
+                    .expectNext(1, 2)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void delayElementsCompletesWhenRequestIsAnsweredWithCompletion() {
+        //the filter drops 3, so the request(1) made after 2 is answered by onComplete() alone
+        StepVerifier.create(Fountain.fromIterable(Arrays.asList(1, 2, 3)).filter(i -> i < 3).delayElements(Duration.ofMillis(10)))
+                    .expectNext(1, 2)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void delayElementsDeliversErrorRightAway() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set).delayElements(Duration.ofSeconds(10)))
+                    .then(() -> {
+                        sink.get().next(1);
+                        sink.get().error(new IllegalStateException("boom"));
+                    })
+                    .expectErrorMessage("boom")
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void timeoutFiresWhenSourceIsSilent() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.<Integer>create(sink::set).timeout(Duration.ofMillis(50)))
+                    .then(() -> sink.get().next(1))
+                    .expectNext(1)
+                    .expectError(TimeoutException.class)
+                    .verify(Duration.ofSeconds(10));
+        assertTrue(sink.get().isCancelled());
+    }
+
+    @Test
+    public void timeoutRestartsOnEveryItem() {
+        StepVerifier.create(Fountain.range(0, 5).delayElements(Duration.ofMillis(20)).timeout(Duration.ofMillis(200)))
+                    .expectNext(0, 1, 2, 3, 4)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void disposedSchedulerSignalsError() {
+        Scheduler disposed = Schedulers.newSingle("time-test-disposed");
+        disposed.dispose();
+        StepVerifier.create(Fountain.timer(Duration.ofMillis(10), disposed))
+                    .verifyError(RejectedExecutionException.class);
+        StepVerifier.create(Fountain.range(0, 3).delayElements(Duration.ofMillis(10), disposed))
+                    .verifyError(RejectedExecutionException.class);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidPeriod() {
+        Fountain.interval(Duration.ZERO);
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.rangeLong(0, elements).timeout(Duration.ofSeconds(10));
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.<Long>error(new RuntimeException()).timeout(Duration.ofSeconds(10));
+    }
+}
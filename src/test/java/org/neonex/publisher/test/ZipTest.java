@@ -0,0 +1,175 @@
+package org.neonex.publisher.test;
+
+import org.neonex.publisher.Fountain;
+import org.neonex.publisher.FountainSink;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("ALL")
+public class ZipTest extends PublisherVerification<Long> {
+
+    public ZipTest() {
+        super(new TestEnvironment());
+    }
+
+    @Test
+    public void zipOfArraysStopsAtShortest() {
+        Fountain<Integer> first = Fountain.fromArray(new Integer[]{1, 2, 3, 4});
+        Fountain<String> second = Fountain.fromArray(new String[]{"a", "b", "c"});
+        StepVerifier.create(Fountain.zip(first, second, (i, s) -> s + i))
+                    .expectNext("a1", "b2", "c3")
+                    .verifyComplete();
+        StepVerifier.create(Fountain.zip(first.skip(2), second, (i, s) -> s + i))
+                    .expectNext("a3", "b4")
+                    .verifyComplete();
+    }
+
+    @Test
+    public void zipOfArraysRespectsDemand() {
+        Integer[] array = IntStream.range(0, 10).boxed().toArray(Integer[]::new);
+        StepVerifier.create(Fountain.zip(Fountain.fromArray(array), Fountain.fromArray(array), Integer::sum), 2)
+                    .expectNext(0, 2)
+                    .expectNoEvent(Duration.ofMillis(10))
+                    .thenRequest(3)
+                    .expectNext(4, 6, 8)
+                    .thenCancel()
+                    .verify();
+    }
+
+    @Test
+    public void zipOfAnySources() {
+        StepVerifier.create(Fountain.zip(Fountain.range(0, 1000), Fountain.fromIterable(Collections.nCopies(500, 1)), Integer::sum))
+                    .expectNextSequence(IntStream.range(1, 501).boxed().collect(Collectors.toList()))
+                    .verifyComplete();
+        StepVerifier.create(Fountain.zip(row -> Arrays.asList(row), 16,
+                            Fountain.range(0, 3), Fountain.fromArray(new String[]{"a", "b", "c"}), Fountain.just('x', 'y', 'z')))
+                    .expectNext(Arrays.asList(0, "a", 'x'), Arrays.asList(1, "b", 'y'), Arrays.asList(2, "c", 'z'))
+                    .verifyComplete();
+        StepVerifier.create(Fountain.zip(Fountain.range(0, 3), Fountain.empty(), (a, b) -> a)).verifyComplete();
+    }
+
+    @Test
+    public void zipRequestsInBatches() {
+        List<Long> requests = Collections.synchronizedList(new ArrayList<>());
+        Publisher<Integer> source = Flux.range(0, 100).doOnRequest(requests::add);
+        StepVerifier.create(Fountain.zip(row -> row[0], 16, source, Fountain.range(0, 100)))
+                    .expectNextCount(100)
+                    .verifyComplete();
+        //16 upfront, then batches of 12
+        assertEquals(requests.get(0), Long.valueOf(16));
+        assertTrue(requests.subList(1, requests.size()).stream().allMatch(n -> n == 12));
+        //one batch for every 12 rows zipped
+        assertEquals(requests.size(), 1 + 100 / 12);
+    }
+
+    @Test
+    public void zipCompletesWhenSourceRunsDry() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.zip(Fountain.<Integer>create(sink::set), Fountain.range(0, 10), Integer::sum))
+                    .then(() -> {
+                        sink.get().next(10);
+                        sink.get().complete();
+                    })
+                    .expectNext(10)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void zipErrors() {
+        StepVerifier.create(Fountain.zip(Fountain.range(0, 3), Fountain.error(new IllegalStateException("boom")), (a, b) -> a))
+                    .expectErrorMessage("boom")
+                    .verify();
+        StepVerifier.create(Fountain.zip(Fountain.fromArray(new Integer[]{1, null}), Fountain.fromArray(new Integer[]{1, 2}), Integer::sum))
+                    .expectNext(2)
+                    .verifyError(NullPointerException.class);
+        StepVerifier.create(Fountain.zip(Fountain.range(0, 3), Fountain.range(0, 3), (a, b) -> null))
+                    .verifyErrorMessage("The combiner returned a null value");
+
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.zip(Fountain.<Integer>create(sink::set), Fountain.range(0, 3), (a, b) -> {
+                        throw new IllegalStateException("combiner");
+                    }))
+                    .then(() -> sink.get().next(1))
+                    .expectErrorMessage("combiner")
+                    .verify();
+        assertTrue(sink.get().isCancelled());
+    }
+
+    @Test
+    public void combineLatestEmitsOnEveryItem() {
+        AtomicReference<FountainSink<Integer>> first = new AtomicReference<>();
+        AtomicReference<FountainSink<String>> second = new AtomicReference<>();
+        StepVerifier.create(Fountain.combineLatest(Fountain.<Integer>create(first::set), Fountain.<String>create(second::set),
+                            (i, s) -> s + i))
+                    .then(() -> {
+                        first.get().next(1);
+                        first.get().next(2);
+                        second.get().next("a");
+                    })
+                    .expectNext("a2")
+                    .then(() -> first.get().next(3))
+                    .expectNext("a3")
+                    .then(() -> second.get().next("b"))
+                    .expectNext("b3")
+                    .then(() -> {
+                        first.get().complete();
+                        second.get().next("c");
+                        second.get().complete();
+                    })
+                    .expectNext("c3")
+                    .verifyComplete();
+    }
+
+    @Test
+    public void combineLatestCompletesOnEmptySource() {
+        AtomicReference<FountainSink<Integer>> sink = new AtomicReference<>();
+        StepVerifier.create(Fountain.combineLatest(Fountain.<Integer>create(sink::set), Fountain.empty(), (a, b) -> a))
+                    .verifyComplete();
+        assertTrue(sink.get().isCancelled());
+    }
+
+    @Test
+    public void combineLatestRespectsDemandAndErrors() {
+        StepVerifier.create(Fountain.combineLatest(row -> (Integer) row[0] + (Integer) row[1], 4,
+                            Fountain.just(10), Fountain.range(0, 10)), 3)
+                    .expectNext(10, 11, 12)
+                    .expectNoEvent(Duration.ofMillis(10))
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNextCount(7)
+                    .verifyComplete();
+        StepVerifier.create(Fountain.combineLatest(Fountain.range(0, 3), Fountain.error(new IllegalStateException("boom")), (a, b) -> a))
+                    .expectErrorMessage("boom")
+                    .verify();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidPrefetch() {
+        Fountain.zip(row -> row, 0, Fountain.range(0, 1));
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long elements) {
+        return Fountain.zip(Fountain.rangeLong(0, elements), Fountain.rangeLong(0, elements + 1), (a, b) -> a);
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        return Fountain.zip(Fountain.<Long>error(new RuntimeException()), Fountain.rangeLong(0, 10), (a, b) -> a);
+    }
+}